@@ -19,9 +19,15 @@
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
 import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -83,6 +89,26 @@ public interface Database extends Named, AutoCloseable {
    */
   boolean delete(@NonNull String key);
 
+  /**
+   * Associates all given keys with their document in the database, overriding existing associations. Implementations
+   * write all documents in one operation (for example a single transaction or network round trip) which is much
+   * cheaper than inserting each document separately.
+   *
+   * @param documents the documents to insert mapped by their unique key.
+   * @return true if all documents were associated with their key successfully, false otherwise.
+   * @throws NullPointerException if the given document map is null.
+   */
+  boolean insertAll(@NonNull Map<String, Document> documents);
+
+  /**
+   * Removes all given keys and their associated documents from the database in one operation.
+   *
+   * @param keys the keys to remove.
+   * @return true if at least one of the given keys was removed from the database, false otherwise.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  boolean deleteAll(@NonNull Collection<String> keys);
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
@@ -142,10 +168,23 @@ public interface Database extends Named, AutoCloseable {
    * huge database.
    *
    * @return all key-value pairs stored in the database.
+   * @see #stream(int)
    */
   @NonNull
   Map<String, Document> entries();
 
+  /**
+   * Reads the key-value pairs which keys are ordered after the given key, in the given chunk size. The last key of the
+   * returned chunk can be passed to this method again to read the next chunk. Unlike {@link #entries()} only one chunk
+   * is held in memory at a time, on both the calling and the database side.
+   *
+   * @param lastKey   the last key of the previous chunk, null to read the first chunk.
+   * @param chunkSize the maximum amount of entries to read.
+   * @return the entries of the chunk ordered by their key, null if there are no more entries.
+   */
+  @Nullable
+  LinkedHashMap<String, Document> readChunkAfter(@Nullable String lastKey, int chunkSize);
+
   /**
    * Removes all key-value pairs which are currently stored in the database. This operation will not remove the
    * database.
@@ -184,6 +223,21 @@ public interface Database extends Named, AutoCloseable {
     return TaskUtil.supplyAsync(() -> this.insert(key, document));
   }
 
+  /**
+   * Associates all given keys with their document in the database, overriding existing associations. Implementations
+   * write all documents in one operation which is much cheaper than inserting each document separately.
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that all documents were written
+   * into the database successfully. Will be completed with false if the data wasn't written without specifying a reason.
+   *
+   * @param documents the documents to insert mapped by their unique key.
+   * @return a future completed with the write operation status.
+   * @throws NullPointerException if the given document map is null.
+   */
+  default @NonNull CompletableFuture<Boolean> insertAllAsync(@NonNull Map<String, Document> documents) {
+    return TaskUtil.supplyAsync(() -> this.insertAll(documents));
+  }
+
   /**
    * Tests whether a document is associated with the given key.
    * <p>
@@ -214,6 +268,79 @@ public interface Database extends Named, AutoCloseable {
     return TaskUtil.supplyAsync(() -> this.delete(key));
   }
 
+  /**
+   * Removes all given keys and their associated documents from the database in one operation.
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that at least one of the given keys
+   * was removed from the database and with false if none of the keys were removed.
+   *
+   * @param keys the keys to remove.
+   * @return a future completed with the removal status of the given keys.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  default @NonNull CompletableFuture<Boolean> deleteAllAsync(@NonNull Collection<String> keys) {
+    return TaskUtil.supplyAsync(() -> this.deleteAll(keys));
+  }
+
+  /**
+   * Opens a pull-based cursor over all key-value pairs in this database, ordered by their key. The cursor requests the
+   * entries in batches of the given size when needed, so that only one batch is held in memory at a time regardless of
+   * the database size. Changes made to the database while iterating might or might not be visible to the cursor.
+   *
+   * @param batchSize the amount of entries to request at once.
+   * @return a new cursor over all entries in this database.
+   * @throws IllegalArgumentException if the given batch size is not positive.
+   */
+  default @NonNull DatabaseCursor cursor(int batchSize) {
+    return new DatabaseCursor(this, batchSize);
+  }
+
+  /**
+   * Streams all key-value pairs in this database, ordered by their key. The entries are requested lazily in batches of
+   * the given size, so that only one batch is held in memory at a time regardless of the database size.
+   *
+   * @param batchSize the amount of entries to request at once.
+   * @return a sequential stream of all entries in this database.
+   * @throws IllegalArgumentException if the given batch size is not positive.
+   * @see #cursor(int)
+   */
+  default @NonNull Stream<Map.Entry<String, Document>> stream(int batchSize) {
+    var spliterator = Spliterators.spliteratorUnknownSize(
+      this.cursor(batchSize),
+      Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  /**
+   * Creates a new write-behind queue for this database. Writes into the queue are buffered and coalesced per key, and
+   * written into this database using {@link #insertAll(Map)} and {@link #deleteAll(Collection)} once the given amount
+   * of pending writes is reached, one second after the first pending write was queued or when the queue is flushed
+   * explicitly.
+   *
+   * @param maxPendingWrites the amount of pending writes after which the queue is flushed automatically.
+   * @return a new write-behind queue for this database.
+   * @throws IllegalArgumentException if the given pending write count is not positive.
+   */
+  default @NonNull DatabaseWriteBehindQueue writeBehindQueue(int maxPendingWrites) {
+    return new DatabaseWriteBehindQueue(this, maxPendingWrites, DatabaseWriteBehindQueue.DEFAULT_MAX_FLUSH_DELAY);
+  }
+
+  /**
+   * Creates a new write-behind queue for this database. Writes into the queue are buffered and coalesced per key, and
+   * written into this database using {@link #insertAll(Map)} and {@link #deleteAll(Collection)} once the given amount
+   * of pending writes is reached, the given delay elapsed after the first pending write was queued or when the queue is
+   * flushed explicitly.
+   *
+   * @param maxPendingWrites the amount of pending writes after which the queue is flushed automatically.
+   * @param maxFlushDelay    the maximum time a write stays in the queue before the queue is flushed automatically.
+   * @return a new write-behind queue for this database.
+   * @throws NullPointerException     if the given flush delay is null.
+   * @throws IllegalArgumentException if the given pending write count or flush delay is not positive.
+   */
+  default @NonNull DatabaseWriteBehindQueue writeBehindQueue(int maxPendingWrites, @NonNull Duration maxFlushDelay) {
+    return new DatabaseWriteBehindQueue(this, maxPendingWrites, maxFlushDelay);
+  }
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
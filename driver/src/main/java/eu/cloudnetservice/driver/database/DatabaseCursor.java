@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import com.google.common.base.Preconditions;
+import eu.cloudnetservice.driver.document.Document;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import lombok.NonNull;
+
+/**
+ * A pull-based cursor over all entries of a database, ordered by their key. The entries are requested from the
+ * database in batches using {@link Database#readChunkAfter(String, int)}, continuing after the last key of the previous
+ * batch. When used on a wrapper, each batch is a single rpc to the node, keeping memory usage on both sides bounded by
+ * the batch size.
+ *
+ * @see Database#cursor(int)
+ * @see Database#stream(int)
+ * @since 4.0
+ */
+public final class DatabaseCursor implements Iterator<Map.Entry<String, Document>> {
+
+  private final Database database;
+  private final int batchSize;
+
+  private String lastKey;
+  private boolean exhausted;
+  private Iterator<Map.Entry<String, Document>> currentBatch = Collections.emptyIterator();
+
+  /**
+   * Constructs a new cursor for the given database.
+   *
+   * @param database  the database to iterate over.
+   * @param batchSize the amount of entries to request at once.
+   * @throws NullPointerException     if the given database is null.
+   * @throws IllegalArgumentException if the given batch size is not positive.
+   */
+  DatabaseCursor(@NonNull Database database, int batchSize) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    this.database = database;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasNext() {
+    if (this.currentBatch.hasNext()) {
+      return true;
+    }
+
+    if (this.exhausted) {
+      return false;
+    }
+
+    // request the next batch, continuing after the last key we've seen
+    var nextBatch = this.database.readChunkAfter(this.lastKey, this.batchSize);
+    if (nextBatch == null || nextBatch.isEmpty()) {
+      this.exhausted = true;
+      return false;
+    }
+
+    // a batch smaller than requested is the last one, no need for another round trip
+    this.exhausted = nextBatch.size() < this.batchSize;
+    this.currentBatch = nextBatch.entrySet().iterator();
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Map.Entry<String, Document> next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    var entry = this.currentBatch.next();
+    this.lastKey = entry.getKey();
+    return entry;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import com.google.common.base.Preconditions;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A queue which buffers writes to a database and writes them in batches using {@link Database#insertAll(Map)} and
+ * {@link Database#deleteAll(Collection)}. Writes to the same key are coalesced, only the last write to a key is applied
+ * to the database. Flushes are executed asynchronously but strictly in the order they were requested, which ensures
+ * that a later write to a key is never overridden by a previous one. The queue is flushed automatically once the
+ * configured amount of writes is pending, or once the first pending write waited for the configured flush delay.
+ * <p>
+ * A flush fails if the database did not write all queued documents. The future returned for a flush is completed
+ * exceptionally in that case, failures of automatic flushes are logged.
+ * <p>
+ * Writes that were not flushed yet are not visible when reading from the database. Callers must flush the queue (for
+ * example by closing it) before reading data they wrote into the queue.
+ *
+ * @see Database#writeBehindQueue(int)
+ * @see Database#writeBehindQueue(int, Duration)
+ * @since 4.0
+ */
+public final class DatabaseWriteBehindQueue implements AutoCloseable {
+
+  /**
+   * The maximum time a write stays in the queue if no flush delay was specified when creating the queue.
+   */
+  public static final Duration DEFAULT_MAX_FLUSH_DELAY = Duration.ofSeconds(1);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseWriteBehindQueue.class);
+
+  private final Database database;
+  private final int maxPendingWrites;
+  private final Duration maxFlushDelay;
+
+  private final Lock lock = new ReentrantLock();
+
+  private boolean flushTimerScheduled;
+
+  private Map<String, Document> pendingInserts = new LinkedHashMap<>();
+  private Collection<String> pendingDeletes = new LinkedHashSet<>();
+  private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+
+  /**
+   * Constructs a new write-behind queue for the given database.
+   *
+   * @param database         the database to write the queued operations to.
+   * @param maxPendingWrites the amount of pending writes after which the queue is flushed automatically.
+   * @param maxFlushDelay    the maximum time a write stays in the queue before the queue is flushed automatically.
+   * @throws NullPointerException     if the given database or flush delay is null.
+   * @throws IllegalArgumentException if the given pending write count or flush delay is not positive.
+   */
+  DatabaseWriteBehindQueue(@NonNull Database database, int maxPendingWrites, @NonNull Duration maxFlushDelay) {
+    Preconditions.checkArgument(maxPendingWrites > 0, "maxPendingWrites must be positive");
+    Preconditions.checkArgument(maxFlushDelay.isPositive(), "maxFlushDelay must be positive");
+    this.database = database;
+    this.maxPendingWrites = maxPendingWrites;
+    this.maxFlushDelay = maxFlushDelay;
+  }
+
+  /**
+   * Queues the association of the given key with the given document, replacing all previously queued writes to the
+   * given key.
+   *
+   * @param key      the unique key for the document.
+   * @param document the document to associate with the key.
+   * @throws NullPointerException if either key or document is null.
+   */
+  public void insert(@NonNull String key, @NonNull Document document) {
+    this.lock.lock();
+    try {
+      this.pendingDeletes.remove(key);
+      this.pendingInserts.put(key, document);
+      this.scheduleAutomaticFlush();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Queues the removal of the given key, replacing all previously queued writes to the given key.
+   *
+   * @param key the key to remove.
+   * @throws NullPointerException if the given key is null.
+   */
+  public void delete(@NonNull String key) {
+    this.lock.lock();
+    try {
+      this.pendingInserts.remove(key);
+      this.pendingDeletes.add(key);
+      this.scheduleAutomaticFlush();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the amount of writes that are queued but not yet flushed.
+   *
+   * @return the amount of pending writes.
+   */
+  public int pendingWrites() {
+    this.lock.lock();
+    try {
+      return this.pendingInserts.size() + this.pendingDeletes.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Writes all currently queued operations into the database. The returned future completes once the flush and all
+   * flushes requested before it completed. If the database did not write all queued documents of this flush, the
+   * returned future is completed exceptionally.
+   *
+   * @return a future completed when all writes queued before this call were written into the database.
+   */
+  public @NonNull CompletableFuture<Void> flush() {
+    this.lock.lock();
+    try {
+      return this.scheduleFlush();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes all queued writes and waits for them to be written into the database.
+   *
+   * @throws java.util.concurrent.CompletionException if the database did not write all queued documents.
+   */
+  @Override
+  public void close() {
+    this.flush().join();
+  }
+
+  private void scheduleAutomaticFlush() {
+    if (this.pendingInserts.size() + this.pendingDeletes.size() >= this.maxPendingWrites) {
+      this.logFailure(this.scheduleFlush());
+      return;
+    }
+
+    // flush the pending writes at the latest once the flush delay elapsed, one timer covers all writes queued meanwhile
+    if (!this.flushTimerScheduled) {
+      this.flushTimerScheduled = true;
+      CompletableFuture.delayedExecutor(this.maxFlushDelay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+        this.lock.lock();
+        try {
+          this.flushTimerScheduled = false;
+          if (!this.pendingInserts.isEmpty() || !this.pendingDeletes.isEmpty()) {
+            this.logFailure(this.scheduleFlush());
+          }
+        } finally {
+          this.lock.unlock();
+        }
+      });
+    }
+  }
+
+  private void logFailure(@NonNull CompletableFuture<Void> flush) {
+    flush.exceptionally(throwable -> {
+      LOGGER.error("Exception flushing the write-behind queue of database {}", this.database.name(), throwable);
+      return null;
+    });
+  }
+
+  private @NonNull CompletableFuture<Void> scheduleFlush() {
+    if (this.pendingInserts.isEmpty() && this.pendingDeletes.isEmpty()) {
+      return this.lastFlush;
+    }
+
+    // swap the pending writes, writes after this point are part of the next flush
+    var inserts = this.pendingInserts;
+    var deletes = this.pendingDeletes;
+    this.pendingInserts = new LinkedHashMap<>();
+    this.pendingDeletes = new LinkedHashSet<>();
+
+    // chain the flush to the previous one to keep the order of writes to the same key
+    // the inserted and deleted keys of one flush are disjoint, so their order is irrelevant
+    this.lastFlush = this.lastFlush
+      .exceptionally($ -> null)
+      .thenCompose($ -> TaskUtil.runAsync(() -> {
+        // the result of deleteAll only indicates if any of the keys existed, it doesn't indicate a failure
+        if (!deletes.isEmpty()) {
+          this.database.deleteAll(deletes);
+        }
+
+        if (!inserts.isEmpty() && !this.database.insertAll(inserts)) {
+          throw new IllegalStateException(String.format(
+            "Database %s did not write all of the %d queued documents",
+            this.database.name(),
+            inserts.size()));
+        }
+      }));
+    return this.lastFlush;
+  }
+}
@@ -21,15 +21,20 @@
 import jakarta.inject.Singleton;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
 
 /**
  * The default implementation of an event manager.
@@ -42,6 +47,7 @@ public class DefaultEventManager implements EventManager {
 
   protected final Lock bakeLock = new ReentrantLock(true);
   protected final Map<Class<?>, List<RegisteredEventListener>> listeners = new HashMap<>();
+  protected final Map<Class<?>, List<Runnable>> listenerChangeHooks = new ConcurrentHashMap<>();
 
   /**
    * {@inheritDoc}
@@ -93,6 +99,30 @@ public class DefaultEventManager implements EventManager {
     return event;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @UnmodifiableView @NonNull Collection<RegisteredEventListener> registeredListeners(
+    @NonNull Class<? extends Event> eventClass
+  ) {
+    var listeners = this.listeners.get(eventClass);
+    return listeners == null ? List.of() : Collections.unmodifiableCollection(listeners);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull EventManager registerListenerChangeHook(
+    @NonNull Class<? extends Event> eventClass,
+    @NonNull Runnable hook
+  ) {
+    this.listenerChangeHooks.computeIfAbsent(eventClass, $ -> new CopyOnWriteArrayList<>()).add(hook);
+    // for chaining
+    return this;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -129,6 +159,7 @@ public class DefaultEventManager implements EventManager {
    */
   protected @NonNull EventManager registerListener(@NonNull InjectionLayer<?> layer, @NonNull Object listener) {
     // get all methods of the listener
+    Set<Class<?>> changedEventClasses = new HashSet<>();
     for (var method : listener.getClass().getDeclaredMethods()) {
       // check if the method can be used
       var annotation = method.getAnnotation(EventListener.class);
@@ -156,8 +187,12 @@ public class DefaultEventManager implements EventManager {
         } finally {
           this.bakeLock.unlock();
         }
+
+        changedEventClasses.add(eventClass);
       }
     }
+
+    this.callListenerChangeHooks(changedEventClasses);
     // for chaining
     return this;
   }
@@ -169,20 +204,41 @@ public class DefaultEventManager implements EventManager {
    * @throws NullPointerException if the given predicate is null.
    */
   protected void safeRemove(@NonNull Predicate<RegisteredEventListener> predicate) {
+    Set<Class<?>> changedEventClasses = new HashSet<>();
     this.bakeLock.lock();
     try {
-      var iterator = this.listeners.values().iterator();
+      var iterator = this.listeners.entrySet().iterator();
       while (iterator.hasNext()) {
         // remove all listeners which are matching the predicate
         var entry = iterator.next();
-        entry.removeIf(predicate);
+        if (entry.getValue().removeIf(predicate)) {
+          changedEventClasses.add(entry.getKey());
+        }
         // check if the entry is still needed
-        if (entry.isEmpty()) {
+        if (entry.getValue().isEmpty()) {
           iterator.remove();
         }
       }
     } finally {
       this.bakeLock.unlock();
     }
+
+    this.callListenerChangeHooks(changedEventClasses);
+  }
+
+  /**
+   * Calls the hooks registered for the given event classes after their registered listeners changed. The hooks are
+   * called outside the bake lock, which allows them to call back into this event manager.
+   *
+   * @param changedEventClasses the event classes whose registered listeners changed.
+   * @throws NullPointerException if the given event class collection is null.
+   */
+  protected void callListenerChangeHooks(@NonNull Collection<Class<?>> changedEventClasses) {
+    for (var eventClass : changedEventClasses) {
+      var hooks = this.listenerChangeHooks.get(eventClass);
+      if (hooks != null) {
+        hooks.forEach(Runnable::run);
+      }
+    }
   }
 }
@@ -21,8 +21,10 @@
 import dev.derklaro.reflexion.Reflexion;
 import eu.cloudnetservice.driver.inject.InjectUtil;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +41,7 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
   private final Class<?> eventClass;
   private final EventListener eventListener;
 
+  private final Method method;
   private final String methodName;
   private final Element[] methodArguments;
   private final MethodAccessor<?> methodAccessor;
@@ -66,6 +69,7 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
     this.injectionLayer = injectionLayer;
 
     // method information
+    this.method = targetMethod;
     this.methodName = targetMethod.getName();
     this.eventClass = targetMethod.getParameterTypes()[0];
 
@@ -141,4 +145,12 @@ public void fireEvent(@NonNull Event event) {
   public @NonNull EventListener eventListener() {
     return this.eventListener;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <A extends Annotation> @Nullable A methodAnnotation(@NonNull Class<A> annotationType) {
+    return this.method.getAnnotation(annotationType);
+  }
 }
@@ -16,7 +16,9 @@
 
 package eu.cloudnetservice.driver.event;
 
+import java.util.Collection;
 import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
 
 /**
  * Dispatches events to listeners, and provides ways for listeners to register themselves.
@@ -88,6 +90,28 @@ public interface EventManager {
    */
   @NonNull <T extends Event> T callEvent(@NonNull String channel, @NonNull T event);
 
+  /**
+   * Get all listeners which are currently registered for the given event class, sorted by their invocation order.
+   *
+   * @param eventClass the class of the event to get the registered listeners of.
+   * @return all listeners which are currently registered for the given event class.
+   * @throws NullPointerException if the given event class is null.
+   */
+  @UnmodifiableView
+  @NonNull Collection<RegisteredEventListener> registeredListeners(@NonNull Class<? extends Event> eventClass);
+
+  /**
+   * Registers a hook which is called each time a listener for the given event class gets registered or unregistered.
+   * The hook is called after the change was applied, the listeners returned by {@link #registeredListeners(Class)}
+   * already reflect the change when the hook is called.
+   *
+   * @param eventClass the class of the event to observe the registered listeners of.
+   * @param hook       the hook to call when the registered listeners of the given event class changed.
+   * @return the same event manager as used to call the method, for chaining.
+   * @throws NullPointerException if the given event class or hook is null.
+   */
+  @NonNull EventManager registerListenerChangeHook(@NonNull Class<? extends Event> eventClass, @NonNull Runnable hook);
+
   /**
    * Registers all methods in the given listener class which are annotated with {@link EventListener} and are taking
    * only one argument with a subtype of {@link Event}. The instance the constructed event listeners are bound to are
@@ -16,7 +16,9 @@
 
 package eu.cloudnetservice.driver.event;
 
+import java.lang.annotation.Annotation;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a listener which is registered in an event manager and is ready to accept an event. Event execution is not
@@ -73,6 +75,16 @@ public interface RegisteredEventListener extends Comparable<RegisteredEventListe
    */
   @NonNull Class<?> eventClass();
 
+  /**
+   * Get the annotation of the given type present on the original listener method, if any.
+   *
+   * @param annotationType the type of the annotation to get.
+   * @param <A>            the type of the annotation.
+   * @return the annotation of the given type on the original listener method, null if the method isn't annotated.
+   * @throws NullPointerException if the given annotation type is null.
+   */
+  <A extends Annotation> @Nullable A methodAnnotation(@NonNull Class<A> annotationType);
+
   /**
    * {@inheritDoc}
    */
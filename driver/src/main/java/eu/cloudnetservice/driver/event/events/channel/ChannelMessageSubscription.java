@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event.events.channel;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the channels of the channel messages an event listener method for the {@link ChannelMessageReceiveEvent} is
+ * handling. Services advertise the channels of all their channel message listeners to the node they are running on,
+ * which allows the node to skip sending channel messages to services which are not interested in them when the message
+ * targets multiple services (for example all services of a task).
+ * <p>
+ * A channel message listener without this annotation is assumed to handle channel messages of all channels. Therefore,
+ * the messages sent to a service are only filtered if all channel message listeners of it are annotated.
+ *
+ * @see ChannelMessageReceiveEvent
+ * @since 4.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChannelMessageSubscription {
+
+  /**
+   * Get the channels of the channel messages the annotated listener is handling.
+   *
+   * @return the channels of the channel messages the annotated listener is handling.
+   */
+  String[] value();
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network;
+
+/**
+ * Holds the byte counters of a network channel for which packet compression was negotiated. The counters are only
+ * updated for packets that were transferred after the compression was enabled on the channel.
+ *
+ * @param outboundUncompressedBytes the bytes of all outbound packets before they were compressed.
+ * @param outboundCompressedBytes   the bytes of all outbound packets after they were compressed.
+ * @param inboundCompressedBytes    the bytes of all inbound packets before they were decompressed.
+ * @param inboundUncompressedBytes  the bytes of all inbound packets after they were decompressed.
+ * @since 4.0
+ */
+public record CompressionStatistics(
+  long outboundUncompressedBytes,
+  long outboundCompressedBytes,
+  long inboundCompressedBytes,
+  long inboundUncompressedBytes
+) {
+
+}
@@ -21,7 +21,10 @@
 import eu.cloudnetservice.driver.network.protocol.PacketSender;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A network channel represents an open connection from/to server.
@@ -109,6 +112,60 @@ public interface NetworkChannel extends PacketSender {
    */
   boolean active();
 
+  /**
+   * Writes the given packet uncompressed into this channel and compresses all packets that are written after it. The
+   * remote must enable inbound decompression right after receiving the given packet.
+   *
+   * @param lastUncompressedPacket the last packet to write without compression.
+   * @param threshold              the packet length in bytes from which packets get compressed.
+   * @throws NullPointerException if the given packet is null.
+   */
+  @ApiStatus.Internal
+  void enableOutboundCompression(@NonNull Packet lastUncompressedPacket, int threshold);
+
+  /**
+   * Decompresses all packets that are received by this channel from now on. This method must be called from the
+   * listener of a prioritized packet as such packets are handled before the next inbound packet gets decoded.
+   */
+  @ApiStatus.Internal
+  void enableInboundCompression();
+
+  /**
+   * Get the byte counters of the packet compression of this channel, null if no compression was negotiated.
+   *
+   * @return the compression statistics of this channel, null if no compression was negotiated.
+   */
+  @Nullable
+  CompressionStatistics compressionStatistics();
+
+  /**
+   * Get the executor which performs the writes to this channel. Packets sent to multiple channels sharing the same
+   * write executor can be written in one task on the executor using {@link #writePacket(Packet)} followed by a single
+   * {@link #flush()} per channel, instead of running a separate write and flush for each channel.
+   *
+   * @return the executor performing the writes to this channel, null if writes to this channel can't be batched.
+   */
+  default @Nullable Executor writeExecutor() {
+    return null;
+  }
+
+  /**
+   * Writes the given packet into this channel without flushing it, the packet is sent to the remote once this channel
+   * gets flushed. This method should be called from the write executor of this channel.
+   *
+   * @param packet the packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  default void writePacket(@NonNull Packet packet) {
+    this.sendPacket(packet);
+  }
+
+  /**
+   * Sends all packets to the remote which were written into this channel but not flushed yet.
+   */
+  default void flush() {
+  }
+
   /**
    * Requests the close of the channel, flushing all outbound i/o requests before. After a channel was closed it cannot
    * be used again.
@@ -90,6 +90,23 @@ public interface DataBufFactory {
   @NonNull
   DataBuf.Mutable mutableCopyOf(@NonNull DataBuf dataBuf);
 
+  /**
+   * Creates a readonly copy of the readable bytes of the given data buffer which shares the underlying memory with the
+   * given buffer instead of copying it. The given buffer is made readonly by this method. Both buffers have their own
+   * read index and acquire count, the shared memory is freed once all buffers sharing it were released. This allows
+   * sending the same content to multiple components without encoding or copying it for each of them.
+   * <p>
+   * A factory is only expected to be able to copy a buffer created by it. Cross factory copy might be possible but is
+   * not a requirement.
+   *
+   * @param dataBuf the buffer to create the shared copy of.
+   * @return a readonly copy of the given buffer which shares the memory of it.
+   * @throws IllegalArgumentException if the buffer cannot be copied.
+   * @throws NullPointerException     if the given buffer is null.
+   */
+  @NonNull
+  DataBuf sharedCopyOf(@NonNull DataBuf dataBuf);
+
   /**
    * Creates an empty mutable data buffer which pre-allocates the specified amount of expected bytes rather than
    * dynamically growing during write operations.
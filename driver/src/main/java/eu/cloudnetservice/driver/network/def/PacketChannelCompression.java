@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.def;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+
+/**
+ * The packet which is used to negotiate the compression of packets after a successful authorization. The packet is
+ * first sent by the server to indicate that all following packets sent by it are compressed. The client answers with
+ * the same packet to indicate that all following packets sent by the client are compressed as well.
+ * <p>
+ * The packet is prioritized to ensure that the receiver enables the decompression before the next inbound packet is
+ * decoded.
+ *
+ * @since 4.0
+ */
+public final class PacketChannelCompression extends BasePacket {
+
+  /**
+   * Constructs a new channel compression packet.
+   *
+   * @param threshold the packet length in bytes from which packets get compressed.
+   */
+  public PacketChannelCompression(int threshold) {
+    super(NetworkConstants.INTERNAL_COMPRESSION_CHANNEL, true, DataBuf.empty().writeInt(threshold));
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.def;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The listener for the compression negotiation which is used by both sides of a connection. On the client side the
+ * listener enables the decompression of inbound packets and acknowledges the compression to the server, on the server
+ * side the acknowledgement enables the decompression of the packets sent by the client.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class PacketChannelCompressionListener implements PacketListener {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    var threshold = packet.content().readInt();
+    channel.enableInboundCompression();
+
+    // acknowledge the compression to the server, all packets sent after the acknowledgement are compressed
+    if (channel.clientProvidedChannel()) {
+      channel.enableOutboundCompression(new PacketChannelCompression(threshold), threshold);
+    }
+  }
+}
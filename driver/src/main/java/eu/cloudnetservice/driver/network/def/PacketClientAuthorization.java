@@ -39,6 +39,9 @@
  *   <li>The cluster id
  *   <li>The network cluster node (offline information) of the node.
  * </ol>
+ * <p>
+ * Both types are followed by a boolean indicating if the client is able to negotiate packet compression. The server
+ * ignores the flag if it does not know about compression.
  *
  * @since 4.0
  */
@@ -47,14 +50,19 @@ public final class PacketClientAuthorization extends BasePacket {
   /**
    * Constructs a new authorization packet.
    *
-   * @param type    the requested type of authorization.
-   * @param dataBuf the data for the authorization which are required for the given type.
+   * @param type                 the requested type of authorization.
+   * @param dataBuf              the data for the authorization which are required for the given type.
+   * @param compressionSupported if the client registered the compression listener and is able to handle compression.
    * @throws NullPointerException if either the type or data buf is null.
    */
-  public PacketClientAuthorization(@NonNull PacketAuthorizationType type, @NonNull DataBuf dataBuf) {
+  public PacketClientAuthorization(
+    @NonNull PacketAuthorizationType type,
+    @NonNull DataBuf dataBuf,
+    boolean compressionSupported
+  ) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
-      DataBuf.empty().writeObject(type).writeDataBuf(dataBuf));
+      DataBuf.empty().writeObject(type).writeDataBuf(dataBuf).writeBoolean(compressionSupported));
   }
 
   /**
@@ -38,9 +38,31 @@ public final class PacketServerChannelMessage extends BasePacket {
    * @throws NullPointerException if the given channel message is null.
    */
   public PacketServerChannelMessage(@NonNull ChannelMessage message, boolean wrapper) {
-    super(
-      NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
-      message.prioritized(),
-      DataBuf.empty().writeBoolean(wrapper).writeObject(message));
+    this(message.prioritized(), encodeMessage(message, wrapper));
+  }
+
+  /**
+   * Constructs a new channel message packet instance using the given, already encoded channel message. This allows
+   * encoding a message once when sending it to multiple components.
+   *
+   * @param prioritized    if the encoded channel message is prioritized.
+   * @param encodedMessage the channel message encoded using {@link #encodeMessage(ChannelMessage, boolean)}.
+   * @throws NullPointerException if the given encoded message is null.
+   */
+  public PacketServerChannelMessage(boolean prioritized, @NonNull DataBuf encodedMessage) {
+    super(NetworkConstants.CHANNEL_MESSAGING_CHANNEL, prioritized, encodedMessage);
+  }
+
+  /**
+   * Encodes the given channel message into the format of the packet content. Note that this releases the content of
+   * the given channel message once.
+   *
+   * @param message the channel message to encode.
+   * @param wrapper if the channel was sent by a wrapper component.
+   * @return the encoded channel message, usable as the content of a channel message packet.
+   * @throws NullPointerException if the given channel message is null.
+   */
+  public static @NonNull DataBuf encodeMessage(@NonNull ChannelMessage message, boolean wrapper) {
+    return DataBuf.empty().writeBoolean(wrapper).writeObject(message);
   }
 }
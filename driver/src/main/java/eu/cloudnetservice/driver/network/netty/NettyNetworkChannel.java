@@ -16,17 +16,22 @@
 
 package eu.cloudnetservice.driver.network.netty;
 
+import eu.cloudnetservice.driver.network.CompressionStatistics;
 import eu.cloudnetservice.driver.network.DefaultNetworkChannel;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketCompressionEncoder;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketDecompressionDecoder;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import io.netty5.channel.Channel;
 import io.netty5.util.concurrent.Promise;
 import io.netty5.util.concurrent.PromiseCombiner;
+import java.util.concurrent.Executor;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The default netty based implementation of a network channel.
@@ -37,6 +42,10 @@
 public final class NettyNetworkChannel extends DefaultNetworkChannel implements NetworkChannel {
 
   private final Channel channel;
+  private final boolean consolidateFlushes;
+
+  // only accessed from the event loop of the channel
+  private boolean flushScheduled;
 
   /**
    * Constructs a new netty network channel instance.
@@ -59,6 +68,7 @@ public NettyNetworkChannel(
   ) {
     super(packetRegistry, serverAddress, clientAddress, clientProvidedChannel, handler);
     this.channel = channel;
+    this.consolidateFlushes = NettyUtil.flushConsolidationEnabled();
   }
 
   /**
@@ -67,7 +77,10 @@ public NettyNetworkChannel(
   @Override
   public void sendPacket(@NonNull Packet... packets) {
     var executor = this.channel.executor();
-    if (executor.inEventLoop()) {
+    if (this.consolidateFlushes) {
+      // write all packets and let the scheduled flush write them out together with other pending writes
+      this.writeConsolidated(packets);
+    } else if (executor.inEventLoop()) {
       // on event loop, start all write operations
       var combiner = new PromiseCombiner(executor);
       for (var packet : packets) {
@@ -90,7 +103,11 @@ public void sendPacket(@NonNull Packet... packets) {
    */
   @Override
   public void sendPacket(@NonNull Packet packet) {
-    this.channel.writeAndFlush(packet);
+    if (this.consolidateFlushes) {
+      this.writeConsolidated(packet);
+    } else {
+      this.channel.writeAndFlush(packet);
+    }
   }
 
   /**
@@ -110,6 +127,120 @@ public void sendPacketSync(@NonNull Packet packet) {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Executor writeExecutor() {
+    return this.channel.executor();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writePacket(@NonNull Packet packet) {
+    this.channel.write(packet);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flush() {
+    this.channel.flush();
+  }
+
+  /**
+   * Writes the given packets into the channel without flushing them directly. Instead, a single flush is scheduled on
+   * the event loop of the channel which writes out all packets that were written until the flush task runs.
+   *
+   * @param packets the packets to write.
+   * @throws NullPointerException if the given packet array is null.
+   */
+  private void writeConsolidated(@NonNull Packet... packets) {
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      for (var packet : packets) {
+        this.channel.write(packet);
+      }
+
+      // schedule a flush in case there is none pending yet. the flush is executed after all tasks that were submitted
+      // to the event loop until now, which includes writes that were triggered by other threads in the meantime
+      if (!this.flushScheduled) {
+        this.flushScheduled = true;
+        executor.execute(() -> {
+          this.flushScheduled = false;
+          this.channel.flush();
+        });
+      }
+    } else {
+      // the flush state is only safe to access from the event loop
+      executor.execute(() -> this.writeConsolidated(packets));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void enableOutboundCompression(@NonNull Packet lastUncompressedPacket, int threshold) {
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      // writes from the event loop pass the pipeline directly, therefore the given packet is encoded
+      // before the encoder gets replaced
+      this.channel.writeAndFlush(lastUncompressedPacket);
+      this.channel.pipeline().replace(
+        "packet-encoder",
+        "packet-encoder",
+        new NettyPacketCompressionEncoder(threshold));
+    } else {
+      // ensure that all writes that were requested before are encoded without compression
+      executor.execute(() -> this.enableOutboundCompression(lastUncompressedPacket, threshold));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void enableInboundCompression() {
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      this.channel.pipeline().addAfter(
+        "packet-length-deserializer",
+        "packet-decompressor",
+        new NettyPacketDecompressionDecoder(NettyUtil.maxUncompressedPacketLength()));
+    } else {
+      executor.execute(this::enableInboundCompression);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable CompressionStatistics compressionStatistics() {
+    var encoder = this.channel.pipeline().get("packet-encoder");
+    if (!(encoder instanceof NettyPacketCompressionEncoder compressionEncoder)) {
+      return null;
+    }
+
+    // the inbound decompression might not be enabled yet if the remote did not acknowledge the compression
+    var inboundCompressedBytes = 0L;
+    var inboundUncompressedBytes = 0L;
+    if (this.channel.pipeline().get("packet-decompressor") instanceof NettyPacketDecompressionDecoder decoder) {
+      inboundCompressedBytes = decoder.compressedBytes();
+      inboundUncompressedBytes = decoder.uncompressedBytes();
+    }
+
+    return new CompressionStatistics(
+      compressionEncoder.uncompressedBytes(),
+      compressionEncoder.compressedBytes(),
+      inboundCompressedBytes,
+      inboundUncompressedBytes);
+  }
+
   /**
    * {@inheritDoc}
    */
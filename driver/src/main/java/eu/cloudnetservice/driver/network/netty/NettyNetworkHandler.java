@@ -17,12 +17,13 @@
 package eu.cloudnetservice.driver.network.netty;
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.scheduler.NetworkTaskScheduler;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.concurrent.Executor;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
@@ -76,12 +77,39 @@ public void channelReadComplete(@NonNull ChannelHandlerContext ctx) {
    */
   @Override
   protected void messageReceived(@NonNull ChannelHandlerContext ctx, @NonNull BasePacket msg) {
-    // post directly if the packet has a high priority
-    if (msg.prioritized()) {
+    // the compression negotiation changes the channel pipeline, it must be handled before the next packet is decoded
+    if (msg.channel() == NetworkConstants.INTERNAL_COMPRESSION_CHANNEL) {
       this.doHandlePacket(msg);
-    } else {
-      this.packetDispatcher().execute(() -> this.doHandlePacket(msg));
+      return;
+    }
+
+    // put packets with a high priority (for example heartbeats) into the priority lane of the dispatcher
+    if (msg.prioritized()) {
+      this.packetDispatcher().execute(() -> this.doHandlePacket(msg), this.connectionLaneId(), true);
+      return;
+    }
+
+    // complete query responses outside the lane of the connection, a task in the lane might be waiting for the response
+    var uuid = msg.uniqueId();
+    if (uuid != null) {
+      var task = this.channel.queryPacketManager().waitingHandler(uuid);
+      if (task != null) {
+        this.packetDispatcher().executeQueryResponse(() -> task.complete(msg), this.connectionLaneId());
+        return;
+      }
     }
+
+    // use a lane per connection to keep the order of the packets sent by the other side of the connection
+    this.packetDispatcher().execute(() -> this.doHandlePacket(msg), this.connectionLaneId(), false);
+  }
+
+  /**
+   * Get the id of the dispatcher lane that is used for the packets received from the connection of this handler.
+   *
+   * @return the id of the dispatcher lane for the connection of this handler.
+   */
+  protected int connectionLaneId() {
+    return Long.hashCode(this.channel.channelId());
   }
 
   /**
@@ -132,5 +160,5 @@ protected void doHandlePacket(@NonNull BasePacket packet) {
    *
    * @return the dispatcher used to dispatch packets.
    */
-  protected abstract @NonNull Executor packetDispatcher();
+  protected abstract @NonNull NetworkTaskScheduler packetDispatcher();
 }
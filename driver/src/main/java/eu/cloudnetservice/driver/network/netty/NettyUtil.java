@@ -21,6 +21,7 @@
 import eu.cloudnetservice.driver.network.netty.buffer.NettyNioBufferReleasingAllocator;
 import eu.cloudnetservice.driver.network.scheduler.NetworkTaskScheduler;
 import eu.cloudnetservice.driver.network.scheduler.ScalingNetworkTaskScheduler;
+import eu.cloudnetservice.driver.network.scheduler.VirtualThreadNetworkTaskScheduler;
 import io.netty5.buffer.Buffer;
 import io.netty5.buffer.BufferAllocator;
 import io.netty5.buffer.BufferUtil;
@@ -49,6 +50,11 @@ public final class NettyUtil {
 
   private static final int PACKET_DISPATCH_THREADS;
   private static final int NETTY_EVENT_LOOP_THREADS;
+  private static final int VIRTUAL_DISPATCHER_MAX_CONCURRENCY;
+  private static final boolean USE_VIRTUAL_PACKET_DISPATCHER;
+  private static final boolean FLUSH_CONSOLIDATION_ENABLED;
+  private static final int COMPRESSION_THRESHOLD;
+  private static final int MAX_UNCOMPRESSED_PACKET_LENGTH;
 
   private static final SslProvider SELECTED_SSL_PROVIDER;
   private static final NettyTransport SELECTED_NETTY_TRANSPORT;
@@ -93,6 +99,21 @@ public final class NettyUtil {
     // actual values when the whole context for the allocation is known.
     PACKET_DISPATCH_THREADS = Integer.getInteger("cloudnet.net.packet-dispatch-threads", -1);
     NETTY_EVENT_LOOP_THREADS = Integer.getInteger("cloudnet.net.netty-event-loop-threads", -1);
+    VIRTUAL_DISPATCHER_MAX_CONCURRENCY = Integer.getInteger("cloudnet.net.virtual-dispatcher-max-concurrency", -1);
+
+    // select the packet dispatcher implementation, the scaling platform thread dispatcher is used by default
+    USE_VIRTUAL_PACKET_DISPATCHER = "virtual".equals(System.getProperty("cloudnet.net.packet-dispatcher"));
+
+    // check if packet writes should be coalesced into one flush per event loop tick rather than flushing each write
+    FLUSH_CONSOLIDATION_ENABLED = Boolean.getBoolean("cloudnet.net.flush-consolidation");
+
+    // the packet length from which packets get compressed on channels that negotiated compression, -1 to disable
+    COMPRESSION_THRESHOLD = Integer.getInteger("cloudnet.net.compression-threshold", -1);
+    // the maximum length a compressed packet may claim to inflate to, defaults to 64 MiB which leaves enough room for
+    // chunked transfers which use chunks of 50 MiB by default
+    MAX_UNCOMPRESSED_PACKET_LENGTH = Integer.getInteger(
+      "cloudnet.net.max-uncompressed-packet-length",
+      64 * 1024 * 1024);
   }
 
   private NettyUtil() {
@@ -112,13 +133,22 @@ private static int overriddenCountOrDefault(int overriddenSetting, int defaultVa
 
   /**
    * Creates a new executor for all incoming packets. The thread size of the returned dispatcher depends either on a
-   * user-provided setting or on the given driver environment.
+   * user-provided setting or on the given driver environment. If the virtual thread dispatcher was selected by setting
+   * {@code cloudnet.net.packet-dispatcher} to {@code virtual}, the concurrency limit is selected in the same way.
    *
    * @param driverEnvironment the driver environment currently running on.
    * @return a newly created executor for dispatching inbound packets.
    * @throws NullPointerException if the given driver environment is null.
    */
   public static @NonNull NetworkTaskScheduler createPacketDispatcher(@NonNull DriverEnvironment driverEnvironment) {
+    // use virtual threads for packet handling if requested, bounded by a concurrency limit rather than a pool size
+    if (USE_VIRTUAL_PACKET_DISPATCHER) {
+      var defaultEnvConcurrency = driverEnvironment.equals(DriverEnvironment.NODE) ? 512 : 128;
+      var maxConcurrency = overriddenCountOrDefault(VIRTUAL_DISPATCHER_MAX_CONCURRENCY, defaultEnvConcurrency);
+      var threadFactory = Thread.ofVirtual().name("Packet-Dispatcher-", 0).factory();
+      return new VirtualThreadNetworkTaskScheduler(threadFactory, maxConcurrency);
+    }
+
     // the maximum thread count that the pool will be allowed to use for packet processing
     // TODO: consider moving the default thread amount for an environment into the environment as a property
     var defaultEnvThreadCount = driverEnvironment.equals(DriverEnvironment.NODE) ? 12 : 4;
@@ -285,4 +315,34 @@ public static int varIntBytes(int value) {
   public static @NonNull BufferAllocator selectedBufferAllocator() {
     return SELECTED_BUFFER_ALLOCATOR;
   }
+
+  /**
+   * Get if writes to a network channel should be consolidated into one flush per event loop tick rather than flushing
+   * each packet individually.
+   *
+   * @return true if flush consolidation is enabled, false otherwise.
+   */
+  public static boolean flushConsolidationEnabled() {
+    return FLUSH_CONSOLIDATION_ENABLED;
+  }
+
+  /**
+   * Get the packet length in bytes from which packets should be compressed on channels that negotiated compression
+   * during the authorization. A negative value indicates that compression should not be offered to clients.
+   *
+   * @return the packet compression threshold, negative if compression is disabled.
+   */
+  public static int compressionThreshold() {
+    return COMPRESSION_THRESHOLD;
+  }
+
+  /**
+   * Get the maximum length in bytes a compressed packet is allowed to inflate to. Packets claiming a larger length are
+   * rejected before any memory for the inflated packet is allocated.
+   *
+   * @return the maximum length of a packet after decompressing it.
+   */
+  public static int maxUncompressedPacketLength() {
+    return MAX_UNCOMPRESSED_PACKET_LENGTH;
+  }
 }
@@ -69,9 +69,9 @@ protected NettyDataBufFactory() {
   public @NonNull DataBuf copyOf(@NonNull DataBuf dataBuf) {
     Preconditions.checkArgument(dataBuf instanceof NettyImmutableDataBuf, "Factory only supports netty data buf copy");
 
-    // create a full copy of the buffer
+    // create a full copy of the readable bytes, the buffer might be a split which does not start reading at 0
     var buffer = ((NettyImmutableDataBuf) dataBuf).buffer();
-    return new NettyImmutableDataBuf(buffer.copy(0, buffer.readableBytes(), true));
+    return new NettyImmutableDataBuf(buffer.copy(buffer.readerOffset(), buffer.readableBytes(), true));
   }
 
   /**
@@ -81,9 +81,24 @@ protected NettyDataBufFactory() {
   public @NonNull DataBuf.Mutable mutableCopyOf(@NonNull DataBuf dataBuf) {
     Preconditions.checkArgument(dataBuf instanceof NettyImmutableDataBuf, "Factory only supports netty data buf copy");
 
-    // create a full copy of the buffer
+    // create a full copy of the readable bytes, the buffer might be a split which does not start reading at 0
     var buffer = ((NettyImmutableDataBuf) dataBuf).buffer();
-    return new NettyMutableDataBuf(buffer.copy(0, buffer.readableBytes()));
+    return new NettyMutableDataBuf(buffer.copy(buffer.readerOffset(), buffer.readableBytes()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf sharedCopyOf(@NonNull DataBuf dataBuf) {
+    Preconditions.checkArgument(dataBuf instanceof NettyImmutableDataBuf, "Factory only supports netty data buf copy");
+
+    // readonly copies of a readonly buffer share the memory of the buffer
+    var buffer = ((NettyImmutableDataBuf) dataBuf).buffer();
+    if (!buffer.readOnly()) {
+      buffer.makeReadOnly();
+    }
+    return new NettyImmutableDataBuf(buffer.copy(buffer.readerOffset(), buffer.readableBytes(), true));
   }
 
   /**
@@ -44,7 +44,6 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
 import javax.net.ssl.SSLException;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -212,7 +211,7 @@ public void close() {
    * {@inheritDoc}
    */
   @Override
-  public @NonNull Executor packetDispatcher() {
+  public @NonNull NetworkTaskScheduler packetDispatcher() {
     return this.packetDispatcher;
   }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.codec;
+
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import io.netty5.buffer.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.MessageToByteEncoder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A packet encoder which replaces the default packet encoder of a channel once compression was negotiated with the
+ * remote. Each frame written by this encoder has the following layout:
+ * <ol>
+ *   <li>The length of the following frame, as a var int.
+ *   <li>The length of the uncompressed packet, as a var int. Zero if the packet is not compressed.
+ *   <li>The packet in the format of the default packet encoder, deflated if the packet length reached the threshold.
+ * </ol>
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPacketCompressionEncoder extends MessageToByteEncoder<Packet> {
+
+  private static final int DEFLATE_CHUNK_SIZE = 8192;
+
+  private final int threshold;
+  private final Deflater deflater;
+  private final byte[] deflateChunk;
+
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+
+  /**
+   * Constructs a new compression encoder instance.
+   *
+   * @param threshold the packet length from which packets get compressed.
+   */
+  public NettyPacketCompressionEncoder(int threshold) {
+    this.threshold = threshold;
+    this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    this.deflateChunk = new byte[DEFLATE_CHUNK_SIZE];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
+    var packetLength = NettyPacketEncoder.frameLength(msg);
+    if (packetLength < this.threshold) {
+      // the packet is written as-is, prefixed by the frame length and the uncompressed marker byte
+      return ctx.bufferAllocator().allocate(NettyUtil.varIntBytes(packetLength + 1) + packetLength + 1);
+    }
+
+    // the compressed size is unknown at this point, the buffer is expanded when needed
+    return ctx.bufferAllocator().allocate(Math.max(64, packetLength / 2));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+    var packetLength = NettyPacketEncoder.frameLength(msg);
+    this.uncompressedBytes.add(packetLength);
+
+    // write packets below the threshold without compressing them
+    if (packetLength < this.threshold) {
+      NettyUtil.writeVarInt(out, packetLength + 1);
+      NettyUtil.writeVarInt(out, 0);
+      NettyPacketEncoder.encodePacket(msg, out);
+
+      this.compressedBytes.add(packetLength + 1);
+      return;
+    }
+
+    // encode the packet into a temporary buffer for compression
+    var input = new byte[packetLength];
+    try (var packetBuffer = ctx.bufferAllocator().allocate(packetLength)) {
+      NettyPacketEncoder.encodePacket(msg, packetBuffer);
+      packetBuffer.readBytes(input, 0, packetLength);
+    }
+
+    // deflate the packet into a temporary buffer, as the frame length must be known before writing the frame
+    try (var compressed = ctx.bufferAllocator().allocate(Math.max(64, packetLength / 2))) {
+      this.deflater.setInput(input);
+      this.deflater.finish();
+      while (!this.deflater.finished()) {
+        var written = this.deflater.deflate(this.deflateChunk);
+        compressed.ensureWritable(written);
+        compressed.writeBytes(this.deflateChunk, 0, written);
+      }
+      this.deflater.reset();
+
+      // write the frame
+      var frameLength = NettyUtil.varIntBytes(packetLength) + compressed.readableBytes();
+      out.ensureWritable(NettyUtil.varIntBytes(frameLength) + frameLength);
+      NettyUtil.writeVarInt(out, frameLength);
+      NettyUtil.writeVarInt(out, packetLength);
+      out.writeBytes(compressed);
+
+      this.compressedBytes.add(frameLength);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handlerRemoved(@NonNull ChannelHandlerContext ctx) throws Exception {
+    this.deflater.end();
+    super.handlerRemoved(ctx);
+  }
+
+  /**
+   * Get the amount of bytes of all packets that were passed to this encoder, before compressing them.
+   *
+   * @return the amount of bytes of all packets before compression.
+   */
+  public long uncompressedBytes() {
+    return this.uncompressedBytes.sum();
+  }
+
+  /**
+   * Get the amount of bytes of all frames (excluding the frame length prefix) that were written by this encoder.
+   *
+   * @return the amount of bytes of all packets after compression.
+   */
+  public long compressedBytes() {
+    return this.compressedBytes.sum();
+  }
+}
@@ -64,10 +64,10 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
       var prioritized = in.readBoolean();
       var queryUniqueId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
 
-      // extract the body
+      // extract the body, the split is a zero-copy view into the frame which owns its memory region
+      // independently of the frame buffer. the body is released once the packet content was fully read or released
       var bodyLength = NettyUtil.readVarInt(in);
-      var body = new NettyImmutableDataBuf(in.copy(in.readerOffset(), bodyLength));
-      in.skipReadableBytes(bodyLength);
+      var body = new NettyImmutableDataBuf(in.readSplit(bodyLength));
 
       // construct the packet
       var packet = new BasePacket(channel, prioritized, body);
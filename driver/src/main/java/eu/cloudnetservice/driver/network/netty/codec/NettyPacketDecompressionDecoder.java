@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.codec;
+
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
+import io.netty5.buffer.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.ByteToMessageDecoder;
+import io.netty5.handler.codec.DecoderException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A decoder which inflates frames written by the {@link NettyPacketCompressionEncoder}, placed between the frame
+ * decoder and the packet decoder once compression was negotiated with the remote.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPacketDecompressionDecoder extends ByteToMessageDecoder {
+
+  // the maximum compression ratio that can be achieved using deflate
+  private static final int MAX_DEFLATE_RATIO = 1032;
+
+  private final int maxUncompressedLength;
+  private final Inflater inflater = new Inflater();
+
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder uncompressedBytes = new LongAdder();
+
+  /**
+   * Constructs a new decompression decoder.
+   *
+   * @param maxUncompressedLength the maximum length a packet is allowed to inflate to.
+   * @throws IllegalArgumentException if the given maximum length is not positive.
+   */
+  public NettyPacketDecompressionDecoder(int maxUncompressedLength) {
+    if (maxUncompressedLength <= 0) {
+      throw new IllegalArgumentException("maxUncompressedLength must be positive, got " + maxUncompressedLength);
+    }
+    this.maxUncompressedLength = maxUncompressedLength;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
+    // ensure that the channel we're reading from is still open
+    if (!ctx.channel().isActive() || in.readableBytes() <= 0) {
+      return;
+    }
+
+    this.compressedBytes.add(in.readableBytes());
+    var uncompressedLength = NettyUtil.readVarInt(in);
+    if (uncompressedLength == 0) {
+      // the packet was not compressed, just pass the remaining frame content on
+      this.uncompressedBytes.add(in.readableBytes());
+      ctx.fireChannelRead(in.readSplit(in.readableBytes()));
+      return;
+    }
+
+    // validate the length transmitted by the remote before allocating the output, a small frame must not be able to
+    // allocate an arbitrary amount of memory
+    var compressedLength = in.readableBytes();
+    if (uncompressedLength < 0
+      || uncompressedLength > this.maxUncompressedLength
+      || uncompressedLength > (long) compressedLength * MAX_DEFLATE_RATIO) {
+      throw new DecoderException(String.format(
+        "Invalid uncompressed packet length %d (compressed length: %d, maximum length: %d)",
+        uncompressedLength,
+        compressedLength,
+        this.maxUncompressedLength));
+    }
+
+    // read the compressed data
+    var input = new byte[compressedLength];
+    in.readBytes(input, 0, input.length);
+
+    // inflate the data, the output is limited to the length transmitted by the remote
+    var output = new byte[uncompressedLength];
+    try {
+      this.inflater.setInput(input);
+      var inflated = this.inflater.inflate(output);
+      if (inflated != uncompressedLength || !this.inflater.finished()) {
+        throw new DecoderException(String.format(
+          "Packet inflated to %d bytes, expected %d bytes",
+          inflated,
+          uncompressedLength));
+      }
+    } catch (DataFormatException exception) {
+      throw new DecoderException("Unable to inflate packet", exception);
+    } finally {
+      this.inflater.reset();
+    }
+
+    this.uncompressedBytes.add(uncompressedLength);
+    ctx.fireChannelRead(ctx.bufferAllocator().allocate(uncompressedLength).writeBytes(output, 0, uncompressedLength));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void handlerRemoved0(@NonNull ChannelHandlerContext ctx) throws Exception {
+    this.inflater.end();
+    super.handlerRemoved0(ctx);
+  }
+
+  /**
+   * Get the amount of bytes of all frames (excluding the frame length prefix) that were received by this decoder.
+   *
+   * @return the amount of bytes of all packets before decompression.
+   */
+  public long compressedBytes() {
+    return this.compressedBytes.sum();
+  }
+
+  /**
+   * Get the amount of bytes of all packets that were passed on by this decoder, after decompressing them.
+   *
+   * @return the amount of bytes of all packets after decompression.
+   */
+  public long uncompressedBytes() {
+    return this.uncompressedBytes.sum();
+  }
+}
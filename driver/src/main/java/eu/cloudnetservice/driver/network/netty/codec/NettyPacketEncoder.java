@@ -30,6 +30,7 @@
  * <p>
  * A packet always contains the following data:
  * <ol>
+ *   <li>The length of the following frame, as a var int.
  *   <li>The numeric id of the channel being sent to, by default a var int.
  *   <li>An optional query unique id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
@@ -43,28 +44,32 @@ public final class NettyPacketEncoder extends MessageToByteEncoder<Packet> {
   public static final NettyPacketEncoder INSTANCE = new NettyPacketEncoder();
 
   /**
-   * {@inheritDoc}
+   * Get the amount of bytes the given packet will occupy in the frame, excluding the var int length prefix of the frame.
+   *
+   * @param msg the packet to get the frame length of.
+   * @return the amount of bytes the given packet will occupy in the frame.
+   * @throws NullPointerException if the given packet is null.
    */
-  @Override
-  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
-    // we allocate 2 booleans (prioritized and isQuery) + content length + channel in advance
-    var bufferLength = 2
-      + msg.content().readableBytes()
-      + NettyUtil.varIntBytes(msg.channel())
-      + NettyUtil.varIntBytes(msg.content().readableBytes());
+  static int frameLength(@NonNull Packet msg) {
+    // 2 booleans (prioritized and isQuery) + content length + channel
+    var contentLength = msg.content().readableBytes();
+    var frameLength = 2 + contentLength + NettyUtil.varIntBytes(msg.channel()) + NettyUtil.varIntBytes(contentLength);
     // if the given packet has a query unique id we need two longs for that unique id as well
     if (msg.uniqueId() != null) {
-      bufferLength += 16;
+      frameLength += 16;
     }
 
-    return ctx.bufferAllocator().allocate(bufferLength);
+    return frameLength;
   }
 
   /**
-   * {@inheritDoc}
+   * Writes the given packet into the given buffer without a frame length prefix, releasing the packet content once.
+   *
+   * @param msg the packet to encode.
+   * @param out the buffer to write the packet to.
+   * @throws NullPointerException if the given packet or buffer is null.
    */
-  @Override
-  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+  static void encodePacket(@NonNull Packet msg, @NonNull Buffer out) {
     NettyUtil.writeVarInt(out, msg.channel());
     out.writeBoolean(msg.prioritized());
 
@@ -80,13 +85,35 @@ protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @
     var content = ((NettyImmutableDataBuf) msg.content()).buffer();
     var length = content.readableBytes();
     NettyUtil.writeVarInt(out, length);
-    content.copyInto(0, out, out.writerOffset(), length);
+    content.copyInto(content.readerOffset(), out, out.writerOffset(), length);
     out.skipWritableBytes(length);
 
     // release the packet content once
     msg.content().release();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
+    // allocate the frame and the var int length prefix of it in one go, the frame length prefix is written
+    // directly into the same buffer to prevent the allocation and write of a separate length buffer
+    var frameLength = frameLength(msg);
+    return ctx.bufferAllocator().allocate(NettyUtil.varIntBytes(frameLength) + frameLength);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+    // write the length prefix of the frame
+    NettyUtil.writeVarInt(out, frameLength(msg));
+
+    encodePacket(msg, out);
+  }
+
   /**
    * {@inheritDoc}
    */
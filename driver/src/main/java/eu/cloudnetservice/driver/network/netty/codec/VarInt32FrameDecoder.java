@@ -55,9 +55,9 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
 
     // check if the packet data supplied in the buffer is actually at least the transmitted size
     if (in.readableBytes() >= length) {
-      // fire the channel read
-      ctx.fireChannelRead(in.copy(in.readerOffset(), length));
-      in.skipReadableBytes(length);
+      // split the frame off the cumulation rather than copying it, the split shares the underlying memory and
+      // takes over the ownership of the frame region which is released once the frame was fully processed
+      ctx.fireChannelRead(in.readSplit(length));
     } else {
       // reset the reader index, there is still data missing
       in.readerOffset(readerIndex);
@@ -50,7 +50,6 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
 import javax.net.ssl.SSLException;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -251,7 +250,7 @@ public void close() {
    * {@inheritDoc}
    */
   @Override
-  public @NonNull Executor packetDispatcher() {
+  public @NonNull NetworkTaskScheduler packetDispatcher() {
     return this.packetDispatcher;
   }
 
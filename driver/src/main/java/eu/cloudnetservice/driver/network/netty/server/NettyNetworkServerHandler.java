@@ -20,9 +20,9 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.netty.NettyNetworkChannel;
 import eu.cloudnetservice.driver.network.netty.NettyNetworkHandler;
+import eu.cloudnetservice.driver.network.scheduler.NetworkTaskScheduler;
 import io.netty5.channel.ChannelHandlerContext;
 import java.util.Collection;
-import java.util.concurrent.Executor;
 import lombok.NonNull;
 
 /**
@@ -76,7 +76,7 @@ public void channelActive(@NonNull ChannelHandlerContext ctx) throws Exception {
    * {@inheritDoc}
    */
   @Override
-  protected @NonNull Executor packetDispatcher() {
+  protected @NonNull NetworkTaskScheduler packetDispatcher() {
     return this.networkServer.packetDispatcher();
   }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/**
+ * A blocking task queue which separates tasks into lanes. Prioritized tasks are put into a dedicated lane which is
+ * always drained first, all other tasks are put into a lane per lane id (for example the connection) and the lanes
+ * are served in a round-robin fashion. This prevents a flood of tasks in one lane from delaying tasks of other lanes.
+ *
+ * @since 4.0
+ */
+final class LaneTaskQueue {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = this.lock.newCondition();
+
+  private final Queue<QueuedTask> priorityLane = new ArrayDeque<>();
+  private final Map<Integer, Queue<QueuedTask>> lanes = new HashMap<>();
+  private final Queue<Integer> pendingLanes = new ArrayDeque<>();
+
+  private final LongAdder executedTasks = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maximumWaitNanos = new AtomicLong();
+
+  private int size;
+
+  /**
+   * Puts the given task into the lane with the given id, or into the priority lane if the task is prioritized.
+   *
+   * @param task        the task to enqueue.
+   * @param laneId      the id of the lane to put the task into, ignored for prioritized tasks.
+   * @param prioritized if the task should be put into the priority lane.
+   * @throws NullPointerException if the given task is null.
+   */
+  public void offer(@NonNull Runnable task, int laneId, boolean prioritized) {
+    var queuedTask = new QueuedTask(task, System.nanoTime());
+    this.lock.lock();
+    try {
+      if (prioritized) {
+        this.priorityLane.add(queuedTask);
+      } else {
+        var lane = this.lanes.computeIfAbsent(laneId, _ -> new ArrayDeque<>());
+        if (lane.isEmpty()) {
+          // the lane had no pending tasks before, register it for the round-robin selection
+          this.pendingLanes.add(laneId);
+        }
+        lane.add(queuedTask);
+      }
+
+      this.size++;
+      this.notEmpty.signal();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Takes the next task from this queue, blocking until a task is available. Tasks from the priority lane are always
+   * returned first, after that each lane with pending tasks is served once in turn.
+   *
+   * @return the next task to execute.
+   * @throws InterruptedException if the current thread is interrupted while waiting for a task.
+   */
+  public @NonNull Runnable take() throws InterruptedException {
+    this.lock.lockInterruptibly();
+    try {
+      while (this.size == 0) {
+        this.notEmpty.await();
+      }
+
+      this.size--;
+      var prioritizedTask = this.priorityLane.poll();
+      if (prioritizedTask != null) {
+        return prioritizedTask;
+      }
+
+      // take one task from the lane that is next in turn, re-adding the lane
+      // at the end of the turn order if it has more pending tasks
+      var laneId = this.pendingLanes.remove();
+      var lane = this.lanes.get(laneId);
+      var task = lane.remove();
+      if (lane.isEmpty()) {
+        this.lanes.remove(laneId);
+      } else {
+        this.pendingLanes.add(laneId);
+      }
+
+      return task;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Get the amount of tasks that are waiting in this queue.
+   *
+   * @return the amount of tasks that are waiting in this queue.
+   */
+  public int size() {
+    this.lock.lock();
+    try {
+      return this.size;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Creates a snapshot of the current queue depths and the recorded task wait times.
+   *
+   * @return a snapshot of the current statistics of this queue.
+   */
+  public @NonNull NetworkTaskSchedulerStatistics statistics() {
+    int queuedPriorityTasks;
+    Map<Integer, Integer> queuedTasksPerLane = new HashMap<>();
+
+    this.lock.lock();
+    try {
+      queuedPriorityTasks = this.priorityLane.size();
+      this.lanes.forEach((laneId, lane) -> queuedTasksPerLane.put(laneId, lane.size()));
+    } finally {
+      this.lock.unlock();
+    }
+
+    var executedTasks = this.executedTasks.sum();
+    var averageWaitNanos = executedTasks == 0 ? 0 : this.totalWaitNanos.sum() / executedTasks;
+    return new NetworkTaskSchedulerStatistics(
+      queuedPriorityTasks,
+      Map.copyOf(queuedTasksPerLane),
+      executedTasks,
+      Duration.ofNanos(averageWaitNanos),
+      Duration.ofNanos(this.maximumWaitNanos.get()));
+  }
+
+  /**
+   * A task that was put into the queue, recording the time it had to wait before it started executing.
+   *
+   * @since 4.0
+   */
+  private final class QueuedTask implements Runnable {
+
+    private final Runnable delegate;
+    private final long enqueueNanos;
+
+    /**
+     * Constructs a new queued task instance.
+     *
+     * @param delegate     the task to execute.
+     * @param enqueueNanos the nano time when the task was put into the queue.
+     * @throws NullPointerException if the given delegate task is null.
+     */
+    private QueuedTask(@NonNull Runnable delegate, long enqueueNanos) {
+      this.delegate = delegate;
+      this.enqueueNanos = enqueueNanos;
+    }
+
+    /**
+     * Records the wait time of this task and executes the delegate task.
+     */
+    @Override
+    public void run() {
+      var waitNanos = System.nanoTime() - this.enqueueNanos;
+      LaneTaskQueue.this.executedTasks.increment();
+      LaneTaskQueue.this.totalWaitNanos.add(waitNanos);
+      LaneTaskQueue.this.maximumWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+      this.delegate.run();
+    }
+  }
+}
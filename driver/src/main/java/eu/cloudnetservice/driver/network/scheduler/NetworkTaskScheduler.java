@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.network.scheduler;
 
 import java.util.concurrent.Executor;
+import lombok.NonNull;
 
 /**
  * A scheduler for tasks that are triggered by incoming network calls and should be handled non-blocking (for execute
@@ -26,6 +27,57 @@
  */
 public interface NetworkTaskScheduler extends Executor {
 
+  /**
+   * The lane id that is used for tasks that are scheduled without specifying a lane.
+   */
+  int DEFAULT_LANE = -1;
+
+  /**
+   * Schedules the given task into the default lane of this scheduler.
+   *
+   * @param command the task to execute.
+   * @throws NullPointerException if the given task is null.
+   */
+  @Override
+  default void execute(@NonNull Runnable command) {
+    this.execute(command, DEFAULT_LANE, false);
+  }
+
+  /**
+   * Schedules the given task into the lane with the given id. Lanes are served in turn so that a flood of tasks in one
+   * lane does not delay the tasks of other lanes. Prioritized tasks are put into a dedicated lane which is always served
+   * before all other lanes.
+   *
+   * @param command     the task to execute.
+   * @param laneId      the id of the lane to put the task into, for example the id of the connection that received
+   *                    the packet to handle.
+   * @param prioritized if the task should be executed before all tasks that are not prioritized.
+   * @throws NullPointerException if the given task is null.
+   */
+  void execute(@NonNull Runnable command, int laneId, boolean prioritized);
+
+  /**
+   * Schedules the given task which completes the response to a query that was sent by this component. Other tasks of
+   * this scheduler might be blocked waiting for the response, therefore the task must never wait for them. By default,
+   * the task is put into the priority lane of this scheduler.
+   *
+   * @param command the task that completes the query response.
+   * @param laneId  the id of the lane the response would belong to, for example the id of the connection that received
+   *                the response.
+   * @throws NullPointerException if the given task is null.
+   */
+  default void executeQueryResponse(@NonNull Runnable command, int laneId) {
+    this.execute(command, laneId, true);
+  }
+
+  /**
+   * Creates a snapshot of the current queue depths and task wait times of this scheduler.
+   *
+   * @return a snapshot of the current statistics of this scheduler.
+   */
+  @NonNull
+  NetworkTaskSchedulerStatistics statistics();
+
   /**
    * Triggers a shutdown operation on this scheduler, interrupting all currently running tasks and preventing new tasks
    * from being scheduled.
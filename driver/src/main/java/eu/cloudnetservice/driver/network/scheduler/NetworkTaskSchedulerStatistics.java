@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.time.Duration;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * A snapshot of the queue depths and task wait times of a network task scheduler. The wait time of a task is the time
+ * between submitting the task to the scheduler and the start of its execution.
+ *
+ * @param queuedPriorityTasks the amount of prioritized tasks that are waiting for execution.
+ * @param queuedTasksPerLane  the amount of tasks that are waiting for execution, per lane id.
+ * @param executedTasks       the amount of tasks that were started by the scheduler.
+ * @param averageWaitTime     the average time that started tasks had to wait before being executed.
+ * @param maximumWaitTime     the maximum time that a started task had to wait before being executed.
+ * @since 4.0
+ */
+public record NetworkTaskSchedulerStatistics(
+  int queuedPriorityTasks,
+  @NonNull Map<Integer, Integer> queuedTasksPerLane,
+  long executedTasks,
+  @NonNull Duration averageWaitTime,
+  @NonNull Duration maximumWaitTime
+) {
+
+}
@@ -16,7 +16,6 @@
 
 package eu.cloudnetservice.driver.network.scheduler;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
@@ -32,6 +31,9 @@
  * thread pool is not able to keep up, the pace of starting new threads increases. Initially the time between thread
  * starts is 2.5 seconds, and it can go all the way down to 100ms if needed (starting at around 160 tasks waiting to be
  * scheduled).
+ * <p>
+ * Tasks that are waiting to be scheduled are kept in lanes, prioritized tasks are always scheduled first while all
+ * other lanes are served in turn.
  *
  * @since 4.0
  */
@@ -44,6 +46,7 @@ public final class ScalingNetworkTaskScheduler implements NetworkTaskScheduler {
   private final AtomicBoolean active;
   private final ThreadPoolExecutor coreExecutor;
   private final ThreadPoolExecutor fallbackExecutor;
+  private final LaneTaskQueue unscheduledTaskQueue;
   private final TaskSchedulingAction taskScheduler;
 
   /**
@@ -72,9 +75,9 @@ public ScalingNetworkTaskScheduler(@NonNull ThreadFactory threadFactory, int max
 
     // construct the calculator for timeouts when adding tasks into the core executor,
     // which depends on the count of unscheduled (more unscheduled tasks = smaller timeout)
-    LinkedBlockingQueue<Runnable> unscheduledTaskQueue = new LinkedBlockingQueue<>();
+    this.unscheduledTaskQueue = new LaneTaskQueue();
     LongSupplier timeoutSupplier = () -> {
-      var scheduledTasks = unscheduledTaskQueue.size();
+      var scheduledTasks = this.unscheduledTaskQueue.size();
       var timeout = BASE_QUEUE_TIMEOUT * Math.pow(QUEUE_TIMOUT_DECAY_FACTOR, scheduledTasks);
       return (long) Math.clamp(timeout, MINIMUM_QUEUE_TIMEOUT, BASE_QUEUE_TIMEOUT);
     };
@@ -99,7 +102,7 @@ public ScalingNetworkTaskScheduler(@NonNull ThreadFactory threadFactory, int max
     // construct and start the actual task scheduling action, uses a virtual
     // thread here as the action blocks most of the time waiting for tasks
     // to be executed
-    this.taskScheduler = new TaskSchedulingAction(this.coreExecutor, unscheduledTaskQueue);
+    this.taskScheduler = new TaskSchedulingAction(this.coreExecutor, this.unscheduledTaskQueue);
     Thread.ofVirtual().name("NetworkTaskScheduler").start(this.taskScheduler);
   }
 
@@ -118,7 +121,7 @@ public void shutdown() {
    * {@inheritDoc}
    */
   @Override
-  public void execute(@NonNull Runnable command) {
+  public void execute(@NonNull Runnable command, int laneId, boolean prioritized) {
     if (!this.active.get()) {
       // the underlying scheduler were also shut down, there is no point
       // in even trying to schedule a new task in them
@@ -128,6 +131,14 @@ public void execute(@NonNull Runnable command) {
     // scheduling directly into the core executor would be a blocking operation
     // so we use this "man-in-the-middle" action that does the scheduling into
     // the core executor without blocking the caller of this method
-    this.taskScheduler.scheduleTask(command);
+    this.taskScheduler.scheduleTask(command, laneId, prioritized);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull NetworkTaskSchedulerStatistics statistics() {
+    return this.unscheduledTaskQueue.statistics();
   }
 }
@@ -16,7 +16,6 @@
 
 package eu.cloudnetservice.driver.network.scheduler;
 
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import lombok.NonNull;
@@ -30,7 +29,7 @@
 final class TaskSchedulingAction implements Runnable {
 
   private final ThreadPoolExecutor targetExecutor;
-  private final LinkedBlockingQueue<Runnable> unscheduledTasks;
+  private final LaneTaskQueue unscheduledTasks;
 
   /**
    * Constructs a new task scheduling action.
@@ -41,7 +40,7 @@ final class TaskSchedulingAction implements Runnable {
    */
   public TaskSchedulingAction(
     @NonNull ThreadPoolExecutor targetExecutor,
-    @NonNull LinkedBlockingQueue<Runnable> unscheduledTaskQueue
+    @NonNull LaneTaskQueue unscheduledTaskQueue
   ) {
     this.targetExecutor = targetExecutor;
     this.unscheduledTasks = unscheduledTaskQueue;
@@ -81,10 +80,12 @@ public void run() {
   /**
    * Schedules the given task for execution.
    *
-   * @param task the task to execute.
+   * @param task        the task to execute.
+   * @param laneId      the id of the lane to put the task into.
+   * @param prioritized if the task should be put into the priority lane.
    * @throws NullPointerException if the given task is null.
    */
-  public void scheduleTask(@NonNull Runnable task) {
-    this.unscheduledTasks.offer(task);
+  public void scheduleTask(@NonNull Runnable task, int laneId, boolean prioritized) {
+    this.unscheduledTasks.offer(task, laneId, prioritized);
   }
 }
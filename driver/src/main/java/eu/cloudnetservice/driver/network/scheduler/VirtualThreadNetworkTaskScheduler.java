@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of a network task scheduler that executes each task in a new virtual thread. Blocking tasks (for
+ * example tasks waiting for a query response or a database call) do not occupy a platform thread while waiting, which
+ * removes the need to spawn fallback platform threads when all workers are blocked.
+ * <p>
+ * Tasks are started in the order of their lanes: prioritized tasks are always started first, tasks of the same lane
+ * are started in the order they were submitted and all other lanes are served in turn. Tasks of a lane are not
+ * executed serially, a task that blocks on a nested query does not prevent a later task of the same lane (for example
+ * the query sent back by the other side while handling the nested query) from starting. Handlers that require the
+ * packets of one key to be applied in order must sequence them on their own.
+ * <p>
+ * The amount of tasks running at the same time is bounded, tasks that exceed the limit wait in their lane until a
+ * running task completes. Tasks that complete the response of a query are not subject to the limit, as running tasks
+ * might wait for them and their amount is bounded by the amount of queries waiting for a response. Nested queries can
+ * therefore only stall the scheduler if every permit is held by a task that waits for a query which can only be
+ * answered by a task still waiting for a permit. In that case the stalled tasks continue once their queries time out,
+ * the limit should be chosen high enough to not run into this situation.
+ *
+ * @since 4.0
+ */
+public final class VirtualThreadNetworkTaskScheduler implements NetworkTaskScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadNetworkTaskScheduler.class);
+
+  private final AtomicBoolean active;
+  private final Semaphore concurrencyLimit;
+  private final ThreadFactory threadFactory;
+  private final LaneTaskQueue unscheduledTaskQueue;
+  private final Thread dispatchThread;
+  private final Set<Thread> runningThreads;
+
+  /**
+   * Constructs a new virtual thread task scheduler.
+   *
+   * @param threadFactory  the thread factory to use when starting a task, should create virtual threads.
+   * @param maxConcurrency the maximum amount of tasks that are allowed to run at the same time.
+   * @throws NullPointerException     if the given thread factory is null.
+   * @throws IllegalArgumentException if the given maximum concurrency is smaller than 1.
+   */
+  public VirtualThreadNetworkTaskScheduler(@NonNull ThreadFactory threadFactory, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+
+    this.active = new AtomicBoolean(true);
+    this.threadFactory = threadFactory;
+    this.concurrencyLimit = new Semaphore(maxConcurrency);
+    this.unscheduledTaskQueue = new LaneTaskQueue();
+    this.runningThreads = ConcurrentHashMap.newKeySet();
+
+    // the dispatch thread blocks most of the time waiting for tasks or
+    // permits, therefore it is fine to use a virtual thread for it as well
+    this.dispatchThread = Thread.ofVirtual().name("NetworkTaskScheduler").start(this::dispatchTasks);
+  }
+
+  /**
+   * Takes the tasks from the lane queue in order and starts each of them in a new thread once a permit is available.
+   */
+  private void dispatchTasks() {
+    while (this.active.get()) {
+      try {
+        var nextTask = this.unscheduledTaskQueue.take();
+        this.concurrencyLimit.acquire();
+
+        try {
+          // start the task and release the permit once the task completed
+          this.startThread(() -> {
+            try {
+              nextTask.run();
+            } finally {
+              this.concurrencyLimit.release();
+            }
+          });
+        } catch (RejectedExecutionException exception) {
+          this.concurrencyLimit.release();
+          LOGGER.error("Unable to start network task", exception);
+        }
+      } catch (InterruptedException _) {
+        Thread.currentThread().interrupt(); // reset interrupted state
+        break;
+      }
+    }
+  }
+
+  /**
+   * Starts the given task in a new thread created by the thread factory of this scheduler. Exceptions thrown by the
+   * task are logged.
+   *
+   * @param task the task to start.
+   * @throws NullPointerException       if the given task is null.
+   * @throws RejectedExecutionException if the thread factory rejected the creation of a new thread.
+   */
+  private void startThread(@NonNull Runnable task) {
+    var thread = this.threadFactory.newThread(() -> {
+      try {
+        task.run();
+      } catch (Exception exception) {
+        LOGGER.error("Exception whilst executing network task", exception);
+      } finally {
+        this.runningThreads.remove(Thread.currentThread());
+      }
+    });
+    if (thread == null) {
+      throw new RejectedExecutionException("thread factory rejected the creation of a new thread");
+    }
+
+    this.runningThreads.add(thread);
+    thread.start();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shutdown() {
+    if (this.active.compareAndSet(true, false)) {
+      this.dispatchThread.interrupt();
+      this.runningThreads.forEach(Thread::interrupt);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute(@NonNull Runnable command, int laneId, boolean prioritized) {
+    if (!this.active.get()) {
+      throw new RejectedExecutionException("scheduler was shut down");
+    }
+
+    this.unscheduledTaskQueue.offer(command, laneId, prioritized);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void executeQueryResponse(@NonNull Runnable command, int laneId) {
+    if (!this.active.get()) {
+      throw new RejectedExecutionException("scheduler was shut down");
+    }
+
+    // start query responses without a permit, the tasks holding the permits might be waiting for them. the
+    // amount of these tasks is bounded by the amount of queries that are waiting for a response
+    this.startThread(command);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull NetworkTaskSchedulerStatistics statistics() {
+    return this.unscheduledTaskQueue.statistics();
+  }
+}
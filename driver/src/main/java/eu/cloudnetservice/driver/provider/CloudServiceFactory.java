@@ -19,6 +19,7 @@
 import eu.cloudnetservice.common.concurrent.TaskUtil;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 
@@ -73,6 +74,22 @@ public interface CloudServiceFactory {
   @NonNull
   ServiceCreateResult createCloudService(@NonNull ServiceConfiguration serviceConfiguration);
 
+  /**
+   * Creates and prepares a new cloud service for each of the given configurations. The services are created
+   * concurrently where possible, which makes this method preferable over calling
+   * {@link #createCloudService(ServiceConfiguration)} for each configuration when creating many services at once (for
+   * example when scaling up a task).
+   * <p>
+   * Each configuration is handled the same way as if it was passed to the single service create method, the creation of
+   * one service failing has no effect on the creation of the other services.
+   *
+   * @param serviceConfigurations the configurations to base the newly created services on.
+   * @return the results of the service creations, in the same order as the given configurations.
+   * @throws NullPointerException if the given configuration list is null.
+   */
+  @NonNull
+  List<ServiceCreateResult> createCloudServices(@NonNull List<ServiceConfiguration> serviceConfigurations);
+
   /**
    * Creates and prepares a new cloud service based on the given configuration. This method can be called with the same
    * configuration multiple times and will always (if the service was created successfully) in a different result.
@@ -99,4 +116,23 @@ public interface CloudServiceFactory {
   ) {
     return TaskUtil.supplyAsync(() -> this.createCloudService(configuration));
   }
+
+  /**
+   * Creates and prepares a new cloud service for each of the given configurations. The services are created
+   * concurrently where possible, which makes this method preferable over calling
+   * {@link #createCloudServiceAsync(ServiceConfiguration)} for each configuration when creating many services at once
+   * (for example when scaling up a task).
+   * <p>
+   * Each configuration is handled the same way as if it was passed to the single service create method, the creation of
+   * one service failing has no effect on the creation of the other services.
+   *
+   * @param serviceConfigurations the configurations to base the newly created services on.
+   * @return a task completed with the results of the service creations, in the order of the given configurations.
+   * @throws NullPointerException if the given configuration list is null.
+   */
+  default @NonNull CompletableFuture<List<ServiceCreateResult>> createCloudServicesAsync(
+    @NonNull List<ServiceConfiguration> serviceConfigurations
+  ) {
+    return TaskUtil.supplyAsync(() -> this.createCloudServices(serviceConfigurations));
+  }
 }
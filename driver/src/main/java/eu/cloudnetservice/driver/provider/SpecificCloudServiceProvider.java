@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
 import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -84,6 +85,20 @@ public interface SpecificCloudServiceProvider {
   @Nullable
   ServiceInfoSnapshot forceUpdateServiceInfo();
 
+  /**
+   * Requests a snapshot of all threads which are currently alive in the process of the service. The process snapshot
+   * of a service only contains the amount of threads, as dumping all threads is too expensive to do it for every
+   * service info update. This method returns an empty collection when the underlying service
+   * <ol>
+   *   <li>doesn't exist anymore.
+   *   <li>is not started and therefore not connected to a node.
+   * </ol>
+   *
+   * @return a snapshot of all threads of the service process, empty as described above.
+   */
+  @NonNull
+  Collection<ThreadSnapshot> threadSnapshots();
+
   /**
    * Adds the given service template to the inclusion queue. This does not mean that the given template will be copied
    * directly onto the service. The template will be copied when
@@ -349,6 +364,21 @@ default void removeAndExecuteDeployments() {
     return TaskUtil.supplyAsync(this::forceUpdateServiceInfo);
   }
 
+  /**
+   * Requests a snapshot of all threads which are currently alive in the process of the service. The process snapshot
+   * of a service only contains the amount of threads, as dumping all threads is too expensive to do it for every
+   * service info update. This method returns an empty collection when the underlying service
+   * <ol>
+   *   <li>doesn't exist anymore.
+   *   <li>is not started and therefore not connected to a node.
+   * </ol>
+   *
+   * @return a task completed with a snapshot of all threads of the service process, empty as described above.
+   */
+  default @NonNull CompletableFuture<Collection<ThreadSnapshot>> threadSnapshotsAsync() {
+    return TaskUtil.supplyAsync(this::threadSnapshots);
+  }
+
   /**
    * Adds the given service template to the inclusion queue. This does not mean that the given template will be copied
    * directly onto the service. The template will be copied when
@@ -24,12 +24,17 @@
 import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Set;
+import java.util.List;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
 
 /**
  * A snapshot of the process resources at a specific time. It holds the most useful information for displaying or
  * storing statistics about a service / node (or anything else).
+ * <p>
+ * The snapshot only contains information which is cheap to collect, as it is created very frequently. Detailed
+ * information about the threads of the process are not included and must be requested explicitly, for example using
+ * {@link #selfThreads()} for the current process.
  *
  * @param pid                     the process id of the component which created the snapshot.
  * @param cpuUsage                the recent usage (in percent) of the cpu usage associated with the component process.
@@ -40,7 +45,7 @@
  * @param unloadedClassCount      the amount of classes the associated process unloaded since starting.
  * @param totalLoadedClassCount   the amount of classes which were loaded since the associated process was started.
  * @param currentLoadedClassCount the amount of classes which are currently loaded by the associated process.
- * @param threads                 a snapshot of all threads which are currently known to the associated process.
+ * @param threadCount             the amount of threads which are currently alive in the associated process.
  * @since 4.0
  */
 public record ProcessSnapshot(
@@ -53,7 +58,7 @@ public record ProcessSnapshot(
   long unloadedClassCount,
   long totalLoadedClassCount,
   int currentLoadedClassCount,
-  @NonNull Collection<ThreadSnapshot> threads
+  int threadCount
 ) implements Cloneable {
 
   // init them here to reduce lookup load as the get calls will trigger a full re-scan for the bean
@@ -64,7 +69,50 @@ public record ProcessSnapshot(
 
   private static final long OWN_PID = ProcessHandle.current().pid();
   private static final ProcessSnapshot EMPTY = new ProcessSnapshot(
-    -1, -1, -1, -1, -1, -1, -1, -1, -1, Set.of());
+    -1, -1, -1, -1, -1, -1, -1, -1, -1, -1);
+
+  /**
+   * Constructs a new process snapshot using the given thread snapshots to determine the thread count.
+   *
+   * @param pid                     the process id of the component which created the snapshot.
+   * @param cpuUsage                the recent usage (in percent) of the cpu usage associated with the component.
+   * @param systemCpuUsage          the recent usage (in percent) of the hosts' system cpu the process is running on.
+   * @param maxHeapMemory           the maximum heap memory space the associated process is allowed to use.
+   * @param heapUsageMemory         the heap memory of all pools which the associated process is currently using.
+   * @param noHeapUsageMemory       the off-heap memory of all pools which the associated process is currently using.
+   * @param unloadedClassCount      the amount of classes the associated process unloaded since starting.
+   * @param totalLoadedClassCount   the amount of classes which were loaded since the associated process was started.
+   * @param currentLoadedClassCount the amount of classes which are currently loaded by the associated process.
+   * @param threads                 a snapshot of all threads which are currently known to the associated process.
+   * @throws NullPointerException if the given thread collection is null.
+   * @deprecated snapshots no longer include the threads of the process, use the constructor taking the thread count.
+   */
+  @Deprecated(since = "4.0", forRemoval = true)
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  public ProcessSnapshot(
+    long pid,
+    double cpuUsage,
+    double systemCpuUsage,
+    long maxHeapMemory,
+    long heapUsageMemory,
+    long noHeapUsageMemory,
+    long unloadedClassCount,
+    long totalLoadedClassCount,
+    int currentLoadedClassCount,
+    @NonNull Collection<ThreadSnapshot> threads
+  ) {
+    this(
+      pid,
+      cpuUsage,
+      systemCpuUsage,
+      maxHeapMemory,
+      heapUsageMemory,
+      noHeapUsageMemory,
+      unloadedClassCount,
+      totalLoadedClassCount,
+      currentLoadedClassCount,
+      threads.size());
+  }
 
   /**
    * Get a jvm static process snapshot which holds no information about any process.
@@ -91,7 +139,33 @@ public record ProcessSnapshot(
       CLASS_LOADING_MX_BEAN.getUnloadedClassCount(),
       CLASS_LOADING_MX_BEAN.getTotalLoadedClassCount(),
       CLASS_LOADING_MX_BEAN.getLoadedClassCount(),
-      Arrays.stream(THREAD_MX_BEAN.dumpAllThreads(false, false, 0)).map(ThreadSnapshot::from).toList());
+      THREAD_MX_BEAN.getThreadCount());
+  }
+
+  /**
+   * Creates a snapshot of all threads which are currently alive in the current process. This operation requires a
+   * dump of all threads of the jvm and is therefore expensive, only use it when the information is really needed.
+   *
+   * @return a snapshot of all threads which are alive in the current process.
+   */
+  public static @NonNull Collection<ThreadSnapshot> selfThreads() {
+    return Arrays.stream(THREAD_MX_BEAN.dumpAllThreads(false, false, 0)).map(ThreadSnapshot::from).toList();
+  }
+
+  /**
+   * Get the threads which were alive in the associated process when the snapshot was created. Snapshots no longer
+   * carry thread information, therefore this method always returns an empty collection.
+   *
+   * @return an empty collection.
+   * @deprecated snapshots no longer include the threads of the process as collecting them is too expensive. Use
+   * {@link #threadCount()} for the amount of alive threads, {@link #selfThreads()} for the threads of the current
+   * process or {@link eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider#threadSnapshots()} for the
+   * threads of a service instead.
+   */
+  @Deprecated(since = "4.0", forRemoval = true)
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  public @NonNull Collection<ThreadSnapshot> threads() {
+    return List.of();
   }
 
   /**
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.send.element.ArrayElement;
+import eu.cloudnetservice.driver.document.send.element.Element;
+import eu.cloudnetservice.driver.document.send.element.ObjectElement;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes the changes between two snapshots of the same service into a buffer and applies them onto the base snapshot
+ * again. Only the fields which differ between the two snapshots are written, the properties of the snapshots are
+ * compared per top-level key. This allows replicating a snapshot update without re-sending the service configuration
+ * and all properties of the service, as usually only a few properties (for example the online count) change.
+ * <p>
+ * A delta can only be applied to the exact snapshot it was created against. Callers are responsible to track which
+ * snapshot the receiving side knows, for example by versioning the replicated snapshots.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class ServiceInfoSnapshotDelta {
+
+  private static final int ADDRESS = 1;
+  private static final int PROCESS_SNAPSHOT = 1 << 1;
+  private static final int CONFIGURATION = 1 << 2;
+  private static final int CONNECTED_TIME = 1 << 3;
+  private static final int LIFECYCLE = 1 << 4;
+  private static final int PROPERTIES = 1 << 5;
+
+  private ServiceInfoSnapshotDelta() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Writes the changes which were made to the given base snapshot to get the given current snapshot into the given
+   * buffer.
+   *
+   * @param target  the buffer to write the delta to.
+   * @param base    the snapshot the receiving side knows.
+   * @param current the snapshot to replicate to the receiving side.
+   * @throws NullPointerException if the given buffer, base or current snapshot is null.
+   */
+  public static void writeDelta(
+    @NonNull DataBuf.Mutable target,
+    @NonNull ServiceInfoSnapshot base,
+    @NonNull ServiceInfoSnapshot current
+  ) {
+    var changes = 0;
+    if (!base.address().equals(current.address())) {
+      changes |= ADDRESS;
+    }
+    if (!base.processSnapshot().equals(current.processSnapshot())) {
+      changes |= PROCESS_SNAPSHOT;
+    }
+    if (!base.configuration().equals(current.configuration())) {
+      changes |= CONFIGURATION;
+    }
+    if (base.connectedTime() != current.connectedTime()) {
+      changes |= CONNECTED_TIME;
+    }
+    if (base.lifeCycle() != current.lifeCycle()) {
+      changes |= LIFECYCLE;
+    }
+
+    // find the properties which were changed or removed
+    var baseProperties = elementsByKey(base.propertyHolder());
+    var currentProperties = elementsByKey(current.propertyHolder());
+    var changedProperties = current.propertyHolder().mutableCopy();
+    currentProperties.forEach((key, element) -> {
+      if (sameElement(baseProperties.get(key), element)) {
+        changedProperties.remove(key);
+      }
+    });
+    baseProperties.keySet().removeAll(currentProperties.keySet());
+    if (!changedProperties.empty() || !baseProperties.isEmpty()) {
+      changes |= PROPERTIES;
+    }
+
+    // the creation time changes with each snapshot, no need to mark it as changed
+    target.writeLong(current.creationTime()).writeInt(changes);
+    if ((changes & ADDRESS) != 0) {
+      target.writeObject(current.address());
+    }
+    if ((changes & PROCESS_SNAPSHOT) != 0) {
+      target.writeObject(current.processSnapshot());
+    }
+    if ((changes & CONFIGURATION) != 0) {
+      target.writeObject(current.configuration());
+    }
+    if ((changes & CONNECTED_TIME) != 0) {
+      target.writeLong(current.connectedTime());
+    }
+    if ((changes & LIFECYCLE) != 0) {
+      target.writeObject(current.lifeCycle());
+    }
+    if ((changes & PROPERTIES) != 0) {
+      // the remaining keys of the base properties were removed
+      target.writeInt(baseProperties.size());
+      baseProperties.keySet().forEach(target::writeString);
+      target.writeObject(changedProperties);
+    }
+  }
+
+  /**
+   * Reads a delta which was written by {@link #writeDelta(DataBuf.Mutable, ServiceInfoSnapshot, ServiceInfoSnapshot)}
+   * from the given buffer and applies it to the given base snapshot. The given base snapshot must be the same snapshot
+   * the delta was created against.
+   *
+   * @param source the buffer to read the delta from.
+   * @param base   the snapshot the delta was created against.
+   * @return the snapshot resulting from applying the delta to the given base snapshot.
+   * @throws NullPointerException if the given buffer or base snapshot is null.
+   */
+  public static @NonNull ServiceInfoSnapshot readDelta(@NonNull DataBuf source, @NonNull ServiceInfoSnapshot base) {
+    var creationTime = source.readLong();
+    var changes = source.readInt();
+
+    var address = (changes & ADDRESS) != 0 ? source.readObject(HostAndPort.class) : base.address();
+    var processSnapshot = (changes & PROCESS_SNAPSHOT) != 0
+      ? source.readObject(ProcessSnapshot.class)
+      : base.processSnapshot();
+    var configuration = (changes & CONFIGURATION) != 0
+      ? source.readObject(ServiceConfiguration.class)
+      : base.configuration();
+    var connectedTime = (changes & CONNECTED_TIME) != 0 ? source.readLong() : base.connectedTime();
+    var lifeCycle = (changes & LIFECYCLE) != 0 ? source.readObject(ServiceLifeCycle.class) : base.lifeCycle();
+
+    var properties = base.propertyHolder();
+    if ((changes & PROPERTIES) != 0) {
+      var newProperties = properties.mutableCopy();
+      for (var removed = source.readInt(); removed > 0; removed--) {
+        newProperties.remove(source.readString());
+      }
+
+      newProperties.append(source.readObject(Document.class));
+      properties = newProperties.immutableCopy();
+    }
+
+    return new ServiceInfoSnapshot(
+      creationTime,
+      address,
+      processSnapshot,
+      configuration,
+      connectedTime,
+      lifeCycle,
+      properties);
+  }
+
+  private static @NonNull Map<String, Element> elementsByKey(@NonNull Document document) {
+    Map<String, Element> elements = new HashMap<>();
+    for (var element : document.elements()) {
+      elements.put(element.key(), element);
+    }
+    return elements;
+  }
+
+  private static boolean sameElement(@Nullable Element left, @Nullable Element right) {
+    // the elements of objects and arrays are wrapped into collections which don't implement equals
+    return switch (left) {
+      case null -> right == null;
+      case ObjectElement object when right instanceof ObjectElement other ->
+        object.key().equals(other.key()) && sameElements(object.elements(), other.elements());
+      case ArrayElement array when right instanceof ArrayElement other ->
+        array.key().equals(other.key()) && sameElements(array.elements(), other.elements());
+      default -> left.equals(right);
+    };
+  }
+
+  private static boolean sameElements(
+    @NonNull Collection<? extends Element> left,
+    @NonNull Collection<? extends Element> right
+  ) {
+    if (left.size() != right.size()) {
+      return false;
+    }
+
+    var rightIterator = right.iterator();
+    for (var element : left) {
+      if (!sameElement(element, rightIterator.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
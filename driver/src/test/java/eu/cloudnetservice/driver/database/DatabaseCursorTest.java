@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DatabaseCursorTest {
+
+  @Test
+  void testCursorRequestsBatchesAfterLastKey() {
+    var entries = new TreeMap<String, Document>();
+    for (var i = 0; i < 25; i++) {
+      entries.put(String.format("key_%02d", i), Document.newJsonDocument().append("index", i));
+    }
+
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.cursor(Mockito.anyInt())).thenCallRealMethod();
+    Mockito.when(database.stream(Mockito.anyInt())).thenCallRealMethod();
+    Mockito.when(database.readChunkAfter(Mockito.any(), Mockito.anyInt())).then(invocation -> {
+      String lastKey = invocation.getArgument(0);
+      int chunkSize = invocation.getArgument(1);
+
+      var remaining = lastKey == null ? entries : entries.tailMap(lastKey, false);
+      var chunk = new LinkedHashMap<String, Document>();
+      for (var entry : remaining.entrySet()) {
+        if (chunk.size() >= chunkSize) {
+          break;
+        }
+        chunk.put(entry.getKey(), entry.getValue());
+      }
+
+      return chunk.isEmpty() ? null : chunk;
+    });
+
+    var keys = database.stream(10).map(Map.Entry::getKey).toList();
+    Assertions.assertEquals(entries.keySet().stream().toList(), keys);
+
+    // the third batch is smaller than the batch size, so no fourth request is needed
+    Mockito.verify(database).readChunkAfter(null, 10);
+    Mockito.verify(database).readChunkAfter("key_09", 10);
+    Mockito.verify(database).readChunkAfter("key_19", 10);
+    Mockito.verify(database, Mockito.times(3)).readChunkAfter(Mockito.any(), Mockito.anyInt());
+  }
+
+  @Test
+  void testEmptyDatabase() {
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.cursor(Mockito.anyInt())).thenCallRealMethod();
+
+    var cursor = database.cursor(10);
+    Assertions.assertFalse(cursor.hasNext());
+    Assertions.assertFalse(cursor.hasNext());
+    Mockito.verify(database, Mockito.times(1)).readChunkAfter(null, 10);
+  }
+}
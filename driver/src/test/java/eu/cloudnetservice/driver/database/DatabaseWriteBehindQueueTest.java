@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.database;
+
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DatabaseWriteBehindQueueTest {
+
+  @Test
+  void testWritesAreCoalescedPerKey() {
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.writeBehindQueue(Mockito.anyInt())).thenCallRealMethod();
+
+    List<Map<String, Document>> insertedBatches = new CopyOnWriteArrayList<>();
+    List<Collection<String>> deletedBatches = new CopyOnWriteArrayList<>();
+    Mockito.when(database.insertAll(Mockito.any())).then(invocation -> insertedBatches.add(invocation.getArgument(0)));
+    Mockito.when(database.deleteAll(Mockito.any())).then(invocation -> deletedBatches.add(invocation.getArgument(0)));
+
+    try (var queue = database.writeBehindQueue(100)) {
+      queue.insert("a", Document.newJsonDocument().append("value", 1));
+      queue.insert("a", Document.newJsonDocument().append("value", 2));
+      queue.insert("b", Document.newJsonDocument().append("value", 3));
+      queue.delete("b");
+      queue.delete("c");
+      Assertions.assertEquals(3, queue.pendingWrites());
+    }
+
+    Assertions.assertEquals(1, insertedBatches.size());
+    Assertions.assertEquals(1, deletedBatches.size());
+
+    var inserted = insertedBatches.getFirst();
+    Assertions.assertEquals(1, inserted.size());
+    Assertions.assertEquals(2, inserted.get("a").getInt("value"));
+    Assertions.assertEquals(List.of("b", "c"), List.copyOf(deletedBatches.getFirst()));
+  }
+
+  @Test
+  void testQueueFlushesWhenFull() {
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.writeBehindQueue(Mockito.anyInt())).thenCallRealMethod();
+
+    Mockito.when(database.insertAll(Mockito.any())).thenReturn(true);
+
+    var queue = database.writeBehindQueue(2);
+    queue.insert("a", Document.newJsonDocument());
+    Assertions.assertEquals(1, queue.pendingWrites());
+
+    queue.insert("b", Document.newJsonDocument());
+    Assertions.assertEquals(0, queue.pendingWrites());
+
+    queue.flush().join();
+    Mockito.verify(database, Mockito.times(1)).insertAll(Mockito.argThat(documents -> documents.size() == 2));
+    Mockito.verify(database, Mockito.never()).deleteAll(Mockito.any());
+  }
+
+  @Test
+  void testQueueFlushesAfterDelay() {
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.writeBehindQueue(Mockito.anyInt(), Mockito.any())).thenCallRealMethod();
+    Mockito.when(database.insertAll(Mockito.any())).thenReturn(true);
+
+    var queue = database.writeBehindQueue(100, Duration.ofMillis(50));
+    queue.insert("a", Document.newJsonDocument());
+    queue.insert("b", Document.newJsonDocument());
+
+    // the queue is far from full, the writes must still be flushed once the delay elapsed
+    Mockito.verify(database, Mockito.timeout(5_000)).insertAll(Mockito.argThat(documents -> documents.size() == 2));
+    Assertions.assertEquals(0, queue.pendingWrites());
+  }
+
+  @Test
+  void testFailedFlushIsSurfaced() {
+    var database = Mockito.mock(Database.class);
+    Mockito.when(database.writeBehindQueue(Mockito.anyInt())).thenCallRealMethod();
+    Mockito.when(database.insertAll(Mockito.any())).thenReturn(false);
+
+    var queue = database.writeBehindQueue(100);
+    queue.insert("a", Document.newJsonDocument());
+    Assertions.assertThrows(CompletionException.class, () -> queue.flush().join());
+
+    // a failed flush must not prevent the following flushes
+    Mockito.when(database.insertAll(Mockito.any())).thenReturn(true);
+    queue.insert("b", Document.newJsonDocument());
+    Assertions.assertDoesNotThrow(queue::close);
+  }
+}
@@ -17,7 +17,10 @@
 package eu.cloudnetservice.driver.event;
 
 import com.google.common.collect.Iterables;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -89,6 +92,42 @@ void testUnregisterListenerByClassLoader() {
     Assertions.assertEquals(0, eventManager.listeners.size());
   }
 
+  @Test
+  @Order(40)
+  void testRegisteredListeners() {
+    var eventManager = this.newEventManagerWithListener();
+
+    var listeners = eventManager.registeredListeners(TestEvent.class);
+    Assertions.assertEquals(3, listeners.size());
+    Assertions.assertTrue(eventManager.registeredListeners(ChannelMessageReceiveEvent.class).isEmpty());
+
+    var listener = listeners.iterator().next();
+    Assertions.assertSame(listener.eventListener(), listener.methodAnnotation(EventListener.class));
+    Assertions.assertNull(listener.methodAnnotation(ChannelMessageSubscription.class));
+  }
+
+  @Test
+  @Order(50)
+  void testListenerChangeHooks() {
+    var eventManager = new DefaultEventManager();
+    var testEventChanges = new AtomicInteger();
+    var channelMessageChanges = new AtomicInteger();
+    eventManager.registerListenerChangeHook(TestEvent.class, testEventChanges::incrementAndGet);
+    eventManager.registerListenerChangeHook(ChannelMessageReceiveEvent.class, channelMessageChanges::incrementAndGet);
+
+    // the hook is called once per registration, not once per listener method
+    eventManager.registerListener(TestListener.INSTANCE);
+    Assertions.assertEquals(1, testEventChanges.get());
+    Assertions.assertEquals(3, eventManager.registeredListeners(TestEvent.class).size());
+
+    eventManager.unregisterListener(TestListener.INSTANCE);
+    Assertions.assertEquals(2, testEventChanges.get());
+    Assertions.assertTrue(eventManager.registeredListeners(TestEvent.class).isEmpty());
+
+    // listeners of other events were not changed
+    Assertions.assertEquals(0, channelMessageChanges.get());
+  }
+
   private DefaultEventManager newEventManagerWithListener() {
     var eventManager = new DefaultEventManager();
 
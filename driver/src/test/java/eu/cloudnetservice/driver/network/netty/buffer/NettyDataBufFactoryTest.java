@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NettyDataBufFactoryTest {
+
+  @Test
+  void testSharedCopiesReadIndependently() {
+    var factory = DataBufFactory.defaultFactory();
+    var source = factory.createEmpty().writeString("Hello World").writeInt(1234);
+
+    var first = factory.sharedCopyOf(source);
+    var second = factory.sharedCopyOf(source);
+    Assertions.assertEquals(source.readableBytes(), first.readableBytes());
+
+    // reading one copy must not move the read index of the other copies
+    Assertions.assertEquals("Hello World", first.readString());
+    Assertions.assertEquals("Hello World", second.readString());
+    Assertions.assertEquals(1234, first.readInt());
+    Assertions.assertEquals(1234, second.readInt());
+    Assertions.assertEquals("Hello World", source.readString());
+  }
+
+  @Test
+  void testSharedCopyOutlivesSource() {
+    var factory = DataBufFactory.defaultFactory();
+    var source = factory.createEmpty().writeLong(5L).writeBoolean(true);
+
+    var copy = factory.sharedCopyOf(source);
+    source.release();
+
+    // the shared memory is only freed once all copies were released
+    Assertions.assertFalse(source.accessible());
+    Assertions.assertTrue(copy.accessible());
+    Assertions.assertEquals(5L, copy.readLong());
+    Assertions.assertTrue(copy.readBoolean());
+
+    copy.release();
+    Assertions.assertFalse(copy.accessible());
+  }
+
+  @Test
+  void testSharedCopyStartsAtReaderIndex() {
+    var factory = DataBufFactory.defaultFactory();
+    var source = factory.createEmpty().writeInt(1).writeInt(2);
+    Assertions.assertEquals(1, source.readInt());
+
+    var copy = factory.sharedCopyOf(source);
+    Assertions.assertEquals(Integer.BYTES, copy.readableBytes());
+    Assertions.assertEquals(2, copy.readInt());
+  }
+}
@@ -24,6 +24,7 @@
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.DecoderException;
 import java.util.concurrent.ThreadLocalRandom;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -47,6 +48,10 @@ void testNettyPacketCodec() {
       Buffer buffer = invocation.getArgument(0);
       Assertions.assertTrue(buffer.readableBytes() > 0);
 
+      // the encoder writes the frame length prefix into the same buffer
+      var frameLength = NettyUtil.readVarInt(buffer);
+      Assertions.assertEquals(frameLength, buffer.readableBytes());
+
       // test deserialize
       var inChannel = Mockito.mock(Channel.class);
       Mockito.when(inChannel.isActive()).thenReturn(true);
@@ -76,4 +81,162 @@ void testNettyPacketCodec() {
     // encode the packet
     NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
   }
+
+  @Test
+  void testDecodedPacketBodyCopiesOnlyContainTheBody() {
+    var frame = NettyUtil.selectedBufferAllocator().allocate(64);
+    NettyUtil.writeVarInt(frame, 12);
+    frame.writeBoolean(false);
+    frame.writeBoolean(false);
+    NettyUtil.writeVarInt(frame, Integer.BYTES);
+    frame.writeInt(1234);
+
+    var inChannel = Mockito.mock(Channel.class);
+    Mockito.when(inChannel.isActive()).thenReturn(true);
+
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      Buffer buffer = invocation.getArgument(0);
+
+      // the re-encoded frame must contain the body of the split, not the header of the original frame
+      Assertions.assertEquals(8, NettyUtil.readVarInt(buffer));
+      Assertions.assertEquals(12, NettyUtil.readVarInt(buffer));
+      Assertions.assertFalse(buffer.readBoolean());
+      Assertions.assertFalse(buffer.readBoolean());
+      Assertions.assertEquals(Integer.BYTES, NettyUtil.readVarInt(buffer));
+      Assertions.assertEquals(1234, buffer.readInt());
+      buffer.close();
+      return null;
+    });
+
+    var inCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(inCtx.channel()).thenReturn(inChannel);
+    Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+      Packet packet = inv.getArgument(0);
+
+      // copies of the body must start at the reader offset of the split
+      var copy = DataBufFactory.defaultFactory().copyOf(packet.content());
+      Assertions.assertEquals(Integer.BYTES, copy.readableBytes());
+      Assertions.assertEquals(1234, copy.readInt());
+
+      var mutableCopy = DataBufFactory.defaultFactory().mutableCopyOf(packet.content());
+      Assertions.assertEquals(Integer.BYTES, mutableCopy.readableBytes());
+      Assertions.assertEquals(1234, mutableCopy.readInt());
+      mutableCopy.release();
+
+      // forward the received packet body, which must only copy the readable bytes into the new frame
+      NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(12, packet.content()));
+      Mockito.verify(outCtx).write(Mockito.any(Buffer.class));
+      return null;
+    });
+
+    var decoder = new NettyPacketDecoder();
+    decoder.decode(inCtx, frame);
+  }
+
+  @Test
+  void testDecodedPacketBodyOutlivesFrame() {
+    var frame = NettyUtil.selectedBufferAllocator().allocate(64);
+    NettyUtil.writeVarInt(frame, 12);
+    frame.writeBoolean(false);
+    frame.writeBoolean(false);
+    NettyUtil.writeVarInt(frame, Integer.BYTES);
+    frame.writeInt(1234);
+
+    var inChannel = Mockito.mock(Channel.class);
+    Mockito.when(inChannel.isActive()).thenReturn(true);
+
+    var inCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(inCtx.channel()).thenReturn(inChannel);
+    Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+      Packet packet = inv.getArgument(0);
+
+      // the body must be an independent split of the frame, closing the frame must not affect it
+      frame.close();
+      Assertions.assertTrue(packet.content().accessible());
+      Assertions.assertEquals(1234, packet.content().readInt());
+
+      // the body is released after the content was fully read
+      Assertions.assertFalse(packet.content().accessible());
+      return null;
+    });
+
+    var decoder = new NettyPacketDecoder();
+    decoder.decode(inCtx, frame);
+  }
+
+  @Test
+  void testCompressedPacketCodec() {
+    var packetChannel = ThreadLocalRandom.current().nextInt();
+    var dataBuf = DataBufFactory.defaultFactory().createEmpty();
+    for (var i = 0; i < 128; i++) {
+      dataBuf.writeString("Hello World");
+    }
+
+    var inChannel = Mockito.mock(Channel.class);
+    Mockito.when(inChannel.isActive()).thenReturn(true);
+
+    var packetCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(packetCtx.channel()).thenReturn(inChannel);
+    Mockito.when(packetCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+      Packet packet = inv.getArgument(0);
+      Assertions.assertEquals(packetChannel, packet.channel());
+      for (var i = 0; i < 128; i++) {
+        Assertions.assertEquals("Hello World", packet.content().readString());
+      }
+      return null;
+    });
+
+    var decompressor = new NettyPacketDecompressionDecoder(NettyUtil.maxUncompressedPacketLength());
+    var decompressCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(decompressCtx.channel()).thenReturn(inChannel);
+    Mockito.when(decompressCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+    Mockito.when(decompressCtx.fireChannelRead(Mockito.any(Buffer.class))).then(inv -> {
+      new NettyPacketDecoder().decode(packetCtx, inv.getArgument(0));
+      return null;
+    });
+
+    var encoder = new NettyPacketCompressionEncoder(256);
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      Buffer buffer = invocation.getArgument(0);
+      var frameLength = NettyUtil.readVarInt(buffer);
+      Assertions.assertEquals(frameLength, buffer.readableBytes());
+
+      decompressor.decode(decompressCtx, buffer);
+      return null;
+    });
+
+    encoder.write(outCtx, new BasePacket(packetChannel, dataBuf));
+    Assertions.assertTrue(encoder.compressedBytes() < encoder.uncompressedBytes());
+    Assertions.assertEquals(encoder.uncompressedBytes(), decompressor.uncompressedBytes());
+  }
+
+  @Test
+  void testDecompressionRejectsOversizedLength() {
+    var inChannel = Mockito.mock(Channel.class);
+    Mockito.when(inChannel.isActive()).thenReturn(true);
+
+    var ctx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(ctx.channel()).thenReturn(inChannel);
+    Mockito.when(ctx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+
+    var decompressor = new NettyPacketDecompressionDecoder(4096);
+    // the length exceeds the configured maximum
+    try (var buffer = NettyUtil.selectedBufferAllocator().allocate(16)) {
+      NettyUtil.writeVarInt(buffer, 8192).writeBytes(new byte[8]);
+      Assertions.assertThrows(DecoderException.class, () -> decompressor.decode(ctx, buffer));
+    }
+
+    // the length is within the maximum, but cannot be the result of inflating the few transmitted bytes
+    try (var buffer = NettyUtil.selectedBufferAllocator().allocate(16)) {
+      NettyUtil.writeVarInt(buffer, 2000).writeBytes(new byte[]{1});
+      Assertions.assertThrows(DecoderException.class, () -> decompressor.decode(ctx, buffer));
+    }
+
+    Mockito.verify(ctx, Mockito.never()).fireChannelRead(Mockito.any());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new NettyPacketDecompressionDecoder(0));
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LaneTaskQueueTest {
+
+  @Test
+  void testPriorityLaneAndRoundRobinOrder() throws InterruptedException {
+    List<String> executionOrder = new ArrayList<>();
+    var queue = new LaneTaskQueue();
+
+    queue.offer(() -> executionOrder.add("a1"), 1, false);
+    queue.offer(() -> executionOrder.add("a2"), 1, false);
+    queue.offer(() -> executionOrder.add("a3"), 1, false);
+    queue.offer(() -> executionOrder.add("b1"), 2, false);
+    queue.offer(() -> executionOrder.add("p1"), 1, true);
+    Assertions.assertEquals(5, queue.size());
+
+    var statistics = queue.statistics();
+    Assertions.assertEquals(1, statistics.queuedPriorityTasks());
+    Assertions.assertEquals(3, statistics.queuedTasksPerLane().get(1));
+    Assertions.assertEquals(1, statistics.queuedTasksPerLane().get(2));
+
+    for (var i = 0; i < 5; i++) {
+      queue.take().run();
+    }
+
+    Assertions.assertEquals(0, queue.size());
+    Assertions.assertEquals(List.of("p1", "a1", "b1", "a2", "a3"), executionOrder);
+    Assertions.assertEquals(5, queue.statistics().executedTasks());
+  }
+
+  @Test
+  void testPendingHeartbeatIsNotDelayedByFloodedLane() throws InterruptedException {
+    List<String> executionOrder = new ArrayList<>();
+    var queue = new LaneTaskQueue();
+
+    // flood one lane, then let the scheduler pick up a few tasks before the heartbeat arrives
+    for (var i = 0; i < 10_000; i++) {
+      queue.offer(() -> executionOrder.add("flood"), 1, false);
+    }
+    for (var i = 0; i < 10; i++) {
+      queue.take().run();
+    }
+    queue.offer(() -> executionOrder.add("heartbeat"), 1, true);
+
+    // the heartbeat must be the next task, not the 10.001st
+    queue.take().run();
+    Assertions.assertEquals(11, executionOrder.size());
+    Assertions.assertEquals("heartbeat", executionOrder.getLast());
+    Assertions.assertEquals(9_990, queue.statistics().queuedTasksPerLane().get(1));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NetworkTaskSchedulerLoadTest {
+
+  private static final int LANES = 50;
+  private static final int TASKS = 1000;
+  private static final int BLOCKING_MILLIS = 10;
+
+  private static LoadResult runLoad(NetworkTaskScheduler scheduler) throws InterruptedException {
+    var threadBean = ManagementFactory.getThreadMXBean();
+    var initialThreads = threadBean.getThreadCount();
+
+    // sample the amount of live platform threads while the load is running
+    var peakThreads = new AtomicInteger(initialThreads);
+    var sampling = new AtomicBoolean(true);
+    var sampler = Thread.ofPlatform().start(() -> {
+      while (sampling.get()) {
+        peakThreads.accumulateAndGet(threadBean.getThreadCount(), Math::max);
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException _) {
+          return;
+        }
+      }
+    });
+
+    // every handler blocks for a short time, for example waiting for a database call or a query response
+    var latencies = new long[TASKS];
+    var completedTasks = new CountDownLatch(TASKS);
+    for (var taskId = 0; taskId < TASKS; taskId++) {
+      var id = taskId;
+      var submitNanos = System.nanoTime();
+      scheduler.execute(() -> {
+        try {
+          Thread.sleep(BLOCKING_MILLIS);
+        } catch (InterruptedException _) {
+        }
+        latencies[id] = System.nanoTime() - submitNanos;
+        completedTasks.countDown();
+      }, taskId % LANES, false);
+    }
+
+    var completed = completedTasks.await(2, TimeUnit.MINUTES);
+    sampling.set(false);
+    sampler.join();
+    scheduler.shutdown();
+
+    Assertions.assertTrue(completed);
+    Arrays.sort(latencies);
+    var p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(TASKS * 0.99) - 1]);
+    return new LoadResult(peakThreads.get() - initialThreads, p99Millis);
+  }
+
+  @Test
+  void testVirtualSchedulerUnderBlockingHandlers() throws InterruptedException {
+    var scaling = runLoad(new ScalingNetworkTaskScheduler(Executors.defaultThreadFactory(), 12));
+    var virtual = runLoad(new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 512));
+
+    // the virtual scheduler only needs the carrier threads of the virtual thread scheduler, while the scaling
+    // scheduler starts a platform thread for each blocked handler that does not fit into its core pool
+    var maxCarrierThreads = Runtime.getRuntime().availableProcessors() + 4;
+    Assertions.assertTrue(
+      virtual.additionalPlatformThreads() <= maxCarrierThreads,
+      () -> String.format("virtual: %s, scaling: %s", virtual, scaling));
+    Assertions.assertTrue(
+      virtual.p99LatencyMillis() < scaling.p99LatencyMillis(),
+      () -> String.format("virtual: %s, scaling: %s", virtual, scaling));
+  }
+
+  private record LoadResult(int additionalPlatformThreads, long p99LatencyMillis) {
+
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadNetworkTaskSchedulerTest {
+
+  private static final Runnable BLOCKING_ACTION = () -> {
+    try {
+      Thread.sleep(Long.MAX_VALUE);
+    } catch (InterruptedException _) {
+    }
+  };
+
+  @Test
+  void testBlockedTasksDoNotPreventExecution() throws InterruptedException {
+    var executedTasks = new CountDownLatch(5);
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 3);
+
+    // block two of the three available permits for an infinite amount of time
+    scheduler.execute(BLOCKING_ACTION, 1, false);
+    scheduler.execute(BLOCKING_ACTION, 2, false);
+
+    for (var taskId = 0; taskId < 5; taskId++) {
+      scheduler.execute(executedTasks::countDown, 3 + taskId, false);
+    }
+
+    var countReachedZero = executedTasks.await(30, TimeUnit.SECONDS);
+    Assertions.assertTrue(countReachedZero);
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testConcurrencyLimitIsRespected() throws InterruptedException {
+    var executedTasks = new CountDownLatch(50);
+    var runningTasks = new AtomicInteger();
+    var maxRunningTasks = new AtomicInteger();
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 3);
+
+    for (var taskId = 0; taskId < 50; taskId++) {
+      scheduler.execute(() -> {
+        maxRunningTasks.accumulateAndGet(runningTasks.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException _) {
+        }
+        runningTasks.decrementAndGet();
+        executedTasks.countDown();
+      }, taskId % 5, false);
+    }
+
+    Assertions.assertTrue(executedTasks.await(30, TimeUnit.SECONDS));
+    Assertions.assertTrue(maxRunningTasks.get() <= 3);
+    Assertions.assertEquals(50, scheduler.statistics().executedTasks());
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testQueryResponseCompletesWhenAllPermitsAreTaken() throws InterruptedException {
+    var response = new CountDownLatch(1);
+    var laneTasksCompleted = new CountDownLatch(2);
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 2);
+
+    // both permits are taken by tasks which wait for the response to a query
+    Runnable waitingTask = () -> {
+      try {
+        if (response.await(30, TimeUnit.SECONDS)) {
+          laneTasksCompleted.countDown();
+        }
+      } catch (InterruptedException _) {
+      }
+    };
+    scheduler.execute(waitingTask, 1, false);
+    scheduler.execute(waitingTask, 2, false);
+
+    // the response must not require a permit to complete
+    scheduler.executeQueryResponse(response::countDown, 1);
+
+    Assertions.assertTrue(laneTasksCompleted.await(30, TimeUnit.SECONDS));
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testNestedQueryOnSameLaneDoesNotBlockLane() throws InterruptedException {
+    var nestedQuery = new CountDownLatch(1);
+    var laneTaskCompleted = new CountDownLatch(1);
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 4);
+
+    // the first task of the lane waits for a query that the other side answers only after it
+    // sent a query back through the same connection, which is handled by a later task of the lane
+    scheduler.execute(() -> {
+      try {
+        if (nestedQuery.await(30, TimeUnit.SECONDS)) {
+          laneTaskCompleted.countDown();
+        }
+      } catch (InterruptedException _) {
+      }
+    }, 1, false);
+    scheduler.execute(nestedQuery::countDown, 1, false);
+
+    Assertions.assertTrue(laneTaskCompleted.await(30, TimeUnit.SECONDS));
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testTasksOfLaneStartInOrder() throws InterruptedException {
+    var executedTasks = new CountDownLatch(100);
+    List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 1);
+
+    for (var taskId = 0; taskId < 100; taskId++) {
+      var id = taskId;
+      scheduler.execute(() -> {
+        executionOrder.add(id);
+        executedTasks.countDown();
+      }, 1, false);
+    }
+
+    Assertions.assertTrue(executedTasks.await(30, TimeUnit.SECONDS));
+    for (var taskId = 0; taskId < 100; taskId++) {
+      Assertions.assertEquals(taskId, executionOrder.get(taskId));
+    }
+    scheduler.shutdown();
+  }
+
+  @Test
+  void testFailingTaskDoesNotStopScheduler() throws InterruptedException {
+    var executedTasks = new CountDownLatch(1);
+    var scheduler = new VirtualThreadNetworkTaskScheduler(Thread.ofVirtual().factory(), 1);
+
+    scheduler.execute(() -> {
+      throw new IllegalStateException("expected failure");
+    }, 1, false);
+    scheduler.execute(executedTasks::countDown, 1, false);
+
+    Assertions.assertTrue(executedTasks.await(30, TimeUnit.SECONDS));
+    scheduler.shutdown();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.service;
+
+import eu.cloudnetservice.driver.TestInjectionLayerConfigurator;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ServiceInfoSnapshotDeltaTest {
+
+  private static final ServiceConfiguration CONFIGURATION = ServiceConfiguration.builder()
+    .taskName("Lobby")
+    .environment(ServiceEnvironmentType.BUNGEECORD)
+    .maxHeapMemory(512)
+    .startPort(1234)
+    .build();
+
+  @BeforeAll
+  static void setupBootInjectionLayer() {
+    TestInjectionLayerConfigurator.loadAutoconfigureBindings();
+  }
+
+  private static ServiceInfoSnapshot snapshot(long creationTime, ServiceLifeCycle lifeCycle, Document properties) {
+    return new ServiceInfoSnapshot(
+      creationTime,
+      new HostAndPort("127.0.0.1", 1234),
+      ProcessSnapshot.empty(),
+      CONFIGURATION,
+      100,
+      lifeCycle,
+      properties);
+  }
+
+  private static ServiceInfoSnapshot roundTrip(ServiceInfoSnapshot base, ServiceInfoSnapshot current) {
+    var buffer = DataBuf.empty();
+    ServiceInfoSnapshotDelta.writeDelta(buffer, base, current);
+    return ServiceInfoSnapshotDelta.readDelta(buffer, base);
+  }
+
+  @Test
+  void testUnchangedSnapshot() {
+    var properties = Document.newJsonDocument().append("Online-Count", 5).append("Motd", "Hello");
+    var base = snapshot(1, ServiceLifeCycle.RUNNING, properties.immutableCopy());
+    var current = snapshot(2, ServiceLifeCycle.RUNNING, properties.immutableCopy());
+
+    var result = roundTrip(base, current);
+    Assertions.assertEquals(current, result);
+    Assertions.assertSame(base.configuration(), result.configuration());
+    Assertions.assertSame(base.propertyHolder(), result.propertyHolder());
+  }
+
+  @Test
+  void testChangedFields() {
+    var base = snapshot(1, ServiceLifeCycle.PREPARED, Document.newJsonDocument().append("Online-Count", 5));
+    var current = snapshot(2, ServiceLifeCycle.RUNNING, Document.newJsonDocument().append("Online-Count", 5));
+
+    var result = roundTrip(base, current);
+    Assertions.assertEquals(2, result.creationTime());
+    Assertions.assertEquals(ServiceLifeCycle.RUNNING, result.lifeCycle());
+    Assertions.assertEquals(current.propertyHolder(), result.propertyHolder());
+  }
+
+  @Test
+  void testChangedProperties() {
+    var base = snapshot(1, ServiceLifeCycle.RUNNING, Document.newJsonDocument()
+      .append("Online-Count", 5)
+      .append("Motd", "Hello")
+      .append("Extra", "removed")
+      .append("Players", Document.newJsonDocument().append("name", "derklaro")));
+    var current = snapshot(2, ServiceLifeCycle.RUNNING, Document.newJsonDocument()
+      .append("Online-Count", 6)
+      .append("Motd", "Hello")
+      .append("State", "LOBBY")
+      .append("Players", Document.newJsonDocument().append("name", "0utplay")));
+
+    var result = roundTrip(base, current);
+    Assertions.assertEquals(current.propertyHolder().keys(), result.propertyHolder().keys());
+    Assertions.assertEquals(6, result.propertyHolder().getInt("Online-Count"));
+    Assertions.assertEquals("Hello", result.propertyHolder().getString("Motd"));
+    Assertions.assertEquals("LOBBY", result.propertyHolder().getString("State"));
+    Assertions.assertEquals("0utplay", result.propertyHolder().readDocument("Players").getString("name"));
+    Assertions.assertFalse(result.propertyHolder().contains("Extra"));
+  }
+}
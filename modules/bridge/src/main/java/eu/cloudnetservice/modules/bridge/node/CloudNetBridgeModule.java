@@ -31,6 +31,7 @@
 import eu.cloudnetservice.modules.bridge.config.BridgeConfiguration;
 import eu.cloudnetservice.modules.bridge.config.ProxyFallbackConfiguration;
 import eu.cloudnetservice.modules.bridge.node.command.BridgeCommand;
+import eu.cloudnetservice.modules.bridge.node.player.NodePlayerManager;
 import eu.cloudnetservice.modules.bridge.rpc.ComponentObjectSerializer;
 import eu.cloudnetservice.modules.bridge.rpc.TitleObjectSerializer;
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
@@ -212,6 +213,12 @@ public void handleReload(@Nullable BridgeManagement management) {
     }
   }
 
+  @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
+  public void flushPlayerDatabaseWrites(@NonNull NodePlayerManager playerManager) {
+    // write the player changes which are still pending into the database
+    playerManager.flushDatabaseWrites();
+  }
+
   private @NonNull BridgeConfiguration loadConfiguration() {
     return this.readConfig(BridgeConfiguration.class, BridgeConfiguration::new, DocumentFactory.json());
   }
@@ -120,7 +120,7 @@ public void handle(
           // read the player
           var player = event.content().readObject(CloudPlayer.class);
           // push the change
-          playerManager.players().remove(player.uniqueId());
+          playerManager.unregisterOnlinePlayer(player.uniqueId());
           playerManager.pushOfflinePlayerCache(player.uniqueId(), CloudOfflinePlayer.offlineCopy(player));
           // call the event locally
           eventManager.callEvent(new BridgeProxyPlayerDisconnectEvent(player));
@@ -146,17 +146,11 @@ public void handle(
           if (player != null) {
             // the previous service
             var prev = player.connectedService();
-            // set the current connected service and fire the event
+            // set the current connected service and update the indexes
             player.connectedService(target);
-            eventManager.callEvent(new BridgeProxyPlayerServerSwitchEvent(player, prev));
-            // redirect to the cluster
-            ChannelMessage.builder()
-              .targetAll()
-              .message("cloud_player_service_switch")
-              .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
-              .buffer(DataBuf.empty().writeObject(player).writeObject(prev))
-              .build()
-              .send();
+            playerManager.replaceOnlinePlayer(player);
+            // fire the event and redirect to the cluster
+            playerManager.publishServiceSwitch(player, prev);
           }
         }
 
@@ -170,6 +164,15 @@ public void handle(
           eventManager.callEvent(new BridgeProxyPlayerServerSwitchEvent(player, previous));
         }
 
+        // changes of an online player made on another node
+        case "cloud_player_delta" -> playerManager.handlePlayerDelta(event.content(), event.sender().name());
+
+        // request of a node which missed a change of a player
+        case "request_cloud_player" -> {
+          var uniqueId = event.content().readUniqueId();
+          event.binaryResponse(playerManager.writeFullPlayer(uniqueId));
+        }
+
         // proxy player disconnect
         case "proxy_player_disconnect" -> {
           // read the information
@@ -185,17 +188,11 @@ public void handle(
           // get the cloud player if known
           var player = playerManager.onlinePlayer(playerUniqueId);
           if (player != null) {
-            // update the player locally & call the event
+            // update the player locally, this changes the connected service as well
             player.networkPlayerServerInfo(info);
-            eventManager.callEvent(new BridgeServerPlayerLoginEvent(player, info));
-            // redirect to the cluster
-            ChannelMessage.builder()
-              .targetAll()
-              .message("cloud_player_server_login")
-              .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
-              .buffer(DataBuf.empty().writeObject(player).writeObject(info))
-              .build()
-              .send();
+            playerManager.replaceOnlinePlayer(player);
+            // fire the event and redirect to the cluster
+            playerManager.publishServerLogin(player);
           }
         }
 
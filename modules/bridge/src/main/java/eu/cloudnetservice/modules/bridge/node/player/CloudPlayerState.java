@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.node.player;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.modules.bridge.player.CloudPlayer;
+import eu.cloudnetservice.modules.bridge.player.NetworkPlayerProxyInfo;
+import eu.cloudnetservice.modules.bridge.player.NetworkPlayerServerInfo;
+import eu.cloudnetservice.modules.bridge.player.NetworkServiceInfo;
+import java.util.Objects;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A snapshot of the fields of a cloud player which can change while the player is online. The snapshot is used to
+ * encode only the fields of a player which changed compared to a previous snapshot, and to apply such a delta to a
+ * player on another node.
+ *
+ * @param loginService               the service the player logged in through.
+ * @param connectedService           the service the player is connected to, null if not yet connected.
+ * @param networkPlayerServerInfo    the info of the player on the server it is connected to, null if not yet known.
+ * @param onlineProperties           the properties of the player which are only present while it is online.
+ * @param lastLoginTimeMillis        the time in millis when the player logged in the last time.
+ * @param lastNetworkPlayerProxyInfo the proxy info of the last login of the player.
+ * @param properties                 the properties of the player.
+ * @since 4.0
+ */
+record CloudPlayerState(
+  @NonNull NetworkServiceInfo loginService,
+  @Nullable NetworkServiceInfo connectedService,
+  @Nullable NetworkPlayerServerInfo networkPlayerServerInfo,
+  @NonNull Document onlineProperties,
+  long lastLoginTimeMillis,
+  @NonNull NetworkPlayerProxyInfo lastNetworkPlayerProxyInfo,
+  @NonNull Document properties
+) {
+
+  private static final int LOGIN_SERVICE = 1;
+  private static final int CONNECTED_SERVICE = 1 << 1;
+  private static final int SERVER_INFO = 1 << 2;
+  private static final int ONLINE_PROPERTIES = 1 << 3;
+  private static final int LAST_LOGIN_TIME = 1 << 4;
+  private static final int LAST_PROXY_INFO = 1 << 5;
+  private static final int PROPERTIES = 1 << 6;
+  private static final int ALL_FIELDS = (1 << 7) - 1;
+
+  /**
+   * Creates a snapshot of the current state of the given player.
+   *
+   * @param player the player to create the snapshot of.
+   * @return a snapshot of the current state of the given player.
+   * @throws NullPointerException if the given player is null.
+   */
+  public static @NonNull CloudPlayerState of(@NonNull CloudPlayer player) {
+    return new CloudPlayerState(
+      player.loginService(),
+      player.connectedService(),
+      player.networkPlayerServerInfo(),
+      player.onlineProperties().immutableCopy(),
+      player.lastLoginTimeMillis(),
+      player.lastNetworkPlayerProxyInfo(),
+      player.propertyHolder().immutableCopy());
+  }
+
+  /**
+   * Reads a delta written by {@link #writeDelta(DataBuf.Mutable, CloudPlayerState)} from the given buffer and applies
+   * it to the given player. The given player is not modified, a new player is returned instead.
+   *
+   * @param buffer the buffer to read the delta from.
+   * @param player the player to apply the delta to.
+   * @return a new player with the changes of the delta applied.
+   * @throws NullPointerException if the given buffer or player is null.
+   */
+  public static @NonNull CloudPlayer readDelta(@NonNull DataBuf buffer, @NonNull CloudPlayer player) {
+    var changedFields = buffer.readInt();
+    var loginService = (changedFields & LOGIN_SERVICE) != 0
+      ? buffer.readObject(NetworkServiceInfo.class)
+      : player.loginService();
+    var connectedService = (changedFields & CONNECTED_SERVICE) != 0
+      ? buffer.readNullable(buf -> buf.readObject(NetworkServiceInfo.class))
+      : player.connectedService();
+    var serverInfo = (changedFields & SERVER_INFO) != 0
+      ? buffer.readNullable(buf -> buf.readObject(NetworkPlayerServerInfo.class))
+      : player.networkPlayerServerInfo();
+    var onlineProperties = (changedFields & ONLINE_PROPERTIES) != 0
+      ? buffer.readObject(Document.class)
+      : player.onlineProperties();
+    var lastLoginTime = (changedFields & LAST_LOGIN_TIME) != 0
+      ? buffer.readLong()
+      : player.lastLoginTimeMillis();
+    var lastProxyInfo = (changedFields & LAST_PROXY_INFO) != 0
+      ? buffer.readObject(NetworkPlayerProxyInfo.class)
+      : player.lastNetworkPlayerProxyInfo();
+    var properties = (changedFields & PROPERTIES) != 0
+      ? buffer.readObject(Document.class)
+      : player.propertyHolder();
+
+    var updatedPlayer = new CloudPlayer(
+      player.networkPlayerProxyInfo(),
+      loginService,
+      Objects.requireNonNullElse(connectedService, loginService),
+      serverInfo,
+      onlineProperties,
+      player.name(),
+      player.firstLoginTimeMillis(),
+      lastLoginTime,
+      lastProxyInfo,
+      properties);
+    // the constructor does not accept a null connected service
+    updatedPlayer.connectedService(connectedService);
+    return updatedPlayer;
+  }
+
+  /**
+   * Writes the fields of this snapshot which changed compared to the given base snapshot into the given buffer. If no
+   * base snapshot is given, all fields are written.
+   *
+   * @param buffer the buffer to write the delta to.
+   * @param base   the snapshot to compute the delta against, null to write all fields.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public void writeDelta(@NonNull DataBuf.Mutable buffer, @Nullable CloudPlayerState base) {
+    var changedFields = base == null ? ALL_FIELDS : this.changedFields(base);
+    buffer.writeInt(changedFields);
+    if ((changedFields & LOGIN_SERVICE) != 0) {
+      buffer.writeObject(this.loginService);
+    }
+    if ((changedFields & CONNECTED_SERVICE) != 0) {
+      buffer.writeNullable(this.connectedService, DataBuf.Mutable::writeObject);
+    }
+    if ((changedFields & SERVER_INFO) != 0) {
+      buffer.writeNullable(this.networkPlayerServerInfo, DataBuf.Mutable::writeObject);
+    }
+    if ((changedFields & ONLINE_PROPERTIES) != 0) {
+      buffer.writeObject(this.onlineProperties);
+    }
+    if ((changedFields & LAST_LOGIN_TIME) != 0) {
+      buffer.writeLong(this.lastLoginTimeMillis);
+    }
+    if ((changedFields & LAST_PROXY_INFO) != 0) {
+      buffer.writeObject(this.lastNetworkPlayerProxyInfo);
+    }
+    if ((changedFields & PROPERTIES) != 0) {
+      buffer.writeObject(this.properties);
+    }
+  }
+
+  private int changedFields(@NonNull CloudPlayerState base) {
+    var changedFields = 0;
+    if (!this.loginService.equals(base.loginService())) {
+      changedFields |= LOGIN_SERVICE;
+    }
+    if (!Objects.equals(this.connectedService, base.connectedService())) {
+      changedFields |= CONNECTED_SERVICE;
+    }
+    if (!Objects.equals(this.networkPlayerServerInfo, base.networkPlayerServerInfo())) {
+      changedFields |= SERVER_INFO;
+    }
+    if (!this.onlineProperties.equals(base.onlineProperties())) {
+      changedFields |= ONLINE_PROPERTIES;
+    }
+    if (this.lastLoginTimeMillis != base.lastLoginTimeMillis()) {
+      changedFields |= LAST_LOGIN_TIME;
+    }
+    if (!this.lastNetworkPlayerProxyInfo.equals(base.lastNetworkPlayerProxyInfo())) {
+      changedFields |= LAST_PROXY_INFO;
+    }
+    if (!this.properties.equals(base.properties())) {
+      changedFields |= PROPERTIES;
+    }
+    return changedFields;
+  }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.node.player;
+
+import eu.cloudnetservice.modules.bridge.player.CloudPlayer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Holds all players which are online in the cluster and indexes them by their name, the task, groups and environment of
+ * the service they are connected to and the services they are connected to. The indexes are updated incrementally when
+ * a player gets registered, replaced or unregistered, which allows to look up and count the players matching a key
+ * without iterating over all online players.
+ * <p>
+ * Note that the players are indexed using the information they had when they were registered or replaced the last
+ * time. Changes made directly to a registered player are not reflected until the player is replaced.
+ * <p>
+ * In addition, the index tracks the version of each player which is used to replicate changes of the players as deltas
+ * between the nodes. The version of a player is reset when the player gets registered.
+ *
+ * @since 4.0
+ */
+final class NodeOnlinePlayerIndex {
+
+  private final Map<UUID, CloudPlayer> players = new ConcurrentHashMap<>();
+  private final Map<UUID, IndexedPlayer> indexedPlayers = new ConcurrentHashMap<>();
+  private final Map<UUID, Long> playerVersions = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<UUID>> playersByName = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> playersByTask = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> playersByGroup = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> playersByEnvironment = new ConcurrentHashMap<>();
+  private final Map<UUID, Set<UUID>> playersByService = new ConcurrentHashMap<>();
+
+  /**
+   * Registers the given player, replacing the player which was previously registered with the same unique id.
+   *
+   * @param player the player to register.
+   * @throws NullPointerException if the given player is null.
+   */
+  public void register(@NonNull CloudPlayer player) {
+    this.players.compute(player.uniqueId(), (_, _) -> {
+      this.reindex(player.uniqueId(), IndexedPlayer.of(player));
+      this.playerVersions.put(player.uniqueId(), 0L);
+      return player;
+    });
+  }
+
+  /**
+   * Replaces the registered player with the same unique id as the given player. If no such player is registered, this
+   * method does nothing. The given player might be the same instance as the registered one to update the indexes after
+   * the player was modified.
+   *
+   * @param player the player to replace the registered player with.
+   * @throws NullPointerException if the given player is null.
+   */
+  public void replace(@NonNull CloudPlayer player) {
+    this.players.computeIfPresent(player.uniqueId(), (_, _) -> {
+      this.reindex(player.uniqueId(), IndexedPlayer.of(player));
+      return player;
+    });
+  }
+
+  /**
+   * Unregisters the player with the given unique id, does nothing if no such player is registered.
+   *
+   * @param uniqueId the unique id of the player to unregister.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public void unregister(@NonNull UUID uniqueId) {
+    this.players.computeIfPresent(uniqueId, (_, _) -> {
+      this.reindex(uniqueId, null);
+      this.playerVersions.remove(uniqueId);
+      return null;
+    });
+  }
+
+  /**
+   * Get the registered player with the given unique id.
+   *
+   * @param uniqueId the unique id of the player to get.
+   * @return the registered player with the given unique id, null if no such player is registered.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public @Nullable CloudPlayer player(@NonNull UUID uniqueId) {
+    return this.players.get(uniqueId);
+  }
+
+  /**
+   * Get an unmodifiable view of all registered players, mapped by their unique id.
+   *
+   * @return all registered players.
+   */
+  public @UnmodifiableView @NonNull Map<UUID, CloudPlayer> players() {
+    return Collections.unmodifiableMap(this.players);
+  }
+
+  /**
+   * Get the unique ids of all players whose name matches the given name, ignoring the case.
+   *
+   * @param name the name of the players to get.
+   * @return the unique ids of all players with the given name.
+   * @throws NullPointerException if the given name is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> playersByName(@NonNull String name) {
+    return view(this.playersByName.get(name.toLowerCase(Locale.ROOT)));
+  }
+
+  /**
+   * Get the unique ids of all players which are connected to a service of the given task.
+   *
+   * @param task the name of the task.
+   * @return the unique ids of all players which are connected to a service of the given task.
+   * @throws NullPointerException if the given task is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> playersByTask(@NonNull String task) {
+    return view(this.playersByTask.get(task));
+  }
+
+  /**
+   * Get the unique ids of all players which are connected to a service of the given group.
+   *
+   * @param group the name of the group.
+   * @return the unique ids of all players which are connected to a service of the given group.
+   * @throws NullPointerException if the given group is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> playersByGroup(@NonNull String group) {
+    return view(this.playersByGroup.get(group));
+  }
+
+  /**
+   * Get the unique ids of all players which are connected to a service of the given environment.
+   *
+   * @param environment the name of the environment.
+   * @return the unique ids of all players which are connected to a service of the given environment.
+   * @throws NullPointerException if the given environment is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> playersByEnvironment(@NonNull String environment) {
+    return view(this.playersByEnvironment.get(environment));
+  }
+
+  /**
+   * Get the unique ids of all players which either logged in through the given service or are connected to it.
+   *
+   * @param serviceUniqueId the unique id of the service.
+   * @return the unique ids of all players which logged in through or are connected to the given service.
+   * @throws NullPointerException if the given service unique id is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> playersByService(@NonNull UUID serviceUniqueId) {
+    return view(this.playersByService.get(serviceUniqueId));
+  }
+
+  /**
+   * Get the current version of the registered player with the given unique id.
+   *
+   * @param uniqueId the unique id of the player.
+   * @return the current version of the player, -1 if no such player is registered.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public long version(@NonNull UUID uniqueId) {
+    return this.playerVersions.getOrDefault(uniqueId, -1L);
+  }
+
+  /**
+   * Sets the current version of the registered player with the given unique id, does nothing if no such player is
+   * registered.
+   *
+   * @param uniqueId the unique id of the player.
+   * @param version  the new version of the player.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public void version(@NonNull UUID uniqueId, long version) {
+    this.playerVersions.computeIfPresent(uniqueId, (_, _) -> version);
+  }
+
+  /**
+   * Increments the version of the registered player with the given unique id.
+   *
+   * @param uniqueId the unique id of the player.
+   * @return the new version of the player, -1 if no such player is registered.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public long incrementVersion(@NonNull UUID uniqueId) {
+    var version = this.playerVersions.computeIfPresent(uniqueId, (_, current) -> current + 1);
+    return version == null ? -1 : version;
+  }
+
+  private void reindex(@NonNull UUID uniqueId, @Nullable IndexedPlayer current) {
+    var previous = current == null ? this.indexedPlayers.remove(uniqueId) : this.indexedPlayers.put(uniqueId, current);
+    if (previous != null) {
+      removeFromIndex(this.playersByName, previous.name(), uniqueId);
+      removeFromIndex(this.playersByTask, previous.task(), uniqueId);
+      removeFromIndex(this.playersByEnvironment, previous.environment(), uniqueId);
+      previous.groups().forEach(group -> removeFromIndex(this.playersByGroup, group, uniqueId));
+      previous.services().forEach(service -> removeFromIndex(this.playersByService, service, uniqueId));
+    }
+
+    if (current != null) {
+      addToIndex(this.playersByName, current.name(), uniqueId);
+      addToIndex(this.playersByTask, current.task(), uniqueId);
+      addToIndex(this.playersByEnvironment, current.environment(), uniqueId);
+      current.groups().forEach(group -> addToIndex(this.playersByGroup, group, uniqueId));
+      current.services().forEach(service -> addToIndex(this.playersByService, service, uniqueId));
+    }
+  }
+
+  private static @NonNull Set<UUID> view(@Nullable Set<UUID> entries) {
+    return entries == null ? Set.of() : Collections.unmodifiableSet(entries);
+  }
+
+  private static <K> void addToIndex(@NonNull Map<K, Set<UUID>> index, @NonNull K key, @NonNull UUID id) {
+    // the modification must happen in the compute call to not race with the removal of the (then empty) set
+    index.compute(key, (_, entries) -> {
+      var target = entries == null ? ConcurrentHashMap.<UUID>newKeySet() : entries;
+      target.add(id);
+      return target;
+    });
+  }
+
+  private static <K> void removeFromIndex(@NonNull Map<K, Set<UUID>> index, @NonNull K key, @NonNull UUID id) {
+    index.computeIfPresent(key, (_, entries) -> {
+      entries.remove(id);
+      return entries.isEmpty() ? null : entries;
+    });
+  }
+
+  private record IndexedPlayer(
+    @NonNull String name,
+    @NonNull String task,
+    @NonNull String environment,
+    @NonNull Set<String> groups,
+    @NonNull Set<UUID> services
+  ) {
+
+    public static @NonNull IndexedPlayer of(@NonNull CloudPlayer player) {
+      // the service the player is currently connected to, the login service if the player is not yet connected
+      var loginService = player.loginService();
+      var service = Objects.requireNonNullElse(player.connectedService(), loginService);
+
+      Set<UUID> services = new HashSet<>(2);
+      services.add(loginService.uniqueId());
+      services.add(service.uniqueId());
+
+      return new IndexedPlayer(
+        player.name().toLowerCase(Locale.ROOT),
+        service.taskName(),
+        service.environment().name(),
+        Set.copyOf(service.groups()),
+        services);
+    }
+  }
+}
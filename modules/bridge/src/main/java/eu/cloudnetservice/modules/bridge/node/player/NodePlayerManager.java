@@ -33,6 +33,8 @@
 import eu.cloudnetservice.modules.bridge.event.BridgeDeleteCloudOfflinePlayerEvent;
 import eu.cloudnetservice.modules.bridge.event.BridgeProxyPlayerDisconnectEvent;
 import eu.cloudnetservice.modules.bridge.event.BridgeProxyPlayerLoginEvent;
+import eu.cloudnetservice.modules.bridge.event.BridgeProxyPlayerServerSwitchEvent;
+import eu.cloudnetservice.modules.bridge.event.BridgeServerPlayerLoginEvent;
 import eu.cloudnetservice.modules.bridge.event.BridgeUpdateCloudOfflinePlayerEvent;
 import eu.cloudnetservice.modules.bridge.event.BridgeUpdateCloudPlayerEvent;
 import eu.cloudnetservice.modules.bridge.node.command.PlayersCommand;
@@ -50,8 +52,10 @@
 import eu.cloudnetservice.node.command.CommandProvider;
 import eu.cloudnetservice.node.database.LocalDatabase;
 import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import eu.cloudnetservice.node.provider.NodeMessenger;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -59,28 +63,50 @@
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import lombok.NonNull;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Singleton
 @Provides(PlayerManager.class)
 public class NodePlayerManager implements PlayerManager {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(NodePlayerManager.class);
+  private static final int PLAYER_LOCK_STRIPES = Integer.getInteger("cloudnet.bridge.player-lock-stripes", 1024);
+
   protected final String databaseName;
   protected final EventManager eventManager;
   protected final CommandProvider commandProvider;
   protected final NodeDatabaseProvider nodeDatabaseProvider;
 
-  protected final Map<UUID, CloudPlayer> onlinePlayers = new ConcurrentHashMap<>();
-  protected final PlayerProvider allPlayerProvider = new NodePlayerProvider(() -> this.onlinePlayers.values().stream());
+  protected final NodeMessenger nodeMessenger;
+
+  protected final NodeOnlinePlayerIndex onlinePlayers = new NodeOnlinePlayerIndex();
+  protected final NodePlayerReplicator playerReplicator = new NodePlayerReplicator(this, this.onlinePlayers);
+  protected final PlayerProvider allPlayerProvider = new NodePlayerProvider(
+    this.onlinePlayers,
+    () -> this.onlinePlayers.players().keySet());
+
+  protected final Lock databaseFlushLock = new ReentrantLock();
+  protected final AtomicBoolean databaseFlushScheduled = new AtomicBoolean();
+  protected final Map<UUID, Optional<CloudOfflinePlayer>> pendingDatabaseWrites = new ConcurrentHashMap<>();
 
-  protected final Striped<Lock> playerReadWriteLocks = Striped.lazyWeakLock(1);
+  protected final Striped<Lock> playerReadWriteLocks = Striped.lock(Math.max(1, PLAYER_LOCK_STRIPES));
   protected final LoadingCache<UUID, Optional<CloudOfflinePlayer>> offlinePlayerCache = Caffeine.newBuilder()
     .expireAfterAccess(5, TimeUnit.MINUTES)
     .build(uniqueId -> {
+      // the database might not contain the latest version of the player yet
+      var pendingWrite = NodePlayerManager.this.pendingDatabaseWrites.get(uniqueId);
+      if (pendingWrite != null) {
+        return pendingWrite;
+      }
+
       // load the player from the database sync to block the current thread
       var document = NodePlayerManager.this.database().get(uniqueId.toString());
       if (document == null) {
@@ -93,6 +119,7 @@ public class NodePlayerManager implements PlayerManager {
   @Inject
   public NodePlayerManager(
     @NonNull EventManager eventManager,
+    @NonNull NodeMessenger nodeMessenger,
     @NonNull RPCFactory providerFactory,
     @NonNull CommandProvider commandProvider,
     @NonNull DataSyncRegistry dataSyncRegistry,
@@ -101,6 +128,7 @@ public NodePlayerManager(
   ) {
     this.databaseName = BridgeManagement.BRIDGE_PLAYER_DB_NAME;
     this.eventManager = eventManager;
+    this.nodeMessenger = nodeMessenger;
     this.commandProvider = commandProvider;
     this.nodeDatabaseProvider = nodeDatabaseProvider;
 
@@ -120,9 +148,9 @@ public NodePlayerManager(
       .key("cloud_player")
       .convertObject(CloudPlayer.class)
       .nameExtractor(CloudPlayer::name)
-      .dataCollector(this.onlinePlayers::values)
-      .currentGetter(player -> this.onlinePlayers.get(player.uniqueId()))
-      .writer(player -> this.onlinePlayers.put(player.uniqueId(), player))
+      .dataCollector(() -> this.onlinePlayers.players().values())
+      .currentGetter(player -> this.onlinePlayers.player(player.uniqueId()))
+      .writer(this::registerOnlinePlayer)
       .build());
   }
 
@@ -131,6 +159,12 @@ private void registerPlayerCommand() {
     this.commandProvider.register(PlayersCommand.class);
   }
 
+  @PostConstruct
+  private void declarePlayerNameIndex() {
+    // offline players are looked up by their name, let the database index the field if it supports secondary indexes
+    this.database().declareIndex("name");
+  }
+
   @PostConstruct
   private void registerListeners() {
     this.eventManager.registerListener(BridgeLocalProxyPlayerDisconnectListener.class);
@@ -139,7 +173,7 @@ private void registerListeners() {
 
   @Override
   public int onlineCount() {
-    return this.onlinePlayers.size();
+    return this.onlinePlayers.players().size();
   }
 
   @Override
@@ -149,35 +183,23 @@ public long registeredCount() {
 
   @Override
   public @Nullable CloudPlayer onlinePlayer(@NonNull UUID uniqueId) {
-    return this.onlinePlayers.get(uniqueId);
+    return this.onlinePlayers.player(uniqueId);
   }
 
   @Override
   public @Nullable CloudPlayer firstOnlinePlayer(@NonNull String name) {
-    for (var player : this.onlinePlayers.values()) {
-      if (player.name().equalsIgnoreCase(name)) {
-        return player;
-      }
-    }
-    return null;
+    var players = this.onlinePlayers(name);
+    return players.isEmpty() ? null : players.getFirst();
   }
 
   @Override
   public @NonNull List<CloudPlayer> onlinePlayers(@NonNull String name) {
-    return this.onlinePlayers.values().stream()
-      .filter(cloudPlayer -> cloudPlayer.name().equalsIgnoreCase(name))
-      .toList();
+    return this.resolveOnlinePlayers(this.onlinePlayers.playersByName(name));
   }
 
   @Override
   public @NonNull List<CloudPlayer> environmentOnlinePlayers(@NonNull ServiceEnvironmentType environment) {
-    return this.onlinePlayers.values()
-      .stream()
-      .filter(cloudPlayer -> {
-        var serviceInfo = Objects.requireNonNullElse(cloudPlayer.connectedService(), cloudPlayer.loginService());
-        return serviceInfo.environment().equals(environment);
-      })
-      .toList();
+    return this.resolveOnlinePlayers(this.onlinePlayers.playersByEnvironment(environment.name()));
   }
 
   @Override
@@ -187,22 +209,16 @@ public long registeredCount() {
 
   @Override
   public @NonNull PlayerProvider taskOnlinePlayers(@NonNull String task) {
-    return new NodePlayerProvider(() -> this.onlinePlayers.values()
-      .stream()
-      .filter(player -> {
-        var serviceInfo = Objects.requireNonNullElse(player.connectedService(), player.loginService());
-        return serviceInfo.taskName().equals(task);
-      }));
+    return new NodePlayerProvider(this.onlinePlayers, () -> this.onlinePlayers.playersByTask(task));
   }
 
   @Override
   public @NonNull PlayerProvider groupOnlinePlayers(@NonNull String group) {
-    return new NodePlayerProvider(() -> this.onlinePlayers.values()
-      .stream()
-      .filter(player -> {
-        var serviceInfo = Objects.requireNonNullElse(player.connectedService(), player.loginService());
-        return serviceInfo.groups().contains(group);
-      }));
+    return new NodePlayerProvider(this.onlinePlayers, () -> this.onlinePlayers.playersByGroup(group));
+  }
+
+  public @NonNull List<CloudPlayer> serviceOnlinePlayers(@NonNull UUID serviceUniqueId) {
+    return this.resolveOnlinePlayers(this.onlinePlayers.playersByService(serviceUniqueId));
   }
 
   @Override
@@ -243,7 +259,7 @@ public void updateOfflinePlayer(@NonNull CloudOfflinePlayer player) {
     // push the change to the cache
     this.pushOfflinePlayerCache(player.uniqueId(), player);
     // update the database
-    this.database().insert(player.uniqueId().toString(), Document.newJsonDocument().appendTree(player));
+    this.scheduleDatabaseWrite(player.uniqueId(), player);
     // notify the cluster
     ChannelMessage.builder()
       .targetAll()
@@ -260,16 +276,8 @@ public void updateOfflinePlayer(@NonNull CloudOfflinePlayer player) {
   public void updateOnlinePlayer(@NonNull CloudPlayer cloudPlayer) {
     // push the change to the cache
     this.pushOnlinePlayerCache(cloudPlayer);
-    // notify the cluster
-    ChannelMessage.builder()
-      .targetAll()
-      .message("update_online_cloud_player")
-      .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
-      .buffer(DataBuf.empty().writeObject(cloudPlayer))
-      .build()
-      .send();
-    // call the update event locally
-    this.eventManager.callEvent(new BridgeUpdateCloudPlayerEvent(cloudPlayer));
+    // notify the cluster and call the update event locally
+    this.publishOnlinePlayerChange(cloudPlayer, NodePlayerReplicator.EVENT_UPDATE, null);
   }
 
   @Override
@@ -277,7 +285,7 @@ public void deleteCloudOfflinePlayer(@NonNull CloudOfflinePlayer cloudOfflinePla
     // push the change to the cache
     this.pushOfflinePlayerCache(cloudOfflinePlayer.uniqueId(), null);
     // delete from the database
-    this.database().delete(cloudOfflinePlayer.uniqueId().toString());
+    this.scheduleDatabaseWrite(cloudOfflinePlayer.uniqueId(), null);
     // notify the cluster
     ChannelMessage.builder()
       .targetAll()
@@ -305,16 +313,135 @@ public void pushOfflinePlayerCache(@NonNull UUID uniqueId, @Nullable CloudOfflin
   }
 
   public void pushOnlinePlayerCache(@NonNull CloudPlayer cloudPlayer) {
-    this.onlinePlayers.replace(cloudPlayer.uniqueId(), cloudPlayer);
+    this.replaceOnlinePlayer(cloudPlayer);
     this.pushOfflinePlayerCache(cloudPlayer.uniqueId(), CloudOfflinePlayer.offlineCopy(cloudPlayer));
   }
 
+  public void registerOnlinePlayer(@NonNull CloudPlayer cloudPlayer) {
+    this.onlinePlayers.register(cloudPlayer);
+  }
+
+  public void replaceOnlinePlayer(@NonNull CloudPlayer cloudPlayer) {
+    this.onlinePlayers.replace(cloudPlayer);
+  }
+
+  public void unregisterOnlinePlayer(@NonNull UUID uniqueId) {
+    this.onlinePlayers.unregister(uniqueId);
+    this.playerReplicator.remove(uniqueId);
+  }
+
+  public void publishServiceSwitch(@NonNull CloudPlayer cloudPlayer, @Nullable NetworkServiceInfo previousService) {
+    this.publishOnlinePlayerChange(cloudPlayer, NodePlayerReplicator.EVENT_SERVICE_SWITCH, previousService);
+  }
+
+  public void publishServerLogin(@NonNull CloudPlayer cloudPlayer) {
+    this.publishOnlinePlayerChange(cloudPlayer, NodePlayerReplicator.EVENT_SERVER_LOGIN, null);
+  }
+
+  public void handlePlayerDelta(@NonNull DataBuf buffer, @NonNull String sender) {
+    this.playerReplicator.handleDelta(buffer, sender);
+  }
+
+  public @NonNull DataBuf writeFullPlayer(@NonNull UUID uniqueId) {
+    return this.playerReplicator.writeFullPlayer(uniqueId);
+  }
+
+  protected void publishOnlinePlayerChange(
+    @NonNull CloudPlayer cloudPlayer,
+    int events,
+    @Nullable NetworkServiceInfo previousService
+  ) {
+    // the other nodes only receive the changed fields, coalesced with other changes made shortly after
+    this.onlinePlayers.incrementVersion(cloudPlayer.uniqueId());
+    this.playerReplicator.markChanged(cloudPlayer, events, previousService);
+    this.publishLocalPlayerEvents(cloudPlayer, events, previousService);
+  }
+
+  protected void publishLocalPlayerEvents(
+    @NonNull CloudPlayer cloudPlayer,
+    int events,
+    @Nullable NetworkServiceInfo previousService
+  ) {
+    // the local services always receive the full player, the other nodes notify their services on their own
+    if ((events & NodePlayerReplicator.EVENT_UPDATE) != 0) {
+      this.sendToLocalServices("update_online_cloud_player", DataBuf.empty().writeObject(cloudPlayer));
+      this.eventManager.callEvent(new BridgeUpdateCloudPlayerEvent(cloudPlayer));
+    }
+
+    if ((events & NodePlayerReplicator.EVENT_SERVICE_SWITCH) != 0) {
+      this.sendToLocalServices(
+        "cloud_player_service_switch",
+        DataBuf.empty().writeObject(cloudPlayer).writeObject(previousService));
+      this.eventManager.callEvent(new BridgeProxyPlayerServerSwitchEvent(cloudPlayer, previousService));
+    }
+
+    var serverInfo = cloudPlayer.networkPlayerServerInfo();
+    if ((events & NodePlayerReplicator.EVENT_SERVER_LOGIN) != 0 && serverInfo != null) {
+      this.sendToLocalServices(
+        "cloud_player_server_login",
+        DataBuf.empty().writeObject(cloudPlayer).writeObject(serverInfo));
+      this.eventManager.callEvent(new BridgeServerPlayerLoginEvent(cloudPlayer, serverInfo));
+    }
+  }
+
+  protected void sendToLocalServices(@NonNull String message, @NonNull DataBuf buffer) {
+    var channelMessage = ChannelMessage.builder()
+      .targetAll()
+      .message(message)
+      .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
+      .buffer(buffer)
+      .build();
+    this.nodeMessenger.sendChannelMessage(channelMessage, false);
+  }
+
+  protected @NonNull List<CloudPlayer> resolveOnlinePlayers(@NonNull Collection<UUID> uniqueIds) {
+    return uniqueIds.stream()
+      .map(this.onlinePlayers::player)
+      .filter(Objects::nonNull)
+      .toList();
+  }
+
+  protected void scheduleDatabaseWrite(@NonNull UUID uniqueId, @Nullable CloudOfflinePlayer player) {
+    // only the latest state of the player needs to be written, previous pending writes are replaced
+    this.pendingDatabaseWrites.put(uniqueId, Optional.ofNullable(player));
+    if (this.databaseFlushScheduled.compareAndSet(false, true)) {
+      Thread.ofVirtual().name("bridge-player-database-writer").start(() -> {
+        // reset before flushing to schedule a new flush for writes which are added while flushing
+        this.databaseFlushScheduled.set(false);
+        this.flushDatabaseWrites();
+      });
+    }
+  }
+
+  public void flushDatabaseWrites() {
+    // the lock ensures that the writes for a player are executed in the order they were scheduled
+    this.databaseFlushLock.lock();
+    try {
+      for (var uniqueId : this.pendingDatabaseWrites.keySet()) {
+        var player = this.pendingDatabaseWrites.remove(uniqueId);
+        if (player != null) {
+          try {
+            if (player.isPresent()) {
+              this.database().insert(uniqueId.toString(), Document.newJsonDocument().appendTree(player.get()));
+            } else {
+              this.database().delete(uniqueId.toString());
+            }
+          } catch (Exception exception) {
+            LOGGER.error("Unable to write player {} into the database", uniqueId, exception);
+          }
+        }
+      }
+    } finally {
+      this.databaseFlushLock.unlock();
+    }
+  }
+
   protected @NonNull LocalDatabase database() {
     return this.nodeDatabaseProvider.database(this.databaseName);
   }
 
   public @NonNull Map<UUID, CloudPlayer> players() {
-    return this.onlinePlayers;
+    return this.onlinePlayers.players();
   }
 
   public void loginPlayer(
@@ -352,7 +479,7 @@ protected void loginPlayer0(
     var cloudPlayer = this.onlinePlayer(connectionInfo.uniqueId());
     if (cloudPlayer == null) {
       // try to load the player using the name and the login service
-      for (var player : this.players().values()) {
+      for (var player : this.onlinePlayers(connectionInfo.name())) {
         if (player.name().equals(connectionInfo.name())) {
           if (player.loginService().uniqueId().equals(connectionInfo.networkService().uniqueId())) {
             cloudPlayer = player;
@@ -377,7 +504,7 @@ protected void loginPlayer0(
           cloudOfflinePlayer.lastNetworkPlayerProxyInfo(),
           cloudOfflinePlayer.propertyHolder());
         // cache the online player for later use
-        this.onlinePlayers.put(cloudPlayer.uniqueId(), cloudPlayer);
+        this.registerOnlinePlayer(cloudPlayer);
       }
     }
     // cannot never be null at this point
@@ -385,12 +512,12 @@ protected void loginPlayer0(
   }
 
   protected void processLogin(@NonNull CloudPlayer cloudPlayer) {
-    // push the player into the cache
+    // push the player into the cache, the full player is sent to the cluster which resets the version of the player
     this.pushOnlinePlayerCache(cloudPlayer);
-    // update the database
-    this.database().insert(
-      cloudPlayer.uniqueId().toString(),
-      Document.newJsonDocument().appendTree(CloudOfflinePlayer.offlineCopy(cloudPlayer)));
+    this.onlinePlayers.version(cloudPlayer.uniqueId(), 0);
+    this.playerReplicator.markReplicated(cloudPlayer, 0);
+    // update the database, the write is done async to not block other logins
+    this.scheduleDatabaseWrite(cloudPlayer.uniqueId(), CloudOfflinePlayer.offlineCopy(cloudPlayer));
     // notify the other nodes that we received the login
     ChannelMessage.builder()
       .targetAll()
@@ -409,9 +536,9 @@ public void processLoginMessage(@NonNull CloudPlayer cloudPlayer) {
       // ensure we only handle one login at a time
       loginLock.lock();
       // check if the player is already loaded
-      var registeredPlayer = this.onlinePlayers.get(cloudPlayer.uniqueId());
+      var registeredPlayer = this.onlinePlayers.player(cloudPlayer.uniqueId());
       if (registeredPlayer == null) {
-        this.onlinePlayers.put(cloudPlayer.uniqueId(), cloudPlayer);
+        this.registerOnlinePlayer(cloudPlayer);
         this.offlinePlayerCache.put(cloudPlayer.uniqueId(), Optional.of(cloudPlayer));
       } else {
         var needsUpdate = false;
@@ -435,9 +562,16 @@ public void processLoginMessage(@NonNull CloudPlayer cloudPlayer) {
         }
         // check if we need to update the player
         if (needsUpdate) {
-          this.onlinePlayers.replace(cloudPlayer.uniqueId(), cloudPlayer);
+          this.replaceOnlinePlayer(cloudPlayer);
         }
       }
+
+      // the login resets the version of the player in the cluster
+      var currentPlayer = this.onlinePlayers.player(cloudPlayer.uniqueId());
+      if (currentPlayer != null) {
+        this.onlinePlayers.version(currentPlayer.uniqueId(), 0);
+        this.playerReplicator.markReplicated(currentPlayer, 0);
+      }
     } finally {
       loginLock.unlock();
     }
@@ -474,14 +608,14 @@ public void logoutPlayer(@NonNull CloudPlayer cloudPlayer) {
 
   private void logoutPlayer0(@NonNull CloudPlayer cloudPlayer) {
     // remove the player from the cache
-    this.onlinePlayers.remove(cloudPlayer.uniqueId());
+    this.unregisterOnlinePlayer(cloudPlayer.uniqueId());
     cloudPlayer.lastNetworkPlayerProxyInfo(cloudPlayer.networkPlayerProxyInfo());
     // copy to an offline version
     var offlinePlayer = CloudOfflinePlayer.offlineCopy(cloudPlayer);
     // update the offline version of the player into the cache
     this.pushOfflinePlayerCache(cloudPlayer.uniqueId(), offlinePlayer);
     // push the change to the database
-    this.database().insert(offlinePlayer.uniqueId().toString(), Document.newJsonDocument().appendTree(offlinePlayer));
+    this.scheduleDatabaseWrite(offlinePlayer.uniqueId(), offlinePlayer);
     // notify the cluster
     ChannelMessage.builder()
       .targetAll()
@@ -19,6 +19,8 @@
 import eu.cloudnetservice.modules.bridge.player.CloudPlayer;
 import eu.cloudnetservice.modules.bridge.player.PlayerProvider;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -27,29 +29,38 @@
 
 final class NodePlayerProvider implements PlayerProvider {
 
-  private final Supplier<Stream<CloudPlayer>> playerSupplier;
+  private final NodeOnlinePlayerIndex playerIndex;
+  private final Supplier<Set<UUID>> uniqueIdSupplier;
 
-  public NodePlayerProvider(@NonNull Supplier<Stream<CloudPlayer>> playerSupplier) {
-    this.playerSupplier = playerSupplier;
+  public NodePlayerProvider(
+    @NonNull NodeOnlinePlayerIndex playerIndex,
+    @NonNull Supplier<Set<UUID>> uniqueIdSupplier
+  ) {
+    this.playerIndex = playerIndex;
+    this.uniqueIdSupplier = uniqueIdSupplier;
   }
 
   @Override
   public @NonNull Collection<CloudPlayer> players() {
-    return this.playerSupplier.get().toList();
+    return this.playerStream().toList();
   }
 
   @Override
   public @NonNull Collection<UUID> uniqueIds() {
-    return this.playerSupplier.get().map(CloudPlayer::uniqueId).collect(Collectors.toSet());
+    return Set.copyOf(this.uniqueIdSupplier.get());
   }
 
   @Override
   public @NonNull Collection<String> names() {
-    return this.playerSupplier.get().map(CloudPlayer::name).collect(Collectors.toSet());
+    return this.playerStream().map(CloudPlayer::name).collect(Collectors.toSet());
   }
 
   @Override
   public int count() {
-    return (int) this.playerSupplier.get().count();
+    return this.uniqueIdSupplier.get().size();
+  }
+
+  private @NonNull Stream<CloudPlayer> playerStream() {
+    return this.uniqueIdSupplier.get().stream().map(this.playerIndex::player).filter(Objects::nonNull);
   }
 }
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.node.player;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.modules.bridge.BridgeManagement;
+import eu.cloudnetservice.modules.bridge.player.CloudPlayer;
+import eu.cloudnetservice.modules.bridge.player.NetworkServiceInfo;
+import eu.cloudnetservice.node.util.VersionedUpdateSequencer;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replicates the changes of online players to the other nodes in the cluster. Instead of sending the full player for
+ * each change, the changes of a player are collected for a short window and then sent as a delta of the fields which
+ * changed since the last replication. Each delta contains the version the delta is based on. Deltas which arrive
+ * before the version they are based on are buffered for a short time, as the deltas of a player might be handled
+ * concurrently. If the missing version doesn't arrive in time, the full player is requested from the sending node.
+ * <p>
+ * The length of the window can be configured using the {@code cloudnet.bridge.player-update-window} system property
+ * (in milliseconds), a window of 0 disables the coalescing of changes. The time to wait for missing versions can be
+ * configured using the {@code cloudnet.bridge.player-reorder-timeout} system property (in milliseconds).
+ *
+ * @since 4.0
+ */
+final class NodePlayerReplicator {
+
+  public static final int EVENT_UPDATE = 1;
+  public static final int EVENT_SERVICE_SWITCH = 1 << 1;
+  public static final int EVENT_SERVER_LOGIN = 1 << 2;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(NodePlayerReplicator.class);
+  private static final long UPDATE_WINDOW_MILLIS = Long.getLong("cloudnet.bridge.player-update-window", 50);
+  private static final long REORDER_TIMEOUT_MILLIS = Long.getLong("cloudnet.bridge.player-reorder-timeout", 1_000);
+
+  private final NodePlayerManager playerManager;
+  private final NodeOnlinePlayerIndex playerIndex;
+
+  private final Set<UUID> pendingFullRequests = ConcurrentHashMap.newKeySet();
+  // the events of updates which were not applied, published together with the next update which is applied
+  private final Map<UUID, MissedEvents> missedEvents = new ConcurrentHashMap<>();
+  private final VersionedUpdateSequencer<UUID, PlayerUpdate> updateSequencer = new VersionedUpdateSequencer<>(
+    REORDER_TIMEOUT_MILLIS,
+    PlayerUpdate::retain,
+    this::dropUpdate,
+    (_, update) -> this.requestFullPlayer(update));
+  private final Map<UUID, PendingChanges> pendingChanges = new ConcurrentHashMap<>();
+  private final Map<UUID, VersionedState> replicatedStates = new ConcurrentHashMap<>();
+
+  public NodePlayerReplicator(@NonNull NodePlayerManager playerManager, @NonNull NodeOnlinePlayerIndex playerIndex) {
+    this.playerManager = playerManager;
+    this.playerIndex = playerIndex;
+  }
+
+  /**
+   * Marks the given player as changed on this node. The change gets replicated to the other nodes after the update
+   * window passed, together with all other changes to the player made in the window.
+   *
+   * @param player          the player which changed.
+   * @param events          the events which were caused by the change.
+   * @param previousService the service the player was connected to before a service switch, null if not switched.
+   * @throws NullPointerException if the given player is null.
+   */
+  public void markChanged(@NonNull CloudPlayer player, int events, @Nullable NetworkServiceInfo previousService) {
+    var schedule = new boolean[1];
+    this.pendingChanges.compute(player.uniqueId(), (_, pending) -> {
+      if (pending == null) {
+        schedule[0] = true;
+        return new PendingChanges(this.replicatedStates.get(player.uniqueId()), events, previousService);
+      } else {
+        // keep the service the player was connected to when the window started
+        var previous = pending.previousService() == null ? previousService : pending.previousService();
+        return new PendingChanges(pending.base(), pending.events() | events, previous);
+      }
+    });
+
+    if (schedule[0]) {
+      if (UPDATE_WINDOW_MILLIS <= 0) {
+        this.flush(player.uniqueId());
+      } else {
+        var executor = CompletableFuture.delayedExecutor(UPDATE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        executor.execute(() -> this.flush(player.uniqueId()));
+      }
+    }
+  }
+
+  /**
+   * Marks the given state of the player as known by all nodes in the cluster, for example because the full player was
+   * sent to them. Pending changes of the player are dropped.
+   *
+   * @param player  the player which is known to the cluster.
+   * @param version the version of the player.
+   * @throws NullPointerException if the given player is null.
+   */
+  public void markReplicated(@NonNull CloudPlayer player, long version) {
+    this.pendingChanges.remove(player.uniqueId());
+    this.replicatedStates.put(player.uniqueId(), new VersionedState(CloudPlayerState.of(player), version));
+  }
+
+  /**
+   * Removes all replication information about the player with the given unique id, for example when it logged out.
+   *
+   * @param uniqueId the unique id of the player to remove.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public void remove(@NonNull UUID uniqueId) {
+    this.pendingChanges.remove(uniqueId);
+    this.replicatedStates.remove(uniqueId);
+    this.updateSequencer.remove(uniqueId);
+    this.missedEvents.remove(uniqueId);
+  }
+
+  /**
+   * Handles a delta which was sent by the given node. If this node knows the version the delta is based on, the delta
+   * is applied directly, followed by all buffered deltas based on it. Deltas based on a newer version are buffered
+   * until the missing versions arrive, the full player is requested from the sending node if they don't arrive in
+   * time.
+   *
+   * @param buffer the buffer containing the delta.
+   * @param sender the name of the node which sent the delta.
+   * @throws NullPointerException if the given buffer or sender is null.
+   */
+  public void handleDelta(@NonNull DataBuf buffer, @NonNull String sender) {
+    var uniqueId = buffer.readUniqueId();
+    var baseVersion = buffer.readLong();
+    var version = buffer.readLong();
+    var events = buffer.readInt();
+    var previousService = buffer.readNullable(buf -> buf.readObject(NetworkServiceInfo.class));
+    var update = new PlayerUpdate(uniqueId, sender, version, events, previousService, buffer, null);
+
+    // the lock ensures that the deltas returned by the sequencer are applied before the next delta is offered
+    var lock = this.playerManager.playerReadWriteLocks.get(uniqueId);
+    lock.lock();
+    try {
+      var knownVersion = this.playerIndex.version(uniqueId);
+      if (knownVersion >= version) {
+        // the player changed on this node as well or the delta was replaced by a full player, sync with the sender
+        this.requestFullPlayer(update);
+        return;
+      }
+
+      for (var readyUpdate : this.updateSequencer.offer(uniqueId, knownVersion, baseVersion, version, update)) {
+        this.applyUpdate(readyUpdate);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes the full player with the given unique id and its current version into a buffer, used to answer requests of
+   * nodes which missed a version of the player.
+   *
+   * @param uniqueId the unique id of the player to write.
+   * @return a buffer containing the full player and its version, or an empty buffer if the player is not online.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public @NonNull DataBuf writeFullPlayer(@NonNull UUID uniqueId) {
+    var lock = this.playerManager.playerReadWriteLocks.get(uniqueId);
+    lock.lock();
+    try {
+      var player = this.playerIndex.player(uniqueId);
+      return player == null
+        ? DataBuf.empty()
+        : DataBuf.empty().writeObject(player).writeLong(this.playerIndex.version(uniqueId));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void flush(@NonNull UUID uniqueId) {
+    // take the pending changes and build the delta atomically to not race with changes which are made while flushing,
+    // a change made after this point starts a new window based on the state which is replicated now
+    var delta = new DataBuf[1];
+    this.pendingChanges.computeIfPresent(uniqueId, (_, pending) -> {
+      var player = this.playerIndex.player(uniqueId);
+      if (player != null) {
+        var version = this.playerIndex.version(uniqueId);
+        var state = CloudPlayerState.of(player);
+        var base = pending.base();
+
+        var buffer = DataBuf.empty()
+          .writeUniqueId(uniqueId)
+          .writeLong(base == null ? -1 : base.version())
+          .writeLong(version)
+          .writeInt(pending.events())
+          .writeNullable(pending.previousService(), DataBuf.Mutable::writeObject);
+        state.writeDelta(buffer, base == null ? null : base.state());
+        this.replicatedStates.put(uniqueId, new VersionedState(state, version));
+        delta[0] = buffer;
+      }
+      return null;
+    });
+
+    // send the delta outside the compute call, sending might block while the map bin is locked otherwise
+    if (delta[0] != null) {
+      ChannelMessage.builder()
+        .targetNodes()
+        .message("cloud_player_delta")
+        .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
+        .buffer(delta[0])
+        .build()
+        .send();
+    }
+  }
+
+  private void applyUpdate(@NonNull PlayerUpdate update) {
+    CloudPlayer updatedPlayer;
+    var player = this.playerIndex.player(update.uniqueId());
+    if (update.player() != null) {
+      // the player is unknown if we missed the login of the player
+      if (player == null) {
+        this.playerIndex.register(update.player());
+      }
+      updatedPlayer = update.player();
+    } else if (player != null) {
+      updatedPlayer = CloudPlayerState.readDelta(update.delta(), player);
+    } else {
+      // we missed the login of the player, the delta can't be applied
+      this.requestFullPlayer(update);
+      return;
+    }
+
+    this.applyPlayer(updatedPlayer, update.version());
+    this.publishEvents(updatedPlayer, update.events(), update.previousService());
+  }
+
+  private void publishEvents(@NonNull CloudPlayer player, int events, @Nullable NetworkServiceInfo previousService) {
+    // include the events of the updates which were replaced by the full player
+    var missed = this.missedEvents.remove(player.uniqueId());
+    if (missed != null) {
+      events |= missed.events();
+      previousService = missed.previousService() == null ? previousService : missed.previousService();
+    }
+
+    if (events != 0) {
+      this.playerManager.publishLocalPlayerEvents(player, events, previousService);
+    }
+  }
+
+  private void dropUpdate(@NonNull PlayerUpdate update) {
+    // the events still need to be published to the local services, keep them until the next update is applied
+    if (update.events() != 0) {
+      var events = new MissedEvents(update.events(), update.previousService());
+      this.missedEvents.merge(update.uniqueId(), events, MissedEvents::merge);
+    }
+
+    if (update.delta() != null) {
+      update.delta().release();
+    }
+  }
+
+  private void requestFullPlayer(@NonNull PlayerUpdate update) {
+    this.dropUpdate(update);
+
+    // the events are published with the response of an already running request
+    var uniqueId = update.uniqueId();
+    if (!this.pendingFullRequests.add(uniqueId)) {
+      return;
+    }
+
+    ChannelMessage.builder()
+      .targetNode(update.sender())
+      .message("request_cloud_player")
+      .channel(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
+      .buffer(DataBuf.empty().writeUniqueId(uniqueId))
+      .build()
+      .sendSingleQueryAsync()
+      .whenComplete((response, exception) -> {
+        this.pendingFullRequests.remove(uniqueId);
+        if (exception != null) {
+          LOGGER.debug("Unable to request player {} from node {}", uniqueId, update.sender(), exception);
+          return;
+        }
+
+        // the player might have logged out in the meantime
+        if (response == null || response.content().readableBytes() <= 0) {
+          this.missedEvents.remove(uniqueId);
+          return;
+        }
+
+        var player = response.content().readObject(CloudPlayer.class);
+        var version = response.content().readLong();
+        var fullUpdate = new PlayerUpdate(uniqueId, update.sender(), version, 0, null, null, player);
+
+        var lock = this.playerManager.playerReadWriteLocks.get(uniqueId);
+        lock.lock();
+        try {
+          var knownVersion = this.playerIndex.version(uniqueId);
+          var readyUpdates = this.updateSequencer.offer(
+            uniqueId,
+            knownVersion,
+            VersionedUpdateSequencer.FULL_UPDATE,
+            version,
+            fullUpdate);
+          for (var readyUpdate : readyUpdates) {
+            this.applyUpdate(readyUpdate);
+          }
+
+          // a newer version was applied in the meantime, publish the missed events with it
+          var currentPlayer = this.playerIndex.player(uniqueId);
+          if (readyUpdates.isEmpty() && currentPlayer != null) {
+            this.publishEvents(currentPlayer, 0, null);
+          }
+        } finally {
+          lock.unlock();
+        }
+      });
+  }
+
+  private void applyPlayer(@NonNull CloudPlayer player, long version) {
+    this.playerManager.pushOnlinePlayerCache(player);
+    this.playerIndex.version(player.uniqueId(), version);
+    this.markReplicated(player, version);
+  }
+
+  private record VersionedState(@NonNull CloudPlayerState state, long version) {
+
+  }
+
+  private record PlayerUpdate(
+    @NonNull UUID uniqueId,
+    @NonNull String sender,
+    long version,
+    int events,
+    @Nullable NetworkServiceInfo previousService,
+    @Nullable DataBuf delta,
+    @Nullable CloudPlayer player
+  ) {
+
+    public @NonNull PlayerUpdate retain() {
+      // the content of channel messages is released after handling them, buffered deltas need their own copy
+      var delta = this.delta == null ? null : DataBufFactory.defaultFactory().copyOf(this.delta);
+      return new PlayerUpdate(
+        this.uniqueId,
+        this.sender,
+        this.version,
+        this.events,
+        this.previousService,
+        delta,
+        this.player);
+    }
+  }
+
+  private record MissedEvents(int events, @Nullable NetworkServiceInfo previousService) {
+
+    public @NonNull MissedEvents merge(@NonNull MissedEvents other) {
+      // keep the service the player was connected to before the first missed switch
+      var previous = this.previousService == null ? other.previousService() : this.previousService;
+      return new MissedEvents(this.events | other.events(), previous);
+    }
+  }
+
+  private record PendingChanges(
+    @Nullable VersionedState base,
+    int events,
+    @Nullable NetworkServiceInfo previousService
+  ) {
+
+  }
+}
@@ -345,8 +345,9 @@ public void removeFallbackProfile(@NonNull UUID uniqueId) {
 
   @Override
   public void postInit() {
-    // publish a service update to append all property information
-    this.serviceInfoHolder.publishServiceInfoUpdate();
+    // publish a service update to append all property information, this marks the service as online and must
+    // therefore not be delayed
+    this.serviceInfoHolder.flushServiceInfoUpdate();
     // load all services and cache the ones which are matching the cache policy
     this.serviceProvider.servicesAsync().thenAccept(services -> {
       for (var service : services) {
@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.modules.bridge.BridgeManagement;
 import eu.cloudnetservice.modules.bridge.config.BridgeConfiguration;
@@ -54,6 +55,7 @@ public PlatformChannelMessageListener(
   }
 
   @EventListener
+  @ChannelMessageSubscription(BridgeManagement.BRIDGE_CHANNEL_NAME)
   public void handleConfigurationChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_CHANNEL_NAME) && event.message()
       .equals("update_bridge_configuration")) {
@@ -65,6 +67,7 @@ public void handleConfigurationChannelMessage(@NonNull ChannelMessageReceiveEven
   }
 
   @EventListener
+  @ChannelMessageSubscription(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
   public void handlePlayerChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)) {
       // a message regarding a player event
@@ -142,6 +145,7 @@ public void handlePlayerChannelMessage(@NonNull ChannelMessageReceiveEvent event
   }
 
   @EventListener
+  @ChannelMessageSubscription(BridgeManagement.BRIDGE_PLAYER_EXECUTOR_CHANNEL_NAME)
   public void handlePlayerExecutorChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_PLAYER_EXECUTOR_CHANNEL_NAME)) {
       // the target unique id is always the first argument
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.node.player;
+
+import dev.derklaro.aerogel.binding.BindingBuilder;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.ComponentInfo;
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.event.Event;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.provider.CloudMessenger;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.modules.bridge.event.BridgeProxyPlayerServerSwitchEvent;
+import eu.cloudnetservice.modules.bridge.node.CloudNetBridgeModule;
+import eu.cloudnetservice.modules.bridge.player.CloudOfflinePlayer;
+import eu.cloudnetservice.modules.bridge.player.NetworkPlayerProxyInfo;
+import eu.cloudnetservice.modules.bridge.player.NetworkServiceInfo;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.command.CommandProvider;
+import eu.cloudnetservice.node.database.LocalDatabase;
+import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import eu.cloudnetservice.node.provider.NodeMessenger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class NodePlayerManagerTest {
+
+  private static final NetworkServiceInfo PROXY = new NetworkServiceInfo(
+    Set.of("Proxy"),
+    ServiceId.builder().taskName("Proxy").taskServiceId(1).environment(ServiceEnvironmentType.VELOCITY).build());
+
+  private final Map<String, Document> storedPlayers = new ConcurrentHashMap<>();
+
+  private LocalDatabase database;
+  private EventManager eventManager;
+  private NodePlayerManager playerManager;
+
+  @BeforeAll
+  static void setupInjectionLayer() {
+    // channel messages are sent using the messenger bound in the boot layer
+    var layer = InjectionLayer.boot();
+    layer.install(BindingBuilder.create()
+      .bind(ComponentInfo.class)
+      .toInstance(new ComponentInfo(DriverEnvironment.NODE, "Node-1", "Node-1")));
+    layer.install(BindingBuilder.create()
+      .bind(CloudMessenger.class)
+      .toInstance(Mockito.mock(CloudMessenger.class)));
+  }
+
+  @BeforeEach
+  void setupPlayerManager() {
+    this.database = Mockito.mock(LocalDatabase.class);
+    Mockito.when(this.database.get(ArgumentMatchers.anyString()))
+      .then(invocation -> this.storedPlayers.get(invocation.<String>getArgument(0)));
+    Mockito.when(this.database.insert(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+      .then(invocation -> this.storedPlayers.put(invocation.getArgument(0), invocation.getArgument(1)) != null);
+    Mockito.when(this.database.delete(ArgumentMatchers.anyString()))
+      .then(invocation -> this.storedPlayers.remove(invocation.<String>getArgument(0)) != null);
+
+    var databaseProvider = Mockito.mock(NodeDatabaseProvider.class);
+    Mockito.when(databaseProvider.database(ArgumentMatchers.anyString())).thenReturn(this.database);
+
+    this.eventManager = Mockito.mock(EventManager.class);
+    this.playerManager = new NodePlayerManager(
+      this.eventManager,
+      Mockito.mock(NodeMessenger.class),
+      Mockito.mock(RPCFactory.class, Mockito.RETURNS_DEEP_STUBS),
+      Mockito.mock(CommandProvider.class),
+      Mockito.mock(DataSyncRegistry.class),
+      Mockito.mock(RPCHandlerRegistry.class),
+      databaseProvider);
+  }
+
+  @Test
+  void testConcurrentLoginsOfSamePlayerRegisterOnePlayer() throws Exception {
+    var proxyInfo = proxyInfo(UUID.randomUUID(), "derklaro");
+    runConcurrently(32, _ -> this.playerManager.loginPlayer(proxyInfo, null));
+
+    Assertions.assertEquals(1, this.playerManager.onlineCount());
+    Assertions.assertEquals(1, this.playerManager.onlinePlayers("derklaro").size());
+    Assertions.assertNotNull(this.playerManager.onlinePlayer(proxyInfo.uniqueId()));
+  }
+
+  @Test
+  void testConcurrentLoginsAndLogoutsKeepPlayersConsistent() throws Exception {
+    var players = new ArrayList<NetworkPlayerProxyInfo>();
+    for (var i = 0; i < 100; i++) {
+      players.add(proxyInfo(UUID.randomUUID(), "Player" + i));
+    }
+
+    // multiple threads per player, some of them hitting the same lock stripe, log the players in and out
+    runConcurrently(400, thread -> {
+      var proxyInfo = players.get(thread % players.size());
+      for (var i = 0; i < 10; i++) {
+        this.playerManager.loginPlayer(proxyInfo, null);
+        this.playerManager.logoutPlayer(proxyInfo.uniqueId(), null, null);
+      }
+    });
+
+    Assertions.assertEquals(0, this.playerManager.onlineCount());
+    for (var proxyInfo : players) {
+      Assertions.assertNull(this.playerManager.onlinePlayer(proxyInfo.uniqueId()));
+      Assertions.assertTrue(this.playerManager.onlinePlayers(proxyInfo.name()).isEmpty());
+    }
+
+    // all players must be written into the database once the pending writes are flushed
+    this.playerManager.flushDatabaseWrites();
+    Assertions.assertTrue(this.playerManager.pendingDatabaseWrites.isEmpty());
+    Assertions.assertEquals(players.size(), this.storedPlayers.size());
+    for (var proxyInfo : players) {
+      var stored = this.storedPlayers.get(proxyInfo.uniqueId().toString());
+      Assertions.assertNotNull(stored);
+      Assertions.assertEquals(proxyInfo.name(), stored.toInstanceOf(CloudOfflinePlayer.class).name());
+    }
+  }
+
+  @Test
+  void testFlushOnStopWritesAllPendingPlayers() throws Exception {
+    // block the first database write to keep the background writer busy while the module stops
+    var writerBlocked = new CountDownLatch(1);
+    var releaseWriter = new CountDownLatch(1);
+    var firstWrite = new AtomicBoolean(true);
+    Mockito.doAnswer(invocation -> {
+      if (firstWrite.compareAndSet(true, false)) {
+        writerBlocked.countDown();
+        releaseWriter.await();
+      }
+      return this.storedPlayers.put(invocation.getArgument(0), invocation.getArgument(1)) != null;
+    }).when(this.database).insert(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+
+    this.playerManager.updateOfflinePlayer(offlinePlayer(UUID.randomUUID(), "Blocking"));
+    Assertions.assertTrue(writerBlocked.await(10, TimeUnit.SECONDS));
+
+    // schedule writes while the writer is blocked, each player is updated twice and only the last update counts
+    var uniqueIds = new ArrayList<UUID>();
+    for (var i = 0; i < 100; i++) {
+      var uniqueId = UUID.randomUUID();
+      uniqueIds.add(uniqueId);
+      this.playerManager.updateOfflinePlayer(offlinePlayer(uniqueId, "Outdated" + i));
+      this.playerManager.updateOfflinePlayer(offlinePlayer(uniqueId, "Player" + i));
+    }
+
+    // stop the module, the flush must wait for the running writer and then write everything that is pending
+    var module = new CloudNetBridgeModule(Mockito.mock(InjectionLayer.class));
+    var stopFlush = TaskUtil.runVirtualAsync(() -> module.flushPlayerDatabaseWrites(this.playerManager));
+    Thread.sleep(100);
+    Assertions.assertFalse(stopFlush.isDone());
+
+    releaseWriter.countDown();
+    stopFlush.get(10, TimeUnit.SECONDS);
+
+    Assertions.assertTrue(this.playerManager.pendingDatabaseWrites.isEmpty());
+    Assertions.assertEquals(uniqueIds.size() + 1, this.storedPlayers.size());
+    for (var i = 0; i < uniqueIds.size(); i++) {
+      var stored = this.storedPlayers.get(uniqueIds.get(i).toString());
+      Assertions.assertNotNull(stored);
+      Assertions.assertEquals("Player" + i, stored.toInstanceOf(CloudOfflinePlayer.class).name());
+    }
+  }
+
+  @Test
+  void testOutOfOrderPlayerDeltasAreAppliedInOrder() {
+    var uniqueId = UUID.randomUUID();
+    this.playerManager.loginPlayer(proxyInfo(uniqueId, "derklaro"), null);
+    var player = this.playerManager.onlinePlayer(uniqueId);
+    Assertions.assertNotNull(player);
+
+    var firstService = serviceInfo("Lobby", 1);
+    var secondService = serviceInfo("Lobby", 2);
+    var initial = CloudPlayerState.of(player);
+    var first = connectedTo(initial, firstService);
+    var second = connectedTo(initial, secondService);
+
+    // the second delta is handled before the first one, for example because both were handled concurrently
+    this.playerManager.handlePlayerDelta(delta(uniqueId, 1, 2, second, first, firstService), "Node-2");
+    Assertions.assertEquals(0, this.playerManager.onlinePlayers.version(uniqueId));
+    Assertions.assertEquals(initial.connectedService(), this.playerManager.onlinePlayer(uniqueId).connectedService());
+
+    this.playerManager.handlePlayerDelta(delta(uniqueId, 0, 1, first, initial, initial.connectedService()), "Node-2");
+    Assertions.assertEquals(2, this.playerManager.onlinePlayers.version(uniqueId));
+    Assertions.assertEquals(secondService, this.playerManager.onlinePlayer(uniqueId).connectedService());
+
+    // both switches must be published in the order they happened, without requesting the full player
+    var events = ArgumentCaptor.forClass(Event.class);
+    Mockito.verify(this.eventManager, Mockito.atLeastOnce()).callEvent(events.capture());
+    var previousServices = events.getAllValues().stream()
+      .filter(BridgeProxyPlayerServerSwitchEvent.class::isInstance)
+      .map(event -> ((BridgeProxyPlayerServerSwitchEvent) event).previous())
+      .toList();
+    Assertions.assertEquals(Arrays.asList(initial.connectedService(), firstService), previousServices);
+
+    var messenger = InjectionLayer.boot().instance(CloudMessenger.class);
+    Mockito.verify(messenger, Mockito.never()).sendSingleChannelMessageQueryAsync(
+      ArgumentMatchers.argThat(message -> message.message().equals("request_cloud_player")));
+  }
+
+  private static void runConcurrently(int threads, @NonNull ThreadTask task) throws Exception {
+    var startLatch = new CountDownLatch(1);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var thread = 0; thread < threads; thread++) {
+        var threadId = thread;
+        futures.add(CompletableFuture.runAsync(() -> {
+          try {
+            startLatch.await();
+            task.run(threadId);
+          } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+          }
+        }, executor));
+      }
+
+      startLatch.countDown();
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+  }
+
+  private static @NonNull NetworkPlayerProxyInfo proxyInfo(@NonNull UUID uniqueId, @NonNull String name) {
+    return new NetworkPlayerProxyInfo(
+      uniqueId,
+      name,
+      null,
+      767,
+      new HostAndPort("127.0.0.1", 25565),
+      new HostAndPort("127.0.0.1", 25577),
+      true,
+      PROXY);
+  }
+
+  private static @NonNull NetworkServiceInfo serviceInfo(@NonNull String task, int id) {
+    return new NetworkServiceInfo(
+      Set.of(task),
+      ServiceId.builder()
+        .taskName(task)
+        .taskServiceId(id)
+        .environment(ServiceEnvironmentType.MINECRAFT_SERVER)
+        .build());
+  }
+
+  private static @NonNull CloudPlayerState connectedTo(
+    @NonNull CloudPlayerState state,
+    @NonNull NetworkServiceInfo connectedService
+  ) {
+    return new CloudPlayerState(
+      state.loginService(),
+      connectedService,
+      state.networkPlayerServerInfo(),
+      state.onlineProperties(),
+      state.lastLoginTimeMillis(),
+      state.lastNetworkPlayerProxyInfo(),
+      state.properties());
+  }
+
+  private static @NonNull DataBuf delta(
+    @NonNull UUID uniqueId,
+    long baseVersion,
+    long version,
+    @NonNull CloudPlayerState state,
+    @NonNull CloudPlayerState base,
+    @Nullable NetworkServiceInfo previousService
+  ) {
+    var buffer = DataBuf.empty()
+      .writeUniqueId(uniqueId)
+      .writeLong(baseVersion)
+      .writeLong(version)
+      .writeInt(NodePlayerReplicator.EVENT_SERVICE_SWITCH)
+      .writeNullable(previousService, DataBuf.Mutable::writeObject);
+    state.writeDelta(buffer, base);
+    return buffer;
+  }
+
+  private static @NonNull CloudOfflinePlayer offlinePlayer(@NonNull UUID uniqueId, @NonNull String name) {
+    return new CloudOfflinePlayer(
+      name,
+      System.currentTimeMillis(),
+      System.currentTimeMillis(),
+      proxyInfo(uniqueId, name),
+      Document.newJsonDocument());
+  }
+
+  @FunctionalInterface
+  private interface ThreadTask {
+
+    void run(int threadId);
+  }
+}
@@ -17,9 +17,12 @@
 package eu.cloudnetservice.modules.mongodb;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
 import eu.cloudnetservice.driver.document.Document;
@@ -29,8 +32,10 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import lombok.NonNull;
 import org.bson.conversions.Bson;
@@ -43,6 +48,7 @@ public class MongoDBDatabase extends AbstractDatabase {
 
   protected static final IndexOptions UNIQUE_KEY_OPTIONS = new IndexOptions().unique(true);
   protected static final UpdateOptions INSERT_OR_REPLACE_OPTIONS = new UpdateOptions().upsert(true);
+  protected static final BulkWriteOptions UNORDERED_BULK_WRITE_OPTIONS = new BulkWriteOptions().ordered(false);
 
   protected final MongoCollection<org.bson.Document> collection;
 
@@ -59,20 +65,43 @@ protected MongoDBDatabase(
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.insertOrUpdate(key, document);
+    return this.invalidateIfModified(this.insertOrUpdate(key, document), Set.of(key));
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    if (documents.isEmpty()) {
+      return true;
+    }
+
+    // the keys are unique, so the writes can be executed unordered which allows the server to parallelize them
+    List<UpdateOneModel<org.bson.Document>> writes = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      writes.add(new UpdateOneModel<>(
+        Filters.eq(KEY_NAME, entry.getKey()),
+        this.insertOrUpdateDocument(entry.getKey(), entry.getValue()),
+        INSERT_OR_REPLACE_OPTIONS));
+    }
+
+    var result = this.collection.bulkWrite(writes, UNORDERED_BULK_WRITE_OPTIONS);
+    this.publishInvalidation(documents.keySet());
+    return result.getUpserts().size() + result.getMatchedCount() == documents.size();
   }
 
   protected boolean insertOrUpdate(String key, Document document) {
     var result = this.collection.updateOne(
       Filters.eq(KEY_NAME, key),
-      Updates.combine(
-        Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
-        Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document)))
-      ),
+      this.insertOrUpdateDocument(key, document),
       INSERT_OR_REPLACE_OPTIONS);
     return result.getUpsertedId() != null || result.getMatchedCount() > 0;
   }
 
+  protected @NonNull Bson insertOrUpdateDocument(@NonNull String key, @NonNull Document document) {
+    return Updates.combine(
+      Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
+      Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document))));
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
     return this.collection.find(Filters.eq(KEY_NAME, key)).first() != null;
@@ -80,7 +109,16 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0;
+    return this.invalidateIfModified(
+      this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0,
+      Set.of(key));
+  }
+
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    return this.invalidateIfModified(
+      !keys.isEmpty() && this.collection.deleteMany(Filters.in(KEY_NAME, keys)).getDeletedCount() > 0,
+      keys);
   }
 
   @Override
@@ -177,6 +215,7 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
   @Override
   public void clear() {
     this.collection.deleteMany(new org.bson.Document());
+    this.publishInvalidation(null);
   }
 
   @Override
@@ -206,6 +245,29 @@ public boolean synced() {
     return result.isEmpty() ? null : result;
   }
 
+  @Override
+  public void declareIndex(@NonNull String fieldName) {
+    this.collection.createIndex(Indexes.ascending(VALUE_NAME + '.' + fieldName));
+  }
+
+  @Override
+  public @Nullable LinkedHashMap<String, Document> readChunkAfter(@Nullable String lastKey, int chunkSize) {
+    var filter = lastKey == null ? Filters.empty() : Filters.gt(KEY_NAME, lastKey);
+    var result = new LinkedHashMap<String, Document>();
+    try (var cursor = this.collection.find(filter).sort(Sorts.ascending(KEY_NAME)).limit(chunkSize).iterator()) {
+      while (cursor.hasNext()) {
+        var document = cursor.next();
+        var parsedDocument = this.parseDocumentValue(document);
+        if (parsedDocument != null) {
+          var entryKey = document.getString(KEY_NAME);
+          result.put(entryKey, parsedDocument);
+        }
+      }
+    }
+
+    return result.isEmpty() ? null : result;
+  }
+
   @Override
   public void close() {
   }
@@ -54,14 +54,36 @@ public MySQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
     var serializedDocument = this.serializeDocumentToJsonString(document);
-    return this.databaseProvider.executeUpdate(
-      String.format(
-        "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
-        this.name,
-        TABLE_COLUMN_KEY,
-        TABLE_COLUMN_VAL,
-        TABLE_COLUMN_VAL),
-      key, serializedDocument, serializedDocument) > 0;
+    return this.invalidateIfModified(
+      this.databaseProvider.executeUpdate(
+        String.format(
+          "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
+          this.name,
+          TABLE_COLUMN_KEY,
+          TABLE_COLUMN_VAL,
+          TABLE_COLUMN_VAL),
+        key, serializedDocument, serializedDocument) > 0,
+      Set.of(key));
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    Collection<Object[]> batch = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      var serializedDocument = this.serializeDocumentToJsonString(entry.getValue());
+      batch.add(new Object[]{entry.getKey(), serializedDocument, serializedDocument});
+    }
+
+    return this.invalidateIfModified(
+      this.databaseProvider.executeBatchUpdate(
+        String.format(
+          "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
+          this.name,
+          TABLE_COLUMN_KEY,
+          TABLE_COLUMN_VAL,
+          TABLE_COLUMN_VAL),
+        batch) != -1,
+      documents.keySet());
   }
 
   @Override
@@ -75,9 +97,11 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.databaseProvider.executeUpdate(
-      String.format("DELETE FROM %s WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
-      key) > 0;
+    return this.invalidateIfModified(
+      this.databaseProvider.executeUpdate(
+        String.format("DELETE FROM %s WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
+        key) > 0,
+      Set.of(key));
   }
 
   @Override
@@ -191,6 +215,7 @@ public boolean delete(@NonNull String key) {
   @Override
   public void clear() {
     this.databaseProvider.executeUpdate(String.format("TRUNCATE TABLE `%s`;", this.name));
+    this.publishInvalidation(null);
   }
 
   @Override
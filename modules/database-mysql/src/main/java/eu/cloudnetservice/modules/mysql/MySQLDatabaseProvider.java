@@ -143,6 +143,38 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> batch) {
+    try (var con = this.connection(); var statement = con.prepareStatement(query)) {
+      // commit the whole batch at once rather than each statement separately
+      con.setAutoCommit(false);
+      try {
+        for (var objects : batch) {
+          for (var i = 0; i < objects.length; i++) {
+            statement.setString(i + 1, Objects.toString(objects[i]));
+          }
+          statement.addBatch();
+        }
+
+        var updatedRows = 0;
+        for (var updateCount : statement.executeBatch()) {
+          updatedRows += Math.max(updateCount, 0);
+        }
+
+        con.commit();
+        return updatedRows;
+      } catch (SQLException exception) {
+        con.rollback();
+        throw exception;
+      } finally {
+        con.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return -1;
+    }
+  }
+
   @Override
   public <T> @UnknownNullability T executeQuery(
     @NonNull String query,
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.modules.labymod.LabyModManagement;
 import eu.cloudnetservice.modules.labymod.config.LabyModConfiguration;
 import jakarta.inject.Singleton;
@@ -27,6 +28,7 @@
 public class PlatformLabyModListener {
 
   @EventListener
+  @ChannelMessageSubscription(LabyModManagement.LABYMOD_MODULE_CHANNEL)
   public void handleConfigUpdate(
     @NonNull ChannelMessageReceiveEvent event,
     @NonNull PlatformLabyModManagement labyModManagement
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.modules.bridge.WorldPosition;
 import eu.cloudnetservice.modules.npc.configuration.NPCConfiguration;
 import java.util.Collection;
@@ -32,6 +33,7 @@ public SharedChannelMessageListener(@NonNull NPCManagement npcManagement) {
   }
 
   @EventListener
+  @ChannelMessageSubscription(AbstractNPCManagement.NPC_CHANNEL_NAME)
   public void handle(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(AbstractNPCManagement.NPC_CHANNEL_NAME)) {
       switch (event.message()) {
@@ -43,6 +43,13 @@ public ServiceInfoDataEmitter(@NonNull CloudServiceProvider cloudServiceProvider
 
   @Override
   public @NonNull ReportDataWriter emitData(@NonNull ReportDataWriter writer, @NonNull ServiceInfoSnapshot value) {
-    return writer.beginSection(value.name()).appendAsJson(value).endSection();
+    // the process snapshot only holds the thread count, request the detailed thread information separately
+    return writer
+      .beginSection(value.name())
+      .appendAsJson(value)
+      .beginSection("Threads")
+      .appendAsJson(value.provider().threadSnapshots())
+      .endSection()
+      .endSection();
   }
 }
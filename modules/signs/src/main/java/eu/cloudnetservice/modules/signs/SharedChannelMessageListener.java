@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.modules.bridge.WorldPosition;
 import eu.cloudnetservice.modules.signs.configuration.SignsConfiguration;
 import java.util.Collection;
@@ -26,6 +27,7 @@
 public final class SharedChannelMessageListener {
 
   @EventListener
+  @ChannelMessageSubscription(AbstractSignManagement.SIGN_CHANNEL_NAME)
   public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event, @NonNull SignManagement signManagement) {
     if (event.channel().equals(AbstractSignManagement.SIGN_CHANNEL_NAME)) {
       switch (event.message()) {
@@ -61,6 +61,16 @@ public SmartCommand(@NonNull ServiceTaskProvider taskProvider) {
     return task;
   }
 
+  @Parser(name = "smoothingFactor")
+  public double smoothingFactorParser(@NonNull CommandInput input) {
+    // a factor of 0 would ignore all new samples, the forecast would never follow the player curve
+    var factor = input.readDouble();
+    if (factor <= 0 || factor > 1) {
+      throw new ArgumentNotAvailableException(I18n.trans("module-smart-command-smoothing-factor-out-of-range", factor));
+    }
+    return factor;
+  }
+
   @Suggestions("smartTask")
   public @NonNull Stream<String> suggestSmartTasks() {
     return this.taskProvider.serviceTasks()
@@ -239,6 +249,76 @@ public void percentOfPlayersForANewServiceByInstance(
       percent));
   }
 
+  @Command("smart task <task> scalingStrategy <strategy>")
+  public void scalingStrategy(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @NonNull @Argument("strategy") SmartServiceTaskConfig.ScalingStrategy strategy
+  ) {
+    this.updateSmart(task, config -> config.scalingStrategy(strategy));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "scalingStrategy",
+      task.name(),
+      strategy));
+  }
+
+  @Command("smart task <task> predictionHorizonInSeconds <seconds>")
+  public void predictionHorizonInSeconds(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("seconds") @Range(min = "1") int seconds
+  ) {
+    this.updateSmart(task, config -> config.predictionHorizonInSeconds(seconds));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "predictionHorizonInSeconds",
+      task.name(),
+      seconds));
+  }
+
+  @Command("smart task <task> levelSmoothingFactor <factor>")
+  public void levelSmoothingFactor(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument(value = "factor", parserName = "smoothingFactor") double factor
+  ) {
+    this.updateSmart(task, config -> config.levelSmoothingFactor(factor));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "levelSmoothingFactor",
+      task.name(),
+      factor));
+  }
+
+  @Command("smart task <task> trendSmoothingFactor <factor>")
+  public void trendSmoothingFactor(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument(value = "factor", parserName = "smoothingFactor") double factor
+  ) {
+    this.updateSmart(task, config -> config.trendSmoothingFactor(factor));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "trendSmoothingFactor",
+      task.name(),
+      factor));
+  }
+
+  @Command("smart task <task> maxServiceStartsPerTick <amount>")
+  public void maxServiceStartsPerTick(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("amount") @Range(min = "1") int amount
+  ) {
+    this.updateSmart(task, config -> config.maxServiceStartsPerTick(amount));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "maxServiceStartsPerTick",
+      task.name(),
+      amount));
+  }
+
   private void updateSmart(
     @NonNull ServiceTask serviceTask,
     @NonNull Function<SmartServiceTaskConfig.Builder, SmartServiceTaskConfig.Builder> modifier
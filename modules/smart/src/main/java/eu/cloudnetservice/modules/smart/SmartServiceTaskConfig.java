@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.modules.smart;
 
+import com.google.common.base.Preconditions;
 import lombok.NonNull;
 
 public record SmartServiceTaskConfig(
@@ -30,9 +31,46 @@ public record SmartServiceTaskConfig(
   int autoStopTimeByUnusedServiceInSeconds,
   int percentOfPlayersToCheckShouldStopTheService,
   int forAnewInstanceDelayTimeInSeconds,
-  int percentOfPlayersForANewServiceByInstance
+  int percentOfPlayersForANewServiceByInstance,
+  ScalingStrategy scalingStrategy,
+  int predictionHorizonInSeconds,
+  double levelSmoothingFactor,
+  double trendSmoothingFactor,
+  int maxServiceStartsPerTick
 ) implements Comparable<SmartServiceTaskConfig> {
 
+  private static final int DEFAULT_PREDICTION_HORIZON = 60;
+  private static final double DEFAULT_LEVEL_SMOOTHING_FACTOR = 0.3;
+  private static final double DEFAULT_TREND_SMOOTHING_FACTOR = 0.1;
+  private static final int DEFAULT_MAX_SERVICE_STARTS_PER_TICK = 3;
+
+  public SmartServiceTaskConfig {
+    // configurations written before predictive scaling was introduced are missing the options, use the defaults
+    if (scalingStrategy == null) {
+      scalingStrategy = ScalingStrategy.REACTIVE;
+    }
+    if (predictionHorizonInSeconds <= 0) {
+      predictionHorizonInSeconds = DEFAULT_PREDICTION_HORIZON;
+    }
+    if (levelSmoothingFactor == 0) {
+      levelSmoothingFactor = DEFAULT_LEVEL_SMOOTHING_FACTOR;
+    }
+    if (trendSmoothingFactor == 0) {
+      trendSmoothingFactor = DEFAULT_TREND_SMOOTHING_FACTOR;
+    }
+    Preconditions.checkArgument(
+      levelSmoothingFactor > 0 && levelSmoothingFactor <= 1,
+      "levelSmoothingFactor must be in (0, 1], got %s",
+      levelSmoothingFactor);
+    Preconditions.checkArgument(
+      trendSmoothingFactor > 0 && trendSmoothingFactor <= 1,
+      "trendSmoothingFactor must be in (0, 1], got %s",
+      trendSmoothingFactor);
+    if (maxServiceStartsPerTick <= 0) {
+      maxServiceStartsPerTick = DEFAULT_MAX_SERVICE_STARTS_PER_TICK;
+    }
+  }
+
   public static @NonNull Builder builder() {
     return new Builder();
   }
@@ -54,7 +92,13 @@ public record SmartServiceTaskConfig(
       .percentOfPlayersToCheckShouldStop(config.percentOfPlayersToCheckShouldStopTheService())
 
       .forAnewInstanceDelayTimeInSeconds(config.forAnewInstanceDelayTimeInSeconds())
-      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance());
+      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance())
+
+      .scalingStrategy(config.scalingStrategy())
+      .predictionHorizonInSeconds(config.predictionHorizonInSeconds())
+      .levelSmoothingFactor(config.levelSmoothingFactor())
+      .trendSmoothingFactor(config.trendSmoothingFactor())
+      .maxServiceStartsPerTick(config.maxServiceStartsPerTick());
   }
 
   @Override
@@ -70,6 +114,12 @@ public enum TemplateInstaller {
     INSTALL_BALANCED
   }
 
+  public enum ScalingStrategy {
+
+    REACTIVE,
+    PREDICTIVE
+  }
+
   public static class Builder {
 
     private boolean enabled = false;
@@ -89,6 +139,12 @@ public static class Builder {
     private int forAnewInstanceDelayTimeInSeconds = 300;
     private int percentOfPlayersForANewServiceByInstance = 100;
 
+    private ScalingStrategy scalingStrategy = ScalingStrategy.REACTIVE;
+    private int predictionHorizonInSeconds = DEFAULT_PREDICTION_HORIZON;
+    private double levelSmoothingFactor = DEFAULT_LEVEL_SMOOTHING_FACTOR;
+    private double trendSmoothingFactor = DEFAULT_TREND_SMOOTHING_FACTOR;
+    private int maxServiceStartsPerTick = DEFAULT_MAX_SERVICE_STARTS_PER_TICK;
+
     public @NonNull Builder enabled(boolean enabled) {
       this.enabled = enabled;
       return this;
@@ -149,6 +205,31 @@ public static class Builder {
       return this;
     }
 
+    public @NonNull Builder scalingStrategy(@NonNull ScalingStrategy scalingStrategy) {
+      this.scalingStrategy = scalingStrategy;
+      return this;
+    }
+
+    public @NonNull Builder predictionHorizonInSeconds(int predictionHorizonInSeconds) {
+      this.predictionHorizonInSeconds = predictionHorizonInSeconds;
+      return this;
+    }
+
+    public @NonNull Builder levelSmoothingFactor(double levelSmoothingFactor) {
+      this.levelSmoothingFactor = levelSmoothingFactor;
+      return this;
+    }
+
+    public @NonNull Builder trendSmoothingFactor(double trendSmoothingFactor) {
+      this.trendSmoothingFactor = trendSmoothingFactor;
+      return this;
+    }
+
+    public @NonNull Builder maxServiceStartsPerTick(int maxServiceStartsPerTick) {
+      this.maxServiceStartsPerTick = maxServiceStartsPerTick;
+      return this;
+    }
+
     public @NonNull SmartServiceTaskConfig build() {
       return new SmartServiceTaskConfig(
         this.enabled,
@@ -162,7 +243,12 @@ public static class Builder {
         this.autoStopTimeByUnusedServiceInSeconds,
         this.percentOfPlayersToCheckShouldStopTheService,
         this.forAnewInstanceDelayTimeInSeconds,
-        this.percentOfPlayersForANewServiceByInstance);
+        this.percentOfPlayersForANewServiceByInstance,
+        this.scalingStrategy,
+        this.predictionHorizonInSeconds,
+        this.levelSmoothingFactor,
+        this.trendSmoothingFactor,
+        this.maxServiceStartsPerTick);
     }
   }
 }
@@ -28,6 +28,7 @@
 import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
 import eu.cloudnetservice.modules.smart.CloudNetSmartModule;
 import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import eu.cloudnetservice.modules.smart.util.PlayerDemandForecaster;
 import eu.cloudnetservice.modules.smart.util.SmartUtil;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
@@ -35,6 +36,7 @@
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -58,6 +60,7 @@ public final class CloudNetTickListener {
 
   private final Map<String, Long> autoStartBlocks = new HashMap<>();
   private final Map<UUID, AtomicLong> autoStopTicks = new HashMap<>();
+  private final Map<String, PlayerDemandForecaster> demandForecasters = new HashMap<>();
 
   @Inject
   public CloudNetTickListener(
@@ -98,22 +101,70 @@ private void handleSmartEntries() {
           .filter(service -> service.readProperty(BridgeDocProperties.IS_ONLINE))
           .collect(Collectors.toSet());
         // handle all smart entries
-        this.handleAutoStop(task, config, runningServices, onlineServices);
-        this.handleAutoStart(task, config, preparedServices, runningServices, onlineServices);
+        if (config.scalingStrategy() == SmartServiceTaskConfig.ScalingStrategy.PREDICTIVE) {
+          var demand = this.predictDemand(task, config, onlineServices);
+          this.handleAutoStop(task, config, runningServices, onlineServices, demand);
+          this.handlePredictiveAutoStart(task, config, preparedServices, runningServices, demand);
+        } else {
+          // drop the collected history in case the task was switched away from predictive scaling
+          this.demandForecasters.remove(task.name());
+          this.handleAutoStop(task, config, runningServices, onlineServices, null);
+          this.handleAutoStart(task, config, preparedServices, runningServices, onlineServices);
+        }
       }
     });
   }
 
+  private @NonNull PredictedDemand predictDemand(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+  ) {
+    // record the current player count of the task, the tick is fired once a second which makes a sample a second
+    var onlinePlayers = onlineServices.stream()
+      .mapToInt(service -> service.readProperty(BridgeDocProperties.ONLINE_COUNT))
+      .sum();
+    var forecaster = this.demandForecasters.computeIfAbsent(task.name(), _ -> new PlayerDemandForecaster());
+    forecaster.record(onlinePlayers, config.levelSmoothingFactor(), config.trendSmoothingFactor());
+
+    // check if player based scaling is enabled
+    if (config.percentOfPlayersForANewServiceByInstance() <= 0) {
+      return PredictedDemand.NONE;
+    }
+    // get the amount of players a single service can hold, we can only find that out if a service is online
+    var maximumPlayers = onlineServices.stream()
+      .mapToInt(service -> service.readProperty(BridgeDocProperties.MAX_PLAYERS))
+      .filter(maxPlayers -> maxPlayers > 0)
+      .average()
+      .orElse(0);
+    if (maximumPlayers <= 0) {
+      return PredictedDemand.NONE;
+    }
+
+    // services needed in the prediction horizon should be running, services needed in the horizon after should
+    // at least be prepared to allow them to start without installing the templates first
+    var playersPerService = maximumPlayers * config.percentOfPlayersForANewServiceByInstance() / 100D;
+    var horizon = config.predictionHorizonInSeconds();
+    var requiredServices = forecaster.forecastRequiredServices(horizon, playersPerService);
+    var upcomingServices = forecaster.forecastRequiredServices(horizon * 2, playersPerService);
+    return new PredictedDemand(requiredServices, Math.max(0, upcomingServices - requiredServices));
+  }
+
   private void handleAutoStop(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
     @NonNull Collection<ServiceInfoSnapshot> runningServices,
-    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+    @NonNull Collection<ServiceInfoSnapshot> onlineServices,
+    @Nullable PredictedDemand demand
   ) {
     // check if we should stop a service now or if that operation would cause an instant restart of a service
     if (!SmartUtil.canStopNow(task, config, runningServices.size())) {
       return;
     }
+    // don't stop services which are going to be needed again soon
+    if (demand != null && runningServices.size() <= demand.requiredServices()) {
+      return;
+    }
     // go over all online services
     for (var service : onlineServices) {
       // check if the service should be stopped
@@ -202,6 +253,59 @@ private void handleAutoStart(
     }
   }
 
+  private void handlePredictiveAutoStart(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull Collection<ServiceInfoSnapshot> preparedServices,
+    @NonNull Collection<ServiceInfoSnapshot> runningServices,
+    @NonNull PredictedDemand demand
+  ) {
+    // combine all prepared and running for logic splitting over nodes
+    Collection<ServiceInfoSnapshot> allServices = new HashSet<>();
+    allServices.addAll(preparedServices);
+    allServices.addAll(runningServices);
+
+    // the services that should be running, the minimum service count of the task is handled by the node itself
+    var targetServices = Math.max(demand.requiredServices(), config.smartMinServiceCount());
+    if (config.maxServices() > 0) {
+      targetServices = Math.min(targetServices, config.maxServices());
+    }
+    var currentServices = Math.max(runningServices.size(), task.minServiceCount());
+
+    // start as many services as needed to reach the target, but limit the amount per tick to prevent a start burst
+    var remainingStarts = config.maxServiceStartsPerTick();
+    var startablePrepared = new ArrayDeque<>(preparedServices);
+    for (var missing = targetServices - currentServices; missing > 0 && remainingStarts > 0; missing--) {
+      // prefer prepared services as their templates are already installed
+      var service = startablePrepared.poll();
+      if (service == null) {
+        service = this.createService(task, config, allServices);
+        if (service == null) {
+          return;
+        }
+        allServices.add(service);
+      }
+
+      service.provider().start();
+      remainingStarts--;
+    }
+
+    // pre-warm the services which are predicted to be needed after the current prediction horizon
+    var targetPrepared = config.preparedServices() + demand.preWarmServices();
+    if (config.maxServices() > 0) {
+      targetPrepared = Math.min(targetPrepared, config.preparedServices() + config.maxServices() - targetServices);
+    }
+    for (var missing = targetPrepared - startablePrepared.size(); missing > 0 && remainingStarts > 0; missing--) {
+      var service = this.createService(task, config, allServices);
+      if (service == null) {
+        return;
+      }
+
+      allServices.add(service);
+      remainingStarts--;
+    }
+  }
+
   private @Nullable ServiceInfoSnapshot createService(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
@@ -237,4 +341,9 @@ private void handleAutoStart(
       .map(Tuple2::first)
       .orElse(null);
   }
+
+  private record PredictedDemand(int requiredServices, int preWarmServices) {
+
+    private static final PredictedDemand NONE = new PredictedDemand(0, 0);
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.util;
+
+/**
+ * Forecasts the player demand of a task based on the player counts observed in the past. The forecast is done using
+ * holt's linear trend method (double exponential smoothing), which tracks the smoothed level of the player curve and
+ * its smoothed trend separately. This allows the forecast to follow a steadily rising or falling player count without
+ * lagging behind, while single spikes are smoothed out.
+ * <p>
+ * A forecaster instance is bound to a single task and expects to be fed with one sample per tick, in that case the
+ * samples ahead passed to the forecast methods are equal to the amount of ticks ahead. This class is not thread safe.
+ *
+ * @since 4.0
+ */
+public final class PlayerDemandForecaster {
+
+  private boolean initialized;
+  private double level;
+  private double trend;
+
+  /**
+   * Records the given player count as the next sample of the player curve. The given smoothing factors must be in the
+   * range of (0, 1], a higher factor weights the most recent samples more, which makes the forecast react faster to
+   * changes in the player curve but also makes it more vulnerable to short spikes.
+   *
+   * @param observedPlayers      the amount of players that were observed in the current sample.
+   * @param levelSmoothingFactor the factor to use when smoothing the level of the player curve.
+   * @param trendSmoothingFactor the factor to use when smoothing the trend of the player curve.
+   */
+  public void record(double observedPlayers, double levelSmoothingFactor, double trendSmoothingFactor) {
+    // the first sample is the best estimation of the level we can get, there is no trend yet
+    if (!this.initialized) {
+      this.level = observedPlayers;
+      this.initialized = true;
+      return;
+    }
+
+    // holt's linear trend method: smooth the level and the trend of the player curve separately
+    var previousLevel = this.level;
+    this.level = levelSmoothingFactor * observedPlayers + (1 - levelSmoothingFactor) * (previousLevel + this.trend);
+    this.trend = trendSmoothingFactor * (this.level - previousLevel) + (1 - trendSmoothingFactor) * this.trend;
+  }
+
+  /**
+   * Forecasts the amount of players that will be online the given amount of samples after the last recorded sample.
+   * The forecast is never negative, even if the current trend of the player curve would lead to that. If no sample
+   * was recorded yet, this method returns 0.
+   *
+   * @param samplesAhead the amount of samples to look ahead, 0 to get the smoothed current player count.
+   * @return the forecast amount of players the given amount of samples ahead.
+   */
+  public double forecast(int samplesAhead) {
+    // a negative trend can never result in less than zero players
+    return Math.max(0, this.level + this.trend * samplesAhead);
+  }
+
+  /**
+   * Get the amount of services that are required to hold the players forecast for the given amount of samples ahead.
+   * Same as for the reactive scaling a new service is required as soon as the given amount of players per service is
+   * reached on all other services.
+   *
+   * @param samplesAhead      the amount of samples to look ahead.
+   * @param playersPerService the amount of players a single service should hold before a new service is required.
+   * @return the amount of services required to hold the forecast players.
+   * @throws IllegalArgumentException if the given players per service is not positive.
+   */
+  public int forecastRequiredServices(int samplesAhead, double playersPerService) {
+    return requiredServices(this.forecast(samplesAhead), playersPerService);
+  }
+
+  /**
+   * Get the amount of services that are required to hold the given amount of players. Same as for the reactive scaling
+   * a new service is required as soon as the given amount of players per service is reached on all other services.
+   *
+   * @param players           the amount of players to hold.
+   * @param playersPerService the amount of players a single service should hold before a new service is required.
+   * @return the amount of services required to hold the given players.
+   * @throws IllegalArgumentException if the given players per service is not positive.
+   */
+  public static int requiredServices(double players, double playersPerService) {
+    if (playersPerService <= 0) {
+      throw new IllegalArgumentException("playersPerService must be positive, got " + playersPerService);
+    }
+    return players <= 0 ? 0 : (int) (players / playersPerService) + 1;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SmartServiceTaskConfigTest {
+
+  @Test
+  void testMissingSmoothingFactorsUseDefaults() {
+    var config = SmartServiceTaskConfig.builder().levelSmoothingFactor(0).trendSmoothingFactor(0).build();
+    Assertions.assertEquals(0.3, config.levelSmoothingFactor());
+    Assertions.assertEquals(0.1, config.trendSmoothingFactor());
+  }
+
+  @Test
+  void testSmoothingFactorsOutOfRangeAreRejected() {
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> SmartServiceTaskConfig.builder().levelSmoothingFactor(-0.5).build());
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> SmartServiceTaskConfig.builder().trendSmoothingFactor(1.5).build());
+
+    var config = SmartServiceTaskConfig.builder().levelSmoothingFactor(1).trendSmoothingFactor(0.05).build();
+    Assertions.assertEquals(1, config.levelSmoothingFactor());
+    Assertions.assertEquals(0.05, config.trendSmoothingFactor());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+import lombok.NonNull;
+
+/**
+ * A simple simulation which replays a recorded player curve tick by tick and scales the services of a single task
+ * based on a scaling decision. Started services need the given amount of startup ticks before they can hold players,
+ * services which are no longer needed are stopped one at a time after they were not needed for the stop delay.
+ *
+ * @param playersPerService the amount of players a single service should hold before a new one is required.
+ * @param startupTicks      the amount of ticks a service needs after its start until it can hold players.
+ * @param stopDelayTicks    the amount of ticks a service must be unneeded before it gets stopped.
+ * @param maxStartsPerTick  the maximum amount of services to start in a single tick.
+ */
+record PlayerCurveSimulation(double playersPerService, int startupTicks, int stopDelayTicks, int maxStartsPerTick) {
+
+  /**
+   * Loads the player curve from the given resource and interpolates it linearly to one sample per tick. The resource
+   * must contain one player count per line, lines starting with a {@code #} are ignored.
+   *
+   * @param resource            the name of the resource to load the curve from.
+   * @param sampleIntervalTicks the amount of ticks between two samples in the resource.
+   * @return the player count of each tick during the recorded curve.
+   * @throws IOException if the resource cannot be read.
+   */
+  static int[] loadCurve(@NonNull String resource, int sampleIntervalTicks) throws IOException {
+    var samples = new ArrayList<Integer>();
+    try (var reader = new BufferedReader(new InputStreamReader(
+      Objects.requireNonNull(PlayerCurveSimulation.class.getClassLoader().getResourceAsStream(resource), resource),
+      StandardCharsets.UTF_8))
+    ) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank() && !line.startsWith("#")) {
+          samples.add(Integer.parseInt(line.trim()));
+        }
+      }
+    }
+
+    var curve = new int[(samples.size() - 1) * sampleIntervalTicks + 1];
+    for (var sample = 0; sample < samples.size() - 1; sample++) {
+      int start = samples.get(sample);
+      int end = samples.get(sample + 1);
+      for (var tick = 0; tick < sampleIntervalTicks; tick++) {
+        var progress = (double) tick / sampleIntervalTicks;
+        curve[sample * sampleIntervalTicks + tick] = (int) Math.round(start + (end - start) * progress);
+      }
+    }
+    curve[curve.length - 1] = samples.getLast();
+    return curve;
+  }
+
+  /**
+   * Replays the given player curve, only starting services when the current player count requires them.
+   *
+   * @param curve the player count of each tick.
+   * @return the result of the replay.
+   */
+  @NonNull Result replayReactive(int[] curve) {
+    return this.replay(curve, players -> PlayerDemandForecaster.requiredServices(players, this.playersPerService));
+  }
+
+  /**
+   * Replays the given player curve, starting the services that are forecast to be required in the given horizon.
+   *
+   * @param curve                the player count of each tick.
+   * @param horizon              the amount of ticks to forecast ahead.
+   * @param levelSmoothingFactor the level smoothing factor to pass to the forecaster.
+   * @param trendSmoothingFactor the trend smoothing factor to pass to the forecaster.
+   * @return the result of the replay.
+   */
+  @NonNull Result replayPredictive(int[] curve, int horizon, double levelSmoothingFactor, double trendSmoothingFactor) {
+    var forecaster = new PlayerDemandForecaster();
+    return this.replay(curve, players -> {
+      forecaster.record(players, levelSmoothingFactor, trendSmoothingFactor);
+      return forecaster.forecastRequiredServices(horizon, this.playersPerService);
+    });
+  }
+
+  private @NonNull Result replay(int[] curve, @NonNull IntUnaryOperator targetServices) {
+    // the tick at which each running service is able to hold players
+    var readyTicks = new ArrayList<Integer>();
+    var shortageTicks = 0;
+    var serviceTicks = 0L;
+    var unneededTicks = 0;
+
+    for (var tick = 0; tick < curve.length; tick++) {
+      var players = curve[tick];
+      var requiredNow = PlayerDemandForecaster.requiredServices(players, this.playersPerService);
+      var currentTick = tick;
+      var readyServices = readyTicks.stream().filter(readyTick -> readyTick <= currentTick).count();
+      if (readyServices < requiredNow) {
+        shortageTicks++;
+      }
+
+      // start the missing services, the new services are able to hold players after their startup
+      var target = targetServices.applyAsInt(players);
+      for (var starts = 0; readyTicks.size() < target && starts < this.maxStartsPerTick; starts++) {
+        readyTicks.add(tick + this.startupTicks);
+      }
+
+      // stop the most recently started service once there were too many services for the stop delay
+      if (readyTicks.size() > Math.max(target, requiredNow)) {
+        if (++unneededTicks >= this.stopDelayTicks) {
+          unneededTicks = 0;
+          readyTicks.remove(readyTicks.size() - 1);
+        }
+      } else {
+        unneededTicks = 0;
+      }
+
+      serviceTicks += readyTicks.size();
+    }
+
+    return new Result(shortageTicks, serviceTicks);
+  }
+
+  /**
+   * The result of a replayed player curve.
+   *
+   * @param shortageTicks the amount of ticks in which fewer services were able to hold players than required.
+   * @param serviceTicks  the sum of the services that were running in each tick, a measure for the used resources.
+   */
+  record Result(int shortageTicks, long serviceTicks) {
+
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PlayerCurveSimulationTest {
+
+  // 100 max players per service, a new service is needed at 50% of the players
+  private static final PlayerCurveSimulation SIMULATION = new PlayerCurveSimulation(50, 45, 180, 3);
+
+  @Test
+  void testPredictiveScalingReducesShortageOnRecordedCurve() throws IOException {
+    var curve = PlayerCurveSimulation.loadCurve("player-curves/evening-peak.txt", 30);
+    Assertions.assertEquals(4771, curve.length);
+
+    var reactive = SIMULATION.replayReactive(curve);
+    var predictive = SIMULATION.replayPredictive(curve, 60, 0.3, 0.1);
+
+    // starting services ahead of the demand must prevent most of the ticks in which players cannot be held
+    Assertions.assertTrue(reactive.shortageTicks() > 0);
+    Assertions.assertTrue(
+      predictive.shortageTicks() * 4 < reactive.shortageTicks(),
+      () -> "predictive: " + predictive + ", reactive: " + reactive);
+    // but without keeping an unreasonable amount of additional services running
+    Assertions.assertTrue(
+      predictive.serviceTicks() < reactive.serviceTicks() * 1.25,
+      () -> "predictive: " + predictive + ", reactive: " + reactive);
+  }
+
+  @Test
+  void testPredictiveScalingStartsNothingAdditionalOnFlatCurve() {
+    var curve = new int[3600];
+    Arrays.fill(curve, 120);
+
+    var reactive = SIMULATION.replayReactive(curve);
+    var predictive = SIMULATION.replayPredictive(curve, 60, 0.3, 0.1);
+    Assertions.assertEquals(reactive, predictive);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PlayerDemandForecasterTest {
+
+  @Test
+  void testForecastWithoutSamples() {
+    var forecaster = new PlayerDemandForecaster();
+    Assertions.assertEquals(0, forecaster.forecast(0));
+    Assertions.assertEquals(0, forecaster.forecast(60));
+  }
+
+  @Test
+  void testForecastOfKnownSeries() {
+    var forecaster = new PlayerDemandForecaster();
+    forecaster.record(10, 0.5, 0.5);
+    // the first sample only initializes the level
+    Assertions.assertEquals(10, forecaster.forecast(0), 1E-9);
+    Assertions.assertEquals(10, forecaster.forecast(10), 1E-9);
+
+    // level = 0.5 * 20 + 0.5 * (10 + 0) = 15, trend = 0.5 * (15 - 10) + 0.5 * 0 = 2.5
+    forecaster.record(20, 0.5, 0.5);
+    Assertions.assertEquals(15, forecaster.forecast(0), 1E-9);
+    Assertions.assertEquals(17.5, forecaster.forecast(1), 1E-9);
+
+    // level = 0.5 * 30 + 0.5 * (15 + 2.5) = 23.75, trend = 0.5 * (23.75 - 15) + 0.5 * 2.5 = 5.625
+    forecaster.record(30, 0.5, 0.5);
+    Assertions.assertEquals(23.75, forecaster.forecast(0), 1E-9);
+    Assertions.assertEquals(46.25, forecaster.forecast(4), 1E-9);
+  }
+
+  @Test
+  void testForecastWithoutSmoothingFollowsLastTrend() {
+    var forecaster = new PlayerDemandForecaster();
+    forecaster.record(10, 1, 1);
+    forecaster.record(25, 1, 1);
+    forecaster.record(40, 1, 1);
+
+    Assertions.assertEquals(40, forecaster.forecast(0), 1E-9);
+    Assertions.assertEquals(190, forecaster.forecast(10), 1E-9);
+  }
+
+  @Test
+  void testForecastConvergesToLinearTrend() {
+    var forecaster = new PlayerDemandForecaster();
+    for (var sample = 0; sample <= 300; sample++) {
+      forecaster.record(100 + 2 * sample, 0.3, 0.1);
+    }
+
+    // the last sample was 700 players with a trend of 2 players per sample
+    Assertions.assertEquals(700, forecaster.forecast(0), 0.5);
+    Assertions.assertEquals(820, forecaster.forecast(60), 0.5);
+    Assertions.assertEquals(940, forecaster.forecast(120), 0.5);
+  }
+
+  @Test
+  void testForecastOfConstantSeriesHasNoTrend() {
+    var forecaster = new PlayerDemandForecaster();
+    for (var sample = 0; sample < 100; sample++) {
+      forecaster.record(42, 0.3, 0.1);
+    }
+
+    Assertions.assertEquals(42, forecaster.forecast(0), 1E-9);
+    Assertions.assertEquals(42, forecaster.forecast(600), 1E-9);
+  }
+
+  @Test
+  void testForecastIsNeverNegative() {
+    var forecaster = new PlayerDemandForecaster();
+    forecaster.record(100, 1, 1);
+    forecaster.record(50, 1, 1);
+
+    Assertions.assertEquals(0, forecaster.forecast(1));
+    Assertions.assertEquals(0, forecaster.forecast(60));
+    Assertions.assertEquals(0, forecaster.forecastRequiredServices(60, 10));
+  }
+
+  @Test
+  void testRequiredServices() {
+    Assertions.assertEquals(0, PlayerDemandForecaster.requiredServices(0, 50));
+    Assertions.assertEquals(1, PlayerDemandForecaster.requiredServices(1, 50));
+    Assertions.assertEquals(1, PlayerDemandForecaster.requiredServices(49.9, 50));
+    Assertions.assertEquals(2, PlayerDemandForecaster.requiredServices(50, 50));
+    Assertions.assertEquals(13, PlayerDemandForecaster.requiredServices(600, 50));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> PlayerDemandForecaster.requiredServices(10, 0));
+
+    var forecaster = new PlayerDemandForecaster();
+    forecaster.record(80, 1, 1);
+    forecaster.record(90, 1, 1);
+    // 90 players + 6 * 10 players = 150 players in 6 samples
+    Assertions.assertEquals(4, forecaster.forecastRequiredServices(6, 50));
+  }
+}
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.modules.s3;
 
+import com.google.common.io.ByteStreams;
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.common.io.ListenableOutputStream;
 import eu.cloudnetservice.common.io.ZipUtil;
@@ -23,19 +24,24 @@
 import eu.cloudnetservice.driver.template.FileInfo;
 import eu.cloudnetservice.driver.template.TemplateStorage;
 import eu.cloudnetservice.modules.s3.config.S3TemplateStorageConfig;
+import eu.cloudnetservice.node.template.ParallelFileTransfer;
 import io.vavr.CheckedConsumer;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,9 +53,14 @@
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyExistsException;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
@@ -62,6 +73,7 @@
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 public class S3TemplateStorage implements TemplateStorage {
 
@@ -111,28 +123,22 @@ public boolean deployDirectory(
     @NonNull Path directory,
     @Nullable Predicate<Path> filter
   ) {
-    var result = new AtomicBoolean(true);
-    // walk down the file tree
-    FileUtil.walkFileTree(directory, ($, file) -> {
-      if (!Files.isDirectory(file)) {
-        try {
-          var request = PutObjectRequest.builder()
-            .bucket(this.config().bucket())
-            .key(this.getBucketPath(target, directory, file))
-            .contentType(this.getContentType(file))
-            .contentLength(Files.size(file))
-            .build();
-          this.client.putObject(request, RequestBody.fromFile(file));
-        } catch (Exception exception) {
-          LOGGER.error("Exception putting file {} into s3 bucket {}",
-            file.toAbsolutePath(),
-            this.config().bucket(),
-            exception);
-          result.set(false);
-        }
+    // upload all files concurrently, large files are split into multiple parts
+    return ParallelFileTransfer.transferFiles(directory, filter, this.config().transferParallelism(), file -> {
+      var key = this.getBucketPath(target, directory, file);
+      var size = Files.size(file);
+      if (size >= this.config().multipartThreshold()) {
+        this.uploadMultipart(key, file, size);
+      } else {
+        var request = PutObjectRequest.builder()
+          .bucket(this.config().bucket())
+          .key(key)
+          .contentType(this.getContentType(file))
+          .contentLength(size)
+          .build();
+        this.client.putObject(request, RequestBody.fromFile(file));
       }
-    }, true, filter == null ? path -> true : filter::test);
-    return result.get();
+    });
   }
 
   @Override
@@ -150,59 +156,54 @@ public boolean deploy(@NonNull ServiceTemplate target, @NonNull InputStream inpu
 
   @Override
   public boolean pull(@NonNull ServiceTemplate template, @NonNull Path directory) {
-    try {
-      // get the repo path
-      var templatePath = this.getBucketPath(template);
-      // list all files
-      return this.listAllObjects(templatePath, null, content -> {
-        // filter the content key
-        var target = directory.resolve(content.key().substring(templatePath.length() + 1));
-
-        // this prevents accidental exceptions created due to dum s3 guis which are creating "directories". As we all
-        // know s3 has no directories but the guis just create an object on the s3 and put further objects on the
-        // storage by just setting the file as an object. This results in responses like:
-        //   - Lobby/default/plugins
-        //   - Lobby/default/plugins/ProtocolLib.jar
-        // As all objects are handled as files, and the first call would create a new file this will result in an
-        // exception when pulling the ProtocolLib jar file as we would try to put it "into" a file.
-        // This check technically might break some structures as it will prioritize directories over files, but it's the
-        // best solution we have... Aside from just uploading files correctly :)
-        if (Files.exists(target) && Files.isDirectory(target)) {
-          return;
-        }
-
-        // check if the parent file already exists and is not a directory
-        var parent = target.getParent();
-        if (parent != null && Files.exists(parent) && !Files.isDirectory(parent)) {
-          FileUtil.delete(parent);
-        }
-
-        // now we can just create the parent as a directory (if we need to)
-        FileUtil.createDirectory(parent);
-
-        // get the file
-        var req = GetObjectRequest.builder()
-          .key(content.key())
-          .bucket(this.config().bucket())
-          .build();
-        try (InputStream stream = this.client.getObject(req); var out = Files.newOutputStream(target)) {
-          FileUtil.copy(stream, out);
-        }
-      });
-    } catch (Exception exception) {
-      LOGGER.error("Exception requesting object list from bucket for downloading", exception);
+    // list all files of the template
+    var templatePath = this.getBucketPath(template) + '/';
+    List<S3Object> objects = new ArrayList<>();
+    if (!this.listAllObjects(templatePath, null, objects::add)) {
       return false;
     }
+
+    // download all files concurrently
+    var files = this.filterFileObjects(objects);
+    return ParallelFileTransfer.transfer(files, this.config().transferParallelism(), object -> {
+      var target = directory.resolve(object.key().substring(templatePath.length()));
+      // a directory with the same name exists locally, prioritize it over the file
+      if (Files.isDirectory(target)) {
+        return;
+      }
+
+      // check if the parent file already exists and is not a directory
+      var parent = target.getParent();
+      if (parent != null && Files.exists(parent) && !Files.isDirectory(parent)) {
+        FileUtil.delete(parent);
+      }
+
+      // now we can just create the parent as a directory (if we need to)
+      FileUtil.createDirectory(parent);
+
+      // get the file
+      var req = GetObjectRequest.builder()
+        .key(object.key())
+        .bucket(this.config().bucket())
+        .build();
+      try (InputStream stream = this.client.getObject(req); var out = Files.newOutputStream(target)) {
+        FileUtil.copy(stream, out);
+      }
+    });
   }
 
   @Override
   public @Nullable InputStream zipTemplate(@NonNull ServiceTemplate template) {
-    var localTarget = FileUtil.createTempFile();
-    if (this.pull(template, localTarget)) {
-      return ZipUtil.zipToStream(localTarget);
-    } else {
+    // list all files of the template
+    var templatePath = this.getBucketPath(template) + '/';
+    List<S3Object> objects = new ArrayList<>();
+    if (!this.listAllObjects(templatePath, null, objects::add)) {
       return null;
     }
+
+    // the zip is created while the caller is reading it rather than pulling the whole template first
+    var files = this.filterFileObjects(objects);
+    return new S3ZipInputStream(this.client, this.config().bucket(), templatePath.length(), files);
   }
 
   @Override
@@ -455,8 +456,8 @@ protected boolean listAllObjects(
       }
 
       // check if there is a need to continue
-      if (response.isTruncated() && response.continuationToken() != null) {
-        return this.listAllObjects(prefix, response.continuationToken(), handler);
+      if (response.isTruncated() && response.nextContinuationToken() != null) {
+        return this.listAllObjects(prefix, response.nextContinuationToken(), handler);
       } else {
         // no need to continue - success!
         return true;
@@ -471,6 +472,82 @@ protected boolean listAllObjects(
     }
   }
 
+  protected void uploadMultipart(@NonNull String key, @NonNull Path file, long size) {
+    var uploadId = this.client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+      .bucket(this.config().bucket())
+      .key(key)
+      .contentType(this.getContentType(file))
+      .build()).uploadId();
+    try {
+      // upload the file part by part, the file is read directly from disk for each part
+      List<CompletedPart> parts = new ArrayList<>();
+      var partSize = this.config().multipartPartSize();
+      var partNumber = 1;
+      for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+        var length = Math.min(partSize, size - offset);
+        var request = UploadPartRequest.builder()
+          .bucket(this.config().bucket())
+          .key(key)
+          .uploadId(uploadId)
+          .partNumber(partNumber)
+          .contentLength(length)
+          .build();
+        var response = this.client.uploadPart(request, this.filePartBody(file, offset, length));
+        parts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+      }
+
+      this.client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+        .bucket(this.config().bucket())
+        .key(key)
+        .uploadId(uploadId)
+        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+        .build());
+    } catch (Exception exception) {
+      // abort the upload to not leave the already uploaded parts behind
+      this.client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+        .bucket(this.config().bucket())
+        .key(key)
+        .uploadId(uploadId)
+        .build());
+      throw exception;
+    }
+  }
+
+  protected @NonNull RequestBody filePartBody(@NonNull Path file, long offset, long length) {
+    // the stream provider is called again when the request is retried, open a new stream every time
+    return RequestBody.fromContentProvider(() -> {
+      try {
+        var channel = FileChannel.open(file, StandardOpenOption.READ).position(offset);
+        return ByteStreams.limit(Channels.newInputStream(channel), length);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }, length, "application/octet-stream");
+  }
+
+  protected @NonNull List<S3Object> filterFileObjects(@NonNull Collection<S3Object> objects) {
+    // this prevents accidental exceptions created due to dum s3 guis which are creating "directories". As we all
+    // know s3 has no directories but the guis just create an object on the s3 and put further objects on the
+    // storage by just setting the file as an object. This results in responses like:
+    //   - Lobby/default/plugins
+    //   - Lobby/default/plugins/ProtocolLib.jar
+    // As all objects are handled as files, and the first object would create a new file this will result in an
+    // exception when pulling the ProtocolLib jar file as we would try to put it "into" a file.
+    // This check technically might break some structures as it will prioritize directories over files, but it's the
+    // best solution we have... Aside from just uploading files correctly :)
+    Set<String> directories = new HashSet<>();
+    for (var object : objects) {
+      var key = object.key();
+      for (var index = key.indexOf('/'); index != -1; index = key.indexOf('/', index + 1)) {
+        directories.add(key.substring(0, index));
+      }
+    }
+
+    return objects.stream()
+      .filter(object -> !object.key().endsWith("/") && !directories.contains(object.key()))
+      .toList();
+  }
+
   protected @NonNull String getContentType(@NonNull Path file) {
     try {
       return Files.probeContentType(file);
@@ -50,7 +50,10 @@ public void handleInit(@NonNull ServiceRegistry serviceRegistry, @NonNull DataSy
         false,
         true,
         true,
-        false),
+        false,
+        S3TemplateStorageConfig.DEFAULT_TRANSFER_PARALLELISM,
+        S3TemplateStorageConfig.DEFAULT_MULTIPART_THRESHOLD,
+        S3TemplateStorageConfig.DEFAULT_MULTIPART_PART_SIZE),
       DocumentFactory.json());
     // init the storage
     this.storage = new S3TemplateStorage(this);
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.s3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import lombok.NonNull;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * An input stream which creates a zip of the given s3 objects while it is being read. Each object is downloaded only
+ * when the reader reached its position in the zip, meaning that neither the objects nor the zip need to be stored
+ * locally before the zip can be transferred.
+ *
+ * @since 4.0
+ */
+final class S3ZipInputStream extends InputStream {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final S3Client client;
+  private final String bucket;
+  private final int prefixLength;
+  private final Iterator<S3Object> objects;
+
+  private final byte[] chunk = new byte[CHUNK_SIZE];
+  private final ByteArrayOutputStream zipBuffer = new ByteArrayOutputStream(CHUNK_SIZE);
+  private final ZipOutputStream zipStream = new ZipOutputStream(this.zipBuffer, StandardCharsets.UTF_8);
+
+  private byte[] pending = new byte[0];
+  private int pendingPosition;
+
+  private InputStream currentObject;
+  private boolean finished;
+
+  S3ZipInputStream(
+    @NonNull S3Client client,
+    @NonNull String bucket,
+    int prefixLength,
+    @NonNull List<S3Object> objects
+  ) {
+    this.client = client;
+    this.bucket = bucket;
+    this.prefixLength = prefixLength;
+    this.objects = objects.iterator();
+  }
+
+  @Override
+  public int read() throws IOException {
+    var buffer = new byte[1];
+    return this.read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    // produce zip data until there is something to return to the reader
+    while (this.pendingPosition >= this.pending.length) {
+      if (!this.produce()) {
+        return -1;
+      }
+    }
+
+    var read = Math.min(length, this.pending.length - this.pendingPosition);
+    System.arraycopy(this.pending, this.pendingPosition, buffer, offset, read);
+    this.pendingPosition += read;
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.finished = true;
+    if (this.currentObject != null) {
+      this.currentObject.close();
+      this.currentObject = null;
+    }
+  }
+
+  private boolean produce() throws IOException {
+    if (this.finished) {
+      return false;
+    }
+
+    if (this.currentObject == null) {
+      if (this.objects.hasNext()) {
+        // open the next object and start a new entry for it
+        var object = this.objects.next();
+        var request = GetObjectRequest.builder().bucket(this.bucket).key(object.key()).build();
+        this.currentObject = this.client.getObject(request);
+        this.zipStream.putNextEntry(new ZipEntry(object.key().substring(this.prefixLength)));
+      } else {
+        // all objects were written, write the central directory of the zip
+        this.zipStream.close();
+        this.finished = true;
+      }
+    } else {
+      // copy the next chunk of the current object into the zip
+      var read = this.currentObject.read(this.chunk);
+      if (read == -1) {
+        this.currentObject.close();
+        this.currentObject = null;
+        this.zipStream.closeEntry();
+      } else {
+        this.zipStream.write(this.chunk, 0, read);
+      }
+    }
+
+    // hand out the data the zip stream produced
+    this.pending = this.zipBuffer.toByteArray();
+    this.pendingPosition = 0;
+    this.zipBuffer.reset();
+    return true;
+  }
+}
@@ -33,11 +33,34 @@ public record S3TemplateStorageConfig(
   boolean pathStyleAccess,
   boolean chunkedEncoding,
   boolean checksumValidation,
-  boolean dualstackEndpointEnabled
+  boolean dualstackEndpointEnabled,
+  int transferParallelism,
+  long multipartThreshold,
+  long multipartPartSize
 ) {
 
+  public static final int DEFAULT_TRANSFER_PARALLELISM = 8;
+  public static final long DEFAULT_MULTIPART_THRESHOLD = 16 * 1024 * 1024;
+  public static final long DEFAULT_MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+  // s3 rejects parts (except for the last one) which are smaller than 5 MiB
+  public static final long MIN_MULTIPART_PART_SIZE = 5 * 1024 * 1024;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(S3TemplateStorageConfig.class);
 
+  public S3TemplateStorageConfig {
+    // configurations written by older versions do not contain the transfer settings, fall back to the defaults
+    if (transferParallelism <= 0) {
+      transferParallelism = DEFAULT_TRANSFER_PARALLELISM;
+    }
+    if (multipartThreshold <= 0) {
+      multipartThreshold = DEFAULT_MULTIPART_THRESHOLD;
+    }
+    if (multipartPartSize <= 0) {
+      multipartPartSize = DEFAULT_MULTIPART_PART_SIZE;
+    }
+    multipartPartSize = Math.max(MIN_MULTIPART_PART_SIZE, multipartPartSize);
+  }
+
   public @Nullable URI resolveEndpointOverride() {
     if (this.endpointOverride != null) {
       try {
@@ -22,6 +22,13 @@
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -29,6 +36,7 @@
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.Wait;
@@ -46,6 +54,11 @@ class S3TemplateStorageTest {
     .name("proxy")
     .storage("s3")
     .build();
+  private static final ServiceTemplate TRANSFER_TEMPLATE = ServiceTemplate.builder()
+    .prefix("global")
+    .name("transfer")
+    .storage("s3")
+    .build();
 
   @Container
   private static final GenericContainer<?> S3 = new GenericContainer<>("localstack/localstack:latest")
@@ -72,7 +85,10 @@ static void setupServer() throws UnknownHostException {
       false,
       true,
       true,
-      false));
+      false,
+      4,
+      6 * 1024 * 1024,
+      S3TemplateStorageConfig.MIN_MULTIPART_PART_SIZE));
 
     storage = new S3TemplateStorage(module);
   }
@@ -215,4 +231,73 @@ void testTemplateDelete() {
     Assertions.assertFalse(storage.contains(TEMPLATE));
     Assertions.assertFalse(storage.hasFile(TEMPLATE, "test.txt"));
   }
+
+  @Test
+  @Order(120)
+  void testDeployDirectory(@TempDir Path directory) throws IOException {
+    Files.writeString(directory.resolve("server.properties"), "motd=Hello");
+    Files.createDirectories(directory.resolve("plugins"));
+    Files.write(directory.resolve("plugins/large.jar"), largeContent());
+    Files.createDirectories(directory.resolve("ignored"));
+    Files.writeString(directory.resolve("ignored/test.txt"), "Hello");
+
+    Assertions.assertTrue(storage.deployDirectory(
+      TRANSFER_TEMPLATE,
+      directory,
+      path -> !path.getFileName().toString().equals("ignored")));
+
+    Assertions.assertTrue(storage.hasFile(TRANSFER_TEMPLATE, "server.properties"));
+    Assertions.assertFalse(storage.hasFile(TRANSFER_TEMPLATE, "ignored/test.txt"));
+
+    // the large file exceeds the multipart threshold and must be reassembled correctly
+    var info = storage.fileInfo(TRANSFER_TEMPLATE, "plugins/large.jar");
+    Assertions.assertNotNull(info);
+    Assertions.assertEquals(largeContent().length, info.size());
+    try (var stream = storage.newInputStream(TRANSFER_TEMPLATE, "plugins/large.jar")) {
+      Assertions.assertNotNull(stream);
+      Assertions.assertArrayEquals(largeContent(), stream.readAllBytes());
+    }
+  }
+
+  @Test
+  @Order(130)
+  void testPull(@TempDir Path directory) throws IOException {
+    // simulates a "directory" object which was created by a s3 gui
+    Assertions.assertTrue(storage.createFile(TRANSFER_TEMPLATE, "plugins"));
+    Assertions.assertTrue(storage.pull(TRANSFER_TEMPLATE, directory));
+
+    Assertions.assertEquals("motd=Hello", Files.readString(directory.resolve("server.properties")));
+    Assertions.assertTrue(Files.isDirectory(directory.resolve("plugins")));
+    Assertions.assertArrayEquals(largeContent(), Files.readAllBytes(directory.resolve("plugins/large.jar")));
+    Assertions.assertFalse(Files.exists(directory.resolve("ignored")));
+  }
+
+  @Test
+  @Order(140)
+  void testZipTemplate() throws IOException {
+    Map<String, byte[]> entries = new HashMap<>();
+    try (var stream = storage.zipTemplate(TRANSFER_TEMPLATE)) {
+      Assertions.assertNotNull(stream);
+      try (var zip = new ZipInputStream(stream)) {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+          entries.put(entry.getName(), zip.readAllBytes());
+        }
+      }
+    }
+
+    Assertions.assertEquals(2, entries.size());
+    Assertions.assertArrayEquals("motd=Hello".getBytes(StandardCharsets.UTF_8), entries.get("server.properties"));
+    Assertions.assertArrayEquals(largeContent(), entries.get("plugins/large.jar"));
+
+    Assertions.assertTrue(storage.delete(TRANSFER_TEMPLATE));
+    Assertions.assertFalse(storage.contains(TRANSFER_TEMPLATE));
+  }
+
+  private static byte[] largeContent() {
+    // spans three parts with the configured part size, the last part being smaller than the others
+    var content = new byte[11 * 1024 * 1024 + 17];
+    new Random(1234).nextBytes(content);
+    return content;
+  }
 }
@@ -23,7 +23,7 @@
 import eu.cloudnetservice.driver.template.TemplateStorage;
 import eu.cloudnetservice.modules.sftp.config.SFTPTemplateStorageConfig;
 import eu.cloudnetservice.modules.sftp.sshj.ActiveHeartbeatKeepAliveProvider;
-import eu.cloudnetservice.modules.sftp.sshj.FilteringLocalFileSource;
+import eu.cloudnetservice.node.template.ParallelFileTransfer;
 import io.vavr.CheckedFunction1;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,6 +35,7 @@
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 import lombok.NonNull;
 import net.schmizz.sshj.Config;
@@ -121,10 +122,35 @@ public boolean deployDirectory(
     @NonNull Path directory,
     @Nullable Predicate<Path> filter
   ) {
-    return this.executeWithClient(client -> {
-      client.put(new FilteringLocalFileSource(directory, filter), this.constructRemotePath(target));
+    var files = ParallelFileTransfer.collectFiles(directory, filter);
+
+    // create the parent directories of all files serially first. mkdirs checks if a directory exists before creating
+    // it, which fails when two uploads into the same new directory create it concurrently
+    Set<String> parentDirectories = new TreeSet<>();
+    for (var file : files) {
+      parentDirectories.add(this.parentPath(directory.relativize(file).toString().replace('\\', '/')));
+    }
+    boolean directoriesCreated = this.executeWithClient(client -> {
+      for (var parentDirectory : parentDirectories) {
+        client.mkdirs(this.constructRemotePath(target, parentDirectory));
+      }
       return true;
     }, false);
+    if (!directoriesCreated) {
+      return false;
+    }
+
+    // upload all files concurrently, each transfer takes its own client from the pool
+    return ParallelFileTransfer.transfer(files, file -> {
+      var path = directory.relativize(file).toString().replace('\\', '/');
+      boolean uploaded = this.executeWithClient(client -> {
+        client.put(new FileSystemFile(file.toFile()), this.constructRemotePath(target, path));
+        return true;
+      }, false);
+      if (!uploaded) {
+        throw new IOException("Unable to upload file " + path + " to template " + target);
+      }
+    });
   }
 
   @Override
@@ -317,10 +343,12 @@ protected void createParentDirectories(
     @NonNull String path,
     @NonNull SFTPClient client
   ) throws IOException {
-    var lastSeparator = path.lastIndexOf('/');
-    var pathInTemplate = lastSeparator == -1 ? "" : path.substring(0, lastSeparator);
+    client.mkdirs(this.constructRemotePath(template, this.parentPath(path)));
+  }
 
-    client.mkdirs(this.constructRemotePath(template, pathInTemplate));
+  protected @NonNull String parentPath(@NonNull String path) {
+    var lastSeparator = path.lastIndexOf('/');
+    return lastSeparator == -1 ? "" : path.substring(0, lastSeparator);
   }
 
   protected void ls(
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
@@ -55,6 +56,7 @@ public void handleServiceUpdate(@NonNull CloudServiceUpdateEvent event) {
   }
 
   @EventListener
+  @ChannelMessageSubscription(SyncProxyConstants.SYNC_PROXY_CHANNEL)
   public void handleConfigUpdate(@NonNull ChannelMessageReceiveEvent event) {
     // handle incoming channel messages on the syncproxy channel
     if (event.channel().equals(SyncProxyConstants.SYNC_PROXY_CHANNEL)
@@ -54,8 +54,10 @@
 import eu.cloudnetservice.node.module.updater.ModuleUpdater;
 import eu.cloudnetservice.node.module.updater.ModuleUpdaterRegistry;
 import eu.cloudnetservice.node.network.chunk.FileDeployCallbackListener;
+import eu.cloudnetservice.node.network.listener.message.DatabaseChannelMessageListener;
 import eu.cloudnetservice.node.setup.DefaultInstallation;
 import eu.cloudnetservice.node.template.LocalTemplateStorage;
+import eu.cloudnetservice.node.template.TemplateFileCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -139,7 +141,17 @@ private void setupModuleProvider(
   private void registerDefaultServices(@NonNull ServiceRegistry serviceRegistry, @NonNull Configuration configuration) {
     // local template storage
     var localStoragePath = Path.of(System.getProperty("cloudnet.storage.local", "local/templates"));
-    serviceRegistry.registerProvider(TemplateStorage.class, "local", new LocalTemplateStorage(localStoragePath));
+    // template file cache which links files into service directories rather than copying them
+    TemplateFileCache templateFileCache = null;
+    if (Boolean.parseBoolean(System.getProperty("cloudnet.template.cache.enabled", "true"))) {
+      var cachePath = Path.of(System.getProperty("cloudnet.template.cache.path", "local/template-cache"));
+      var linkPattern = System.getProperty("cloudnet.template.cache.link-pattern", "*.jar");
+      templateFileCache = new TemplateFileCache(cachePath, linkPattern);
+    }
+    serviceRegistry.registerProvider(
+      TemplateStorage.class,
+      "local",
+      new LocalTemplateStorage(localStoragePath, templateFileCache));
 
     // xodus database
     var runsInCluster = !configuration.clusterConfig().nodes().isEmpty();
@@ -427,6 +439,7 @@ private void finishStartup(
     eventManager.registerListener(callbackListener);
     eventManager.callEvent(new CloudNetNodePostInitializationEvent());
     eventManager.registerListener(FileQueryChannelMessageListener.class);
+    eventManager.registerListener(DatabaseChannelMessageListener.class);
 
     // notify that we are done & start the main tick loop
     LOGGER.info(I18n.trans("start-done", Duration.between(startInstant, Instant.now()).toMillis()));
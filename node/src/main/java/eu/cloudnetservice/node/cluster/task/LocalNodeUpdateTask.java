@@ -19,20 +19,15 @@
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
-import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
-import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Singleton
-public record LocalNodeUpdateTask(
-  @NonNull NodeServerProvider provider,
-  @NonNull Provider<TickLoop> mainThreadProvider
-) implements Runnable {
+public record LocalNodeUpdateTask(@NonNull NodeServerProvider provider) implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalNodeUpdateTask.class);
 
@@ -62,7 +57,7 @@ public void run() {
             .message("update_node_info_snapshot")
             .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
             .buffer(DataBuf.empty().writeObject(localNode.nodeInfoSnapshot()))
-            .prioritized(this.mainThreadProvider.get().currentTick() % 10 == 0);
+            .prioritized(true); // the update is the heartbeat of the node, it must not wait behind other packets
           // add all targets
           targetNodes.forEach(message::targetNode);
           // send the update to all active nodes
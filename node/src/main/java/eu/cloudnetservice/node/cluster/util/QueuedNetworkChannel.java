@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.node.cluster.util;
 
+import eu.cloudnetservice.driver.network.CompressionStatistics;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
@@ -26,6 +27,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class QueuedNetworkChannel implements NetworkChannel {
 
@@ -87,6 +89,21 @@ public boolean active() {
     return false;
   }
 
+  @Override
+  public void enableOutboundCompression(@NonNull Packet lastUncompressedPacket, int threshold) {
+    this.wrappedChannel.enableOutboundCompression(lastUncompressedPacket, threshold);
+  }
+
+  @Override
+  public void enableInboundCompression() {
+    this.wrappedChannel.enableInboundCompression();
+  }
+
+  @Override
+  public @Nullable CompressionStatistics compressionStatistics() {
+    return this.wrappedChannel.compressionStatistics();
+  }
+
   @Override
   public void close() {
     this.wrappedChannel.close();
@@ -21,6 +21,7 @@
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
 import eu.cloudnetservice.node.command.source.CommandSource;
+import eu.cloudnetservice.node.provider.ChannelSubscriptionRegistry;
 import jakarta.inject.Singleton;
 import java.util.List;
 import lombok.NonNull;
@@ -63,4 +64,23 @@ public void setLogLevel(@NonNull CommandSource source, @NonNull @Argument("level
       logbackLogger.setLevel(level);
     }
   }
+
+  @Command("dev channels")
+  public void channels(@NonNull CommandSource source, @NonNull ChannelSubscriptionRegistry subscriptionRegistry) {
+    var statistics = subscriptionRegistry.statistics();
+    if (statistics.isEmpty()) {
+      source.sendMessage("No broadcast channel messages were sent yet");
+      return;
+    }
+
+    for (var channel : statistics) {
+      source.sendMessage(String.format(
+        "%s: %d subscribers, %d delivered, %d pruned (%.2f%% pruned)",
+        channel.channel(),
+        channel.subscribers(),
+        channel.delivered(),
+        channel.pruned(),
+        channel.pruneRatio() * 100));
+    }
+  }
 }
@@ -34,6 +34,7 @@
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
 import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import eu.cloudnetservice.node.command.annotation.CommandAlias;
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
@@ -156,11 +157,14 @@ public void displayServices(
   public void displayBasicServiceInfo(
     @NonNull CommandSource source,
     @NonNull @Argument("name") Collection<ServiceInfoSnapshot> matchedServices,
-    @Flag("full") boolean customProperties
+    @Flag("full") boolean customProperties,
+    @Flag("threads") boolean threads
   ) {
     for (var matchedService : matchedServices) {
       var updatedService = matchedService.provider().forceUpdateServiceInfo();
-      this.displayServiceInfo(source, updatedService, customProperties);
+      // thread snapshots are expensive to create, only request them if needed
+      var threadSnapshots = threads ? matchedService.provider().threadSnapshots() : List.<ThreadSnapshot>of();
+      this.displayServiceInfo(source, updatedService, threadSnapshots, customProperties);
     }
   }
 
@@ -369,6 +373,7 @@ public void handleLogEntry(@NonNull CloudServiceLogEntryEvent event) {
   private void displayServiceInfo(
     @NonNull CommandSource source,
     @Nullable ServiceInfoSnapshot service,
+    @NonNull Collection<ThreadSnapshot> threadSnapshots,
     boolean showCustomProperties
   ) {
     if (service == null) {
@@ -434,7 +439,7 @@ private void displayServiceInfo(
     list.addAll(List.of(
       "PID: " + service.processSnapshot().pid(),
       "CPU usage: " + ResourceFormatter.formatTwoDigitPrecision(service.processSnapshot().cpuUsage()) + "%",
-      "Threads: " + service.processSnapshot().threads().size(),
+      "Threads: " + service.processSnapshot().threadCount(),
       "Heap usage: " + (service.processSnapshot().heapUsageMemory() / 1048576) + "/" +
         (service.processSnapshot().maxHeapMemory() / 1048576) + "MB",
       " "
@@ -446,6 +451,15 @@ private void displayServiceInfo(
       list.add(" ");
     }
 
+    if (!threadSnapshots.isEmpty()) {
+      list.add("Threads:");
+      for (var thread : threadSnapshots) {
+        list.add("- " + thread.name() + " #" + thread.id() + " (" + thread.threadState()
+          + (thread.daemon() ? ", daemon" : "") + ")");
+      }
+      list.add(" ");
+    }
+
     source.sendMessage(list);
   }
 }
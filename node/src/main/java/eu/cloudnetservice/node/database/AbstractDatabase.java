@@ -16,11 +16,17 @@
 
 package eu.cloudnetservice.node.database;
 
+import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import java.util.Collection;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractDatabase implements LocalDatabase, Database {
 
@@ -39,22 +45,47 @@ protected AbstractDatabase(@NonNull String name, @NonNull NodeDatabaseProvider d
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize) {
-    var documentCount = this.documentCount();
-    if (documentCount != 0) {
-      long currentIndex = 0;
-      while (currentIndex < documentCount) {
-        var result = this.readChunk(currentIndex, chunkSize);
-        if (result != null) {
-          result.forEach(consumer);
-          currentIndex += chunkSize;
-          continue;
-        }
-
-        break;
+    // continue each chunk after the last key of the previous chunk, which prevents
+    // skipping over all previously read entries for every chunk
+    String lastKey = null;
+    Map<String, Document> chunk;
+    while ((chunk = this.readChunkAfter(lastKey, chunkSize)) != null) {
+      for (var entry : chunk.entrySet()) {
+        lastKey = entry.getKey();
+        consumer.accept(entry.getKey(), entry.getValue());
       }
     }
   }
 
+  protected boolean invalidateIfModified(boolean modified, @NonNull Collection<String> keys) {
+    if (modified) {
+      this.publishInvalidation(keys);
+    }
+    return modified;
+  }
+
+  protected void publishInvalidation(@Nullable Collection<String> keys) {
+    // only notify the services if one of them is caching entries of this database
+    if (!this.databaseProvider.nearCached(this.name)) {
+      return;
+    }
+
+    // a null key collection invalidates all cached entries of the database
+    var buffer = DataBuf.empty().writeString(this.name).writeBoolean(keys == null);
+    if (keys != null) {
+      buffer.writeInt(keys.size());
+      keys.forEach(buffer::writeString);
+    }
+
+    ChannelMessage.builder()
+      .targetServices()
+      .message("invalidate_database_near_cache")
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(buffer)
+      .build()
+      .send();
+  }
+
   protected @NonNull String serializeDocumentToJsonString(@NonNull Document document) {
     // send the given document into a new json document
     var jsonDocument = Document.newJsonDocument();
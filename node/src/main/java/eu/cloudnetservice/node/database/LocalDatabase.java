@@ -42,4 +42,15 @@ public interface LocalDatabase extends Database {
   void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize);
 
   @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize);
+
+  /**
+   * Declares a secondary index on the given top-level field of the documents in this database, which is used to speed
+   * up find calls that filter by the given field. Databases that do not support secondary indexes or maintain indexes
+   * themselves ignore this call.
+   *
+   * @param fieldName the name of the field to index.
+   * @throws NullPointerException if the given field name is null.
+   */
+  default void declareIndex(@NonNull String fieldName) {
+  }
 }
@@ -23,7 +23,12 @@
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +47,7 @@ public abstract class NodeDatabaseProvider implements DatabaseProvider, Named, A
   };
 
   protected final Cache<String, LocalDatabase> databaseCache;
+  protected final Set<String> nearCachedDatabases = ConcurrentHashMap.newKeySet();
 
   protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> removalListener) {
     this.databaseCache = Caffeine.newBuilder()
@@ -56,6 +62,37 @@ protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> r
   @Override
   public abstract @NonNull LocalDatabase database(@NonNull String name);
 
+  /**
+   * Registers that a service holds a near-cache for the database with the given name. Once registered, all writes to
+   * the database publish an invalidation for the written keys to all services.
+   *
+   * @param databaseName the name of the database that is near-cached by a service.
+   * @throws NullPointerException if the given database name is null.
+   */
+  public void registerNearCachedDatabase(@NonNull String databaseName) {
+    this.nearCachedDatabases.add(databaseName);
+  }
+
+  /**
+   * Get if a service holds a near-cache for the database with the given name.
+   *
+   * @param databaseName the name of the database to check.
+   * @return true if a service holds a near-cache for the database, false otherwise.
+   * @throws NullPointerException if the given database name is null.
+   */
+  public boolean nearCached(@NonNull String databaseName) {
+    return this.nearCachedDatabases.contains(databaseName);
+  }
+
+  /**
+   * Get the names of all databases for which a service registered a near-cache.
+   *
+   * @return the names of all near-cached databases.
+   */
+  public @NonNull @UnmodifiableView Collection<String> nearCachedDatabases() {
+    return Collections.unmodifiableSet(this.nearCachedDatabases);
+  }
+
   @Override
   public void close() throws Exception {
     this.databaseCache.invalidateAll();
@@ -52,7 +52,26 @@ public void close() {
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.insertOrUpdate(key, document);
+    return this.invalidateIfModified(this.insertOrUpdate(key, document), Set.of(key));
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    Collection<Object[]> batch = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      batch.add(new Object[]{entry.getKey(), this.serializeDocumentToJsonString(entry.getValue())});
+    }
+
+    return this.invalidateIfModified(
+      this.databaseProvider.executeBatchUpdate(
+        String.format(
+          "MERGE INTO `%s` (%s, %s) KEY (%s) VALUES (?, ?);",
+          this.name,
+          TABLE_COLUMN_KEY,
+          TABLE_COLUMN_VAL,
+          TABLE_COLUMN_KEY),
+        batch) != -1,
+      documents.keySet());
   }
 
   private boolean insert0(@NonNull String key, @NonNull Document document) {
@@ -84,7 +103,7 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.delete0(key);
+    return this.invalidateIfModified(this.delete0(key), Set.of(key));
   }
 
   public boolean delete0(String key) {
@@ -221,6 +240,7 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
   @Override
   public void clear() {
     this.databaseProvider.executeUpdate(String.format("TRUNCATE TABLE `%s`", this.name));
+    this.publishInvalidation(null);
   }
 
   @Override
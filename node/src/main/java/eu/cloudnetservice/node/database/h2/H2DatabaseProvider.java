@@ -29,6 +29,8 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.NonNull;
 import org.h2.Driver;
 import org.jetbrains.annotations.Nullable;
@@ -42,6 +44,10 @@ public final class H2DatabaseProvider extends SQLDatabaseProvider {
   }
 
   private final Path h2dbFile;
+  // all databases share one connection, batches hold the write lock while auto-commit is disabled on the connection
+  // as other updates would otherwise become part of (and possibly be rolled back with) the batch transaction
+  private final ReadWriteLock transactionLock = new ReentrantReadWriteLock();
+
   private Connection connection;
 
   public H2DatabaseProvider(@NonNull String h2File) {
@@ -103,6 +109,7 @@ public void close() throws Exception {
 
   @Override
   public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
+    this.transactionLock.readLock().lock();
     try (var preparedStatement = this.connection().prepareStatement(query)) {
       for (var i = 0; i < objects.length; i++) {
         preparedStatement.setString(i + 1, objects[i].toString());
@@ -112,6 +119,44 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     } catch (SQLException exception) {
       LOGGER.error("Exception while executing database update", exception);
       return -1;
+    } finally {
+      this.transactionLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> batch) {
+    this.transactionLock.writeLock().lock();
+    try {
+      // execute the batch in a single transaction, either all updates are applied or none
+      var connection = this.connection();
+      connection.setAutoCommit(false);
+      try (var preparedStatement = connection.prepareStatement(query)) {
+        for (var objects : batch) {
+          for (var i = 0; i < objects.length; i++) {
+            preparedStatement.setString(i + 1, objects[i].toString());
+          }
+          preparedStatement.addBatch();
+        }
+
+        var updatedRows = 0;
+        for (var updateCount : preparedStatement.executeBatch()) {
+          updatedRows += Math.max(updateCount, 0);
+        }
+
+        connection.commit();
+        return updatedRows;
+      } catch (SQLException exception) {
+        connection.rollback();
+        throw exception;
+      } finally {
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return -1;
+    } finally {
+      this.transactionLock.writeLock().unlock();
     }
   }
 
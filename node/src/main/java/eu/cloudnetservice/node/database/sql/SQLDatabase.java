@@ -16,9 +16,17 @@
 
 package eu.cloudnetservice.node.database.sql;
 
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @Deprecated
 @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
@@ -33,4 +41,52 @@ public SQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name)
     super(name, provider);
     this.databaseProvider = provider;
   }
+
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    Collection<Object[]> batch = new ArrayList<>(keys.size());
+    for (var key : keys) {
+      batch.add(new Object[]{key});
+    }
+
+    return this.invalidateIfModified(
+      this.databaseProvider.executeBatchUpdate(
+        String.format("DELETE FROM `%s` WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
+        batch) > 0,
+      keys);
+  }
+
+  @Override
+  public @Nullable LinkedHashMap<String, Document> readChunkAfter(@Nullable String lastKey, int chunkSize) {
+    if (lastKey == null) {
+      return this.databaseProvider.executeQuery(
+        String.format("SELECT * FROM `%s` ORDER BY `%s` LIMIT ?;", this.name, TABLE_COLUMN_KEY),
+        this::readOrderedChunk,
+        null,
+        chunkSize);
+    }
+
+    return this.databaseProvider.executeQuery(
+      String.format(
+        "SELECT * FROM `%s` WHERE `%s` > ? ORDER BY `%s` LIMIT ?;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_KEY),
+      this::readOrderedChunk,
+      null,
+      lastKey, chunkSize);
+  }
+
+  protected @Nullable LinkedHashMap<String, Document> readOrderedChunk(
+    @NonNull ResultSet resultSet
+  ) throws SQLException {
+    var result = new LinkedHashMap<String, Document>();
+    while (resultSet.next()) {
+      var key = resultSet.getString(TABLE_COLUMN_KEY);
+      var document = DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL));
+      result.put(key, document);
+    }
+
+    return result.isEmpty() ? null : result;
+  }
 }
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database.util;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import eu.cloudnetservice.driver.document.send.DocumentSend;
+import eu.cloudnetservice.driver.document.send.element.ArrayElement;
+import eu.cloudnetservice.driver.document.send.element.Element;
+import eu.cloudnetservice.driver.document.send.element.NullElement;
+import eu.cloudnetservice.driver.document.send.element.ObjectElement;
+import eu.cloudnetservice.driver.document.send.element.PrimitiveElement;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import lombok.NonNull;
+
+/**
+ * A compact binary encoding for documents, based on the element tree provided by {@link Document#send()}. Encoded
+ * documents start with a magic byte which can never be the first byte of a json document, allowing readers to detect
+ * the format of stored data and transparently read documents written in json.
+ *
+ * @since 4.0
+ */
+public final class BinaryDocumentCodec {
+
+  private static final byte MAGIC = (byte) 0xCB;
+  private static final byte VERSION = 1;
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_TRUE = 2;
+  private static final byte TYPE_FALSE = 3;
+  private static final byte TYPE_LONG = 4;
+  private static final byte TYPE_DOUBLE = 5;
+  private static final byte TYPE_DECIMAL = 6;
+  private static final byte TYPE_OBJECT = 7;
+  private static final byte TYPE_ARRAY = 8;
+
+  private BinaryDocumentCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Checks if the given data was encoded using this codec.
+   *
+   * @param data   the data to check.
+   * @param length the number of bytes in the given array that belong to the data.
+   * @return true if the given data is binary encoded, false otherwise.
+   * @throws NullPointerException if the given data array is null.
+   */
+  public static boolean binaryEncoded(byte @NonNull [] data, int length) {
+    return length > 1 && data[0] == MAGIC;
+  }
+
+  /**
+   * Encodes the given document into the binary format of this codec.
+   *
+   * @param document the document to encode.
+   * @return the binary representation of the given document.
+   * @throws NullPointerException if the given document is null.
+   */
+  public static byte @NonNull [] encode(@NonNull Document document) {
+    var output = new Output();
+    output.writeByte(MAGIC);
+    output.writeByte(VERSION);
+    writeElements(output, document.send().rootElement().elements(), true);
+    return output.toByteArray();
+  }
+
+  /**
+   * Decodes the given binary encoded document into a mutable json document.
+   *
+   * @param data   the binary encoded document.
+   * @param length the number of bytes in the given array that belong to the document.
+   * @return the decoded document.
+   * @throws NullPointerException     if the given data array is null.
+   * @throws IllegalArgumentException if the given data is not a valid binary encoded document.
+   * @throws DocumentParseException   if the given binary document is truncated.
+   */
+  public static @NonNull Document.Mutable decode(byte @NonNull [] data, int length) {
+    if (!binaryEncoded(data, length) || data[1] != VERSION) {
+      throw new IllegalArgumentException("Given data is not a binary encoded document of version " + VERSION);
+    }
+
+    try {
+      var input = new Input(data, 2, length);
+      var rootElement = new ObjectElement(Element.NO_KEY, readElements(input, true));
+      return DocumentFactory.json().receive(new BinaryDocumentSend(rootElement));
+    } catch (IndexOutOfBoundsException exception) {
+      throw new DocumentParseException("Binary encoded document is truncated", exception);
+    }
+  }
+
+  private static void writeElements(
+    @NonNull Output output,
+    @NonNull Collection<? extends Element> elements,
+    boolean keyed
+  ) {
+    output.writeVarInt(elements.size());
+    for (var element : elements) {
+      if (keyed) {
+        output.writeString(element.key());
+      }
+
+      switch (element) {
+        case NullElement $ -> output.writeByte(TYPE_NULL);
+        case ObjectElement objectElement -> {
+          output.writeByte(TYPE_OBJECT);
+          writeElements(output, objectElement.elements(), true);
+        }
+        case ArrayElement arrayElement -> {
+          output.writeByte(TYPE_ARRAY);
+          writeElements(output, arrayElement.entries(), false);
+        }
+        case PrimitiveElement primitiveElement -> writePrimitive(output, primitiveElement.innerValue());
+      }
+    }
+  }
+
+  private static void writePrimitive(@NonNull Output output, @NonNull Object value) {
+    switch (value) {
+      case String string -> {
+        output.writeByte(TYPE_STRING);
+        output.writeString(string);
+      }
+      case Character character -> {
+        output.writeByte(TYPE_STRING);
+        output.writeString(character.toString());
+      }
+      case Boolean bool -> output.writeByte(bool ? TYPE_TRUE : TYPE_FALSE);
+      case Long l -> writeLong(output, l);
+      case Integer i -> writeLong(output, i);
+      case Short s -> writeLong(output, s);
+      case Byte b -> writeLong(output, b);
+      case Double d -> writeDouble(output, d);
+      case Float f -> writeDouble(output, f);
+      case Number number -> writeNumber(output, number);
+      default -> throw new IllegalArgumentException("Unsupported primitive type " + value.getClass().getName());
+    }
+  }
+
+  private static void writeNumber(@NonNull Output output, @NonNull Number number) {
+    // numbers parsed from json are lazily parsed, try to find the most compact representation for them
+    var numberString = number.toString();
+    try {
+      writeLong(output, Long.parseLong(numberString));
+    } catch (NumberFormatException ignored) {
+      try {
+        // validate that the number can be read back as a decimal
+        new BigDecimal(numberString);
+        output.writeByte(TYPE_DECIMAL);
+        output.writeString(numberString);
+      } catch (NumberFormatException exception) {
+        writeDouble(output, number.doubleValue());
+      }
+    }
+  }
+
+  private static void writeLong(@NonNull Output output, long value) {
+    output.writeByte(TYPE_LONG);
+    output.writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  private static void writeDouble(@NonNull Output output, double value) {
+    output.writeByte(TYPE_DOUBLE);
+    output.writeLong(Double.doubleToRawLongBits(value));
+  }
+
+  private static @NonNull Collection<Element> readElements(@NonNull Input input, boolean keyed) {
+    var elementCount = input.readVarInt();
+    Collection<Element> elements = new ArrayList<>(elementCount);
+    for (var i = 0; i < elementCount; i++) {
+      var key = keyed ? input.readString() : Element.NO_KEY;
+      var type = input.readByte();
+      var element = switch (type) {
+        case TYPE_NULL -> new NullElement(key);
+        case TYPE_STRING -> new PrimitiveElement(key, input.readString());
+        case TYPE_TRUE -> new PrimitiveElement(key, Boolean.TRUE);
+        case TYPE_FALSE -> new PrimitiveElement(key, Boolean.FALSE);
+        case TYPE_LONG -> {
+          var encoded = input.readVarLong();
+          yield new PrimitiveElement(key, (encoded >>> 1) ^ -(encoded & 1));
+        }
+        case TYPE_DOUBLE -> new PrimitiveElement(key, Double.longBitsToDouble(input.readLong()));
+        case TYPE_DECIMAL -> new PrimitiveElement(key, new BigDecimal(input.readString()));
+        case TYPE_OBJECT -> new ObjectElement(key, readElements(input, true));
+        case TYPE_ARRAY -> new ArrayElement(key, readElements(input, false));
+        default -> throw new IllegalArgumentException("Unknown element type " + type + " in binary document");
+      };
+      elements.add(element);
+    }
+
+    return Collections.unmodifiableCollection(elements);
+  }
+
+  /**
+   * A document send implementation wrapping the root element decoded from a binary document.
+   *
+   * @param rootElement the decoded root element.
+   * @since 4.0
+   */
+  private record BinaryDocumentSend(@NonNull ObjectElement rootElement) implements DocumentSend {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Document.Mutable into(@NonNull DocumentFactory factory) {
+      return factory.receive(this);
+    }
+  }
+
+  /**
+   * A simple growing byte array output, avoiding the synchronization overhead of the jdk output streams.
+   *
+   * @since 4.0
+   */
+  private static final class Output {
+
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    private void ensureWritable(int bytes) {
+      if (this.position + bytes > this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.position + bytes));
+      }
+    }
+
+    public void writeByte(byte value) {
+      this.ensureWritable(1);
+      this.buffer[this.position++] = value;
+    }
+
+    public void writeVarInt(int value) {
+      this.writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeVarLong(long value) {
+      this.ensureWritable(10);
+      while ((value & ~0x7FL) != 0) {
+        this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      this.buffer[this.position++] = (byte) value;
+    }
+
+    public void writeLong(long value) {
+      this.ensureWritable(Long.BYTES);
+      for (var shift = 56; shift >= 0; shift -= 8) {
+        this.buffer[this.position++] = (byte) (value >>> shift);
+      }
+    }
+
+    public void writeString(@NonNull String value) {
+      var bytes = value.getBytes(StandardCharsets.UTF_8);
+      this.writeVarInt(bytes.length);
+      this.ensureWritable(bytes.length);
+      System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+      this.position += bytes.length;
+    }
+
+    public byte @NonNull [] toByteArray() {
+      return Arrays.copyOf(this.buffer, this.position);
+    }
+  }
+
+  /**
+   * A reader for a binary document in a backing byte array.
+   *
+   * @since 4.0
+   */
+  private static final class Input {
+
+    private final byte[] data;
+    private final int limit;
+    private int position;
+
+    public Input(byte @NonNull [] data, int position, int limit) {
+      this.data = data;
+      this.limit = limit;
+      this.position = position;
+    }
+
+    public byte readByte() {
+      if (this.position >= this.limit) {
+        throw new IndexOutOfBoundsException("Reached end of binary document at " + this.position);
+      }
+      return this.data[this.position++];
+    }
+
+    public int readVarInt() {
+      return (int) this.readVarLong();
+    }
+
+    public long readVarLong() {
+      long result = 0;
+      for (var shift = 0; shift < 64; shift += 7) {
+        var current = this.readByte();
+        result |= (long) (current & 0x7F) << shift;
+        if ((current & 0x80) == 0) {
+          return result;
+        }
+      }
+
+      throw new IllegalArgumentException("Malformed variable length number in binary document");
+    }
+
+    public long readLong() {
+      long result = 0;
+      for (var i = 0; i < Long.BYTES; i++) {
+        result = (result << 8) | (this.readByte() & 0xFF);
+      }
+      return result;
+    }
+
+    public @NonNull String readString() {
+      var length = this.readVarInt();
+      if (length < 0 || this.position + length > this.limit) {
+        throw new IndexOutOfBoundsException("String of length " + length + " exceeds binary document");
+      }
+
+      var value = new String(this.data, this.position, length, StandardCharsets.UTF_8);
+      this.position += length;
+      return value;
+    }
+  }
+}
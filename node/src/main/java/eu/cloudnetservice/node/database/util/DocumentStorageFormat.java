@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database.util;
+
+import java.util.Locale;
+import lombok.NonNull;
+
+/**
+ * The formats in which a local database can store the documents inserted into it.
+ *
+ * @since 4.0
+ */
+public enum DocumentStorageFormat {
+
+  /**
+   * Stores documents as compact json strings. This is the format used by all previous versions.
+   */
+  JSON,
+  /**
+   * Stores documents in the compact binary encoding of the {@link BinaryDocumentCodec}, which avoids parsing json text
+   * when reading documents.
+   */
+  BINARY;
+
+  /**
+   * Get the storage format that was configured using the {@code cloudnet.database.storage-format} system property,
+   * defaulting to json if the property is not set or invalid.
+   *
+   * @return the configured storage format.
+   */
+  public static @NonNull DocumentStorageFormat configured() {
+    var formatName = System.getProperty("cloudnet.database.storage-format", "json");
+    return switch (formatName.toLowerCase(Locale.ROOT)) {
+      case "binary" -> BINARY;
+      default -> JSON;
+    };
+  }
+}
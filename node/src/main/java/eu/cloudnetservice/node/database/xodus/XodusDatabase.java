@@ -19,42 +19,103 @@
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
+import eu.cloudnetservice.node.database.util.BinaryDocumentCodec;
+import eu.cloudnetservice.node.database.util.DocumentStorageFormat;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import jetbrains.exodus.ArrayByteIterable;
+import jetbrains.exodus.ByteIterable;
 import jetbrains.exodus.bindings.StringBinding;
 import jetbrains.exodus.env.Environment;
 import jetbrains.exodus.env.Store;
+import jetbrains.exodus.env.StoreConfig;
+import jetbrains.exodus.env.Transaction;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 public class XodusDatabase extends AbstractDatabase {
 
+  protected static final String INDEX_STORE_SEPARATOR = "#index#";
+  protected static final String INDEX_DECLARATION_STORE_SUFFIX = "#indexes";
+  protected static final int MIGRATION_CHUNK_SIZE = Integer.getInteger("cloudnet.xodus.migration-chunk-size", 512);
+
   protected final Environment environment;
   protected final AtomicReference<Store> store;
+  protected final Map<String, Store> indexStores;
+  protected final DocumentStorageFormat storageFormat;
 
-  protected XodusDatabase(@NonNull String name, @NonNull Store store, @NonNull XodusDatabaseProvider provider) {
+  protected XodusDatabase(
+    @NonNull String name,
+    @NonNull Store store,
+    @NonNull XodusDatabaseProvider provider,
+    @NonNull Transaction txn
+  ) {
     super(name, provider);
 
     this.environment = store.getEnvironment();
     this.store = new AtomicReference<>(store);
+    this.indexStores = new ConcurrentHashMap<>();
+    this.storageFormat = provider.storageFormat;
+
+    // open the stores of all indexes that were declared previously
+    var declarationStoreName = name + INDEX_DECLARATION_STORE_SUFFIX;
+    if (this.environment.storeExists(declarationStoreName, txn)) {
+      var declarations = this.environment.openStore(declarationStoreName, StoreConfig.WITHOUT_DUPLICATES, txn);
+      try (var cursor = declarations.openCursor(txn)) {
+        while (cursor.getNext()) {
+          var fieldName = StringBinding.entryToString(cursor.getKey());
+          this.indexStores.put(fieldName, this.openIndexStore(fieldName, txn));
+        }
+      }
+    }
+  }
+
+  protected static boolean internalStore(@NonNull String storeName) {
+    return storeName.contains(INDEX_STORE_SEPARATOR)
+      || storeName.endsWith(INDEX_DECLARATION_STORE_SUFFIX)
+      || storeName.equals(XodusDatabaseProvider.STORAGE_FORMAT_STORE);
   }
 
   @Override
   public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.environment.computeInExclusiveTransaction(
-      txn -> this.store().put(
-        txn,
-        StringBinding.stringToEntry(key),
-        new ArrayByteIterable(this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8))));
+    var serializedDocument = this.serializeDocument(document);
+    return this.invalidateIfModified(
+      this.environment.computeInExclusiveTransaction(
+        txn -> this.insert0(txn, key, document, serializedDocument)),
+      Set.of(key));
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    // serialize the documents before opening the transaction to keep the exclusive section short
+    Map<String, byte[]> serializedDocuments = new LinkedHashMap<>();
+    for (var entry : documents.entrySet()) {
+      serializedDocuments.put(entry.getKey(), this.serializeDocument(entry.getValue()));
+    }
+
+    // write all documents in a single transaction
+    boolean allInserted = this.environment.computeInExclusiveTransaction(txn -> {
+      var inserted = true;
+      for (var entry : serializedDocuments.entrySet()) {
+        var key = entry.getKey();
+        inserted &= this.insert0(txn, key, documents.get(key), entry.getValue());
+      }
+      return inserted;
+    });
+
+    this.publishInvalidation(documents.keySet());
+    return allInserted;
   }
 
   @Override
@@ -65,19 +126,38 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public boolean delete(@NonNull String key) {
-    return this.environment.computeInTransaction(txn -> this.store().delete(txn, StringBinding.stringToEntry(key)));
+    boolean deleted = this.environment.computeInTransaction(txn -> this.delete0(txn, key));
+    return this.invalidateIfModified(deleted, Set.of(key));
+  }
+
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    return this.invalidateIfModified(
+      this.environment.computeInExclusiveTransaction(txn -> {
+        var anyDeleted = false;
+        for (var key : keys) {
+          anyDeleted |= this.delete0(txn, key);
+        }
+        return anyDeleted;
+      }),
+      keys);
   }
 
   @Override
   public @Nullable Document get(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(txn -> {
       var entry = this.store().get(txn, StringBinding.stringToEntry(key));
-      return entry == null ? null : DocumentFactory.json().parse(entry.getBytesUnsafe());
+      return entry == null ? null : this.parseDocument(entry);
     });
   }
 
   @Override
   public @NonNull List<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    var indexStore = fieldValue == null ? null : this.indexStores.get(fieldName);
+    if (indexStore != null) {
+      return this.environment.computeInReadonlyTransaction(txn -> this.findIndexed(txn, indexStore, fieldValue));
+    }
+
     return this.handleWithCursor(($, document) -> {
       if (Objects.equals(document.getString(fieldName), fieldValue)) {
         return document;
@@ -89,13 +169,46 @@ public boolean delete(@NonNull String key) {
   @Override
   public @NonNull List<Document> find(@NonNull Map<String, String> filters) {
     var entries = filters.entrySet();
-    return this.handleWithCursor(($, document) -> {
-      for (var entry : entries) {
-        if (!Objects.equals(document.getString(entry.getKey()), entry.getValue())) {
-          return null;
+
+    // use the first indexed filter to narrow down the documents to check
+    for (var filter : entries) {
+      var indexStore = filter.getValue() == null ? null : this.indexStores.get(filter.getKey());
+      if (indexStore != null) {
+        var candidates = this.environment.computeInReadonlyTransaction(
+          txn -> this.findIndexed(txn, indexStore, filter.getValue()));
+        candidates.removeIf(document -> !this.matchesFilters(document, filters));
+        return candidates;
+      }
+    }
+
+    return this.handleWithCursor(($, document) -> this.matchesFilters(document, filters) ? document : null);
+  }
+
+  @Override
+  public void declareIndex(@NonNull String fieldName) {
+    if (this.indexStores.containsKey(fieldName)) {
+      return;
+    }
+
+    this.environment.executeInExclusiveTransaction(txn -> {
+      var declarations = this.environment.openStore(
+        this.name + INDEX_DECLARATION_STORE_SUFFIX,
+        StoreConfig.WITHOUT_DUPLICATES,
+        txn);
+      declarations.put(txn, StringBinding.stringToEntry(fieldName), StringBinding.stringToEntry(fieldName));
+
+      // build the index for all documents that are already stored
+      var indexStore = this.openIndexStore(fieldName, txn);
+      try (var cursor = this.store().openCursor(txn)) {
+        while (cursor.getNext()) {
+          var fieldValue = this.parseDocument(cursor.getValue()).getString(fieldName);
+          if (fieldValue != null) {
+            indexStore.put(txn, StringBinding.stringToEntry(fieldValue), new ArrayByteIterable(cursor.getKey()));
+          }
         }
       }
-      return document;
+
+      this.indexStores.put(fieldName, indexStore);
     });
   }
 
@@ -126,7 +239,14 @@ public void clear() {
     this.environment.executeInExclusiveTransaction(txn -> {
       this.environment.truncateStore(this.name, txn);
       this.store.set(this.environment.openStore(this.name, this.store().getConfig(), txn));
+
+      // truncate the indexes as well, the declarations are kept
+      for (var fieldName : this.indexStores.keySet()) {
+        this.environment.truncateStore(this.indexStoreName(fieldName), txn);
+        this.indexStores.put(fieldName, this.openIndexStore(fieldName, txn));
+      }
     });
+    this.publishInvalidation(null);
   }
 
   @Override
@@ -158,9 +278,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     this.environment.executeInReadonlyTransaction(txn -> {
       try (var cursor = this.store().openCursor(txn)) {
         while (cursor.getNext()) {
-          handler.accept(
-            StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+          handler.accept(StringBinding.entryToString(cursor.getKey()), this.parseDocument(cursor.getValue()));
         }
       }
     });
@@ -181,9 +299,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
 
         long currentReadCount = 0;
         while (chunkSize > currentReadCount && cursor.getNext()) {
-          result.put(
-            StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+          result.put(StringBinding.entryToString(cursor.getKey()), this.parseDocument(cursor.getValue()));
           currentReadCount++;
         }
 
@@ -192,6 +308,202 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     });
   }
 
+  @Override
+  public @Nullable LinkedHashMap<String, Document> readChunkAfter(@Nullable String lastKey, int chunkSize) {
+    return this.environment.computeInReadonlyTransaction(txn -> {
+      try (var cursor = this.store().openCursor(txn)) {
+        boolean hasEntry;
+        if (lastKey == null) {
+          hasEntry = cursor.getNext();
+        } else {
+          // seek directly to the last key of the previous chunk (or the key after it if it was removed)
+          hasEntry = cursor.getSearchKeyRange(StringBinding.stringToEntry(lastKey)) != null;
+          if (hasEntry && lastKey.equals(StringBinding.entryToString(cursor.getKey()))) {
+            hasEntry = cursor.getNext();
+          }
+        }
+
+        var result = new LinkedHashMap<String, Document>();
+        while (hasEntry && result.size() < chunkSize) {
+          result.put(StringBinding.entryToString(cursor.getKey()), this.parseDocument(cursor.getValue()));
+          hasEntry = cursor.getNext();
+        }
+
+        return result.isEmpty() ? null : result;
+      }
+    });
+  }
+
+  protected boolean insert0(
+    @NonNull Transaction txn,
+    @NonNull String key,
+    @NonNull Document document,
+    byte @NonNull [] serializedDocument
+  ) {
+    var keyEntry = StringBinding.stringToEntry(key);
+    if (!this.indexStores.isEmpty()) {
+      // update the indexes in the same transaction to keep them consistent with the stored documents
+      var previous = this.store().get(txn, keyEntry);
+      this.updateIndexes(txn, keyEntry, previous == null ? null : this.parseDocument(previous), document);
+    }
+
+    return this.store().put(txn, keyEntry, new ArrayByteIterable(serializedDocument));
+  }
+
+  protected boolean delete0(@NonNull Transaction txn, @NonNull String key) {
+    var keyEntry = StringBinding.stringToEntry(key);
+    if (!this.indexStores.isEmpty()) {
+      var previous = this.store().get(txn, keyEntry);
+      if (previous != null) {
+        this.updateIndexes(txn, keyEntry, this.parseDocument(previous), null);
+      }
+    }
+
+    return this.store().delete(txn, keyEntry);
+  }
+
+  protected @NonNull List<Document> findIndexed(
+    @NonNull Transaction txn,
+    @NonNull Store indexStore,
+    @NonNull String fieldValue
+  ) {
+    List<Document> result = new ArrayList<>();
+    var store = this.store();
+    try (var cursor = indexStore.openCursor(txn)) {
+      var documentKey = cursor.getSearchKey(StringBinding.stringToEntry(fieldValue));
+      while (documentKey != null) {
+        var entry = store.get(txn, documentKey);
+        if (entry != null) {
+          result.add(this.parseDocument(entry));
+        }
+
+        documentKey = cursor.getNextDup() ? cursor.getValue() : null;
+      }
+    }
+
+    return result;
+  }
+
+  protected void updateIndexes(
+    @NonNull Transaction txn,
+    @NonNull ByteIterable keyEntry,
+    @Nullable Document previous,
+    @Nullable Document current
+  ) {
+    for (var indexEntry : this.indexStores.entrySet()) {
+      var fieldName = indexEntry.getKey();
+      var previousValue = previous == null ? null : previous.getString(fieldName);
+      var currentValue = current == null ? null : current.getString(fieldName);
+      if (Objects.equals(previousValue, currentValue)) {
+        continue;
+      }
+
+      var indexStore = indexEntry.getValue();
+      if (previousValue != null) {
+        try (var cursor = indexStore.openCursor(txn)) {
+          if (cursor.getSearchBoth(StringBinding.stringToEntry(previousValue), keyEntry)) {
+            cursor.deleteCurrent();
+          }
+        }
+      }
+
+      if (currentValue != null) {
+        indexStore.put(txn, StringBinding.stringToEntry(currentValue), keyEntry);
+      }
+    }
+  }
+
+  protected boolean matchesFilters(@NonNull Document document, @NonNull Map<String, String> filters) {
+    for (var entry : filters.entrySet()) {
+      if (!Objects.equals(document.getString(entry.getKey()), entry.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected void migrateStorageFormat() {
+    this.migrateStorageFormat(MIGRATION_CHUNK_SIZE);
+  }
+
+  protected void migrateStorageFormat(int chunkSize) {
+    // migrate the documents in chunks, each in its own transaction, to not hold all documents in memory and to not
+    // block the environment for the whole migration. the migrated documents keep their key, therefore each chunk can
+    // continue after the last key of the previous chunk
+    ByteIterable lastKey = null;
+    do {
+      var chunkStart = lastKey;
+      lastKey = this.environment.computeInExclusiveTransaction(
+        txn -> this.migrateStorageFormatChunk(txn, chunkStart, chunkSize));
+    } while (lastKey != null);
+  }
+
+  protected @Nullable ByteIterable migrateStorageFormatChunk(
+    @NonNull Transaction txn,
+    @Nullable ByteIterable lastKey,
+    int chunkSize
+  ) {
+    var binary = this.storageFormat == DocumentStorageFormat.BINARY;
+    ByteIterable chunkEnd = null;
+
+    // collect the documents first, the store should not be modified while iterating over it
+    Map<ByteIterable, byte[]> migratedEntries = new LinkedHashMap<>();
+    try (var cursor = this.store().openCursor(txn)) {
+      boolean hasEntry;
+      if (lastKey == null) {
+        hasEntry = cursor.getNext();
+      } else {
+        hasEntry = cursor.getSearchKeyRange(lastKey) != null;
+        if (hasEntry && cursor.getKey().compareTo(lastKey) == 0) {
+          hasEntry = cursor.getNext();
+        }
+      }
+
+      for (var readEntries = 0; hasEntry && readEntries < chunkSize; readEntries++) {
+        chunkEnd = new ArrayByteIterable(cursor.getKey());
+        var value = cursor.getValue();
+        if (BinaryDocumentCodec.binaryEncoded(value.getBytesUnsafe(), value.getLength()) != binary) {
+          var document = this.parseDocument(value);
+          migratedEntries.put(chunkEnd, this.serializeDocument(document));
+        }
+        hasEntry = cursor.getNext();
+      }
+    }
+
+    var store = this.store();
+    migratedEntries.forEach((key, value) -> store.put(txn, key, new ArrayByteIterable(value)));
+    return chunkEnd;
+  }
+
+  protected byte @NonNull [] serializeDocument(@NonNull Document document) {
+    return switch (this.storageFormat) {
+      case BINARY -> BinaryDocumentCodec.encode(document);
+      case JSON -> this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8);
+    };
+  }
+
+  protected @NonNull Document parseDocument(@NonNull ByteIterable entry) {
+    // documents written in both formats can be read, regardless of the configured storage format
+    var data = entry.getBytesUnsafe();
+    var length = entry.getLength();
+    if (BinaryDocumentCodec.binaryEncoded(data, length)) {
+      return BinaryDocumentCodec.decode(data, length);
+    }
+
+    return DocumentFactory.json().parse(data);
+  }
+
+  protected @NonNull String indexStoreName(@NonNull String fieldName) {
+    return this.name + INDEX_STORE_SEPARATOR + fieldName;
+  }
+
+  protected @NonNull Store openIndexStore(@NonNull String fieldName, @NonNull Transaction txn) {
+    return this.environment.openStore(
+      this.indexStoreName(fieldName),
+      StoreConfig.WITH_DUPLICATES_WITH_PREFIXING,
+      txn);
+  }
+
   protected @NonNull Store store() {
     return this.store.get();
   }
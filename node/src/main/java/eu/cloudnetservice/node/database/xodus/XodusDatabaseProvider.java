@@ -19,9 +19,11 @@
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.node.database.LocalDatabase;
 import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import eu.cloudnetservice.node.database.util.DocumentStorageFormat;
 import eu.cloudnetservice.node.database.util.LocalDatabaseUtil;
 import java.io.File;
 import java.util.Collection;
+import jetbrains.exodus.bindings.StringBinding;
 import jetbrains.exodus.env.Environment;
 import jetbrains.exodus.env.EnvironmentConfig;
 import jetbrains.exodus.env.Environments;
@@ -30,18 +32,31 @@
 
 public class XodusDatabaseProvider extends NodeDatabaseProvider {
 
+  protected static final String STORAGE_FORMAT_STORE = "cloudnet#storage_format";
+  protected static final String STORAGE_FORMAT_KEY = "format";
+
   protected final boolean runsInCluster;
   protected final File databaseDirectory;
+  protected final DocumentStorageFormat storageFormat;
 
   protected final EnvironmentConfig environmentConfig;
 
   protected Environment environment;
 
   public XodusDatabaseProvider(@NonNull File databaseDirectory, boolean runsInCluster) {
+    this(databaseDirectory, runsInCluster, DocumentStorageFormat.configured());
+  }
+
+  public XodusDatabaseProvider(
+    @NonNull File databaseDirectory,
+    boolean runsInCluster,
+    @NonNull DocumentStorageFormat storageFormat
+  ) {
     super(DEFAULT_REMOVAL_LISTENER);
 
     this.runsInCluster = runsInCluster;
     this.databaseDirectory = databaseDirectory;
+    this.storageFormat = storageFormat;
 
     this.environmentConfig = new EnvironmentConfig()
       .setLogCacheShared(true)
@@ -57,6 +72,7 @@ public boolean init() {
     }
 
     this.environment = Environments.newInstance(this.databaseDirectory, this.environmentConfig);
+    this.migrateStorageFormat();
     return true;
   }
 
@@ -64,7 +80,7 @@ public boolean init() {
   public @NonNull LocalDatabase database(@NonNull String name) {
     return this.databaseCache.get(name, $ -> this.environment.computeInTransaction(txn -> {
       var store = this.environment.openStore(name, StoreConfig.WITHOUT_DUPLICATES_WITH_PREFIXING, txn);
-      return new XodusDatabase(name, store, this);
+      return new XodusDatabase(name, store, this, txn);
     }));
   }
 
@@ -76,14 +92,52 @@ public boolean containsDatabase(@NonNull String name) {
   @Override
   public boolean deleteDatabase(@NonNull String name) {
     this.databaseCache.invalidate(name);
-    this.environment.executeInTransaction(txn -> this.environment.removeStore(name, txn));
+    this.environment.executeInTransaction(txn -> {
+      this.environment.removeStore(name, txn);
+
+      // remove the index stores that belong to the database
+      for (var storeName : this.environment.getAllStoreNames(txn)) {
+        if (storeName.startsWith(name + XodusDatabase.INDEX_STORE_SEPARATOR)
+          || storeName.equals(name + XodusDatabase.INDEX_DECLARATION_STORE_SUFFIX)) {
+          this.environment.removeStore(storeName, txn);
+        }
+      }
+    });
 
     return true;
   }
 
   @Override
   public @NonNull Collection<String> databaseNames() {
-    return this.environment.computeInReadonlyTransaction(txn -> this.environment.getAllStoreNames(txn));
+    return this.environment.computeInReadonlyTransaction(txn -> this.environment.getAllStoreNames(txn).stream()
+      .filter(storeName -> !XodusDatabase.internalStore(storeName))
+      .toList());
+  }
+
+  protected void migrateStorageFormat() {
+    var formatName = this.storageFormat.name();
+    var storedFormatName = this.environment.computeInReadonlyTransaction(txn -> {
+      if (!this.environment.storeExists(STORAGE_FORMAT_STORE, txn)) {
+        return null;
+      }
+
+      var store = this.environment.openStore(STORAGE_FORMAT_STORE, StoreConfig.WITHOUT_DUPLICATES, txn);
+      var entry = store.get(txn, StringBinding.stringToEntry(STORAGE_FORMAT_KEY));
+      return entry == null ? null : StringBinding.entryToString(entry);
+    });
+
+    // rewrite all documents that are not yet stored in the configured format
+    if (!formatName.equals(storedFormatName)) {
+      for (var databaseName : this.databaseNames()) {
+        var database = (XodusDatabase) this.database(databaseName);
+        database.migrateStorageFormat();
+      }
+
+      this.environment.executeInExclusiveTransaction(txn -> {
+        var store = this.environment.openStore(STORAGE_FORMAT_STORE, StoreConfig.WITHOUT_DUPLICATES, txn);
+        store.put(txn, StringBinding.stringToEntry(STORAGE_FORMAT_KEY), StringBinding.stringToEntry(formatName));
+      });
+    }
   }
 
   @Override
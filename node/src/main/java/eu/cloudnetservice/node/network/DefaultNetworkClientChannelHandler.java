@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.def.PacketChannelCompressionListener;
 import eu.cloudnetservice.driver.network.def.PacketClientAuthorization;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
@@ -68,12 +69,16 @@ public void handleChannelInitialize(@NonNull NetworkChannel channel) {
       channel.packetRegistry().addListener(
         NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
         PacketServerAuthorizationResponseListener.class);
+      channel.packetRegistry().addListener(
+        NetworkConstants.INTERNAL_COMPRESSION_CHANNEL,
+        new PacketChannelCompressionListener());
       // send the authentication request
       channel.sendPacket(new PacketClientAuthorization(
         PacketClientAuthorization.PacketAuthorizationType.NODE_TO_NODE,
         DataBuf.empty()
           .writeUniqueId(this.configuration.clusterConfig().clusterId())
-          .writeObject(this.configuration.identity())));
+          .writeObject(this.configuration.identity()),
+        true));
 
       LOGGER.debug(I18n.trans("client-network-channel-init",
         channel.serverAddress(),
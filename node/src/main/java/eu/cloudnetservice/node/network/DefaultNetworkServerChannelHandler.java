@@ -28,6 +28,7 @@
 import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.network.listener.PacketClientAuthorizationListener;
+import eu.cloudnetservice.node.provider.ChannelSubscriptionRegistry;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.util.NetworkUtil;
@@ -47,6 +48,7 @@ public final class DefaultNetworkServerChannelHandler implements NetworkChannelH
   private final Configuration configuration;
   private final NodeServerProvider nodeServerProvider;
   private final CloudServiceManager cloudServiceManager;
+  private final ChannelSubscriptionRegistry subscriptionRegistry;
 
   @Inject
   public DefaultNetworkServerChannelHandler(
@@ -54,13 +56,15 @@ public DefaultNetworkServerChannelHandler(
     @NonNull NodeNetworkUtil networkUtil,
     @NonNull Configuration configuration,
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull CloudServiceManager cloudServiceManager
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull ChannelSubscriptionRegistry subscriptionRegistry
   ) {
     this.eventManager = eventManager;
     this.networkUtil = networkUtil;
     this.configuration = configuration;
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceManager = cloudServiceManager;
+    this.subscriptionRegistry = subscriptionRegistry;
   }
 
   @Override
@@ -120,6 +124,7 @@ public void handleChannelClose(@NonNull NetworkChannel channel) {
   private void closeAsCloudService(@NonNull CloudService cloudService, @NonNull NetworkChannel channel) {
     // reset the service channel and connection time
     cloudService.networkChannel(null);
+    this.subscriptionRegistry.removeSubscriptions(channel);
 
     LOGGER.info(I18n.trans("cloudnet-service-networking-disconnected",
       cloudService.serviceId().uniqueId(),
@@ -21,7 +21,10 @@
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.def.PacketChannelCompression;
+import eu.cloudnetservice.driver.network.def.PacketChannelCompressionListener;
 import eu.cloudnetservice.driver.network.def.PacketClientAuthorization;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import eu.cloudnetservice.driver.service.ServiceId;
@@ -76,6 +79,8 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     // read the core data
     var type = packet.content().readObject(PacketClientAuthorization.PacketAuthorizationType.class);
     try (var content = packet.content().readDataBuf()) {
+      // older clients do not send the compression flag
+      var compressionSupported = packet.readable() && packet.content().readBoolean();
       // handle the authorization
       switch (type) {
         // NODE -> NODE
@@ -98,6 +103,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
                 // respond with an auth success
                 var data = this.dataSyncRegistry.prepareClusterData(true, DataSyncHandler::alwaysForceApply);
                 channel.sendPacket(new PacketServerAuthorizationResponse(true, true, data));
+                this.negotiateCompression(channel, compressionSupported);
                 channel.packetRegistry().addListener(
                   NetworkConstants.INTERNAL_SERVICE_SYNC_ACK_CHANNEL,
                   PacketClientServiceSyncAckListener.class);
@@ -108,6 +114,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
               } else {
                 // reply with a default auth success
                 channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+                this.negotiateCompression(channel, compressionSupported);
                 // set the state of the node for further handling
                 server.channel(channel);
                 server.state(NodeServerState.READY);
@@ -139,6 +146,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
             this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
             // successful auth
             channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+            this.negotiateCompression(channel, compressionSupported);
             // call the auth success event
             this.eventManager.callEvent(new NetworkServiceAuthSuccessEvent(service, channel));
             var serviceId = service.serviceId();
@@ -160,4 +168,15 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     channel.sendPacketSync(new PacketServerAuthorizationResponse(false, false, null));
     channel.close();
   }
+
+  private void negotiateCompression(@NonNull NetworkChannel channel, boolean compressionSupported) {
+    var threshold = NettyUtil.compressionThreshold();
+    if (compressionSupported && threshold >= 0) {
+      // the client acknowledges the compression using the same packet, enabling the inbound decompression
+      channel.packetRegistry().addListener(
+        NetworkConstants.INTERNAL_COMPRESSION_CHANNEL,
+        new PacketChannelCompressionListener());
+      channel.enableOutboundCompression(new PacketChannelCompression(threshold), threshold);
+    }
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.network.listener.message;
+
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.registry.ServiceRegistry;
+import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.database.NodeDatabaseProvider;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.NonNull;
+
+@Singleton
+public final class DatabaseChannelMessageListener {
+
+  private final ServiceRegistry serviceRegistry;
+
+  @Inject
+  public DatabaseChannelMessageListener(
+    @NonNull ServiceRegistry serviceRegistry,
+    @NonNull DataSyncRegistry dataSyncRegistry
+  ) {
+    this.serviceRegistry = serviceRegistry;
+
+    // the registrations are only sent to the nodes that are connected when a service opens a near-cached database,
+    // sync them to nodes that join the cluster later as their writes must publish invalidations as well
+    dataSyncRegistry.registerHandler(
+      DataSyncHandler.<String>builder()
+        .key("database_near_caches")
+        .alwaysForce()
+        .nameExtractor(Function.identity())
+        .convertObject(String.class)
+        .writer(this::registerNearCachedDatabase)
+        .dataCollector(this::nearCachedDatabases)
+        .currentGetter(name -> this.nearCachedDatabases().contains(name) ? name : null)
+        .build());
+  }
+
+  @EventListener
+  public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
+    if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      && event.message().equals("register_database_near_cache")) {
+      // register the near-cache in all providers, the provider in use might change (for example during a migration)
+      this.registerNearCachedDatabase(event.content().readString());
+
+      // acknowledge the registration, the wrapper only starts caching once all nodes publish invalidations
+      if (event.query()) {
+        event.binaryResponse(DataBuf.empty().writeBoolean(true));
+      }
+    }
+  }
+
+  private void registerNearCachedDatabase(@NonNull String databaseName) {
+    for (var provider : this.serviceRegistry.providers(NodeDatabaseProvider.class)) {
+      provider.registerNearCachedDatabase(databaseName);
+    }
+  }
+
+  private @NonNull Collection<String> nearCachedDatabases() {
+    Set<String> databaseNames = new HashSet<>();
+    for (var provider : this.serviceRegistry.providers(NodeDatabaseProvider.class)) {
+      databaseNames.addAll(provider.nearCachedDatabases());
+    }
+    return databaseNames;
+  }
+}
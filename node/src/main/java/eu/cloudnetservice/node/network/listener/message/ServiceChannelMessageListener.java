@@ -32,9 +32,13 @@
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.node.provider.ChannelSubscriptionRegistry;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.lang.reflect.Type;
+import java.util.Set;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,20 +47,24 @@
 public final class ServiceChannelMessageListener {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceChannelMessageListener.class);
+  private static final Type STRING_SET = TypeFactory.parameterizedClass(Set.class, String.class);
 
   private final EventManager eventManager;
   private final CloudServiceManager serviceManager;
   private final CloudServiceFactory cloudServiceFactory;
+  private final ChannelSubscriptionRegistry subscriptionRegistry;
 
   @Inject
   public ServiceChannelMessageListener(
     @NonNull EventManager eventManager,
     @NonNull CloudServiceManager serviceManager,
-    @NonNull CloudServiceFactory cloudServiceFactory
+    @NonNull CloudServiceFactory cloudServiceFactory,
+    @NonNull ChannelSubscriptionRegistry subscriptionRegistry
   ) {
     this.eventManager = eventManager;
     this.serviceManager = serviceManager;
     this.cloudServiceFactory = cloudServiceFactory;
+    this.subscriptionRegistry = subscriptionRegistry;
   }
 
   @EventListener
@@ -121,6 +129,19 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
           this.eventManager.callEvent(new CloudServiceUpdateEvent(snapshot));
         }
 
+        // versioned update of a service, either the full snapshot or the changes since the previous version
+        // the update events are called by the service manager, in the order of the versions
+        case "update_service_info_delta" -> this.serviceManager.handleServiceUpdateDelta(
+          event.content(),
+          event.sender(),
+          event.networkChannel());
+
+        // a component missed an update of a local service and requests the full snapshot
+        case "request_full_service_info" -> {
+          var serviceUniqueId = event.content().readUniqueId();
+          this.serviceManager.handleServiceResyncRequest(serviceUniqueId);
+        }
+
         // update of a service lifecycle in the network
         case "update_service_lifecycle" -> {
           var lifeCycle = event.content().readObject(ServiceLifeCycle.class);
@@ -130,6 +151,13 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
           this.eventManager.callEvent(new CloudServiceLifecycleChangeEvent(lifeCycle, snapshot));
         }
 
+        // a local service changed the channels of the channel messages it is handling
+        case "update_channel_subscriptions" -> {
+          var sequence = event.content().readLong();
+          Set<String> channels = event.content().readNullable(buf -> buf.readObject(STRING_SET));
+          this.subscriptionRegistry.updateSubscriptions(event.networkChannel(), sequence, channels);
+        }
+
         // call the event for a new line in the log of the service
         case "screen_new_line" -> {
           var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
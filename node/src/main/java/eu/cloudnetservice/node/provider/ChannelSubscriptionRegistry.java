@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.provider;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of the channel message channels the services connected to this node are interested in, allowing the node
+ * to skip sending broadcast channel messages to services which are not handling them. Services which didn't advertise
+ * their subscribed channels (or are handling all channels) are always receiving all channel messages.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class ChannelSubscriptionRegistry {
+
+  // the last subscriptions advertised by each service, services might restrict the channels they are interested in
+  private final Map<NetworkChannel, Subscriptions> subscriptions = new ConcurrentHashMap<>();
+  // the index of the subscribed services of each channel
+  private final Map<String, Set<NetworkChannel>> subscribers = new ConcurrentHashMap<>();
+  // the amount of deliveries and pruned deliveries of broadcast messages per channel
+  private final Map<String, DeliveryCounter> deliveries = new ConcurrentHashMap<>();
+
+  /**
+   * Sets the channels the service connected via the given network channel is interested in. If the given channels are
+   * null the service is assumed to be interested in all channels. The updates of a service might be handled out of
+   * order, therefore updates with a sequence number that is not higher than the one of the applied update are ignored.
+   *
+   * @param networkChannel the network channel of the service which advertised its subscribed channels.
+   * @param sequence       the sequence number of the update, increasing with each update sent by the service.
+   * @param channels       the subscribed channels of the service, null if the service handles all channels.
+   * @return true if the subscriptions were updated, false if the update is older than the applied one.
+   * @throws NullPointerException if the given network channel is null.
+   */
+  public boolean updateSubscriptions(
+    @NonNull NetworkChannel networkChannel,
+    long sequence,
+    @Nullable Set<String> channels
+  ) {
+    var updated = new boolean[1];
+    this.subscriptions.compute(networkChannel, (_, previous) -> {
+      if (previous != null) {
+        if (previous.sequence() >= sequence) {
+          return previous;
+        }
+
+        if (previous.channels() != null) {
+          previous.channels().forEach(channel -> this.removeSubscriber(channel, networkChannel));
+        }
+      }
+
+      updated[0] = true;
+      if (channels == null) {
+        return new Subscriptions(sequence, null);
+      }
+
+      var subscribedChannels = Set.copyOf(channels);
+      for (var channel : subscribedChannels) {
+        this.subscribers.computeIfAbsent(channel, _ -> ConcurrentHashMap.newKeySet()).add(networkChannel);
+      }
+      return new Subscriptions(sequence, subscribedChannels);
+    });
+    return updated[0];
+  }
+
+  /**
+   * Removes the subscriptions of the service connected via the given network channel, for example because the channel
+   * was closed.
+   *
+   * @param networkChannel the network channel of the service to remove the subscriptions of.
+   * @throws NullPointerException if the given network channel is null.
+   */
+  public void removeSubscriptions(@NonNull NetworkChannel networkChannel) {
+    var previous = this.subscriptions.remove(networkChannel);
+    if (previous != null && previous.channels() != null) {
+      previous.channels().forEach(channel -> this.removeSubscriber(channel, networkChannel));
+    }
+  }
+
+  /**
+   * Get if the given network channel should receive channel messages sent to the given channel. Internal channel
+   * messages as well as components which didn't advertise their subscriptions are always receiving all messages.
+   *
+   * @param networkChannel the network channel to check.
+   * @param channel        the channel of the channel message.
+   * @return true if the given network channel should receive messages of the given channel, false otherwise.
+   * @throws NullPointerException if the given network channel or channel is null.
+   */
+  public boolean subscribed(@NonNull NetworkChannel networkChannel, @NonNull String channel) {
+    if (channel.equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
+      return true;
+    }
+
+    var serviceSubscriptions = this.subscriptions.get(networkChannel);
+    if (serviceSubscriptions == null || serviceSubscriptions.channels() == null) {
+      return true;
+    }
+
+    var channelSubscribers = this.subscribers.get(channel);
+    return channelSubscribers != null && channelSubscribers.contains(networkChannel);
+  }
+
+  /**
+   * Removes all network channels from the given broadcast recipients which are not subscribed to the given channel and
+   * records the amount of delivered and pruned recipients for the channel.
+   *
+   * @param recipients the recipients of a broadcast channel message.
+   * @param channel    the channel of the channel message.
+   * @return the recipients which are subscribed to the given channel.
+   * @throws NullPointerException if the given recipients or channel is null.
+   */
+  public @NonNull Collection<NetworkChannel> pruneRecipients(
+    @NonNull Collection<NetworkChannel> recipients,
+    @NonNull String channel
+  ) {
+    // internal messages are never pruned, no need to record them
+    if (channel.equals(NetworkConstants.INTERNAL_MSG_CHANNEL) || recipients.isEmpty()) {
+      return recipients;
+    }
+
+    Collection<NetworkChannel> subscribedRecipients = new ArrayList<>(recipients.size());
+    for (var recipient : recipients) {
+      if (this.subscribed(recipient, channel)) {
+        subscribedRecipients.add(recipient);
+      }
+    }
+
+    var counter = this.deliveries.computeIfAbsent(channel, _ -> new DeliveryCounter());
+    counter.delivered.add(subscribedRecipients.size());
+    counter.pruned.add(recipients.size() - subscribedRecipients.size());
+    return subscribedRecipients;
+  }
+
+  /**
+   * Get the delivery statistics of all channels broadcast messages were sent to, sorted by channel name.
+   *
+   * @return the delivery statistics of all channels broadcast messages were sent to.
+   */
+  public @NonNull Collection<ChannelStatistics> statistics() {
+    return this.deliveries.entrySet().stream()
+      .map(entry -> {
+        var channelSubscribers = this.subscribers.get(entry.getKey());
+        return new ChannelStatistics(
+          entry.getKey(),
+          channelSubscribers == null ? 0 : channelSubscribers.size(),
+          entry.getValue().delivered.sum(),
+          entry.getValue().pruned.sum());
+      })
+      .sorted(Comparator.comparing(ChannelStatistics::channel))
+      .toList();
+  }
+
+  private void removeSubscriber(@NonNull String channel, @NonNull NetworkChannel networkChannel) {
+    this.subscribers.computeIfPresent(channel, (_, channelSubscribers) -> {
+      channelSubscribers.remove(networkChannel);
+      return channelSubscribers.isEmpty() ? null : channelSubscribers;
+    });
+  }
+
+  /**
+   * The delivery statistics of broadcast channel messages sent to a channel.
+   *
+   * @param channel     the name of the channel.
+   * @param subscribers the amount of services explicitly subscribed to the channel.
+   * @param delivered   the amount of broadcast messages that were delivered to a recipient.
+   * @param pruned      the amount of broadcast messages that were not sent to a recipient as it isn't subscribed.
+   * @since 4.0
+   */
+  public record ChannelStatistics(@NonNull String channel, int subscribers, long delivered, long pruned) {
+
+    /**
+     * Get the ratio of pruned deliveries to all deliveries of broadcast messages sent to the channel.
+     *
+     * @return the ratio of pruned deliveries, between 0 and 1.
+     */
+    public double pruneRatio() {
+      var total = this.delivered + this.pruned;
+      return total == 0 ? 0 : (double) this.pruned / total;
+    }
+  }
+
+  /**
+   * The subscriptions advertised by a service.
+   *
+   * @param sequence the sequence number of the update which advertised the subscriptions.
+   * @param channels the subscribed channels, null if the service handles all channels.
+   */
+  private record Subscriptions(long sequence, @Nullable Set<String> channels) {
+
+  }
+
+  /**
+   * The mutable counters of the deliveries to a channel.
+   */
+  private static final class DeliveryCounter {
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder pruned = new LongAdder();
+  }
+}
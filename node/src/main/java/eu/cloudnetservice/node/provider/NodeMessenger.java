@@ -23,7 +23,9 @@
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
+import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
 import eu.cloudnetservice.driver.provider.defaults.DefaultMessenger;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
@@ -35,13 +37,18 @@
 import jakarta.inject.Singleton;
 import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 
@@ -53,14 +60,17 @@ public class NodeMessenger extends DefaultMessenger implements CloudMessenger {
 
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceManager cloudServiceManager;
+  protected final ChannelSubscriptionRegistry subscriptionRegistry;
 
   @Inject
   public NodeMessenger(
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull CloudServiceManager cloudServiceManager
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull ChannelSubscriptionRegistry subscriptionRegistry
   ) {
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceManager = cloudServiceManager;
+    this.subscriptionRegistry = subscriptionRegistry;
   }
 
   @Override
@@ -82,24 +92,29 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
 
   public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClusterRedirect) {
     // find the target channels to send the message to
-    var channels = this.findChannels(message.targets(), allowClusterRedirect);
-    for (var channel : channels) {
-      // acquire the message content for each channel we're sending the message to
-      // when writing the message content to the target buffer, the message is released
-      // that means when the message was written to all channels it's released unless someone acquired it before
-      message.content().acquire();
+    var channels = this.findChannels(message.targets(), message.channel(), allowClusterRedirect);
+    if (channels.isEmpty()) {
+      // no target channels found, release the message now
+      message.content().release();
+      return;
+    }
 
-      // construct and send the packet
-      var packet = new PacketServerChannelMessage(message, false);
-      if (message.sendSync()) {
-        channel.sendPacketSync(packet);
-      } else {
-        channel.sendPacket(packet);
+    // encode the message only once, each channel gets a packet with a view of the encoded message
+    var encodedMessage = PacketServerChannelMessage.encodeMessage(message, false);
+    if (message.sendSync()) {
+      for (var channel : channels) {
+        var content = DataBufFactory.defaultFactory().sharedCopyOf(encodedMessage);
+        channel.sendPacketSync(new PacketServerChannelMessage(message.prioritized(), content));
       }
+    } else {
+      this.sendPacketBatched(channels, () -> {
+        var content = DataBufFactory.defaultFactory().sharedCopyOf(encodedMessage);
+        return new PacketServerChannelMessage(message.prioritized(), content);
+      });
     }
 
-    // release the message now
-    message.content().release();
+    // release the encoded message, the shared memory is released once all packets were written
+    encodedMessage.release();
   }
 
   public @NonNull CompletableFuture<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
@@ -107,7 +122,7 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
     boolean allowClusterRedirect
   ) {
     // find the target channels to send the message to
-    var channels = this.findChannels(message.targets(), allowClusterRedirect);
+    var channels = this.findChannels(message.targets(), message.channel(), allowClusterRedirect);
     if (channels.isEmpty()) {
       // no target channels found, release the message now
       message.content().release();
@@ -117,14 +132,12 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       Set<ChannelMessage> result = new HashSet<>();
       var task = new CountingTask<Collection<ChannelMessage>>(result, channels.size());
 
-      // send the packet to each channel
+      // encode the message only once and send a packet with a view of the encoded message to each channel
+      var encodedMessage = PacketServerChannelMessage.encodeMessage(message, false);
       for (var channel : channels) {
-        // acquire the message content for each channel we're sending the message to
-        // when writing the message content to the target buffer, the message is released
-        // that means when the message was written to all channels it's released unless someone acquired it before
-        message.content().acquire();
-
-        channel.sendQueryAsync(new PacketServerChannelMessage(message, false)).whenComplete((packet, th) -> {
+        var content = DataBufFactory.defaultFactory().sharedCopyOf(encodedMessage);
+        var query = new PacketServerChannelMessage(message.prioritized(), content);
+        channel.sendQueryAsync(query).whenComplete((packet, th) -> {
           // check if we got an actual result from the request
           if (th == null && packet.readable()) {
             // add all resulting messages we got
@@ -136,30 +149,72 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
         });
       }
 
-      // release the message now
-      message.content().release();
+      // release the encoded message, the shared memory is released once all packets were written
+      encodedMessage.release();
 
       // return the task on which the user can wait
       return task;
     }
   }
 
+  protected void sendPacketBatched(
+    @NonNull Collection<NetworkChannel> channels,
+    @NonNull Supplier<Packet> packetFactory
+  ) {
+    // group the channels by the event loop performing their writes. each event loop writes the packets to all of its
+    // channels in one task and flushes each channel once afterwards, rather than running a write task per channel
+    Map<Executor, List<Map.Entry<NetworkChannel, Packet>>> writesByExecutor = new HashMap<>();
+    for (var channel : channels) {
+      var packet = packetFactory.get();
+      var executor = channel.writeExecutor();
+      if (executor == null) {
+        channel.sendPacket(packet);
+      } else {
+        writesByExecutor.computeIfAbsent(executor, _ -> new ArrayList<>()).add(Map.entry(channel, packet));
+      }
+    }
+
+    writesByExecutor.forEach((executor, writes) -> executor.execute(() -> {
+      for (var write : writes) {
+        write.getKey().writePacket(write.getValue());
+      }
+      for (var write : writes) {
+        write.getKey().flush();
+      }
+    }));
+  }
+
   protected @NonNull Collection<NetworkChannel> findChannels(
     @NonNull Collection<ChannelMessageTarget> targets,
+    @NonNull String channel,
     boolean allowClusterRedirect
   ) {
     // check if there is only one channel
     if (targets.size() == 1) {
       // get the target - we can suppress the nullable warning because we expect the collection to not contain null values
-      return this.findTargetChannels(Iterables.getOnlyElement(targets), allowClusterRedirect);
+      return this.findSubscribedChannels(Iterables.getOnlyElement(targets), channel, allowClusterRedirect);
     } else {
       // filter all the channels for the targets
       return targets.stream()
-        .flatMap(target -> this.findTargetChannels(target, allowClusterRedirect).stream())
+        .flatMap(target -> this.findSubscribedChannels(target, channel, allowClusterRedirect).stream())
         .collect(Collectors.toSet());
     }
   }
 
+  protected @NonNull Collection<NetworkChannel> findSubscribedChannels(
+    @NonNull ChannelMessageTarget target,
+    @NonNull String channel,
+    boolean allowClusterRedirect
+  ) {
+    var channels = this.findTargetChannels(target, allowClusterRedirect);
+    // broadcasts are only sent to the services handling the channel, explicitly targeted services receive all messages
+    return switch (target.type()) {
+      case ALL, TASK, GROUP, ENVIRONMENT -> this.subscriptionRegistry.pruneRecipients(channels, channel);
+      case SERVICE -> target.name() == null ? this.subscriptionRegistry.pruneRecipients(channels, channel) : channels;
+      default -> channels;
+    };
+  }
+
   protected @NonNull Collection<NetworkChannel> findTargetChannels(
     @NonNull ChannelMessageTarget target,
     boolean allowClusterRedirect
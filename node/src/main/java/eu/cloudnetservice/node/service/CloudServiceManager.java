@@ -16,7 +16,9 @@
 
 package eu.cloudnetservice.node.service;
 
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
 import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
@@ -110,6 +112,18 @@ void addServicePreparer(
   @ApiStatus.Internal
   void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable NetworkChannel source);
 
+  @ApiStatus.Internal
+  void handleServiceUpdateDelta(
+    @NonNull DataBuf content,
+    @NonNull ChannelMessageSender sender,
+    @NonNull NetworkChannel source);
+
+  @ApiStatus.Internal
+  void publishServiceUpdate(@NonNull ServiceInfoSnapshot snapshot);
+
+  @ApiStatus.Internal
+  void handleServiceResyncRequest(@NonNull UUID uniqueId);
+
   @ApiStatus.Internal
   @NonNull CloudService createLocalCloudService(@NonNull ServiceConfiguration serviceConfiguration);
 
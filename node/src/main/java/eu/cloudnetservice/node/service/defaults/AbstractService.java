@@ -44,6 +44,7 @@
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
 import eu.cloudnetservice.driver.service.ServiceTask;
 import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.service.CloudServiceCreateEvent;
@@ -58,7 +59,10 @@
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
+import eu.cloudnetservice.node.template.TemplateDeployManifest;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
+import io.leangen.geantyref.TypeFactory;
+import java.lang.reflect.Type;
 import java.net.Inet6Address;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -76,6 +80,7 @@
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import kong.unirest.core.Unirest;
 import kong.unirest.core.UnirestException;
@@ -92,6 +97,9 @@ public abstract class AbstractService implements CloudService {
   protected static final Path WRAPPER_CONFIG_PATH = Path.of(".wrapper", "wrapper.json");
   protected static final BiPredicate<String, Pattern> FILE_MATCHER_PREDICATE =
     (fileName, pattern) -> pattern.matcher(fileName).matches();
+  protected static final Type THREAD_SNAPSHOTS_TYPE = TypeFactory.parameterizedClass(
+    Collection.class,
+    ThreadSnapshot.class);
 
   protected final String connectionKey;
   protected final Path pluginDirectory;
@@ -202,6 +210,22 @@ public boolean valid() {
     }
   }
 
+  @Override
+  public @NonNull Collection<ThreadSnapshot> threadSnapshots() {
+    // check if the service is able to serve the request
+    if (this.networkChannel != null) {
+      var response = ChannelMessage.builder()
+        .targetService(this.serviceId().name())
+        .message("request_thread_snapshots")
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .build()
+        .sendSingleQuery();
+      return response == null ? List.of() : response.content().readObject(THREAD_SNAPSHOTS_TYPE);
+    } else {
+      return List.of();
+    }
+  }
+
   @Override
   public void addServiceTemplate(@NonNull ServiceTemplate serviceTemplate) {
     this.waitingTemplates.add(serviceTemplate);
@@ -521,13 +545,7 @@ public void networkChannel(@Nullable NetworkChannel channel) {
 
   @Override
   public void publishServiceInfoSnapshot() {
-    ChannelMessage.builder()
-      .targetAll()
-      .message("update_service_info")
-      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(DataBuf.empty().writeObject(this.currentServiceInfo))
-      .build()
-      .send();
+    this.cloudServiceManager.publishServiceUpdate(this.currentServiceInfo);
   }
 
   @Override
@@ -568,8 +586,20 @@ protected void executeDeployment(@NonNull ServiceDeployment deployment) {
     // check if we should execute the deployment
     var storage = deployment.template().storage();
     if (!this.eventManager.callEvent(new CloudServiceDeploymentEvent(this, storage, deployment)).cancelled()) {
-      // execute the deployment
-      storage.deployDirectory(deployment.template(), this.serviceDirectory, path -> {
+      // only deploy files which changed since the last deployment into the template, if the template no longer exists
+      // in the storage all files need to be deployed again
+      var template = deployment.template();
+      var manifestFile = this.serviceDirectory
+        .resolve(TemplateDeployManifest.MANIFEST_DIRECTORY)
+        .resolve(template.storageName())
+        .resolve(template.prefix())
+        .resolve(template.name() + ".json");
+      var manifest = storage.contains(template)
+        ? TemplateDeployManifest.load(manifestFile)
+        : TemplateDeployManifest.empty(manifestFile);
+
+      // filter the files based on the includes and excludes of the deployment
+      Predicate<Path> deploymentFilter = path -> {
         // normalize the name of the path
         var fileName = this.relativizePath(path);
 
@@ -582,7 +612,30 @@ protected void executeDeployment(@NonNull ServiceDeployment deployment) {
         // check if the includes are empty or the file is included explicitly -> include the file
         var includes = deployment.includes();
         return includes.isEmpty() || includes.stream().anyMatch(input -> FILE_MATCHER_PREDICATE.test(fileName, input));
-      });
+      };
+
+      // execute the deployment
+      var deployed = storage.deployDirectory(
+        template,
+        this.serviceDirectory,
+        manifest.changedFilesFilter(this.serviceDirectory, deploymentFilter));
+
+      // save the manifest to skip the unchanged files during the next deployment
+      var statistics = manifest.statistics();
+      if (deployed) {
+        manifest.save();
+      }
+
+      LOGGER.info(I18n.trans(
+        "cloudnet-service-deployment-statistics",
+        this.serviceId().uniqueId(),
+        this.serviceId().taskName(),
+        this.serviceId().name(),
+        template,
+        statistics.transferredFiles(),
+        statistics.transferredBytes(),
+        statistics.skippedFiles(),
+        statistics.skippedBytes()));
       // we've executed the deployment
       this.installedDeployments.add(deployment);
     }
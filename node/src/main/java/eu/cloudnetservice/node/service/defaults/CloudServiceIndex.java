@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.service.ServiceId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Secondary indexes over the services known to a cloud service manager. Lookups by name, task, group and environment as
+ * well as the count of services in each of these categories are answered without iterating over all known services.
+ * <p>
+ * Each index key is updated atomically, but the indexes are not updated atomically in relation to each other. Callers
+ * must therefore expect that an id resolved by this index is no longer (or not yet) registered in the backing store.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class CloudServiceIndex {
+
+  private final Map<UUID, IndexedService> indexedServices = new ConcurrentHashMap<>();
+
+  private final Map<String, UUID> servicesByName = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> servicesByTask = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> servicesByGroup = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> servicesByEnvironment = new ConcurrentHashMap<>();
+  private final Set<UUID> localServices = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Indexes the service with the given id and configured groups. If the service is already indexed, only the index
+   * entries that changed compared to the previous call are updated.
+   *
+   * @param serviceId the id of the service to index.
+   * @param groups    the groups that are configured for the service.
+   * @param local     if the service is running on the current node.
+   * @throws NullPointerException if the given service id or group collection is null.
+   */
+  public void index(@NonNull ServiceId serviceId, @NonNull Collection<String> groups, boolean local) {
+    var uniqueId = serviceId.uniqueId();
+    var service = new IndexedService(
+      serviceId.name(),
+      serviceId.taskName(),
+      serviceId.environmentName(),
+      Set.copyOf(groups),
+      local);
+
+    var previous = this.indexedServices.put(uniqueId, service);
+    if (service.equals(previous)) {
+      // nothing changed, no need to touch the indexes
+      return;
+    }
+
+    // remove the stale entries of the previous registration, then add the new ones
+    if (previous != null) {
+      this.removeEntries(uniqueId, previous);
+    }
+
+    this.servicesByName.put(service.name(), uniqueId);
+    addToIndex(this.servicesByTask, service.taskName(), uniqueId);
+    addToIndex(this.servicesByEnvironment, service.environmentName(), uniqueId);
+    for (var group : service.groups()) {
+      addToIndex(this.servicesByGroup, group, uniqueId);
+    }
+
+    if (local) {
+      this.localServices.add(uniqueId);
+    }
+  }
+
+  /**
+   * Removes the service with the given unique id from all indexes. This method does nothing if the service is not
+   * indexed.
+   *
+   * @param uniqueId the unique id of the service to remove.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public void remove(@NonNull UUID uniqueId) {
+    var previous = this.indexedServices.remove(uniqueId);
+    if (previous != null) {
+      this.removeEntries(uniqueId, previous);
+    }
+  }
+
+  /**
+   * Get the unique id of the service with the given name.
+   *
+   * @param name the name of the service to get the unique id of.
+   * @return the unique id of the service with the given name, null if no such service is indexed.
+   * @throws NullPointerException if the given name is null.
+   */
+  public @Nullable UUID serviceByName(@NonNull String name) {
+    return this.servicesByName.get(name);
+  }
+
+  /**
+   * Get the unique ids of all services that were created based on the given task.
+   *
+   * @param taskName the name of the task to get the services of.
+   * @return the unique ids of all services of the given task.
+   * @throws NullPointerException if the given task name is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> servicesByTask(@NonNull String taskName) {
+    return lookup(this.servicesByTask, taskName);
+  }
+
+  /**
+   * Get the unique ids of all services that have the given group configured.
+   *
+   * @param group the name of the group to get the services of.
+   * @return the unique ids of all services that have the given group.
+   * @throws NullPointerException if the given group name is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> servicesByGroup(@NonNull String group) {
+    return lookup(this.servicesByGroup, group);
+  }
+
+  /**
+   * Get the unique ids of all services that are using the given environment.
+   *
+   * @param environment the name of the environment to get the services of.
+   * @return the unique ids of all services that are using the given environment.
+   * @throws NullPointerException if the given environment name is null.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> servicesByEnvironment(@NonNull String environment) {
+    return lookup(this.servicesByEnvironment, environment);
+  }
+
+  /**
+   * Get the unique ids of all services that are running on the current node.
+   *
+   * @return the unique ids of all local services.
+   */
+  public @UnmodifiableView @NonNull Set<UUID> localServices() {
+    return Collections.unmodifiableSet(this.localServices);
+  }
+
+  /**
+   * Get the amount of services that were created based on the given task.
+   *
+   * @param taskName the name of the task to count the services of.
+   * @return the amount of services of the given task.
+   * @throws NullPointerException if the given task name is null.
+   */
+  public int serviceCountByTask(@NonNull String taskName) {
+    return this.servicesByTask(taskName).size();
+  }
+
+  /**
+   * Get the amount of services that have the given group configured.
+   *
+   * @param group the name of the group to count the services of.
+   * @return the amount of services that have the given group.
+   * @throws NullPointerException if the given group name is null.
+   */
+  public int serviceCountByGroup(@NonNull String group) {
+    return this.servicesByGroup(group).size();
+  }
+
+  private void removeEntries(@NonNull UUID uniqueId, @NonNull IndexedService service) {
+    this.servicesByName.remove(service.name(), uniqueId);
+    removeFromIndex(this.servicesByTask, service.taskName(), uniqueId);
+    removeFromIndex(this.servicesByEnvironment, service.environmentName(), uniqueId);
+    for (var group : service.groups()) {
+      removeFromIndex(this.servicesByGroup, group, uniqueId);
+    }
+
+    if (service.local()) {
+      this.localServices.remove(uniqueId);
+    }
+  }
+
+  private static @NonNull Set<UUID> lookup(@NonNull Map<String, Set<UUID>> index, @NonNull String key) {
+    var entries = index.get(key);
+    return entries == null ? Set.of() : Collections.unmodifiableSet(entries);
+  }
+
+  private static void addToIndex(@NonNull Map<String, Set<UUID>> index, @NonNull String key, @NonNull UUID id) {
+    // the modification must happen in the compute call to not race with the removal of the (then empty) set
+    index.compute(key, (_, entries) -> {
+      var target = entries == null ? ConcurrentHashMap.<UUID>newKeySet() : entries;
+      target.add(id);
+      return target;
+    });
+  }
+
+  private static void removeFromIndex(@NonNull Map<String, Set<UUID>> index, @NonNull String key, @NonNull UUID id) {
+    index.computeIfPresent(key, (_, entries) -> {
+      entries.remove(id);
+      return entries.isEmpty() ? null : entries;
+    });
+  }
+
+  private record IndexedService(
+    @NonNull String name,
+    @NonNull String taskName,
+    @NonNull String environmentName,
+    @NonNull Set<String> groups,
+    boolean local
+  ) {
+
+  }
+}
@@ -19,13 +19,21 @@
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.util.concurrent.Striped;
 import dev.derklaro.aerogel.PostConstruct;
 import dev.derklaro.aerogel.auto.Provides;
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.common.tuple.Tuple2;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCImplementationBuilder;
@@ -37,6 +45,7 @@
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshotDelta;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceTask;
 import eu.cloudnetservice.node.TickLoop;
@@ -44,6 +53,7 @@
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.event.service.CloudServicePostLifecycleEvent;
 import eu.cloudnetservice.node.event.service.CloudServicePreForceStopEvent;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
@@ -58,20 +68,24 @@
 import eu.cloudnetservice.node.service.defaults.factory.JVMLocalCloudServiceFactory;
 import eu.cloudnetservice.node.service.defaults.provider.EmptySpecificCloudServiceProvider;
 import eu.cloudnetservice.node.service.defaults.provider.RemoteNodeCloudServiceProvider;
+import eu.cloudnetservice.node.util.VersionedUpdateSequencer;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
@@ -93,6 +107,12 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   };
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CloudServiceManager.class);
+  private static final long RESYNC_REQUEST_TIMEOUT_MILLIS = Long.getLong(
+    "cloudnet.service.resync-request-timeout",
+    10_000);
+  private static final long UPDATE_REORDER_TIMEOUT_MILLIS = Long.getLong(
+    "cloudnet.service.update-reorder-timeout",
+    1_000);
 
   private static final ClassDesc CD_UUID = ClassDesc.of(UUID.class.getName());
   private static final ClassDesc CD_SPECIFIC_PROVIDER = ClassDesc.of(SpecificCloudServiceProvider.class.getName());
@@ -105,6 +125,25 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   protected final RPCImplementationBuilder.InstanceAllocator<? extends SpecificCloudServiceProvider> specificProviderAllocator;
 
   protected final Map<UUID, SpecificCloudServiceProvider> knownServices = new ConcurrentHashMap<>();
+  // the last snapshots received from and replicated to other components, used as the base for snapshot deltas
+  protected final Map<UUID, ReceivedSnapshot> receivedSnapshots = new ConcurrentHashMap<>();
+  protected final Map<UUID, VersionedSnapshot> replicatedSnapshots = new ConcurrentHashMap<>();
+  // the services for which a full snapshot was requested, mapped to the time the request was sent
+  protected final Map<UUID, Long> pendingResyncRequests = new ConcurrentHashMap<>();
+  // the services whose full snapshot must be replicated with the next update as another component requested it
+  protected final Set<UUID> pendingFullReplications = ConcurrentHashMap.newKeySet();
+  // ensures that the snapshot versions of a service are replicated in order, without sending while updating the map
+  protected final Striped<Lock> replicationLocks = Striped.lock(64);
+  // ensures that the received updates of a service are applied one after another, in the order of their versions
+  protected final Striped<Lock> sequencingLocks = Striped.lock(64);
+  protected final VersionedUpdateSequencer<UUID, ServiceUpdate> updateSequencer = new VersionedUpdateSequencer<>(
+    UPDATE_REORDER_TIMEOUT_MILLIS,
+    ServiceUpdate::retain,
+    update -> update.content().release(),
+    (uniqueId, update) -> this.requestFullSnapshot(uniqueId, update.sender()));
+  protected final CloudServiceIndex serviceIndex = new CloudServiceIndex();
+  protected final NodeResourceLedger resourceLedger;
+  protected final EventManager eventManager;
   protected final Cache<UUID, CloudService> localUnacceptedServices = Caffeine.newBuilder()
     .expireAfterWrite(Duration.ofMinutes(1))
     .build();
@@ -121,8 +160,11 @@ public DefaultCloudServiceManager(
     @NonNull RPCHandlerRegistry handlerRegistry,
     @NonNull NodeServerProvider nodeServerProvider,
     @NonNull CloudServiceFactory cloudServiceFactory,
+    @NonNull NodeResourceLedger resourceLedger,
     @NonNull @jakarta.inject.Named("consoleArgs") List<String> args
   ) {
+    this.resourceLedger = resourceLedger;
+    this.eventManager = eventManager;
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceFactory = cloudServiceFactory;
     this.defaultJvmOptions = Arrays.asList(args.remove(0).split(";;"));
@@ -185,6 +227,8 @@ public DefaultCloudServiceManager(
       }
       return null;
     }, TickLoop.TPS);
+    // keep track of the lifecycle of local services
+    eventManager.registerListener(this);
   }
 
   @PostConstruct
@@ -192,6 +236,15 @@ private void registerDefaultServiceFactory() {
     this.addCloudServiceFactory("jvm", JVMLocalCloudServiceFactory.class);
   }
 
+  @EventListener
+  public void handleLocalServiceLifecycleChange(@NonNull CloudServicePostLifecycleEvent event) {
+    // local services update their snapshot directly, keep the ledger in sync with their lifecycle
+    var serviceInfo = event.service().serviceInfo();
+    if (this.knownServices.containsKey(serviceInfo.serviceId().uniqueId())) {
+      this.resourceLedger.track(serviceInfo);
+    }
+  }
+
   @Override
   public @NonNull SpecificCloudServiceProvider serviceProvider(@NonNull UUID serviceUniqueId) {
     return this.knownServices.getOrDefault(serviceUniqueId, EmptySpecificCloudServiceProvider.INSTANCE);
@@ -199,13 +252,8 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @NonNull SpecificCloudServiceProvider serviceProviderByName(@NonNull String serviceName) {
-    return this.knownServices.values().stream()
-      .filter(provider -> {
-        var serviceInfo = provider.serviceInfo();
-        return serviceInfo != null && serviceInfo.serviceId().name().equals(serviceName);
-      })
-      .findFirst()
-      .orElse(EmptySpecificCloudServiceProvider.INSTANCE);
+    var serviceUniqueId = this.serviceIndex.serviceByName(serviceName);
+    return serviceUniqueId == null ? EmptySpecificCloudServiceProvider.INSTANCE : this.serviceProvider(serviceUniqueId);
   }
 
   @Override
@@ -227,29 +275,17 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByTask(@NonNull String taskName) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().taskName().equals(taskName))
-      .toList();
+    return this.resolveServices(this.serviceIndex.servicesByTask(taskName));
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByEnvironment(@NonNull String environment) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().environmentName().equals(environment))
-      .toList();
+    return this.resolveServices(this.serviceIndex.servicesByEnvironment(environment));
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByGroup(@NonNull String group) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.configuration().groups().contains(group))
-      .toList();
+    return this.resolveServices(this.serviceIndex.servicesByGroup(group));
   }
 
   @Override
@@ -259,12 +295,12 @@ public int serviceCount() {
 
   @Override
   public int serviceCountByGroup(@NonNull String group) {
-    return this.servicesByGroup(group).size();
+    return this.serviceIndex.serviceCountByGroup(group);
   }
 
   @Override
   public int serviceCountByTask(@NonNull String taskName) {
-    return this.servicesByTask(taskName).size();
+    return this.serviceIndex.serviceCountByTask(taskName);
   }
 
   @Override
@@ -366,7 +402,8 @@ public void deleteAllCloudServices() {
 
   @Override
   public @NonNull @UnmodifiableView Collection<CloudService> localCloudServices() {
-    return this.knownServices.values().stream()
+    return this.serviceIndex.localServices().stream()
+      .map(this.knownServices::get)
       .filter(provider -> provider instanceof CloudService) // -> CloudService => local service
       .map(provider -> (CloudService) provider)
       .toList();
@@ -423,46 +460,68 @@ public int currentReservedMemory() {
       return null;
     }
 
-    // find the best node server
-    return this.nodeServerProvider.nodeServers().stream()
+    // score all nodes which are able to pick up the service once, the scores are based on the resource ledger which is
+    // updated incrementally whenever a service is registered or updated. This way newly created services on other
+    // nodes are accounted for instantly, rather than us needing to wait for the updated node info to be sent by the
+    // associated node, which would lead to one node picking up a lot of services when many start requests come in
+    var allowedNodes = configuration.serviceId().allowedNodes();
+    var candidates = this.nodeServerProvider.nodeServers().stream()
       .filter(NodeServer::available)
       .filter(nodeServer -> !nodeServer.nodeInfoSnapshot().draining())
-      .filter(server -> {
-        var allowedNodes = configuration.serviceId().allowedNodes();
-        return allowedNodes.isEmpty() || allowedNodes.contains(server.info().uniqueId());
-      })
+      .filter(server -> allowedNodes.isEmpty() || allowedNodes.contains(server.info().uniqueId()))
+      .map(server -> new Tuple2<>(server, this.scoreNode(server)))
+      .toList();
+
+    var selected = candidates.stream()
       .min((left, right) -> {
-        // calculate the reserved memory amount based on the cached service information on this node
-        // this is the better way to do this, as newly created services on other nodes will get cached instantly, rather
-        // than us needing to wait for the updated node info to be sent by the associated node. In normal scenarios
-        // that is not a big problem, however when many start requests are coming in, that can lead to one node picking
-        // up a lot of services until (only a few ms later) the updated snapshot is present.
-        var leftReservedMemory = this.calculateReservedMemoryPercentage(left);
-        var rightReservedMemory = this.calculateReservedMemoryPercentage(right);
-
-        // we elevate the used heap memory percentage over the cpu usage, as it's varying much more
-        var chain = ComparisonChain.start().compare(leftReservedMemory, rightReservedMemory);
+        var leftScore = left.second();
+        var rightScore = right.second();
+
+        // we elevate the reserved heap memory percentage over the cpu usage, as it's varying much more. Services that
+        // are about to start are preferred over the cpu usage as well, as the cpu usage does not reflect them yet
+        var chain = ComparisonChain.start()
+          .compare(leftScore.reservedMemoryPercentage(), rightScore.reservedMemoryPercentage())
+          .compare(leftScore.pendingStarts(), rightScore.pendingStarts());
         // only include the cpu usage if both nodes can provide a value
-        if (left.nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0
-          && right.nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0) {
-          // add the system usage to the chain
-          chain = chain.compare(
-            left.nodeInfoSnapshot().processSnapshot().systemCpuUsage(),
-            right.nodeInfoSnapshot().processSnapshot().systemCpuUsage());
+        if (leftScore.systemCpuUsage() >= 0 && rightScore.systemCpuUsage() >= 0) {
+          chain = chain.compare(leftScore.systemCpuUsage(), rightScore.systemCpuUsage());
         }
         // use the result of the comparison
         return chain.result();
-      }).orElse(null);
+      })
+      .map(Tuple2::first)
+      .orElse(null);
+
+    // record the decision to make it possible to debug why a node was selected
+    var placement = new NodeResourceLedger.Placement(
+      configuration.serviceId().name(),
+      selected == null ? null : selected.info().uniqueId(),
+      candidates.stream().map(Tuple2::second).toList(),
+      Instant.now());
+    this.resourceLedger.recordPlacement(placement);
+    LOGGER.debug("Selected node for service {}: {}", configuration.serviceId().name(), placement);
+
+    return selected;
   }
 
   @Override
   public void registerLocalService(@NonNull CloudService service) {
-    this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service);
+    // index the service while registering it, a concurrent removal can otherwise leave a stale index entry behind
+    var registered = new boolean[1];
+    this.knownServices.computeIfAbsent(service.serviceId().uniqueId(), _ -> {
+      this.serviceIndex.index(service.serviceId(), service.serviceConfiguration().groups(), true);
+      registered[0] = true;
+      return service;
+    });
+
+    if (registered[0]) {
+      this.resourceLedger.track(service.serviceInfo());
+    }
   }
 
   @Override
   public void unregisterLocalService(@NonNull CloudService service) {
-    this.knownServices.remove(service.serviceId().uniqueId());
+    this.forceRemoveRegisteredService(service.serviceId().uniqueId());
   }
 
   @Override
@@ -479,7 +538,17 @@ public void registerUnacceptedService(@NonNull CloudService service) {
 
   @Override
   public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
-    this.knownServices.remove(uniqueId);
+    this.knownServices.compute(uniqueId, (_, _) -> {
+      this.serviceIndex.remove(uniqueId);
+      return null;
+    });
+    this.resourceLedger.untrack(uniqueId);
+
+    this.receivedSnapshots.remove(uniqueId);
+    this.replicatedSnapshots.remove(uniqueId);
+    this.pendingResyncRequests.remove(uniqueId);
+    this.pendingFullReplications.remove(uniqueId);
+    this.updateSequencer.remove(uniqueId);
   }
 
   @Override
@@ -502,15 +571,25 @@ public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
       .allocate();
 
     // register the service and return the new provider, unless some other thread registered the service
-    var knownProvider = this.knownServices.putIfAbsent(serviceUniqueId, serviceProvider);
-    return knownProvider == null ? serviceProvider : null;
+    var registered = new boolean[1];
+    this.knownServices.computeIfAbsent(serviceUniqueId, _ -> {
+      this.serviceIndex.index(snapshot.serviceId(), snapshot.configuration().groups(), false);
+      registered[0] = true;
+      return serviceProvider;
+    });
+    if (!registered[0]) {
+      return null;
+    }
+
+    this.resourceLedger.track(snapshot);
+    return serviceProvider;
   }
 
   @Override
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable NetworkChannel source) {
     // deleted services were removed on the other node - remove it here too
     if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
-      this.knownServices.remove(snapshot.serviceId().uniqueId());
+      this.forceRemoveRegisteredService(snapshot.serviceId().uniqueId());
       LOGGER.debug("Deleted cloud service {} after lifecycle change to deleted", snapshot.serviceId());
     } else {
       // register the service if the provider is available
@@ -524,11 +603,183 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
         // update the provider if possible - we need only to handle remote node providers as local providers will update
         // the snapshot directly "in" them
         remoteProvider.snapshot(snapshot);
+        this.knownServices.computeIfPresent(snapshot.serviceId().uniqueId(), (_, knownProvider) -> {
+          // re-index in case the groups changed, unless the service was removed concurrently
+          this.serviceIndex.index(snapshot.serviceId(), snapshot.configuration().groups(), false);
+          return knownProvider;
+        });
+        this.resourceLedger.track(snapshot);
         LOGGER.debug("Updated service snapshot of {} to {}", snapshot.serviceId(), snapshot);
       } else if (provider instanceof CloudService localService) {
         // just set the service information locally - no further processing
         localService.updateServiceInfoSnapshot(snapshot);
+        this.resourceLedger.track(snapshot);
+      }
+    }
+  }
+
+  @Override
+  public void handleServiceUpdateDelta(
+    @NonNull DataBuf content,
+    @NonNull ChannelMessageSender sender,
+    @NonNull NetworkChannel source
+  ) {
+    var uniqueId = content.readUniqueId();
+    var version = content.readLong();
+    var fullSnapshot = content.readBoolean();
+
+    // the updates of a service might be handled concurrently, even if they were sent in order. the sequencer buffers
+    // updates which arrived too early, the lock ensures that the updates are applied one after another
+    var sequencingLock = this.sequencingLocks.get(uniqueId);
+    sequencingLock.lock();
+    try {
+      var received = this.receivedSnapshots.get(uniqueId);
+      if (received != null && received.source() != source) {
+        // the versions are assigned per connection, for example a restarted service starts again with version 0
+        this.receivedSnapshots.remove(uniqueId);
+        this.updateSequencer.remove(uniqueId);
+        received = null;
+      }
+
+      var knownVersion = received == null ? -1 : received.version();
+      var baseVersion = fullSnapshot ? VersionedUpdateSequencer.FULL_UPDATE : version - 1;
+      var update = new ServiceUpdate(sender, version, fullSnapshot, content);
+      for (var readyUpdate : this.updateSequencer.offer(uniqueId, knownVersion, baseVersion, version, update)) {
+        this.applyServiceUpdate(uniqueId, readyUpdate, source);
+      }
+    } finally {
+      sequencingLock.unlock();
+    }
+  }
+
+  protected void applyServiceUpdate(
+    @NonNull UUID uniqueId,
+    @NonNull ServiceUpdate update,
+    @NonNull NetworkChannel source
+  ) {
+    ServiceInfoSnapshot snapshot;
+    if (update.fullSnapshot()) {
+      this.pendingResyncRequests.remove(uniqueId);
+      snapshot = update.content().readObject(ServiceInfoSnapshot.class);
+    } else {
+      // the service might have been deleted by a previous update
+      var received = this.receivedSnapshots.get(uniqueId);
+      if (received == null) {
+        update.content().release();
+        return;
       }
+      snapshot = ServiceInfoSnapshotDelta.readDelta(update.content(), received.snapshot());
+    }
+
+    this.receivedSnapshots.put(uniqueId, new ReceivedSnapshot(update.version(), snapshot, source));
+    this.handleServiceUpdate(snapshot, source);
+    if (this.knownServices.get(uniqueId) instanceof CloudService) {
+      // the update was sent by the local service, replicate the update to the cluster
+      this.replicateServiceUpdate(snapshot, false);
+    } else {
+      // the node of the service replicated the update to all nodes, each node is responsible for its services
+      this.sendServiceUpdateToLocalServices(snapshot, true);
+    }
+    this.eventManager.callEvent(new CloudServiceUpdateEvent(snapshot));
+  }
+
+  protected void requestFullSnapshot(@NonNull UUID uniqueId, @NonNull ChannelMessageSender sender) {
+    // at least one update is missing, request the full snapshot unless already requested
+    if (this.markResyncRequested(uniqueId)) {
+      ChannelMessage.builder()
+        .target(sender.toTarget())
+        .message("request_full_service_info")
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .buffer(DataBuf.empty().writeUniqueId(uniqueId))
+        .build()
+        .send();
+      LOGGER.debug("Requested full snapshot of service {} from {} after missing an update", uniqueId, sender);
+    }
+  }
+
+  protected boolean markResyncRequested(@NonNull UUID uniqueId) {
+    // request the snapshot again if the owning node did not answer the previous request in time
+    var now = System.currentTimeMillis();
+    var requested = new boolean[1];
+    this.pendingResyncRequests.compute(uniqueId, (id, requestTime) -> {
+      if (requestTime == null || now - requestTime >= RESYNC_REQUEST_TIMEOUT_MILLIS) {
+        requested[0] = true;
+        return now;
+      }
+      return requestTime;
+    });
+    return requested[0];
+  }
+
+  @Override
+  public void publishServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
+    this.replicateServiceUpdate(snapshot, true);
+  }
+
+  @Override
+  public void handleServiceResyncRequest(@NonNull UUID uniqueId) {
+    // replicate the full snapshot with the next update, the version keeps increasing to let the receivers detect
+    // full snapshots which are older than the updates they applied already
+    this.pendingFullReplications.add(uniqueId);
+
+    var service = this.localCloudService(uniqueId);
+    if (service != null) {
+      service.publishServiceInfoSnapshot();
+    }
+  }
+
+  protected void replicateServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, boolean includeOwnService) {
+    this.sendServiceUpdateToLocalServices(snapshot, includeOwnService);
+
+    // the other nodes only receive the changes since the last snapshot that was replicated to them, the lock ensures
+    // that the versions are sent in the order they were assigned
+    var uniqueId = snapshot.serviceId().uniqueId();
+    var replicationLock = this.replicationLocks.get(uniqueId);
+    replicationLock.lock();
+    try {
+      var replicated = this.replicatedSnapshots.get(uniqueId);
+      var fullSnapshot = this.pendingFullReplications.remove(uniqueId) || replicated == null;
+      var version = replicated == null ? 0 : replicated.version() + 1;
+      var buffer = DataBuf.empty()
+        .writeUniqueId(uniqueId)
+        .writeLong(version)
+        .writeBoolean(fullSnapshot);
+      if (fullSnapshot) {
+        buffer.writeObject(snapshot);
+      } else {
+        ServiceInfoSnapshotDelta.writeDelta(buffer, replicated.snapshot(), snapshot);
+      }
+
+      this.replicatedSnapshots.put(uniqueId, new VersionedSnapshot(version, snapshot));
+      ChannelMessage.builder()
+        .targetNodes()
+        .message("update_service_info_delta")
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .buffer(buffer)
+        .build()
+        .send();
+    } finally {
+      replicationLock.unlock();
+    }
+  }
+
+  protected void sendServiceUpdateToLocalServices(@NonNull ServiceInfoSnapshot snapshot, boolean includeOwnService) {
+    // services don't keep track of snapshot versions, they always receive the full snapshot
+    var message = ChannelMessage.builder()
+      .message("update_service_info")
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(DataBuf.empty().writeObject(snapshot));
+    var hasTarget = false;
+    for (var service : this.localCloudServices()) {
+      var ownService = service.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId());
+      if (service.networkChannel() != null && (includeOwnService || !ownService)) {
+        message.targetService(service.serviceId().name());
+        hasTarget = true;
+      }
+    }
+
+    if (hasTarget) {
+      message.build().send();
     }
   }
 
@@ -601,13 +852,64 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
     }
   }
 
+  protected @NonNull List<ServiceInfoSnapshot> resolveServices(@NonNull Collection<UUID> serviceUniqueIds) {
+    return serviceUniqueIds.stream()
+      .map(this.knownServices::get)
+      .filter(Objects::nonNull)
+      .map(SpecificCloudServiceProvider::serviceInfo)
+      .filter(Objects::nonNull)
+      .toList();
+  }
+
+  /**
+   * Get the resource ledger which tracks the resources reserved by the services on each node and the last placement
+   * decisions which were made based on it.
+   *
+   * @return the resource ledger of this service manager.
+   */
+  public @NonNull NodeResourceLedger resourceLedger() {
+    return this.resourceLedger;
+  }
+
+  protected @NonNull NodeResourceLedger.NodeScore scoreNode(@NonNull NodeServer server) {
+    var reservation = this.resourceLedger.reservation(server.name());
+    return new NodeResourceLedger.NodeScore(
+      server.name(),
+      this.calculateReservedMemoryPercentage(server),
+      reservation.pendingStarts(),
+      server.nodeInfoSnapshot().processSnapshot().systemCpuUsage());
+  }
+
   protected int calculateReservedMemoryPercentage(@NonNull NodeServer server) {
-    // get the reserved memory on the given node based on the services which are running on it and sum it up
-    var reservedMemory = this.services().stream()
-      .filter(info -> info.serviceId().nodeUniqueId().equals(server.name()))
-      .mapToInt(info -> info.configuration().processConfig().maxHeapMemorySize())
-      .sum();
+    // get the reserved memory on the given node from the ledger
+    var reservedMemory = this.resourceLedger.reservation(server.name()).reservedHeapMemory();
     // convert to a percentage
     return (reservedMemory * 100) / server.nodeInfoSnapshot().maxMemory();
   }
+
+  protected record VersionedSnapshot(long version, @NonNull ServiceInfoSnapshot snapshot) {
+
+  }
+
+  protected record ReceivedSnapshot(
+    long version,
+    @NonNull ServiceInfoSnapshot snapshot,
+    @NonNull NetworkChannel source
+  ) {
+
+  }
+
+  protected record ServiceUpdate(
+    @NonNull ChannelMessageSender sender,
+    long version,
+    boolean fullSnapshot,
+    @NonNull DataBuf content
+  ) {
+
+    public @NonNull ServiceUpdate retain() {
+      // the content of channel messages is released after handling them, buffered updates need their own copy
+      var content = DataBufFactory.defaultFactory().copyOf(this.content);
+      return new ServiceUpdate(this.sender, this.version, this.fullSnapshot, content);
+    }
+  }
 }
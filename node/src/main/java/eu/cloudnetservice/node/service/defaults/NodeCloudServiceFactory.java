@@ -41,8 +41,13 @@
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -63,8 +68,11 @@ public class NodeCloudServiceFactory implements CloudServiceFactory {
   private final CloudServiceManager serviceManager;
   private final NodeServerProvider nodeServerProvider;
   private final GroupConfigurationProvider groupProvider;
+  private final NodeResourceLedger resourceLedger;
 
   private final Lock serviceCreationLock = new ReentrantLock(true);
+  private final Set<UUID> reservedServiceUniqueIds = ConcurrentHashMap.newKeySet();
+  private final Map<String, Set<Integer>> reservedTaskServiceIds = new ConcurrentHashMap<>();
   private final ScheduledExecutorService createRetryExecutor = Executors.newSingleThreadScheduledExecutor();
 
   @Inject
@@ -74,12 +82,14 @@ public NodeCloudServiceFactory(
     @NonNull RPCHandlerRegistry handlerRegistry,
     @NonNull CloudServiceManager serviceManager,
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull GroupConfigurationProvider groupProvider
+    @NonNull GroupConfigurationProvider groupProvider,
+    @NonNull NodeResourceLedger resourceLedger
   ) {
     this.eventManager = eventManager;
     this.serviceManager = serviceManager;
     this.nodeServerProvider = nodeServerProvider;
     this.groupProvider = groupProvider;
+    this.resourceLedger = resourceLedger;
 
     var rpcHandler = rpcFactory.newRPCHandlerBuilder(CloudServiceFactory.class).targetInstance(this).build();
     handlerRegistry.registerHandler(rpcHandler);
@@ -94,7 +104,11 @@ private void registerServiceChannelListener() {
   public @NonNull ServiceCreateResult createCloudService(@NonNull ServiceConfiguration maybeServiceConfiguration) {
     // check if this node can start services
     if (this.nodeServerProvider.localNode().head()) {
-      // ensure that we're only creating one service
+      ServiceConfiguration serviceConfiguration;
+      NodeServer nodeServer;
+
+      // ensure that we're only preparing one service at a time, the lock is only held until the service id & node
+      // are reserved, the start request to the selected node is sent outside the lock to allow pipelining of requests
       this.serviceCreationLock.lock();
       try {
         // copy the configuration into a builder to prevent setting values on multiple objects which are then shared
@@ -114,7 +128,7 @@ private void registerServiceChannelListener() {
         configurationBuilder.retryConfiguration(ServiceCreateRetryConfiguration.NO_RETRY);
 
         // finish the replaced configuration & get the logic node server to start the service on
-        var serviceConfiguration = configurationBuilder.build();
+        serviceConfiguration = configurationBuilder.build();
         var nodeSelectEvent = this.eventManager.callEvent(new CloudServiceNodeSelectEvent(
           this.serviceManager,
           serviceConfiguration));
@@ -125,7 +139,7 @@ private void registerServiceChannelListener() {
             serviceConfiguration);
         }
 
-        var nodeServer = nodeSelectEvent.nodeServer();
+        nodeServer = nodeSelectEvent.nodeServer();
         if (nodeServer == null) {
           // no node was set by the event, try to select a node or return if no node can pick up the service
           nodeServer = this.serviceManager.selectNodeForService(serviceConfiguration);
@@ -136,25 +150,8 @@ private void registerServiceChannelListener() {
           }
         }
 
-        // if there is a node server send a request to start a service
-        if (nodeServer.channel() != null) {
-          // send a request to start on the selected cluster node
-          var createResult = this.sendNodeServerStartRequest(
-            "head_node_to_node_start_service",
-            nodeServer.info().uniqueId(),
-            serviceConfiguration);
-
-          // process the service creation result and return it if the creation was successful
-          createResult = this.processServiceStartResponse(createResult, nodeServer);
-          if (createResult.state() == ServiceCreateResult.State.CREATED) {
-            return createResult;
-          }
-
-          // service creation failed - retry
-          return this.scheduleCreateRetryIfEnabled(
-            maybeServiceConfiguration.retryConfiguration(),
-            serviceConfiguration);
-        } else {
+        // if there is no node server channel the service should be started on the current node
+        if (nodeServer.channel() == null) {
           // start on the current node & publish the service snapshot to all components
           var createdService = this.serviceManager.createLocalCloudService(serviceConfiguration);
           createdService.handleServiceRegister();
@@ -162,9 +159,34 @@ private void registerServiceChannelListener() {
           // construct the create result
           return ServiceCreateResult.created(createdService.serviceInfo());
         }
+
+        // reserve the service id & resources on the target node, so that services which are created while the start
+        // request is still in flight are not getting the same id and are taking the reserved resources into account
+        this.reserveServiceCreation(serviceConfiguration, nodeServer);
       } finally {
         this.serviceCreationLock.unlock();
       }
+
+      try {
+        // send a request to start on the selected cluster node
+        var createResult = this.sendNodeServerStartRequest(
+          "head_node_to_node_start_service",
+          nodeServer.info().uniqueId(),
+          serviceConfiguration);
+
+        // process the service creation result and return it if the creation was successful
+        createResult = this.processServiceStartResponse(createResult, nodeServer);
+        if (createResult.state() == ServiceCreateResult.State.CREATED) {
+          return createResult;
+        }
+
+        // service creation failed - retry
+        return this.scheduleCreateRetryIfEnabled(
+          maybeServiceConfiguration.retryConfiguration(),
+          serviceConfiguration);
+      } finally {
+        this.releaseServiceCreation(serviceConfiguration);
+      }
     } else {
       // send a request to the head node to start a service on the best node server
       return this.sendNodeServerStartRequest(
@@ -174,6 +196,50 @@ private void registerServiceChannelListener() {
     }
   }
 
+  @Override
+  public @NonNull List<ServiceCreateResult> createCloudServices(
+    @NonNull List<ServiceConfiguration> serviceConfigurations
+  ) {
+    // the creations are only serialized while reserving the service ids & nodes, the start requests of the services
+    // are sent concurrently which prevents the need to wait for one round trip per service. the creations block while
+    // waiting for the responses, use a virtual thread per creation rather than occupying the common pool
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var createFutures = serviceConfigurations.stream()
+        .map(configuration -> CompletableFuture.supplyAsync(() -> this.createCloudService(configuration), executor))
+        .toList();
+      return createFutures.stream()
+        .map(future -> future.exceptionally(throwable -> {
+          LOGGER.debug("Exception while creating a service in bulk", throwable);
+          return ServiceCreateResult.FAILED;
+        }))
+        .map(CompletableFuture::join)
+        .toList();
+    }
+  }
+
+  protected void reserveServiceCreation(@NonNull ServiceConfiguration configuration, @NonNull NodeServer nodeServer) {
+    var serviceId = configuration.serviceId();
+    this.reservedServiceUniqueIds.add(serviceId.uniqueId());
+    this.reservedTaskServiceIds
+      .computeIfAbsent(serviceId.taskName(), _ -> ConcurrentHashMap.newKeySet())
+      .add(serviceId.taskServiceId());
+    this.resourceLedger.reserve(configuration, nodeServer.info().uniqueId());
+  }
+
+  protected void releaseServiceCreation(@NonNull ServiceConfiguration configuration) {
+    // release the resource reservation if the service was not registered - once registered, the ledger tracks it
+    var serviceId = configuration.serviceId();
+    if (this.serviceManager.service(serviceId.uniqueId()) == null) {
+      this.resourceLedger.untrack(serviceId.uniqueId());
+    }
+
+    this.reservedServiceUniqueIds.remove(serviceId.uniqueId());
+    this.reservedTaskServiceIds.computeIfPresent(serviceId.taskName(), (_, reservedIds) -> {
+      reservedIds.remove(serviceId.taskServiceId());
+      return reservedIds.isEmpty() ? null : reservedIds;
+    });
+  }
+
   protected @NonNull ServiceCreateResult processServiceStartResponse(
     @NonNull ServiceCreateResult result,
     @NonNull NodeServer associatedNode
@@ -303,6 +369,8 @@ protected void replaceServiceId(@NonNull ServiceConfiguration input, @NonNull Se
       .stream()
       .map(service -> service.serviceId().taskServiceId())
       .collect(Collectors.toSet());
+    // include the ids of services which are currently being created
+    takenIds.addAll(this.reservedTaskServiceIds.getOrDefault(input.serviceId().taskName(), Set.of()));
     while (takenIds.contains(serviceId)) {
       serviceId++;
     }
@@ -316,7 +384,7 @@ protected void replaceServiceUniqueId(
   ) {
     var uniqueId = input.serviceId().uniqueId();
     // check if the unique id is already taken
-    while (this.serviceManager.service(uniqueId) != null) {
+    while (this.serviceManager.service(uniqueId) != null || this.reservedServiceUniqueIds.contains(uniqueId)) {
       uniqueId = UUID.randomUUID();
     }
     // set the new unique id
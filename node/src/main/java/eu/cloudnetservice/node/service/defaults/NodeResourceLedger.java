@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import jakarta.inject.Singleton;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Keeps track of the resources that are reserved by the services on each node in the cluster. The reservations are
+ * updated incrementally when a service is registered, updated or removed, which makes reading the reservation of a
+ * node a constant time operation, even while many services are being created at the same time.
+ * <p>
+ * The ledger additionally keeps a bounded history of the last placement decisions that were made based on it, which
+ * can be used to debug why a service was started on a specific node.
+ *
+ * @since 4.0
+ */
+@Singleton
+@ApiStatus.Internal
+public final class NodeResourceLedger {
+
+  private static final int PLACEMENT_HISTORY_SIZE = Integer.getInteger("cloudnet.service.placement-history-size", 50);
+
+  private final Map<UUID, ServiceReservation> serviceReservations = new ConcurrentHashMap<>();
+  private final Map<String, NodeReservation> nodeReservations = new ConcurrentHashMap<>();
+  private final Deque<Placement> placements = new ConcurrentLinkedDeque<>();
+
+  /**
+   * Tracks the resources reserved by the service the given snapshot belongs to. If the service is already tracked, the
+   * reservation of the associated node is adjusted by the difference to the previous state. Deleted services and
+   * services that are not associated with a node are removed from the ledger.
+   *
+   * @param snapshot the current snapshot of the service to track.
+   * @throws NullPointerException if the given snapshot is null.
+   */
+  public void track(@NonNull ServiceInfoSnapshot snapshot) {
+    var nodeUniqueId = snapshot.serviceId().nodeUniqueId();
+    if (nodeUniqueId == null || snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
+      this.untrack(snapshot.serviceId().uniqueId());
+      return;
+    }
+
+    var reservation = new ServiceReservation(
+      nodeUniqueId,
+      snapshot.configuration().processConfig().maxHeapMemorySize(),
+      snapshot.lifeCycle() == ServiceLifeCycle.PREPARED);
+    this.updateReservation(snapshot.serviceId().uniqueId(), reservation);
+  }
+
+  /**
+   * Reserves the resources for a service that is about to be created on the given node, before the service is actually
+   * registered. The reservation is replaced once the created service is tracked, or must be removed using
+   * {@link #untrack(UUID)} if the service creation failed.
+   *
+   * @param configuration the configuration of the service to reserve the resources for.
+   * @param nodeUniqueId  the unique id of the node on which the service is going to be created.
+   * @throws NullPointerException if the given configuration or node unique id is null.
+   */
+  public void reserve(@NonNull ServiceConfiguration configuration, @NonNull String nodeUniqueId) {
+    var reservation = new ServiceReservation(nodeUniqueId, configuration.processConfig().maxHeapMemorySize(), true);
+    this.updateReservation(configuration.serviceId().uniqueId(), reservation);
+  }
+
+  /**
+   * Removes the resources reserved by the service with the given unique id from the ledger. This method does nothing
+   * if the service is not tracked.
+   *
+   * @param serviceUniqueId the unique id of the service to remove.
+   * @throws NullPointerException if the given unique id is null.
+   */
+  public void untrack(@NonNull UUID serviceUniqueId) {
+    this.serviceReservations.computeIfPresent(serviceUniqueId, (_, previous) -> {
+      this.adjustNodeReservation(previous, -1);
+      return null;
+    });
+  }
+
+  /**
+   * Get the resources that are currently reserved on the node with the given unique id.
+   *
+   * @param nodeUniqueId the unique id of the node to get the reservation of.
+   * @return the resources reserved on the given node, an empty reservation if nothing is reserved.
+   * @throws NullPointerException if the given node unique id is null.
+   */
+  public @NonNull NodeReservation reservation(@NonNull String nodeUniqueId) {
+    return this.nodeReservations.getOrDefault(nodeUniqueId, NodeReservation.EMPTY);
+  }
+
+  /**
+   * Get the resources that are currently reserved on every node that has at least one tracked service.
+   *
+   * @return the resources reserved on each node, mapped by the unique id of the node.
+   */
+  public @UnmodifiableView @NonNull Map<String, NodeReservation> reservations() {
+    return Collections.unmodifiableMap(this.nodeReservations);
+  }
+
+  /**
+   * Records a placement decision that was made based on this ledger. Only the last placements are retained, the
+   * amount can be configured using the {@code cloudnet.service.placement-history-size} system property.
+   *
+   * @param placement the placement decision to record.
+   * @throws NullPointerException if the given placement is null.
+   */
+  public void recordPlacement(@NonNull Placement placement) {
+    this.placements.addFirst(placement);
+    while (this.placements.size() > PLACEMENT_HISTORY_SIZE) {
+      this.placements.pollLast();
+    }
+  }
+
+  /**
+   * Get the last placement decisions that were recorded, ordered from the newest to the oldest decision.
+   *
+   * @return the last recorded placement decisions.
+   */
+  public @UnmodifiableView @NonNull Collection<Placement> recentPlacements() {
+    return Collections.unmodifiableCollection(this.placements);
+  }
+
+  private void updateReservation(@NonNull UUID serviceUniqueId, @NonNull ServiceReservation reservation) {
+    // the compute call serializes all updates of the same service, keeping the node reservations consistent
+    this.serviceReservations.compute(serviceUniqueId, (_, previous) -> {
+      if (!reservation.equals(previous)) {
+        if (previous != null) {
+          this.adjustNodeReservation(previous, -1);
+        }
+        this.adjustNodeReservation(reservation, 1);
+      }
+      return reservation;
+    });
+  }
+
+  private void adjustNodeReservation(@NonNull ServiceReservation reservation, int direction) {
+    this.nodeReservations.compute(reservation.nodeUniqueId(), (_, current) -> {
+      var base = current == null ? NodeReservation.EMPTY : current;
+      var updated = new NodeReservation(
+        base.reservedHeapMemory() + direction * reservation.heapMemory(),
+        base.services() + direction,
+        base.pendingStarts() + (reservation.pending() ? direction : 0));
+      return updated.services() <= 0 ? null : updated;
+    });
+  }
+
+  /**
+   * The resources that are reserved on a single node.
+   *
+   * @param reservedHeapMemory the heap memory, in megabytes, that is reserved by all services on the node.
+   * @param services           the amount of services that are associated with the node.
+   * @param pendingStarts      the amount of services on the node that are prepared but not yet started.
+   * @since 4.0
+   */
+  public record NodeReservation(int reservedHeapMemory, int services, int pendingStarts) {
+
+    /**
+     * The reservation of a node that has no services associated.
+     */
+    public static final NodeReservation EMPTY = new NodeReservation(0, 0, 0);
+  }
+
+  /**
+   * The score that was calculated for a node while selecting the node to start a service on.
+   *
+   * @param nodeUniqueId             the unique id of the scored node.
+   * @param reservedMemoryPercentage the percentage of the max memory of the node that is reserved by services.
+   * @param pendingStarts            the amount of services on the node that are prepared but not yet started.
+   * @param systemCpuUsage           the cpu usage reported by the node, negative if the node can't provide a value.
+   * @since 4.0
+   */
+  public record NodeScore(
+    @NonNull String nodeUniqueId,
+    int reservedMemoryPercentage,
+    int pendingStarts,
+    double systemCpuUsage
+  ) {
+
+  }
+
+  /**
+   * A placement decision that was made for a service based on the node scores.
+   *
+   * @param serviceName  the name of the service that was placed.
+   * @param selectedNode the unique id of the node that was selected, null if no node was able to pick up the service.
+   * @param candidates   the scores of all nodes that were considered for the service.
+   * @param timestamp    the time when the decision was made.
+   * @since 4.0
+   */
+  public record Placement(
+    @NonNull String serviceName,
+    @Nullable String selectedNode,
+    @NonNull List<NodeScore> candidates,
+    @NonNull Instant timestamp
+  ) {
+
+  }
+
+  private record ServiceReservation(@NonNull String nodeUniqueId, int heapMemory, boolean pending) {
+
+  }
+}
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ServiceRemoteInclusion;
 import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
@@ -53,6 +54,11 @@ public boolean valid() {
     return null;
   }
 
+  @Override
+  public @NonNull Collection<ThreadSnapshot> threadSnapshots() {
+    return List.of();
+  }
+
   @Override
   public void addServiceTemplate(@NonNull ServiceTemplate serviceTemplate) {
   }
@@ -27,6 +27,7 @@
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -44,9 +45,15 @@ public class LocalTemplateStorage implements TemplateStorage {
   public static final String LOCAL_TEMPLATE_STORAGE = "local";
 
   private final Path storageDirectory;
+  private final TemplateFileCache fileCache;
 
   public LocalTemplateStorage(@NonNull Path storageDirectory) {
+    this(storageDirectory, null);
+  }
+
+  public LocalTemplateStorage(@NonNull Path storageDirectory, @Nullable TemplateFileCache fileCache) {
     this.storageDirectory = storageDirectory;
+    this.fileCache = fileCache;
     FileUtil.createDirectory(storageDirectory);
   }
 
@@ -62,11 +69,13 @@ public boolean deployDirectory(
     @Nullable Predicate<Path> filter
   ) {
     if (Files.exists(directory)) {
-      FileUtil.copyDirectory(
-        directory,
-        this.getTemplatePath(target),
-        filter == null ? null : filter::test);
-      return true;
+      var templatePath = this.getTemplatePath(target);
+      return ParallelFileTransfer.transferFiles(directory, filter, file -> {
+        // copy without using FileUtil as it swallows exceptions, a failed copy must fail the deployment
+        var target = templatePath.resolve(directory.relativize(file));
+        Files.createDirectories(target.getParent());
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+      });
     }
     return false;
   }
@@ -79,7 +88,12 @@ public boolean deploy(@NonNull ServiceTemplate target, @NonNull InputStream inpu
 
   @Override
   public boolean pull(@NonNull ServiceTemplate template, @NonNull Path directory) {
-    FileUtil.copyDirectory(this.getTemplatePath(template), directory);
+    if (this.fileCache != null) {
+      // materialize the template using the file cache, linking files where possible
+      this.fileCache.materializeDirectory(this.getTemplatePath(template), directory);
+    } else {
+      FileUtil.copyDirectory(this.getTemplatePath(template), directory);
+    }
     return true;
   }
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import io.vavr.CheckedConsumer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A utility class to transfer files from or into a template storage concurrently. The default amount of files that are
+ * transferred at the same time can be configured using the {@code cloudnet.template.transfer.parallelism} system
+ * property.
+ *
+ * @since 4.0
+ */
+public final class ParallelFileTransfer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelFileTransfer.class);
+  private static final int PARALLELISM = Math.max(1, Integer.getInteger("cloudnet.template.transfer.parallelism", 8));
+
+  private ParallelFileTransfer() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Walks the file tree of the given directory and passes every regular file which is accepted by the given filter to
+   * the given transfer action. The action is called concurrently for multiple files, this method returns after all
+   * files were transferred. If the given filter rejects a directory, the files in the directory are not transferred.
+   *
+   * @param directory the directory to transfer the files of.
+   * @param filter    the filter for the files and directories to transfer, null to transfer all files.
+   * @param transfer  the action to transfer a single file.
+   * @return true if all files were transferred successfully, false otherwise.
+   * @throws NullPointerException if the given directory or transfer action is null.
+   */
+  public static boolean transferFiles(
+    @NonNull Path directory,
+    @Nullable Predicate<Path> filter,
+    @NonNull CheckedConsumer<Path> transfer
+  ) {
+    return transferFiles(directory, filter, PARALLELISM, transfer);
+  }
+
+  /**
+   * Walks the file tree of the given directory and passes every regular file which is accepted by the given filter to
+   * the given transfer action. The action is called concurrently for at most the given amount of files, this method
+   * returns after all files were transferred. If the given filter rejects a directory, the files in the directory are
+   * not transferred.
+   *
+   * @param directory   the directory to transfer the files of.
+   * @param filter      the filter for the files and directories to transfer, null to transfer all files.
+   * @param parallelism the maximum amount of files to transfer at the same time.
+   * @param transfer    the action to transfer a single file.
+   * @return true if all files were transferred successfully, false otherwise.
+   * @throws NullPointerException if the given directory or transfer action is null.
+   */
+  public static boolean transferFiles(
+    @NonNull Path directory,
+    @Nullable Predicate<Path> filter,
+    int parallelism,
+    @NonNull CheckedConsumer<Path> transfer
+  ) {
+    // collect the files first to not transfer files while still walking the file tree
+    return transfer(collectFiles(directory, filter), parallelism, transfer);
+  }
+
+  /**
+   * Walks the file tree of the given directory and collects every regular file which is accepted by the given filter.
+   * If the given filter rejects a directory, the files in the directory are not collected.
+   *
+   * @param directory the directory to collect the files of.
+   * @param filter    the filter for the files and directories to collect, null to collect all files.
+   * @return all files in the given directory which are accepted by the given filter.
+   * @throws NullPointerException if the given directory is null.
+   */
+  public static @NonNull List<Path> collectFiles(@NonNull Path directory, @Nullable Predicate<Path> filter) {
+    List<Path> files = new ArrayList<>();
+    FileUtil.walkFileTree(directory, ($, file) -> {
+      if (!Files.isDirectory(file)) {
+        files.add(file);
+      }
+    }, true, filter == null ? $ -> true : filter::test);
+    return files;
+  }
+
+  /**
+   * Passes all the given elements to the given transfer action. The action is called concurrently for at most the
+   * default amount of elements, this method returns after all elements were transferred.
+   *
+   * @param elements the elements to transfer.
+   * @param transfer the action to transfer a single element.
+   * @param <T>      the type of elements to transfer.
+   * @return true if all elements were transferred successfully, false otherwise.
+   * @throws NullPointerException if the given elements or transfer action is null.
+   */
+  public static <T> boolean transfer(@NonNull Collection<T> elements, @NonNull CheckedConsumer<T> transfer) {
+    return transfer(elements, PARALLELISM, transfer);
+  }
+
+  /**
+   * Passes all the given elements to the given transfer action. The action is called concurrently for at most the given
+   * amount of elements, this method returns after all elements were transferred.
+   *
+   * @param elements    the elements to transfer.
+   * @param parallelism the maximum amount of elements to transfer at the same time.
+   * @param transfer    the action to transfer a single element.
+   * @param <T>         the type of elements to transfer.
+   * @return true if all elements were transferred successfully, false otherwise.
+   * @throws NullPointerException if the given elements or transfer action is null.
+   */
+  public static <T> boolean transfer(
+    @NonNull Collection<T> elements,
+    int parallelism,
+    @NonNull CheckedConsumer<T> transfer
+  ) {
+    var success = new AtomicBoolean(true);
+    var permits = new Semaphore(Math.max(1, parallelism));
+    // closing the executor waits for all submitted transfers to complete
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var element : elements) {
+        permits.acquireUninterruptibly();
+        executor.execute(() -> {
+          try {
+            transfer.accept(element);
+          } catch (Throwable throwable) {
+            LOGGER.error("Exception transferring {}", element, throwable);
+            success.set(false);
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+
+    return success.get();
+  }
+}
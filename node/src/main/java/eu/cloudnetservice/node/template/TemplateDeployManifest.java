@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A manifest of the files that were deployed from a directory into a template during the last deployment. The manifest
+ * is used to only deploy the files which changed since the last deployment, detected based on the size and last
+ * modification time of each file. If the {@code cloudnet.template.deploy.hash-files} system property is set to true,
+ * files whose modification time changed are additionally compared by their content hash.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class TemplateDeployManifest {
+
+  /**
+   * The directory, relative to the deployed directory, in which the manifests of all deployments are stored.
+   */
+  public static final Path MANIFEST_DIRECTORY = Path.of(".wrapper", "deployments");
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplateDeployManifest.class);
+  private static final boolean HASH_FILES = Boolean.getBoolean("cloudnet.template.deploy.hash-files");
+
+  private final Path manifestFile;
+  private final Map<String, FileFingerprint> previousFiles;
+  private final Map<String, FileFingerprint> deployedFiles = new ConcurrentHashMap<>();
+
+  private final LongAdder skippedFiles = new LongAdder();
+  private final LongAdder skippedBytes = new LongAdder();
+  private final LongAdder transferredFiles = new LongAdder();
+  private final LongAdder transferredBytes = new LongAdder();
+
+  private TemplateDeployManifest(@NonNull Path manifestFile, @NonNull Map<String, FileFingerprint> previousFiles) {
+    this.manifestFile = manifestFile;
+    this.previousFiles = previousFiles;
+  }
+
+  /**
+   * Creates a new manifest without any previously deployed files, which results in all files being deployed. The
+   * manifest will be written to the given file when saving it.
+   *
+   * @param manifestFile the file to write the manifest to.
+   * @return a new, empty manifest.
+   * @throws NullPointerException if the given manifest file is null.
+   */
+  public static @NonNull TemplateDeployManifest empty(@NonNull Path manifestFile) {
+    return new TemplateDeployManifest(manifestFile, Map.of());
+  }
+
+  /**
+   * Loads the manifest from the given file. If the file does not exist or cannot be read, an empty manifest is returned
+   * which results in all files being deployed.
+   *
+   * @param manifestFile the file to load the manifest from.
+   * @return the loaded manifest.
+   * @throws NullPointerException if the given manifest file is null.
+   */
+  public static @NonNull TemplateDeployManifest load(@NonNull Path manifestFile) {
+    if (Files.notExists(manifestFile)) {
+      return empty(manifestFile);
+    }
+
+    try {
+      var document = DocumentFactory.json().parse(manifestFile);
+      Map<String, FileFingerprint> files = new HashMap<>();
+      for (var path : document.keys()) {
+        var entry = document.readDocument(path);
+        files.put(path, new FileFingerprint(
+          entry.getLong("size"),
+          entry.getLong("lastModified"),
+          entry.getString("hash")));
+      }
+
+      return new TemplateDeployManifest(manifestFile, files);
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to read template deploy manifest {}, deploying all files", manifestFile, exception);
+      return empty(manifestFile);
+    }
+  }
+
+  /**
+   * Wraps the given filter into a filter that additionally rejects all files which did not change since the last
+   * deployment. Files rejected by the given filter are neither deployed nor recorded in this manifest. The manifest
+   * directory (including the manifests of deployments into other templates) is never deployed.
+   *
+   * @param directory the directory which gets deployed.
+   * @param filter    the filter to wrap, null if all files should be deployed.
+   * @return a filter which only accepts files that changed since the last deployment.
+   * @throws NullPointerException if the given directory is null.
+   */
+  public @NonNull Predicate<Path> changedFilesFilter(@NonNull Path directory, @Nullable Predicate<Path> filter) {
+    var manifestDirectory = directory.resolve(MANIFEST_DIRECTORY);
+    return path -> {
+      if (filter != null && !filter.test(path)) {
+        return false;
+      }
+
+      // never deploy the manifest files
+      if (path.startsWith(manifestDirectory)) {
+        return false;
+      }
+
+      return Files.isDirectory(path) || this.fileChanged(directory, path);
+    };
+  }
+
+  /**
+   * Writes the fingerprints of all files which were accepted during the deployment into the manifest file. This method
+   * should only be called if the deployment completed successfully.
+   */
+  public void save() {
+    var document = Document.newJsonDocument();
+    this.deployedFiles.forEach((path, fingerprint) -> {
+      var entry = Document.newJsonDocument()
+        .append("size", fingerprint.size())
+        .append("lastModified", fingerprint.lastModified());
+      if (fingerprint.hash() != null) {
+        entry.append("hash", fingerprint.hash());
+      }
+      document.append(path, entry);
+    });
+    document.writeTo(this.manifestFile);
+  }
+
+  /**
+   * Get the statistics of the deployment based on the files that were passed to the filter of this manifest.
+   *
+   * @return the statistics of the deployment.
+   */
+  public @NonNull DeployStatistics statistics() {
+    return new DeployStatistics(
+      this.transferredFiles.sum(),
+      this.transferredBytes.sum(),
+      this.skippedFiles.sum(),
+      this.skippedBytes.sum());
+  }
+
+  private boolean fileChanged(@NonNull Path directory, @NonNull Path file) {
+    try {
+      var key = directory.relativize(file).toString().replace('\\', '/');
+      var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      var lastModified = attributes.lastModifiedTime().toMillis();
+      var previous = this.previousFiles.get(key);
+
+      // check if the file is unchanged based on the metadata
+      if (previous != null && previous.size() == attributes.size() && previous.lastModified() == lastModified) {
+        return this.recordFile(key, previous, false);
+      }
+
+      // compare the file content if hashing is enabled and the file was modified without changing its size
+      String hash = null;
+      if (HASH_FILES) {
+        hash = MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString();
+        if (previous != null && previous.size() == attributes.size() && Objects.equals(previous.hash(), hash)) {
+          return this.recordFile(key, new FileFingerprint(attributes.size(), lastModified, hash), false);
+        }
+      }
+
+      return this.recordFile(key, new FileFingerprint(attributes.size(), lastModified, hash), true);
+    } catch (IOException exception) {
+      // unable to check the file, deploy it to be safe
+      LOGGER.debug("Unable to check file {} for changes, deploying it", file, exception);
+      return true;
+    }
+  }
+
+  private boolean recordFile(@NonNull String key, @NonNull FileFingerprint fingerprint, boolean changed) {
+    this.deployedFiles.put(key, fingerprint);
+    if (changed) {
+      this.transferredFiles.increment();
+      this.transferredBytes.add(fingerprint.size());
+    } else {
+      this.skippedFiles.increment();
+      this.skippedBytes.add(fingerprint.size());
+    }
+    return changed;
+  }
+
+  /**
+   * The statistics of a deployment.
+   *
+   * @param transferredFiles the amount of files which were transferred because they changed.
+   * @param transferredBytes the total size of the files which were transferred.
+   * @param skippedFiles     the amount of files which were skipped because they did not change.
+   * @param skippedBytes     the total size of the files which were skipped.
+   * @since 4.0
+   */
+  public record DeployStatistics(long transferredFiles, long transferredBytes, long skippedFiles, long skippedBytes) {
+
+  }
+
+  private record FileFingerprint(long size, long lastModified, @Nullable String hash) {
+
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A content-addressed cache for template files which allows to materialize the files of a template into a service
+ * directory using hard links rather than copying each file. Only files matching the configured pattern are linked, all
+ * other files are copied as before.
+ * <p>
+ * Linked files share their content with the cache and all other services using the same file. To prevent a service
+ * from modifying the shared content, the cached objects are read-only: a service replacing or deleting a linked file
+ * only affects its own directory, while writing into it in place is rejected by the file system. Processes which
+ * bypass file permissions (for example when the node runs as root) could still write into the shared objects, all
+ * files are copied in that case. Only files which are not modified by services (such as plugin jars) should be linked.
+ * If the file system does not support hard links or posix permissions, all files are copied as well.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class TemplateFileCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TemplateFileCache.class);
+  private static final EnumSet<PosixFilePermission> READ_ONLY_PERMISSIONS = EnumSet.of(
+    PosixFilePermission.OWNER_READ,
+    PosixFilePermission.GROUP_READ,
+    PosixFilePermission.OTHERS_READ);
+
+  private final Path objectDirectory;
+  private final PathMatcher linkMatcher;
+  private final Map<Path, CachedFile> cachedFiles = new ConcurrentHashMap<>();
+
+  private volatile boolean linksSupported;
+
+  /**
+   * Constructs a new template file cache.
+   *
+   * @param objectDirectory the directory in which the content-addressed objects are stored.
+   * @param linkPattern     the glob pattern of the file names which should be linked rather than copied.
+   * @throws NullPointerException if the given directory or pattern is null.
+   */
+  public TemplateFileCache(@NonNull Path objectDirectory, @NonNull String linkPattern) {
+    this.objectDirectory = objectDirectory;
+    this.linkMatcher = FileSystems.getDefault().getPathMatcher("glob:" + linkPattern);
+
+    FileUtil.createDirectory(objectDirectory);
+    this.linksSupported = supportsPosixPermissions(objectDirectory) && readOnlyPermissionsEnforced(objectDirectory);
+    this.removeUnusedObjects();
+  }
+
+  /**
+   * Materializes all files in the given source directory into the target directory. Files which are eligible for
+   * linking are linked to their cached object, all other files are copied. Existing files in the target directory are
+   * replaced.
+   *
+   * @param from the directory to materialize the files of.
+   * @param to   the directory to materialize the files into.
+   * @throws NullPointerException if the given source or target directory is null.
+   */
+  public void materializeDirectory(@NonNull Path from, @NonNull Path to) {
+    FileUtil.walkFileTree(from, ($, current) -> {
+      if (!Files.isDirectory(current)) {
+        this.materialize(current, to.resolve(from.relativize(current)));
+      }
+    });
+  }
+
+  /**
+   * Materializes the given source file to the given target path. The file is linked to its cached object if it is
+   * eligible for linking and linking is supported, otherwise it is copied.
+   *
+   * @param source the file to materialize.
+   * @param target the path to materialize the file to.
+   * @throws NullPointerException if the given source or target is null.
+   */
+  public void materialize(@NonNull Path source, @NonNull Path target) {
+    if (this.linksSupported && this.linkMatcher.matches(source.getFileName())) {
+      try {
+        var object = this.cachedObject(source);
+        FileUtil.createDirectory(target.getParent());
+        Files.deleteIfExists(target);
+        Files.createLink(target, object);
+        return;
+      } catch (UnsupportedOperationException exception) {
+        // the file system does not support hard links, copy all files from now on
+        LOGGER.debug("Disabling template file links as the file system does not support them", exception);
+        this.linksSupported = false;
+      } catch (IOException exception) {
+        // linking the file failed (for example because the target is on a different file store), copy it instead
+        LOGGER.debug("Unable to link template file {} to {}, copying it instead", source, target, exception);
+      }
+    }
+
+    FileUtil.copy(source, target);
+  }
+
+  /**
+   * Get if files matching the link pattern are linked into the service directories. This is not the case if hard links
+   * or read-only permissions are not supported for the object directory, all files are copied in that case.
+   *
+   * @return true if files are linked, false if all files are copied.
+   */
+  boolean linksSupported() {
+    return this.linksSupported;
+  }
+
+  /**
+   * Removes all cached objects which are no longer linked into any service directory.
+   */
+  public void removeUnusedObjects() {
+    if (this.linksSupported) {
+      FileUtil.walkFileTree(this.objectDirectory, ($, object) -> {
+        try {
+          if (Files.isRegularFile(object) && (int) Files.getAttribute(object, "unix:nlink") <= 1) {
+            Files.delete(object);
+          }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException exception) {
+          LOGGER.debug("Unable to check link count of template cache object {}", object, exception);
+        }
+      });
+      this.cachedFiles.clear();
+    }
+  }
+
+  private @NonNull Path cachedObject(@NonNull Path source) throws IOException {
+    // check if the file is unchanged since it was hashed the last time
+    var attributes = Files.readAttributes(source, BasicFileAttributes.class);
+    var lastModified = attributes.lastModifiedTime().toMillis();
+    var cachedFile = this.cachedFiles.get(source);
+    if (cachedFile != null
+      && cachedFile.size() == attributes.size()
+      && cachedFile.lastModified() == lastModified
+      && Files.exists(cachedFile.object())) {
+      return cachedFile.object();
+    }
+
+    // resolve the object of the file based on its content hash
+    var hash = MoreFiles.asByteSource(source).hash(Hashing.sha256()).toString();
+    var object = this.objectDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+    if (Files.notExists(object)) {
+      // copy the file into a temporary file first to prevent other threads from linking a partially copied object
+      FileUtil.createDirectory(object.getParent());
+      var tempObject = object.resolveSibling(hash + '.' + UUID.randomUUID());
+      try {
+        Files.copy(source, tempObject);
+        Files.setPosixFilePermissions(tempObject, READ_ONLY_PERMISSIONS);
+        Files.move(tempObject, object, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempObject);
+      }
+    }
+
+    this.cachedFiles.put(source, new CachedFile(attributes.size(), lastModified, object));
+    return object;
+  }
+
+  private static boolean supportsPosixPermissions(@NonNull Path directory) {
+    try {
+      return Files.getFileStore(directory).supportsFileAttributeView(PosixFileAttributeView.class);
+    } catch (IOException exception) {
+      return false;
+    }
+  }
+
+  private static boolean readOnlyPermissionsEnforced(@NonNull Path directory) {
+    // processes running as root (or with a similar capability) can write into read-only files, services started by
+    // them could modify the objects shared with all other services in that case
+    var probe = directory.resolve("permission-probe." + UUID.randomUUID());
+    try {
+      Files.createFile(probe);
+      Files.setPosixFilePermissions(probe, READ_ONLY_PERMISSIONS);
+      if (Files.isWritable(probe)) {
+        LOGGER.warn("Disabling template file links as the node can write into read-only files (running as root?)");
+        return false;
+      }
+      return true;
+    } catch (IOException | UnsupportedOperationException exception) {
+      LOGGER.debug("Unable to check if read-only permissions are enforced in {}", directory, exception);
+      return false;
+    } finally {
+      FileUtil.delete(probe);
+    }
+  }
+
+  private record CachedFile(long size, long lastModified, @NonNull Path object) {
+
+  }
+}
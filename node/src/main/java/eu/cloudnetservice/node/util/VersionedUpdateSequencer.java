@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.node.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import lombok.NonNull;
+
+/**
+ * Brings versioned updates of an object into the order in which they were created. Updates which are sent in order
+ * over a connection might still be handled out of order, as the network task schedulers only order the start of the
+ * handling tasks. Each update is either a full update, which replaces the known state, or a delta on top of a base
+ * version. A delta which is based on a version that was not applied yet is buffered until the missing versions arrive.
+ * If the gap isn't closed within the reorder timeout, the resync handler is notified to request the full state.
+ * <p>
+ * The caller is responsible for applying the updates returned by {@link #offer(Object, long, long, long, Object)} in
+ * the given order before offering the next update of the same key, usually by holding a lock for the key.
+ *
+ * @param <K> the type of the key identifying the object which is updated.
+ * @param <U> the type of the updates.
+ * @since 4.0
+ */
+public final class VersionedUpdateSequencer<K, U> {
+
+  /**
+   * The base version of updates which don't depend on a previous version and replace the known state.
+   */
+  public static final long FULL_UPDATE = -1;
+
+  private final long reorderTimeoutMillis;
+  private final UnaryOperator<U> retainer;
+  private final Consumer<U> releaser;
+  private final BiConsumer<K, U> resyncHandler;
+  private final Map<K, PendingUpdates<U>> pendingUpdates = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new sequencer.
+   *
+   * @param reorderTimeoutMillis the time in milliseconds to wait for a missing version before requesting a resync.
+   * @param retainer             converts an update into a form which can be buffered beyond the handling of the update.
+   * @param releaser             releases a buffered update which is dropped without being applied.
+   * @param resyncHandler        called with the newest update of a key when the full state of the key is required.
+   * @throws NullPointerException if one of the given handlers is null.
+   */
+  public VersionedUpdateSequencer(
+    long reorderTimeoutMillis,
+    @NonNull UnaryOperator<U> retainer,
+    @NonNull Consumer<U> releaser,
+    @NonNull BiConsumer<K, U> resyncHandler
+  ) {
+    this.reorderTimeoutMillis = reorderTimeoutMillis;
+    this.retainer = retainer;
+    this.releaser = releaser;
+    this.resyncHandler = resyncHandler;
+  }
+
+  /**
+   * Offers the given update of the given key to this sequencer. If the update can be applied on top of the known
+   * version, the update is returned together with all buffered updates which directly follow it. Updates which are
+   * older than the known version are ignored.
+   *
+   * @param key          the key of the object which is updated.
+   * @param knownVersion the version of the object which is currently applied, -1 if the object is unknown.
+   * @param baseVersion  the version the update is based on, {@link #FULL_UPDATE} for full updates.
+   * @param version      the version of the object after applying the update.
+   * @param update       the update to offer.
+   * @return the updates to apply in the given order, empty if no update can be applied yet.
+   * @throws NullPointerException if the given key or update is null.
+   */
+  public @NonNull List<U> offer(@NonNull K key, long knownVersion, long baseVersion, long version, @NonNull U update) {
+    // the update is outdated, a newer version was applied already
+    if (version <= knownVersion) {
+      return List.of();
+    }
+
+    if (baseVersion == FULL_UPDATE || baseVersion == knownVersion) {
+      var updates = new ArrayList<U>();
+      updates.add(update);
+      this.drain(key, version, updates);
+      return updates;
+    }
+
+    // the update is based on an older version than the known one and can never be applied
+    if (baseVersion < knownVersion) {
+      this.resyncHandler.accept(key, update);
+      return List.of();
+    }
+
+    // at least one version is missing, wait for it to arrive
+    var created = new boolean[1];
+    var retained = this.retainer.apply(update);
+    var pendingUpdates = this.pendingUpdates.compute(key, (_, pending) -> {
+      if (pending == null) {
+        pending = new PendingUpdates<>();
+        created[0] = true;
+      }
+
+      var replaced = pending.updates.put(baseVersion, new PendingUpdate<>(version, retained));
+      if (replaced != null) {
+        this.releaser.accept(replaced.update());
+      }
+      return pending;
+    });
+
+    if (created[0]) {
+      this.scheduleGapCheck(key, pendingUpdates, this.reorderTimeoutMillis);
+    }
+    return List.of();
+  }
+
+  /**
+   * Drops all buffered updates of the given key, for example because the object was removed.
+   *
+   * @param key the key of the object to drop the updates of.
+   * @throws NullPointerException if the given key is null.
+   */
+  public void remove(@NonNull K key) {
+    var pending = this.pendingUpdates.remove(key);
+    if (pending != null) {
+      this.releaseAll(pending);
+    }
+  }
+
+  private void drain(@NonNull K key, long version, @NonNull List<U> updates) {
+    this.pendingUpdates.computeIfPresent(key, (_, pending) -> {
+      var current = version;
+      var progressed = false;
+      while (!pending.updates.isEmpty() && pending.updates.firstKey() <= current) {
+        var next = pending.updates.pollFirstEntry();
+        if (next.getKey() == current) {
+          updates.add(next.getValue().update());
+          current = next.getValue().version();
+          progressed = true;
+        } else {
+          // based on a version which was superseded by the applied updates
+          this.releaser.accept(next.getValue().update());
+        }
+      }
+
+      if (pending.updates.isEmpty()) {
+        return null;
+      }
+
+      // the gap moved, give the versions which are still missing the full timeout to arrive
+      if (progressed) {
+        pending.gapStartMillis = System.currentTimeMillis();
+      }
+      return pending;
+    });
+  }
+
+  private void scheduleGapCheck(@NonNull K key, @NonNull PendingUpdates<U> pending, long delayMillis) {
+    var executor = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+    executor.execute(() -> {
+      var expired = new boolean[1];
+      var remainingMillis = new long[1];
+      this.pendingUpdates.computeIfPresent(key, (_, current) -> {
+        // the gap was closed in the meantime, a new gap is checked by its own task
+        if (current != pending) {
+          return current;
+        }
+
+        remainingMillis[0] = pending.gapStartMillis + this.reorderTimeoutMillis - System.currentTimeMillis();
+        if (remainingMillis[0] > 0) {
+          return pending;
+        }
+
+        expired[0] = true;
+        return null;
+      });
+
+      if (expired[0]) {
+        // the full state replaces all buffered updates
+        this.resyncHandler.accept(key, pending.updates.lastEntry().getValue().update());
+        this.releaseAll(pending);
+      } else if (remainingMillis[0] > 0) {
+        this.scheduleGapCheck(key, pending, remainingMillis[0]);
+      }
+    });
+  }
+
+  private void releaseAll(@NonNull PendingUpdates<U> pending) {
+    for (var update : pending.updates.values()) {
+      this.releaser.accept(update.update());
+    }
+  }
+
+  private static final class PendingUpdates<U> {
+
+    // the buffered updates mapped to the version they are based on
+    private final TreeMap<Long, PendingUpdate<U>> updates = new TreeMap<>();
+    private long gapStartMillis = System.currentTimeMillis();
+  }
+
+  private record PendingUpdate<U>(long version, @NonNull U update) {
+
+  }
+}
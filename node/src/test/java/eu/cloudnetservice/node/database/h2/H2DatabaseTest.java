@@ -159,4 +159,20 @@ void testChunkedDataRead() {
     Assertions.assertEquals(expectedReadCounts, readsCalled);
     Assertions.assertTrue(keys.isEmpty());
   }
+
+  @Test
+  void testFailedBatchIsRolledBack() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    // the duplicate key fails the batch, the rows written before it must not be committed
+    var query = "INSERT INTO `test` (`Name`, `Document`) VALUES (?, ?)";
+    List<Object[]> batch = List.of(new Object[]{"1", "{}"}, new Object[]{"2", "{}"}, new Object[]{"1", "{}"});
+    Assertions.assertEquals(-1, this.databaseProvider.executeBatchUpdate(query, batch));
+    Assertions.assertEquals(0, database.documentCount());
+
+    // the connection must be usable for updates outside of batches again
+    Assertions.assertTrue(database.insert("3", Document.newJsonDocument()));
+    Assertions.assertEquals(1, database.documentCount());
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database.util;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BinaryDocumentCodecTest {
+
+  @Test
+  void testRoundTripPreservesJsonDocument() {
+    var json = """
+      {"name":"Lobby","port":44955,"negative":-12,"big":123456789012345678901234567890,"ratio":1.50,\
+      "static":false,"auto":true,"missing":null,"tags":["a",1,null,{"x":[]}],"nested":{"deep":{"value":"ä€"}}}""";
+    var document = DocumentFactory.json().parse(json);
+
+    var encoded = BinaryDocumentCodec.encode(document);
+    Assertions.assertTrue(BinaryDocumentCodec.binaryEncoded(encoded, encoded.length));
+
+    var decoded = BinaryDocumentCodec.decode(encoded, encoded.length);
+    Assertions.assertEquals(
+      document.serializeToString(StandardSerialisationStyle.COMPACT),
+      decoded.serializeToString(StandardSerialisationStyle.COMPACT));
+  }
+
+  @Test
+  void testRoundTripOfAppendedValues() {
+    var document = Document.newJsonDocument()
+      .append("long", Long.MAX_VALUE)
+      .append("int", Integer.MIN_VALUE)
+      .append("double", 0.1D)
+      .append("char", 'c')
+      .append("list", List.of("hello", "world"));
+
+    var encoded = BinaryDocumentCodec.encode(document);
+    var decoded = BinaryDocumentCodec.decode(encoded, encoded.length);
+
+    Assertions.assertEquals(Long.MAX_VALUE, decoded.getLong("long"));
+    Assertions.assertEquals(Integer.MIN_VALUE, decoded.getInt("int"));
+    Assertions.assertEquals(0.1D, decoded.getDouble("double"));
+    Assertions.assertEquals("c", decoded.getString("char"));
+    Assertions.assertEquals(List.of("hello", "world"), decoded.readObject("list", List.class));
+  }
+
+  @Test
+  void testJsonIsNotDetectedAsBinary() {
+    var json = "{\"hello\":\"world\"}".getBytes(StandardCharsets.UTF_8);
+    Assertions.assertFalse(BinaryDocumentCodec.binaryEncoded(json, json.length));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> BinaryDocumentCodec.decode(json, json.length));
+  }
+}
@@ -18,11 +18,17 @@
 
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.node.database.util.BinaryDocumentCodec;
+import eu.cloudnetservice.node.database.util.DocumentStorageFormat;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import jetbrains.exodus.ArrayByteIterable;
+import jetbrains.exodus.bindings.StringBinding;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -165,4 +171,166 @@ void testChunkedDataRead() {
     Assertions.assertEquals(expectedReadCounts, readsCalled);
     Assertions.assertTrue(keys.isEmpty());
   }
+
+  @Test
+  void testIndexedFind() throws Exception {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    database.insert("1", Document.newJsonDocument().append("name", "derklaro").append("group", "admin"));
+    database.insert("2", Document.newJsonDocument().append("name", "0utplay").append("group", "admin"));
+    database.declareIndex("group");
+    database.insert("3", Document.newJsonDocument().append("name", "juliarn").append("group", "default"));
+
+    Assertions.assertEquals(2, database.find("group", "admin").size());
+    Assertions.assertEquals(1, database.find(Map.of("group", "admin", "name", "0utplay")).size());
+
+    // changing the indexed value must move the document to the new index entry
+    database.insert("2", Document.newJsonDocument().append("name", "0utplay").append("group", "default"));
+    Assertions.assertEquals(1, database.find("group", "admin").size());
+    Assertions.assertEquals(2, database.find("group", "default").size());
+
+    Assertions.assertTrue(database.delete("3"));
+    Assertions.assertEquals(1, database.find("group", "default").size());
+    Assertions.assertFalse(this.databaseProvider.databaseNames().contains("test#index#group"));
+
+    // the index declaration must survive reopening the database
+    this.databaseProvider.close();
+    this.databaseProvider = new XodusDatabaseProvider(BASE_DIRECTORY.toFile(), false);
+    this.databaseProvider.init();
+    Assertions.assertEquals(1, this.databaseProvider.database("test").find("group", "admin").size());
+  }
+
+  @Test
+  void testFindUsesDeclaredIndex() {
+    var database = (XodusDatabase) this.databaseProvider.database("test");
+    database.insert("1", Document.newJsonDocument().append("name", "derklaro").append("group", "admin"));
+    database.insert("2", Document.newJsonDocument().append("name", "0utplay").append("group", "admin"));
+    database.declareIndex("group");
+
+    // remove the index entries directly, a find which uses the index must no longer return the documents
+    database.environment.executeInExclusiveTransaction(
+      txn -> database.indexStores.get("group").delete(txn, StringBinding.stringToEntry("admin")));
+    Assertions.assertTrue(database.find("group", "admin").isEmpty());
+    Assertions.assertTrue(database.find(Map.of("group", "admin", "name", "derklaro")).isEmpty());
+
+    // fields without an index are still found by scanning the documents
+    Assertions.assertEquals(1, database.find("name", "derklaro").size());
+  }
+
+  @Test
+  void testChunkedDataReadAfterKey() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    for (var i = 0; i < 120; i++) {
+      database.insert(String.format("%03d", i), Document.newJsonDocument().append("index", i));
+    }
+
+    String lastKey = null;
+    List<String> keys = new ArrayList<>();
+
+    Map<String, Document> currentChunk;
+    while ((currentChunk = database.readChunkAfter(lastKey, 50)) != null) {
+      Assertions.assertFalse(currentChunk.size() > 50);
+      for (var key : currentChunk.keySet()) {
+        keys.add(key);
+        lastKey = key;
+      }
+    }
+
+    Assertions.assertEquals(120, keys.size());
+    Assertions.assertEquals("000", keys.getFirst());
+    Assertions.assertEquals("119", keys.getLast());
+  }
+
+  @Test
+  void testStorageFormatMigration() throws Exception {
+    var database = this.databaseProvider.database("test");
+    database.insert("json", Document.newJsonDocument().append("hello", "world"));
+
+    // reopen the environment with the binary storage format, which must migrate the stored documents
+    this.databaseProvider.close();
+    this.databaseProvider = new XodusDatabaseProvider(BASE_DIRECTORY.toFile(), false, DocumentStorageFormat.BINARY);
+    this.databaseProvider.init();
+
+    var binaryDatabase = (XodusDatabase) this.databaseProvider.database("test");
+    binaryDatabase.insert("binary", Document.newJsonDocument().append("hello", "binary"));
+    Assertions.assertEquals(2, binaryDatabase.documentCount());
+    Assertions.assertEquals("world", binaryDatabase.get("json").getString("hello"));
+    Assertions.assertEquals("binary", binaryDatabase.get("binary").getString("hello"));
+    Assertions.assertEquals(1, binaryDatabase.find("hello", "world").size());
+
+    binaryDatabase.environment.executeInReadonlyTransaction(txn -> {
+      var entry = binaryDatabase.store().get(txn, StringBinding.stringToEntry("json"));
+      Assertions.assertNotNull(entry);
+      Assertions.assertTrue(BinaryDocumentCodec.binaryEncoded(entry.getBytesUnsafe(), entry.getLength()));
+    });
+    Assertions.assertFalse(this.databaseProvider.databaseNames().contains(XodusDatabaseProvider.STORAGE_FORMAT_STORE));
+  }
+
+  @Test
+  void testStorageFormatMigrationInChunks() throws Exception {
+    this.databaseProvider.close();
+    this.databaseProvider = new XodusDatabaseProvider(BASE_DIRECTORY.toFile(), false, DocumentStorageFormat.BINARY);
+    this.databaseProvider.init();
+
+    // write the documents in the json format directly into the store to simulate documents of the old format
+    var database = (XodusDatabase) this.databaseProvider.database("test");
+    database.environment.executeInTransaction(txn -> {
+      for (var i = 0; i < 10; i++) {
+        var json = database.serializeDocumentToJsonString(Document.newJsonDocument().append("index", i));
+        var entry = new ArrayByteIterable(json.getBytes(StandardCharsets.UTF_8));
+        database.store().put(txn, StringBinding.stringToEntry("key_" + i), entry);
+      }
+    });
+
+    database.migrateStorageFormat(3);
+    database.environment.executeInReadonlyTransaction(txn -> {
+      for (var i = 0; i < 10; i++) {
+        var entry = database.store().get(txn, StringBinding.stringToEntry("key_" + i));
+        Assertions.assertNotNull(entry);
+        Assertions.assertTrue(BinaryDocumentCodec.binaryEncoded(entry.getBytesUnsafe(), entry.getLength()));
+      }
+    });
+
+    Assertions.assertEquals(10, database.documentCount());
+    for (var i = 0; i < 10; i++) {
+      Assertions.assertEquals(i, database.get("key_" + i).getInt("index"));
+    }
+  }
+
+  @Test
+  void testBatchedWrites() {
+    var database = this.databaseProvider.database("test");
+    database.declareIndex("group");
+
+    Map<String, Document> documents = new HashMap<>();
+    for (var i = 0; i < 100; i++) {
+      documents.put("key_" + i, Document.newJsonDocument().append("group", i % 2 == 0 ? "even" : "odd"));
+    }
+
+    Assertions.assertTrue(database.insertAll(documents));
+    Assertions.assertEquals(100, database.documentCount());
+    Assertions.assertEquals(50, database.find("group", "even").size());
+
+    Assertions.assertTrue(database.deleteAll(List.of("key_0", "key_2", "key_3", "unknown")));
+    Assertions.assertEquals(97, database.documentCount());
+    Assertions.assertEquals(48, database.find("group", "even").size());
+    Assertions.assertFalse(database.deleteAll(List.of("key_0", "unknown")));
+  }
+
+  @Test
+  void testStreamedEntries() {
+    var database = this.databaseProvider.database("test");
+    for (var i = 0; i < 42; i++) {
+      database.insert(String.format("%02d", i), Document.newJsonDocument().append("index", i));
+    }
+
+    var indexes = database.stream(5).map(entry -> entry.getValue().getInt("index")).toList();
+    Assertions.assertEquals(42, indexes.size());
+    for (var i = 0; i < indexes.size(); i++) {
+      Assertions.assertEquals(i, indexes.get(i));
+    }
+  }
 }
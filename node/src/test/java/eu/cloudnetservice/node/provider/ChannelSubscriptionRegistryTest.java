@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.provider;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ChannelSubscriptionRegistryTest {
+
+  @Test
+  void testUnknownChannelsReceiveAllMessages() {
+    var registry = new ChannelSubscriptionRegistry();
+    var channel = Mockito.mock(NetworkChannel.class);
+
+    Assertions.assertTrue(registry.subscribed(channel, "test"));
+    registry.updateSubscriptions(channel, 1, null);
+    Assertions.assertTrue(registry.subscribed(channel, "test"));
+  }
+
+  @Test
+  void testSubscriptionUpdates() {
+    var registry = new ChannelSubscriptionRegistry();
+    var channel = Mockito.mock(NetworkChannel.class);
+
+    registry.updateSubscriptions(channel, 1, Set.of("a", "b"));
+    Assertions.assertTrue(registry.subscribed(channel, "a"));
+    Assertions.assertTrue(registry.subscribed(channel, "b"));
+    Assertions.assertFalse(registry.subscribed(channel, "c"));
+    Assertions.assertTrue(registry.subscribed(channel, NetworkConstants.INTERNAL_MSG_CHANNEL));
+
+    registry.updateSubscriptions(channel, 2, Set.of("c"));
+    Assertions.assertFalse(registry.subscribed(channel, "a"));
+    Assertions.assertTrue(registry.subscribed(channel, "c"));
+
+    // the channel receives all messages again after its subscriptions were removed
+    registry.removeSubscriptions(channel);
+    Assertions.assertTrue(registry.subscribed(channel, "a"));
+  }
+
+  @Test
+  void testOutdatedSubscriptionUpdatesAreIgnored() {
+    var registry = new ChannelSubscriptionRegistry();
+    var channel = Mockito.mock(NetworkChannel.class);
+
+    // the updates are handled in a different order than they were sent by the service
+    Assertions.assertTrue(registry.updateSubscriptions(channel, 3, Set.of("a", "b", "c")));
+    Assertions.assertFalse(registry.updateSubscriptions(channel, 2, Set.of("a", "b")));
+    Assertions.assertFalse(registry.updateSubscriptions(channel, 1, Set.of("a")));
+    Assertions.assertTrue(registry.subscribed(channel, "c"));
+
+    // an update to all channels is ordered as well
+    Assertions.assertTrue(registry.updateSubscriptions(channel, 5, null));
+    Assertions.assertFalse(registry.updateSubscriptions(channel, 4, Set.of("a")));
+    Assertions.assertTrue(registry.subscribed(channel, "d"));
+
+    Assertions.assertTrue(registry.updateSubscriptions(channel, 6, Set.of("a")));
+    Assertions.assertFalse(registry.subscribed(channel, "d"));
+  }
+
+  @Test
+  void testPruneRecipients() {
+    var registry = new ChannelSubscriptionRegistry();
+    var subscribed = Mockito.mock(NetworkChannel.class);
+    var unsubscribed = Mockito.mock(NetworkChannel.class);
+    var unknown = Mockito.mock(NetworkChannel.class);
+
+    registry.updateSubscriptions(subscribed, 1, Set.of("a"));
+    registry.updateSubscriptions(unsubscribed, 1, Set.of("b"));
+
+    var recipients = registry.pruneRecipients(List.of(subscribed, unsubscribed, unknown), "a");
+    Assertions.assertEquals(2, recipients.size());
+    Assertions.assertTrue(recipients.containsAll(List.of(subscribed, unknown)));
+
+    // internal messages are never pruned nor recorded
+    var internalRecipients = registry.pruneRecipients(
+      List.of(subscribed, unsubscribed),
+      NetworkConstants.INTERNAL_MSG_CHANNEL);
+    Assertions.assertEquals(2, internalRecipients.size());
+
+    var statistics = registry.statistics();
+    Assertions.assertEquals(1, statistics.size());
+
+    var channelStatistics = statistics.iterator().next();
+    Assertions.assertEquals("a", channelStatistics.channel());
+    Assertions.assertEquals(1, channelStatistics.subscribers());
+    Assertions.assertEquals(2, channelStatistics.delivered());
+    Assertions.assertEquals(1, channelStatistics.pruned());
+    Assertions.assertEquals(1D / 3, channelStatistics.pruneRatio(), 0.0001);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.node.provider;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudService;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class NodeMessengerTest {
+
+  private static final ChannelMessageSender SENDER = ChannelMessageSender.of("Node-1", DriverEnvironment.NODE);
+
+  private static NodeMessenger messenger(List<NetworkChannel> channels) {
+    List<CloudService> services = new ArrayList<>();
+    for (var channel : channels) {
+      var service = Mockito.mock(CloudService.class, Mockito.withSettings().stubOnly());
+      Mockito.when(service.networkChannel()).thenReturn(channel);
+      services.add(service);
+    }
+
+    var serviceManager = Mockito.mock(CloudServiceManager.class);
+    Mockito.when(serviceManager.localCloudServices()).thenReturn(services);
+    return new NodeMessenger(Mockito.mock(NodeServerProvider.class), serviceManager, new ChannelSubscriptionRegistry());
+  }
+
+  private static ChannelMessage broadcast(int payloadSize) {
+    return ChannelMessage.builder()
+      .targetAll()
+      .sender(SENDER)
+      .channel("test")
+      .message("broadcast")
+      .buffer(DataBuf.empty().writeString("a".repeat(payloadSize)))
+      .build();
+  }
+
+  private static NetworkChannel benchmarkChannel(Executor eventLoop) {
+    var channel = Mockito.mock(NetworkChannel.class, Mockito.withSettings().stubOnly());
+    Mockito.when(channel.writeExecutor()).thenReturn(eventLoop);
+    // the packet encoder copies the content of each packet into the outbound frame
+    Mockito.doAnswer(invocation -> invocation.<Packet>getArgument(0).content().toByteArray())
+      .when(channel)
+      .writePacket(ArgumentMatchers.any());
+    return channel;
+  }
+
+  @Test
+  void testBroadcastWritesAreBatchedPerEventLoop() {
+    var tasks = new AtomicInteger();
+    List<Executor> eventLoops = new ArrayList<>();
+    for (var i = 0; i < 4; i++) {
+      eventLoops.add(command -> {
+        tasks.incrementAndGet();
+        command.run();
+      });
+    }
+
+    List<NetworkChannel> channels = new ArrayList<>();
+    for (var i = 0; i < 100; i++) {
+      var channel = Mockito.mock(NetworkChannel.class);
+      Mockito.when(channel.writeExecutor()).thenReturn(eventLoops.get(i % eventLoops.size()));
+      channels.add(channel);
+    }
+
+    messenger(channels).sendChannelMessage(broadcast(64));
+
+    // one task per event loop, each channel is written and flushed once
+    Assertions.assertEquals(eventLoops.size(), tasks.get());
+    for (var channel : channels) {
+      Mockito.verify(channel).writePacket(ArgumentMatchers.any());
+      Mockito.verify(channel).flush();
+      Mockito.verify(channel, Mockito.never()).sendPacket(ArgumentMatchers.any(Packet.class));
+    }
+  }
+
+  @Test
+  void testBroadcastCostPerRecipient() {
+    Executor eventLoop = Runnable::run;
+    Map<Integer, Long> nanosPerRecipient = new LinkedHashMap<>();
+    for (var recipients : List.of(1, 10, 100, 800)) {
+      List<NetworkChannel> channels = new ArrayList<>();
+      for (var i = 0; i < recipients; i++) {
+        channels.add(benchmarkChannel(eventLoop));
+      }
+
+      var messenger = messenger(channels);
+      var runs = Math.max(50, 20_000 / recipients);
+      for (var i = 0; i < runs; i++) {
+        messenger.sendChannelMessage(broadcast(8192));
+      }
+
+      var start = System.nanoTime();
+      for (var i = 0; i < runs; i++) {
+        messenger.sendChannelMessage(broadcast(8192));
+      }
+      nanosPerRecipient.put(recipients, (System.nanoTime() - start) / ((long) runs * recipients));
+    }
+
+    // the message is encoded once per broadcast, the cost of each additional recipient is only the copy of the frame
+    System.out.println("Broadcast cost per recipient (ns): " + nanosPerRecipient);
+    Assertions.assertTrue(
+      nanosPerRecipient.get(800) < nanosPerRecipient.get(1),
+      () -> "Broadcast cost per recipient (ns): " + nanosPerRecipient);
+  }
+}
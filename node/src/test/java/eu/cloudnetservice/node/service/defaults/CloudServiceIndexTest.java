@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.service.ServiceId;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CloudServiceIndexTest {
+
+  private static ServiceId serviceId(String task, int id, String environment) {
+    return ServiceId.builder().taskName(task).taskServiceId(id).environment(environment).build();
+  }
+
+  @Test
+  void testLookupsAndCounts() {
+    var index = new CloudServiceIndex();
+    var lobby1 = serviceId("Lobby", 1, "MINECRAFT_SERVER");
+    var lobby2 = serviceId("Lobby", 2, "MINECRAFT_SERVER");
+    var proxy1 = serviceId("Proxy", 1, "VELOCITY");
+
+    index.index(lobby1, Set.of("Global", "Lobby"), true);
+    index.index(lobby2, Set.of("Global"), false);
+    index.index(proxy1, Set.of("Global"), true);
+
+    Assertions.assertEquals(lobby1.uniqueId(), index.serviceByName("Lobby-1"));
+    Assertions.assertEquals(proxy1.uniqueId(), index.serviceByName("Proxy-1"));
+    Assertions.assertNull(index.serviceByName("Lobby-3"));
+
+    Assertions.assertEquals(Set.of(lobby1.uniqueId(), lobby2.uniqueId()), index.servicesByTask("Lobby"));
+    Assertions.assertEquals(Set.of(proxy1.uniqueId()), index.servicesByEnvironment("VELOCITY"));
+    Assertions.assertEquals(Set.of(lobby1.uniqueId(), proxy1.uniqueId()), index.localServices());
+
+    Assertions.assertEquals(2, index.serviceCountByTask("Lobby"));
+    Assertions.assertEquals(3, index.serviceCountByGroup("Global"));
+    Assertions.assertEquals(1, index.serviceCountByGroup("Lobby"));
+    Assertions.assertEquals(0, index.serviceCountByTask("Unknown"));
+  }
+
+  @Test
+  void testReindexAndRemoval() {
+    var index = new CloudServiceIndex();
+    var lobby1 = serviceId("Lobby", 1, "MINECRAFT_SERVER");
+    var lobby2 = serviceId("Lobby", 2, "MINECRAFT_SERVER");
+
+    index.index(lobby1, Set.of("Global"), false);
+    index.index(lobby2, Set.of("Global"), false);
+
+    // changing the groups of a service must only move that service
+    index.index(lobby1, Set.of("Lobby"), false);
+    Assertions.assertEquals(Set.of(lobby2.uniqueId()), index.servicesByGroup("Global"));
+    Assertions.assertEquals(Set.of(lobby1.uniqueId()), index.servicesByGroup("Lobby"));
+
+    index.remove(lobby1.uniqueId());
+    Assertions.assertNull(index.serviceByName("Lobby-1"));
+    Assertions.assertEquals(0, index.serviceCountByGroup("Lobby"));
+    Assertions.assertEquals(Set.of(lobby2.uniqueId()), index.servicesByTask("Lobby"));
+
+    index.remove(lobby2.uniqueId());
+    Assertions.assertTrue(index.servicesByTask("Lobby").isEmpty());
+    Assertions.assertTrue(index.servicesByEnvironment("MINECRAFT_SERVER").isEmpty());
+
+    // removing an unknown service is a no-op
+    index.remove(lobby2.uniqueId());
+  }
+
+  @Test
+  void testLookupsWithManyServices() {
+    var index = new CloudServiceIndex();
+    for (var i = 1; i <= 10_000; i++) {
+      index.index(serviceId("Task" + (i % 100), i, "MINECRAFT_SERVER"), Set.of("Global"), false);
+    }
+
+    var target = serviceId("Target", 1, "VELOCITY");
+    index.index(target, Set.of(), true);
+
+    Assertions.assertEquals(target.uniqueId(), index.serviceByName("Target-1"));
+    Assertions.assertEquals(100, index.serviceCountByTask("Task0"));
+    Assertions.assertEquals(10_000, index.serviceCountByGroup("Global"));
+    Assertions.assertEquals(Set.of(target.uniqueId()), index.localServices());
+  }
+}
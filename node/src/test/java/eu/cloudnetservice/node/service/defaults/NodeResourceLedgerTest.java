@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NodeResourceLedgerTest {
+
+  private static ServiceInfoSnapshot snapshot(UUID uniqueId, String node, int heap, ServiceLifeCycle lifeCycle) {
+    var configuration = ServiceConfiguration.builder()
+      .taskName("Lobby")
+      .uniqueId(uniqueId)
+      .node(node)
+      .environment(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .maxHeapMemory(heap)
+      .build();
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      configuration,
+      -1,
+      lifeCycle,
+      Document.newJsonDocument());
+  }
+
+  @Test
+  void testIncrementalReservations() {
+    var ledger = new NodeResourceLedger();
+    var first = UUID.randomUUID();
+    var second = UUID.randomUUID();
+
+    ledger.track(snapshot(first, "Node-1", 512, ServiceLifeCycle.PREPARED));
+    ledger.track(snapshot(second, "Node-1", 1024, ServiceLifeCycle.PREPARED));
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(1536, 2, 2), ledger.reservation("Node-1"));
+
+    // starting a service only changes the pending starts
+    ledger.track(snapshot(first, "Node-1", 512, ServiceLifeCycle.RUNNING));
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(1536, 2, 1), ledger.reservation("Node-1"));
+
+    // tracking the same state twice must not count the service twice
+    ledger.track(snapshot(first, "Node-1", 512, ServiceLifeCycle.RUNNING));
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(1536, 2, 1), ledger.reservation("Node-1"));
+
+    ledger.track(snapshot(second, "Node-1", 1024, ServiceLifeCycle.DELETED));
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(512, 1, 0), ledger.reservation("Node-1"));
+
+    ledger.untrack(first);
+    Assertions.assertEquals(NodeResourceLedger.NodeReservation.EMPTY, ledger.reservation("Node-1"));
+    Assertions.assertTrue(ledger.reservations().isEmpty());
+  }
+
+  @Test
+  void testServiceMovedBetweenNodes() {
+    var ledger = new NodeResourceLedger();
+    var uniqueId = UUID.randomUUID();
+
+    ledger.track(snapshot(uniqueId, "Node-1", 512, ServiceLifeCycle.RUNNING));
+    ledger.track(snapshot(uniqueId, "Node-2", 512, ServiceLifeCycle.RUNNING));
+
+    Assertions.assertEquals(NodeResourceLedger.NodeReservation.EMPTY, ledger.reservation("Node-1"));
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(512, 1, 0), ledger.reservation("Node-2"));
+  }
+
+  @Test
+  void testReservationReplacedByRegisteredService() {
+    var ledger = new NodeResourceLedger();
+    var uniqueId = UUID.randomUUID();
+    var snapshot = snapshot(uniqueId, "Node-1", 512, ServiceLifeCycle.PREPARED);
+
+    ledger.reserve(snapshot.configuration(), "Node-1");
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(512, 1, 1), ledger.reservation("Node-1"));
+
+    // the registration of the created service must not count the reserved resources twice
+    ledger.track(snapshot);
+    Assertions.assertEquals(new NodeResourceLedger.NodeReservation(512, 1, 1), ledger.reservation("Node-1"));
+  }
+
+  @Test
+  void testPlacementHistory() {
+    var ledger = new NodeResourceLedger();
+    var score = new NodeResourceLedger.NodeScore("Node-1", 25, 0, 0.5D);
+
+    for (var i = 0; i < 100; i++) {
+      ledger.recordPlacement(new NodeResourceLedger.Placement("Lobby-" + i, "Node-1", List.of(score), Instant.now()));
+    }
+
+    var placements = ledger.recentPlacements();
+    Assertions.assertEquals(50, placements.size());
+    Assertions.assertEquals("Lobby-99", placements.iterator().next().serviceName());
+  }
+}
@@ -21,6 +21,7 @@
 import eu.cloudnetservice.driver.template.FileInfo;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
@@ -190,4 +191,22 @@ void testTemplateDelete() {
     Assertions.assertFalse(storage.contains(TEMPLATE));
     Assertions.assertFalse(storage.hasFile(TEMPLATE, "test.txt"));
   }
+
+  @Test
+  @Order(120)
+  void testFailedCopyFailsDeployment() throws IOException {
+    var deployDirectory = Path.of("build", "tmp", "local_ts_deploy");
+    try {
+      Files.createDirectories(deployDirectory);
+      Files.writeString(deployDirectory.resolve("test.txt"), "Hello");
+
+      // a non-empty directory in the template can't be replaced by the deployed file
+      Assertions.assertTrue(storage.create(TEMPLATE));
+      Assertions.assertTrue(storage.createFile(TEMPLATE, "test.txt/nested.txt"));
+      Assertions.assertFalse(storage.deployDirectory(TEMPLATE, deployDirectory, null));
+    } finally {
+      FileUtil.delete(deployDirectory);
+      storage.delete(TEMPLATE);
+    }
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TemplateDeployManifestTest {
+
+  private static final Path SERVICE_PATH = Path.of("build", "tmp", "deploy_manifest");
+  private static final Path MANIFEST_PATH = SERVICE_PATH
+    .resolve(TemplateDeployManifest.MANIFEST_DIRECTORY)
+    .resolve("local")
+    .resolve("global")
+    .resolve("m.json");
+
+  private static List<Path> acceptedFiles(Predicate<Path> filter) {
+    List<Path> accepted = new ArrayList<>();
+    FileUtil.walkFileTree(SERVICE_PATH, ($, file) -> {
+      if (!Files.isDirectory(file)) {
+        accepted.add(SERVICE_PATH.relativize(file));
+      }
+    }, true, filter::test);
+    return accepted;
+  }
+
+  @BeforeEach
+  void setupService() throws IOException {
+    FileUtil.createDirectory(SERVICE_PATH.resolve("world"));
+    Files.writeString(SERVICE_PATH.resolve("world").resolve("level.dat"), "level");
+    Files.writeString(SERVICE_PATH.resolve("server.properties"), "motd=hello");
+  }
+
+  @AfterEach
+  void deleteService() {
+    FileUtil.delete(SERVICE_PATH);
+  }
+
+  @Test
+  void testOnlyChangedFilesAreDeployed() throws IOException {
+    var manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Assertions.assertEquals(2, acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)).size());
+    Assertions.assertEquals(new TemplateDeployManifest.DeployStatistics(2, 15, 0, 0), manifest.statistics());
+    manifest.save();
+
+    // nothing changed, nothing should be deployed - the manifest itself must never be deployed
+    manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Assertions.assertTrue(acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)).isEmpty());
+    Assertions.assertEquals(new TemplateDeployManifest.DeployStatistics(0, 0, 2, 15), manifest.statistics());
+    manifest.save();
+
+    Files.writeString(SERVICE_PATH.resolve("server.properties"), "motd=changed");
+    manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Assertions.assertEquals(
+      List.of(Path.of("server.properties")),
+      acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)));
+  }
+
+  @Test
+  void testFilteredFilesAreNotRecorded() {
+    var manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Predicate<Path> filter = path -> !path.getFileName().toString().equals("world");
+    Assertions.assertEquals(
+      List.of(Path.of("server.properties")),
+      acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, filter)));
+    manifest.save();
+
+    // the world was excluded before and therefore needs to be deployed now
+    manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Assertions.assertEquals(
+      List.of(Path.of("world", "level.dat")),
+      acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)));
+  }
+
+  @Test
+  void testEmptyManifestDeploysEverything() {
+    var manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null));
+    manifest.save();
+
+    manifest = TemplateDeployManifest.empty(MANIFEST_PATH);
+    Assertions.assertEquals(2, acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)).size());
+  }
+
+  @Test
+  void testManifestsOfOtherTemplatesAreNotDeployed() throws IOException {
+    var otherManifest = SERVICE_PATH.resolve(TemplateDeployManifest.MANIFEST_DIRECTORY).resolve("other.json");
+    FileUtil.createDirectory(otherManifest.getParent());
+    Files.writeString(otherManifest, "{}");
+
+    var manifest = TemplateDeployManifest.load(MANIFEST_PATH);
+    Assertions.assertEquals(
+      List.of(Path.of("server.properties"), Path.of("world", "level.dat")),
+      acceptedFiles(manifest.changedFilesFilter(SERVICE_PATH, null)).stream().sorted().toList());
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TemplateFileCacheTest {
+
+  private static final Path HOME_PATH = Path.of("build", "tmp", "template_cache");
+  private static final Path TEMPLATE_PATH = HOME_PATH.resolve("template");
+
+  @BeforeEach
+  void setupTemplate() throws IOException {
+    FileUtil.createDirectory(TEMPLATE_PATH.resolve("plugins"));
+    Files.writeString(TEMPLATE_PATH.resolve("plugins").resolve("plugin.jar"), "plugin");
+    Files.writeString(TEMPLATE_PATH.resolve("server.properties"), "motd=hello");
+  }
+
+  @AfterEach
+  void deleteTemplate() {
+    FileUtil.delete(HOME_PATH);
+  }
+
+  @Test
+  void testMaterializeLinksMatchingFiles() throws IOException {
+    var cache = new TemplateFileCache(HOME_PATH.resolve("cache"), "*.jar");
+    Assumptions.assumeTrue(cache.linksSupported());
+
+    var firstService = HOME_PATH.resolve("service-1");
+    var secondService = HOME_PATH.resolve("service-2");
+    cache.materializeDirectory(TEMPLATE_PATH, firstService);
+    cache.materializeDirectory(TEMPLATE_PATH, secondService);
+
+    var firstPlugin = firstService.resolve("plugins").resolve("plugin.jar");
+    var secondPlugin = secondService.resolve("plugins").resolve("plugin.jar");
+    Assertions.assertEquals("plugin", Files.readString(firstPlugin));
+    Assertions.assertTrue(Files.isSameFile(firstPlugin, secondPlugin));
+    // the shared content must not be writable in place
+    Assertions.assertThrows(AccessDeniedException.class, () -> Files.writeString(firstPlugin, "modified"));
+
+    // files which are not matching the pattern must be copied
+    var firstProperties = firstService.resolve("server.properties");
+    Assertions.assertFalse(Files.isSameFile(firstProperties, secondService.resolve("server.properties")));
+    Files.writeString(firstProperties, "motd=changed");
+    Assertions.assertEquals("motd=hello", Files.readString(TEMPLATE_PATH.resolve("server.properties")));
+
+    // replacing a linked file must not affect the other services
+    Files.delete(firstPlugin);
+    Files.writeString(firstPlugin, "updated");
+    Assertions.assertEquals("plugin", Files.readString(secondPlugin));
+  }
+
+  @Test
+  void testChangedTemplateFileIsRehashed() throws IOException {
+    var cache = new TemplateFileCache(HOME_PATH.resolve("cache"), "*.jar");
+    Assumptions.assumeTrue(cache.linksSupported());
+
+    cache.materializeDirectory(TEMPLATE_PATH, HOME_PATH.resolve("service-1"));
+
+    Files.writeString(TEMPLATE_PATH.resolve("plugins").resolve("plugin.jar"), "new plugin version");
+    cache.materializeDirectory(TEMPLATE_PATH, HOME_PATH.resolve("service-2"));
+
+    Assertions.assertEquals(
+      "plugin",
+      Files.readString(HOME_PATH.resolve("service-1").resolve("plugins").resolve("plugin.jar")));
+    Assertions.assertEquals(
+      "new plugin version",
+      Files.readString(HOME_PATH.resolve("service-2").resolve("plugins").resolve("plugin.jar")));
+  }
+
+  @Test
+  void testFilesAreCopiedWhenLinksAreUnsupported() throws IOException {
+    // links are unsupported without posix permissions or if read-only permissions are not enforced (running as root)
+    var cache = new TemplateFileCache(HOME_PATH.resolve("cache"), "*.jar");
+    Assumptions.assumeFalse(cache.linksSupported());
+
+    var firstService = HOME_PATH.resolve("service-1");
+    var secondService = HOME_PATH.resolve("service-2");
+    cache.materializeDirectory(TEMPLATE_PATH, firstService);
+    cache.materializeDirectory(TEMPLATE_PATH, secondService);
+
+    var firstPlugin = firstService.resolve("plugins").resolve("plugin.jar");
+    var secondPlugin = secondService.resolve("plugins").resolve("plugin.jar");
+    Assertions.assertFalse(Files.isSameFile(firstPlugin, secondPlugin));
+    Files.writeString(firstPlugin, "modified");
+    Assertions.assertEquals("plugin", Files.readString(secondPlugin));
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.node.util;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class VersionedUpdateSequencerTest {
+
+  private static final long REORDER_TIMEOUT_MILLIS = 100;
+
+  @Test
+  void testOutOfOrderDeltasAreAppliedInOrder() throws InterruptedException {
+    var resyncs = new CopyOnWriteArrayList<Update>();
+    var sequencer = newSequencer(resyncs);
+    var receiver = new Receiver(sequencer);
+
+    // the full update followed by deltas which are handled in a different order than they were sent
+    receiver.receive(Update.full(0));
+    for (var version : List.of(3L, 2L, 5L, 1L, 4L)) {
+      receiver.receive(Update.delta(version));
+    }
+
+    Assertions.assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), receiver.appliedVersions);
+    Assertions.assertEquals(5, receiver.knownVersion);
+
+    // a closed gap must not trigger a resync later on
+    Thread.sleep(REORDER_TIMEOUT_MILLIS * 3);
+    Assertions.assertTrue(resyncs.isEmpty());
+  }
+
+  @Test
+  void testDeltasArrivingBeforeTheFullUpdate() throws InterruptedException {
+    var resyncs = new CopyOnWriteArrayList<Update>();
+    var sequencer = newSequencer(resyncs);
+    var receiver = new Receiver(sequencer);
+
+    receiver.receive(Update.delta(2));
+    receiver.receive(Update.delta(1));
+    Assertions.assertTrue(receiver.appliedVersions.isEmpty());
+
+    receiver.receive(Update.full(0));
+    Assertions.assertEquals(List.of(0L, 1L, 2L), receiver.appliedVersions);
+
+    Thread.sleep(REORDER_TIMEOUT_MILLIS * 3);
+    Assertions.assertTrue(resyncs.isEmpty());
+  }
+
+  @Test
+  void testUnclosedGapRequestsResync() throws InterruptedException {
+    var resyncs = new CopyOnWriteArrayList<Update>();
+    var sequencer = newSequencer(resyncs);
+    var receiver = new Receiver(sequencer);
+
+    receiver.receive(Update.full(0));
+    receiver.receive(Update.delta(2));
+    receiver.receive(Update.delta(3));
+    Assertions.assertEquals(List.of(0L), receiver.appliedVersions);
+
+    Thread.sleep(REORDER_TIMEOUT_MILLIS * 3);
+    Assertions.assertEquals(List.of(Update.delta(3)), resyncs);
+
+    // the full update requested by the resync replaces the missing versions
+    receiver.receive(Update.full(4));
+    Assertions.assertEquals(List.of(0L, 4L), receiver.appliedVersions);
+  }
+
+  @Test
+  void testOutdatedUpdatesAreIgnored() {
+    var resyncs = new CopyOnWriteArrayList<Update>();
+    var sequencer = newSequencer(resyncs);
+    var receiver = new Receiver(sequencer);
+
+    receiver.receive(Update.full(0));
+    receiver.receive(Update.delta(1));
+    receiver.receive(Update.delta(2));
+
+    // a full update which was sent before the applied deltas must not move the version backwards
+    receiver.receive(Update.full(1));
+    receiver.receive(Update.delta(2));
+    Assertions.assertEquals(List.of(0L, 1L, 2L), receiver.appliedVersions);
+    Assertions.assertTrue(resyncs.isEmpty());
+  }
+
+  @Test
+  void testFullUpdateReplacesBufferedDeltas() {
+    var resyncs = new CopyOnWriteArrayList<Update>();
+    var sequencer = newSequencer(resyncs);
+    var receiver = new Receiver(sequencer);
+
+    receiver.receive(Update.full(0));
+    receiver.receive(Update.delta(3));
+    receiver.receive(Update.full(5));
+    receiver.receive(Update.delta(6));
+    Assertions.assertEquals(List.of(0L, 5L, 6L), receiver.appliedVersions);
+    Assertions.assertTrue(resyncs.isEmpty());
+  }
+
+  @Test
+  void testBufferedContentOutlivesTheReceivedBuffer() {
+    var key = UUID.randomUUID();
+    var sequencer = new VersionedUpdateSequencer<UUID, DataBuf>(
+      REORDER_TIMEOUT_MILLIS,
+      DataBufFactory.defaultFactory()::copyOf,
+      DataBuf::release,
+      (_, _) -> Assertions.fail("no resync expected"));
+
+    // the received buffers are released after handling them, like the content of channel messages
+    var second = DataBuf.empty().writeLong(1).writeString("second");
+    second.readLong();
+    Assertions.assertTrue(sequencer.offer(key, 0, 1, 2, second).isEmpty());
+    second.release();
+
+    var first = DataBuf.empty().writeLong(0).writeString("first");
+    first.readLong();
+    var ready = sequencer.offer(key, 0, 0, 1, first);
+
+    Assertions.assertEquals(2, ready.size());
+    Assertions.assertEquals("first", ready.get(0).readString());
+    Assertions.assertEquals("second", ready.get(1).readString());
+  }
+
+  private static VersionedUpdateSequencer<String, Update> newSequencer(List<Update> resyncs) {
+    return new VersionedUpdateSequencer<>(REORDER_TIMEOUT_MILLIS, update -> update, _ -> {
+    }, (_, update) -> resyncs.add(update));
+  }
+
+  private record Update(long baseVersion, long version) {
+
+    static Update full(long version) {
+      return new Update(VersionedUpdateSequencer.FULL_UPDATE, version);
+    }
+
+    static Update delta(long version) {
+      return new Update(version - 1, version);
+    }
+  }
+
+  private static final class Receiver {
+
+    private final VersionedUpdateSequencer<String, Update> sequencer;
+    private final List<Long> appliedVersions = new ArrayList<>();
+    private long knownVersion = -1;
+
+    private Receiver(VersionedUpdateSequencer<String, Update> sequencer) {
+      this.sequencer = sequencer;
+    }
+
+    private void receive(Update update) {
+      for (var ready : this.sequencer.offer("key", this.knownVersion, update.baseVersion(), update.version(), update)) {
+        this.appliedVersions.add(ready.version());
+        this.knownVersion = ready.version();
+      }
+    }
+  }
+}
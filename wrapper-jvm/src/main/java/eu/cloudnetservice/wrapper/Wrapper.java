@@ -30,9 +30,11 @@
 import eu.cloudnetservice.wrapper.event.ApplicationPostStartEvent;
 import eu.cloudnetservice.wrapper.event.ApplicationPreStartEvent;
 import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import eu.cloudnetservice.wrapper.network.ChannelSubscriptionPublisher;
 import eu.cloudnetservice.wrapper.network.chunk.TemplateStorageCallbackListener;
 import eu.cloudnetservice.wrapper.network.listener.PacketAuthorizationResponseListener;
 import eu.cloudnetservice.wrapper.network.listener.PacketServerChannelMessageListener;
+import eu.cloudnetservice.wrapper.network.listener.message.DatabaseChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.GroupChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.ServiceChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.TaskChannelMessageListener;
@@ -169,9 +171,16 @@ private void registerDefaultListeners(@NonNull EventManager eventManager) {
     eventManager.registerListener(TaskChannelMessageListener.class);
     eventManager.registerListener(GroupChannelMessageListener.class);
     eventManager.registerListener(ServiceChannelMessageListener.class);
+    eventManager.registerListener(DatabaseChannelMessageListener.class);
     eventManager.registerListener(TemplateStorageCallbackListener.class);
   }
 
+  @Inject
+  @Order(350)
+  private void startChannelSubscriptionPublisher(@NonNull ChannelSubscriptionPublisher subscriptionPublisher) {
+    subscriptionPublisher.start();
+  }
+
   @Inject
   @Order(Integer.MAX_VALUE)
   private void startApplication(
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import eu.cloudnetservice.driver.database.Database;
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A database which caches the documents read by key on the wrapper side, delegating all other operations to the rpc
+ * based database of the node. Cached entries are invalidated when the node publishes a change of the associated keys
+ * and expire after a while to recover from lost invalidations. Absent keys are cached as well, as many reads are
+ * lookups of keys that do not exist (yet).
+ * <p>
+ * The cache is bypassed until it is enabled, which should happen once every node acknowledged that it publishes
+ * invalidations for the database. Writes on a node before that would otherwise leave stale documents in the cache.
+ *
+ * @since 4.0
+ */
+public final class NearCachedDatabase implements Database {
+
+  private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(5);
+
+  private final Database delegate;
+  private final Cache<String, Optional<Document>> cache;
+
+  private volatile boolean cacheEnabled;
+
+  /**
+   * Constructs a new near-cached database.
+   *
+   * @param delegate     the database to delegate to.
+   * @param maxCacheSize the maximum amount of documents to cache.
+   * @throws NullPointerException if the given delegate database is null.
+   */
+  public NearCachedDatabase(@NonNull Database delegate, long maxCacheSize) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(maxCacheSize)
+      .expireAfterWrite(CACHE_EXPIRATION)
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Get the hit and miss statistics of the cache of this database.
+   *
+   * @return the statistics of the cache of this database.
+   */
+  public @NonNull CacheStats statistics() {
+    return this.cache.stats();
+  }
+
+  /**
+   * Enables the cache of this database, reads are passed through to the delegate database before this method was
+   * called.
+   */
+  public void enableCache() {
+    this.cacheEnabled = true;
+  }
+
+  /**
+   * Invalidates the cached documents of the given keys.
+   *
+   * @param keys the keys to invalidate, null to invalidate all cached documents.
+   */
+  public void invalidate(@Nullable Collection<String> keys) {
+    if (keys == null) {
+      this.cache.invalidateAll();
+    } else {
+      this.cache.invalidateAll(keys);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String name() {
+    return this.delegate.name();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean insert(@NonNull String key, @NonNull Document document) {
+    try {
+      return this.delegate.insert(key, document);
+    } finally {
+      this.cache.invalidate(key);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    try {
+      return this.delegate.insertAll(documents);
+    } finally {
+      this.cache.invalidateAll(documents.keySet());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean contains(@NonNull String key) {
+    if (!this.cacheEnabled) {
+      return this.delegate.contains(key);
+    }
+
+    var cached = this.cache.getIfPresent(key);
+    return cached != null ? cached.isPresent() : this.delegate.contains(key);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean delete(@NonNull String key) {
+    try {
+      return this.delegate.delete(key);
+    } finally {
+      this.cache.invalidate(key);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    try {
+      return this.delegate.deleteAll(keys);
+    } finally {
+      this.cache.invalidateAll(keys);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable Document get(@NonNull String key) {
+    if (!this.cacheEnabled) {
+      return this.delegate.get(key);
+    }
+
+    // cache an immutable copy, the cached instance is shared between all callers
+    return this.cache.get(key, $ -> {
+      var document = this.delegate.get(key);
+      return Optional.ofNullable(document).map(Document::immutableCopy);
+    }).orElse(null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    return this.delegate.find(fieldName, fieldValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<Document> find(@NonNull Map<String, String> filters) {
+    return this.delegate.find(filters);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<String> keys() {
+    return this.delegate.keys();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<Document> documents() {
+    return this.delegate.documents();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Map<String, Document> entries() {
+    return this.delegate.entries();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable LinkedHashMap<String, Document> readChunkAfter(@Nullable String lastKey, int chunkSize) {
+    return this.delegate.readChunkAfter(lastKey, chunkSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void clear() {
+    try {
+      this.delegate.clear();
+    } finally {
+      this.cache.invalidateAll();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long documentCount() {
+    return this.delegate.documentCount();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean synced() {
+    return this.delegate.synced();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() throws Exception {
+    this.cache.invalidateAll();
+    this.delegate.close();
+  }
+}
@@ -16,17 +16,36 @@
 
 package eu.cloudnetservice.wrapper.database;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCInvocationTarget;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCImplementationBuilder;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class WrapperDatabaseProvider implements DatabaseProvider {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(WrapperDatabaseProvider.class);
+
+  // the near-cache is opt-in as cached reads might be stale for a short moment after a write on another component
+  private static final long NEAR_CACHE_SIZE = Long.getLong("cloudnet.wrapper.database.near-cache-size", 0);
+
+  private final Map<String, NearCachedDatabase> nearCachedDatabases = new ConcurrentHashMap<>();
+
   private final RPCSender providerRPCSender;
   private final RPCImplementationBuilder.InstanceAllocator<? extends Database> databaseImplAllocator;
 
@@ -43,6 +62,66 @@ public WrapperDatabaseProvider(@NonNull RPCSender sender, @NonNull Supplier<Netw
 
   @Override
   public @NonNull Database database(@NonNull String name) {
+    if (NEAR_CACHE_SIZE > 0) {
+      var registered = new boolean[1];
+      var database = this.nearCachedDatabases.computeIfAbsent(name, $ -> {
+        registered[0] = true;
+        return new NearCachedDatabase(this.remoteDatabase(name), NEAR_CACHE_SIZE);
+      });
+
+      if (registered[0]) {
+        // register the near-cache on the nodes, which then start to publish invalidations for the database. writes on
+        // a node that did not process the registration yet publish no invalidation, therefore the cache is bypassed
+        // until all nodes acknowledged the registration
+        ChannelMessage.builder()
+          .targetNodes()
+          .message("register_database_near_cache")
+          .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+          .buffer(DataBuf.empty().writeString(name))
+          .build()
+          .sendQueryAsync()
+          .whenComplete((_, exception) -> {
+            if (exception == null) {
+              database.enableCache();
+            } else {
+              LOGGER.warn("Unable to register near-cache of database {}, reads are not cached", name, exception);
+            }
+          });
+      }
+
+      return database;
+    }
+
+    return this.remoteDatabase(name);
+  }
+
+  /**
+   * Get the cache statistics of all databases that are near-cached on this wrapper, mapped by the database name. The
+   * returned map is empty if the near-cache is disabled.
+   *
+   * @return the cache statistics of all near-cached databases.
+   */
+  public @NonNull Map<String, CacheStats> nearCacheStatistics() {
+    return this.nearCachedDatabases.entrySet().stream()
+      .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().statistics()));
+  }
+
+  /**
+   * Invalidates the near-cached documents of the given keys in the database with the given name.
+   *
+   * @param databaseName the name of the database to invalidate the keys in.
+   * @param keys         the keys to invalidate, null to invalidate all cached documents of the database.
+   * @throws NullPointerException if the given database name is null.
+   */
+  @ApiStatus.Internal
+  public void invalidateNearCache(@NonNull String databaseName, @Nullable Collection<String> keys) {
+    var database = this.nearCachedDatabases.get(databaseName);
+    if (database != null) {
+      database.invalidate(keys);
+    }
+  }
+
+  private @NonNull Database remoteDatabase(@NonNull String name) {
     var baseRPC = this.providerRPCSender.invokeCaller(name);
     return this.databaseImplAllocator
       .withBaseRPC(baseRPC)
@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
 
 /**
  * Provides information about the current service info, and methods to update it.
@@ -86,9 +87,22 @@ public interface ServiceInfoHolder {
   /**
    * Creates a new service snapshot, configures it, updates the current and old one and sends an update to all
    * components which are currently registered within the CloudNet network.
+   * <p>
+   * Updates are coalesced: if the last update was published less than the minimum publish interval ago, the update is
+   * delayed until the interval elapsed. All calls made in the meantime are merged into that single update, which
+   * reflects the state of the service at the time it is actually published. Use {@link #flushServiceInfoUpdate()} for
+   * updates that must reach the network immediately.
    */
   void publishServiceInfoUpdate();
 
+  /**
+   * Creates a new service snapshot, configures it, updates the current and old one and sends an update to all
+   * components which are currently registered within the CloudNet network. Unlike {@link #publishServiceInfoUpdate()}
+   * the update is published immediately, ignoring the minimum publish interval. A pending coalesced update is merged
+   * into the update published by this method.
+   */
+  void flushServiceInfoUpdate();
+
   /**
    * Updates the given service snapshot to all components which are currently registered within the CloudNet network.
    * This method will configure the given snapshot if it belongs to the current wrapper instance.
@@ -97,4 +111,26 @@ public interface ServiceInfoHolder {
    * @throws NullPointerException if the given service snapshot is null.
    */
   void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSnapshot);
+
+  /**
+   * Publishes the full current service snapshot to the node this service is running on instead of only the changes
+   * since the last published snapshot. This is requested by the node when it missed an update of this service.
+   */
+  @ApiStatus.Internal
+  void resyncServiceInfo();
+
+  /**
+   * Get the amount of service info updates that were published by this holder since the service started.
+   *
+   * @return the amount of published service info updates.
+   */
+  long publishedServiceInfoUpdates();
+
+  /**
+   * Get the amount of service info update requests which were merged into another update instead of being published
+   * separately since the service started.
+   *
+   * @return the amount of suppressed service info updates.
+   */
+  long suppressedServiceInfoUpdates();
 }
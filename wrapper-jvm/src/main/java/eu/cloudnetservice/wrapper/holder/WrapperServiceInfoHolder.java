@@ -25,15 +25,24 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshotDelta;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.util.VarHandleUtil;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
 import eu.cloudnetservice.wrapper.event.ServiceInfoPropertiesConfigureEvent;
 import eu.cloudnetservice.wrapper.event.ServiceInfoSnapshotPublishEvent;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.NonNull;
 
 /**
@@ -45,6 +54,10 @@
 @Provides(ServiceInfoHolder.class)
 public final class WrapperServiceInfoHolder implements ServiceInfoHolder {
 
+  private static final long MIN_PUBLISH_INTERVAL_MILLIS = Long.getLong(
+    "cloudnet.wrapper.service-info-publish-interval",
+    500);
+
   private static final VarHandle LAST_INFO_VAR_HANDLE;
   private static final VarHandle CURRENT_INFO_VARHANDLE;
 
@@ -66,6 +79,20 @@ public final class WrapperServiceInfoHolder implements ServiceInfoHolder {
 
   private final EventManager eventManager;
   private final WrapperConfiguration configuration;
+  private final ScheduledExecutorService scheduledExecutor;
+
+  private final AtomicBoolean updatePending = new AtomicBoolean();
+  private final LongAdder publishedUpdates = new LongAdder();
+  private final LongAdder suppressedUpdates = new LongAdder();
+
+  private final Lock replicationLock = new ReentrantLock();
+
+  private volatile long lastPublishTime;
+
+  // the last snapshot replicated to the node, used as the base for the next delta. the version keeps increasing when
+  // a full snapshot is sent, allowing the node to detect outdated full snapshots
+  private long replicatedVersion = -1;
+  private ServiceInfoSnapshot replicatedSnapshot;
 
   // both of these fields are only accessed from the associated var handles
   @SuppressWarnings({"FieldCanBeLocal", "unused", "FieldMayBeFinal"})
@@ -74,9 +101,14 @@ public final class WrapperServiceInfoHolder implements ServiceInfoHolder {
   private ServiceInfoSnapshot currentServiceInfoSnapshot;
 
   @Inject
-  private WrapperServiceInfoHolder(@NonNull EventManager eventManager, @NonNull WrapperConfiguration configuration) {
+  private WrapperServiceInfoHolder(
+    @NonNull EventManager eventManager,
+    @NonNull WrapperConfiguration configuration,
+    @NonNull @Named("taskScheduler") ScheduledExecutorService scheduledExecutor
+  ) {
     this.eventManager = eventManager;
     this.configuration = configuration;
+    this.scheduledExecutor = scheduledExecutor;
   }
 
   /**
@@ -158,6 +190,41 @@ public void setup() {
    */
   @Override
   public void publishServiceInfoUpdate() {
+    // publish directly if coalescing of updates is disabled
+    if (MIN_PUBLISH_INTERVAL_MILLIS <= 0) {
+      this.flushServiceInfoUpdate();
+      return;
+    }
+
+    // mark the snapshot as dirty, if an update is already pending it will include the changes of this call
+    if (!this.updatePending.compareAndSet(false, true)) {
+      this.suppressedUpdates.increment();
+      return;
+    }
+
+    // publish now if the interval already elapsed, schedule the update for the end of the interval otherwise
+    var delay = this.lastPublishTime + MIN_PUBLISH_INTERVAL_MILLIS - System.currentTimeMillis();
+    if (delay <= 0) {
+      this.publishPendingServiceInfoUpdate();
+    } else {
+      try {
+        this.scheduledExecutor.schedule(this::publishPendingServiceInfoUpdate, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException exception) {
+        // the wrapper is shutting down, no need to publish the update anymore
+        this.updatePending.set(false);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void flushServiceInfoUpdate() {
+    // the pending update is merged into the one published now
+    if (this.updatePending.getAndSet(false)) {
+      this.suppressedUpdates.increment();
+    }
     this.publishServiceInfoUpdate(this.createServiceInfoSnapshot());
   }
 
@@ -167,8 +234,15 @@ public void publishServiceInfoUpdate() {
   @Override
   public void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSnapshot) {
     // add configuration stuff when updating the current service snapshot
-    if (this.configuration.serviceConfiguration().serviceId().equals(serviceInfoSnapshot.serviceId())) {
+    var serviceId = serviceInfoSnapshot.serviceId();
+    if (this.configuration.serviceConfiguration().serviceId().equals(serviceId)) {
+      this.lastPublishTime = System.currentTimeMillis();
       this.configureServiceInfoSnapshot(serviceInfoSnapshot);
+
+      // only send the changes to the node, the node replicates the snapshot to the other components
+      this.replicateServiceInfoUpdate(serviceInfoSnapshot);
+      this.publishedUpdates.increment();
+      return;
     }
 
     // send the update to all nodes and services
@@ -179,6 +253,87 @@ public void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSna
       .buffer(DataBuf.empty().writeObject(serviceInfoSnapshot))
       .build()
       .send();
+    this.publishedUpdates.increment();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void resyncServiceInfo() {
+    this.replicationLock.lock();
+    try {
+      this.replicatedSnapshot = null;
+    } finally {
+      this.replicationLock.unlock();
+    }
+    this.flushServiceInfoUpdate();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long publishedServiceInfoUpdates() {
+    return this.publishedUpdates.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long suppressedServiceInfoUpdates() {
+    return this.suppressedUpdates.sum();
+  }
+
+  /**
+   * Publishes the pending service info update, if an update is still pending. The update might have been published by
+   * a flush in the meantime, in which case this method does nothing.
+   */
+  private void publishPendingServiceInfoUpdate() {
+    if (this.updatePending.compareAndSet(true, false)) {
+      this.publishServiceInfoUpdate(this.createServiceInfoSnapshot());
+    }
+  }
+
+  /**
+   * Sends the given snapshot of this service to the node the service is running on. If a snapshot was replicated before
+   * only the changes since that snapshot are sent, the full snapshot otherwise. Each update is versioned, allowing the
+   * node to detect missed updates and request the full snapshot using the resync.
+   *
+   * @param serviceInfoSnapshot the snapshot of this service to replicate.
+   * @throws NullPointerException if the given snapshot is null.
+   */
+  private void replicateServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSnapshot) {
+    this.replicationLock.lock();
+    try {
+      var base = this.replicatedSnapshot;
+      var version = this.replicatedVersion + 1;
+      var buffer = DataBuf.empty()
+        .writeUniqueId(serviceInfoSnapshot.serviceId().uniqueId())
+        .writeLong(version)
+        .writeBoolean(base == null);
+      if (base == null) {
+        buffer.writeObject(serviceInfoSnapshot);
+      } else {
+        ServiceInfoSnapshotDelta.writeDelta(buffer, base, serviceInfoSnapshot);
+      }
+
+      // send while holding the lock to ensure that the versions are sent in order, the node restores the order in case
+      // the updates are handled concurrently
+      ChannelMessage.builder()
+        .targetNode(serviceInfoSnapshot.serviceId().nodeUniqueId())
+        .message("update_service_info_delta")
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .buffer(buffer)
+        .build()
+        .send();
+
+      this.replicatedVersion = version;
+      this.replicatedSnapshot = serviceInfoSnapshot;
+    } finally {
+      this.replicationLock.unlock();
+    }
   }
 
   /**
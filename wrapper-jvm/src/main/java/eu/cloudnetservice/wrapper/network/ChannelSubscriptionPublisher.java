@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.network;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Advertises the channels of the channel messages handled by the registered channel message listeners to the node the
+ * service is running on. The node uses the advertised channels to skip sending broadcast channel messages to this
+ * service that no listener is handling. The subscriptions are published again each time a channel message listener is
+ * registered or unregistered, before that the node sends all broadcast messages to the service.
+ *
+ * @see ChannelMessageSubscription
+ * @since 4.0
+ */
+@Singleton
+public final class ChannelSubscriptionPublisher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChannelSubscriptionPublisher.class);
+  private static final boolean PUBLISH_SUBSCRIPTIONS = !Boolean.getBoolean(
+    "cloudnet.wrapper.disable-channel-subscriptions");
+
+  private final Lock publishLock = new ReentrantLock();
+
+  private final EventManager eventManager;
+  private final WrapperConfiguration configuration;
+
+  // the subscriptions that were sent to the node, null means that all channels are subscribed
+  private Set<String> publishedSubscriptions;
+  // increased with each update, the node ignores updates which are older than the applied one
+  private long publishSequence;
+
+  @Inject
+  private ChannelSubscriptionPublisher(
+    @NonNull EventManager eventManager,
+    @NonNull WrapperConfiguration configuration
+  ) {
+    this.eventManager = eventManager;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Publishes the current subscriptions and starts to publish the subscriptions each time a channel message listener is
+   * registered or unregistered. Nothing is published if disabled, in which case the service receives all broadcast
+   * messages.
+   */
+  public void start() {
+    if (PUBLISH_SUBSCRIPTIONS) {
+      this.eventManager.registerListenerChangeHook(ChannelMessageReceiveEvent.class, this::publishChangedSubscriptions);
+      this.publishChangedSubscriptions();
+    }
+  }
+
+  /**
+   * Collects the channels handled by the channel message listeners which are currently registered. If any of the
+   * listeners is not annotated with {@link ChannelMessageSubscription} it might handle any channel, in which case null
+   * is returned.
+   *
+   * @return the channels handled by the registered channel message listeners, null if all channels are handled.
+   */
+  public @Nullable Set<String> subscribedChannels() {
+    Set<String> channels = new HashSet<>();
+    for (var listener : this.eventManager.registeredListeners(ChannelMessageReceiveEvent.class)) {
+      var subscription = listener.methodAnnotation(ChannelMessageSubscription.class);
+      if (subscription == null) {
+        return null;
+      }
+
+      channels.addAll(Arrays.asList(subscription.value()));
+    }
+
+    return channels;
+  }
+
+  /**
+   * Sends the subscribed channels to the node if they changed since they were last sent. Listeners might be registered
+   * concurrently, the lock ensures that the last published subscriptions reflect the registered listeners. Each update
+   * carries a sequence number, allowing the node to ignore updates which are handled after a newer one.
+   */
+  private void publishChangedSubscriptions() {
+    this.publishLock.lock();
+    try {
+      var subscriptions = this.subscribedChannels();
+      if (!Objects.equals(subscriptions, this.publishedSubscriptions)) {
+        ChannelMessage.builder()
+          .targetNode(this.configuration.serviceConfiguration().serviceId().nodeUniqueId())
+          .message("update_channel_subscriptions")
+          .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+          .buffer(DataBuf.empty()
+            .writeLong(++this.publishSequence)
+            .writeNullable(subscriptions, DataBuf.Mutable::writeObject))
+          .build()
+          .send();
+        this.publishedSubscriptions = subscriptions;
+      }
+    } catch (Exception exception) {
+      LOGGER.error("Unable to publish the channel subscriptions of the service", exception);
+    } finally {
+      this.publishLock.unlock();
+    }
+  }
+}
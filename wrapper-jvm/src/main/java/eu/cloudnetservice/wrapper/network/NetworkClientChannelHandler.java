@@ -23,6 +23,8 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.def.PacketChannelCompressionListener;
 import eu.cloudnetservice.driver.network.def.PacketClientAuthorization;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
@@ -48,11 +50,16 @@ public void handleChannelInitialize(@NonNull NetworkChannel channel) {
       return;
     }
 
+    // register the listener for the compression negotiation, the node only offers compression if we announce support
+    channel.packetRegistry().addListener(
+      NetworkConstants.INTERNAL_COMPRESSION_CHANNEL,
+      new PacketChannelCompressionListener());
     channel.sendPacket(new PacketClientAuthorization(
       PacketClientAuthorization.PacketAuthorizationType.WRAPPER_TO_NODE,
       DataBuf.empty()
         .writeString(this.wrapperConfiguration.connectionKey())
-        .writeObject(this.wrapperConfiguration.serviceConfiguration().serviceId())));
+        .writeObject(this.wrapperConfiguration.serviceConfiguration().serviceId()),
+      true));
   }
 
   @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.network.listener.message;
+
+import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.wrapper.database.WrapperDatabaseProvider;
+import java.util.ArrayList;
+import java.util.Collection;
+import lombok.NonNull;
+
+public final class DatabaseChannelMessageListener {
+
+  @EventListener
+  @ChannelMessageSubscription(NetworkConstants.INTERNAL_MSG_CHANNEL)
+  public void handle(@NonNull ChannelMessageReceiveEvent event, @NonNull DatabaseProvider databaseProvider) {
+    if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      && event.message().equals("invalidate_database_near_cache")
+      && databaseProvider instanceof WrapperDatabaseProvider wrapperDatabaseProvider) {
+      var content = event.content();
+      var databaseName = content.readString();
+
+      // a missing key collection invalidates the whole database
+      Collection<String> keys = null;
+      if (!content.readBoolean()) {
+        var keyCount = content.readInt();
+        keys = new ArrayList<>(keyCount);
+        for (var i = 0; i < keyCount; i++) {
+          keys.add(content.readString());
+        }
+      }
+
+      wrapperDatabaseProvider.invalidateNearCache(databaseName, keys);
+    }
+  }
+}
@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.driver.event.events.group.GroupConfigurationAddEvent;
 import eu.cloudnetservice.driver.event.events.group.GroupConfigurationRemoveEvent;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
@@ -28,6 +29,7 @@
 public final class GroupChannelMessageListener {
 
   @EventListener
+  @ChannelMessageSubscription(NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handle(@NonNull ChannelMessageReceiveEvent event, @NonNull EventManager eventManager) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
@@ -20,12 +20,14 @@
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageSubscription;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceDeferredStateEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
@@ -35,6 +37,7 @@
 public final class ServiceChannelMessageListener {
 
   @EventListener
+  @ChannelMessageSubscription(NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handleChannelMessage(
     @NonNull ChannelMessageReceiveEvent event,
     @NonNull EventManager eventManager,
@@ -61,6 +64,13 @@ public void handleChannelMessage(
         case "request_update_service_information" -> event.binaryResponse(DataBuf.empty()
           .writeObject(serviceInfoHolder.configureServiceInfoSnapshot()));
 
+        // the node missed an update of this service, send the full snapshot with the next update
+        case "request_full_service_info" -> serviceInfoHolder.resyncServiceInfo();
+
+        // request of a detailed snapshot of all threads running in the service
+        case "request_thread_snapshots" -> event.binaryResponse(DataBuf.empty()
+          .writeObject(ProcessSnapshot.selfThreads()));
+
         // force update request of the service information with new properties
         case "request_update_service_information_with_new_properties" -> {
           var properties = event.content().readObject(Document.class);